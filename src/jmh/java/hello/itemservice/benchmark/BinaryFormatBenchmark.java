@@ -0,0 +1,78 @@
+package hello.itemservice.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.ObjectError;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * API 바디 인코딩별 비용, JSON vs CBOR vs Smile
+ * ItemSaveForm 읽기(요청), 쓰기(성공 응답), 검증 오류 목록 쓰기(오류 응답)
+ * 바이트 크기는 setup 에서 한번 출력
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BinaryFormatBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    private ObjectMapper objectMapper;
+    private ItemSaveForm form;
+    private byte[] formBytes;
+    private List<ObjectError> errors;
+
+    @Setup
+    public void setup() throws Exception {
+        //BinaryFormatConfig 와 같은 방법으로
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        if ("cbor".equals(format)) {
+            builder.factory(new CBORFactory());
+        } else if ("smile".equals(format)) {
+            builder.factory(new SmileFactory());
+        }
+        objectMapper = builder.build();
+
+        form = new ItemSaveForm();
+        form.setItemName("상품 itemA");
+        form.setPrice(10000);
+        form.setQuantity(10);
+        formBytes = objectMapper.writeValueAsBytes(form);
+
+        BindingResult bindingResult = new BeanPropertyBindingResult(new ItemSaveForm(), "itemSaveForm");
+        bindingResult.rejectValue("itemName", "NotBlank", "공백일 수 없습니다");
+        bindingResult.rejectValue("price", "NotNull", "널이어서는 안됩니다");
+        bindingResult.rejectValue("quantity", "NotNull", "널이어서는 안됩니다");
+        errors = bindingResult.getAllErrors();
+
+        System.out.printf("%n[%s] form=%d bytes, errors=%d bytes%n", format, formBytes.length,
+                objectMapper.writeValueAsBytes(errors).length);
+    }
+
+    @Benchmark
+    public ItemSaveForm readForm() throws Exception {
+        return objectMapper.readValue(formBytes, ItemSaveForm.class);
+    }
+
+    @Benchmark
+    public byte[] writeForm() throws Exception {
+        return objectMapper.writeValueAsBytes(form);
+    }
+
+    @Benchmark
+    public byte[] writeErrors() throws Exception {
+        return objectMapper.writeValueAsBytes(errors);
+    }
+}
@@ -0,0 +1,62 @@
+package hello.itemservice.benchmark;
+
+import hello.itemservice.domain.catalog.CatalogRegistry;
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.MemoryItemRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 8 스레드가 상품을 저장, shared: 모두 같은 카탈로그(예전 static 저장소와 같음) vs isolated: 스레드마다 자기 카탈로그
+ * isolated 는 시퀀스(AtomicLong), 맵을 나눠 쓰므로 스레드가 늘어도 처리량이 같이 늘어야 함
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Threads(8)
+public class CatalogContentionBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Catalogs {
+
+        final CatalogRegistry registry = new CatalogRegistry(new MemoryItemRepository(), 100);
+        final AtomicInteger next = new AtomicInteger();
+
+        //저장만 계속하면 힙이 차므로 반복마다 비움
+        @TearDown(Level.Iteration)
+        public void clear() {
+            registry.getDefault().getRepository().clearStore();
+            for (int i = 0; i < next.get(); i++) {
+                registry.find("tenant-" + i).getRepository().clearStore();
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Tenant {
+
+        ItemRepository own;
+        ItemRepository shared;
+
+        @Setup
+        public void setup(Catalogs catalogs) {
+            own = catalogs.registry.create("tenant-" + catalogs.next.getAndIncrement()).getRepository();
+            shared = catalogs.registry.getDefault().getRepository();
+        }
+    }
+
+    @Benchmark
+    public Item shared(Tenant tenant) {
+        return tenant.shared.save(new Item("itemA", 10000, 10));
+    }
+
+    @Benchmark
+    public Item isolated(Tenant tenant) {
+        return tenant.own.save(new Item("itemA", 10000, 10));
+    }
+}
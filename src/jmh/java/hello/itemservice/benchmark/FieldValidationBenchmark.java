@@ -0,0 +1,65 @@
+package hello.itemservice.benchmark;
+
+import hello.itemservice.web.validation.FieldCheck;
+import hello.itemservice.web.validation.FieldValidator;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.MutablePropertyValues;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+import org.springframework.web.bind.WebDataBinder;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 실시간 필드 검증, 필드 하나(FieldValidator) vs 폼 전체 바인딩 + 검증 + 오류 메시지 조회
+ * 가격에 잘못된 값(100)을 넣은 경우
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FieldValidationBenchmark {
+
+    private LocalValidatorFactoryBean beanValidator;
+    private ResourceBundleMessageSource messageSource;
+    private FieldValidator fieldValidator;
+    private MutablePropertyValues form;
+
+    @Setup
+    public void setup() {
+        beanValidator = new LocalValidatorFactoryBean();
+        beanValidator.afterPropertiesSet();
+        messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasenames("messages", "errors");
+        messageSource.setDefaultEncoding("UTF-8");
+        fieldValidator = new FieldValidator(beanValidator, messageSource);
+
+        form = new MutablePropertyValues();
+        form.add("itemName", "itemA").add("price", "100").add("quantity", "10");
+    }
+
+    @TearDown
+    public void tearDown() {
+        beanValidator.close();
+    }
+
+    @Benchmark
+    public FieldCheck singleField() {
+        return fieldValidator.validate("save", "price", "100", Locale.KOREAN);
+    }
+
+    @Benchmark
+    public String fullForm() {
+        WebDataBinder binder = new WebDataBinder(new ItemSaveForm(), "item");
+        binder.setValidator(beanValidator);
+        binder.bind(form);
+        binder.validate();
+        FieldError error = binder.getBindingResult().getFieldError("price");
+        return messageSource.getMessage(error, Locale.KOREAN);
+    }
+}
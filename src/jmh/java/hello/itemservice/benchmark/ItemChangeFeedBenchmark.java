@@ -0,0 +1,48 @@
+package hello.itemservice.benchmark;
+
+import hello.itemservice.domain.feed.ItemChangeFeed;
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.MemoryItemRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 변경 피드가 저장 경로에 더하는 비용, 피드 리스너가 있을 때와 없을 때 save() 비교
+ * 4개 스레드가 동시에 저장해서 순번 발급 경합까지 포함
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class ItemChangeFeedBenchmark {
+
+    @Param({"false", "true"})
+    public boolean feed;
+
+    private ItemRepository itemRepository;
+
+    @Setup
+    public void setup() {
+        itemRepository = new MemoryItemRepository();
+        if (feed) {
+            new ItemChangeFeed(itemRepository, 65536);
+        }
+    }
+
+    //저장소가 계속 커지지 않도록 반복마다 비움
+    @Setup(Level.Iteration)
+    @TearDown
+    public void clear() {
+        itemRepository.clearStore();
+    }
+
+    @Benchmark
+    public Item save() {
+        return itemRepository.save(new Item("itemA", 10000, 10));
+    }
+}
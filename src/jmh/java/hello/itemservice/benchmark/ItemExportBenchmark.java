@@ -0,0 +1,81 @@
+package hello.itemservice.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.MemoryItemRepository;
+import hello.itemservice.web.export.ItemExportWriter;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 전체 상품 내보내기, findAll() + Jackson 으로 배열 직렬화 vs forEach + ItemExportWriter(CSV, JSON Lines)
+ * 네트워크 대신 버리기만 하는 OutputStream 으로, 힙 사용량은 -prof gc 의 gc.alloc.rate.norm 으로 비교
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ItemExportBenchmark {
+
+    @Param({"100000"})
+    public int items;
+
+    private ItemRepository itemRepository;
+    private ObjectMapper objectMapper;
+    private OutputStream out;
+
+    @Setup
+    public void setup() {
+        itemRepository = new MemoryItemRepository();
+        itemRepository.clearStore();
+        List<Item> seed = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            seed.add(new Item("상품 item" + i, 1000 + i, i % 100));
+        }
+        itemRepository.saveAll(seed);
+        objectMapper = new ObjectMapper();
+        out = OutputStream.nullOutputStream();
+    }
+
+    @TearDown
+    public void tearDown() {
+        itemRepository.clearStore();
+    }
+
+    @Benchmark
+    public void findAllJackson() throws IOException {
+        objectMapper.writeValue(out, itemRepository.findAll());
+    }
+
+    @Benchmark
+    public long streamingCsv() throws IOException {
+        return stream(ItemExportWriter.Format.CSV);
+    }
+
+    @Benchmark
+    public long streamingJsonLines() throws IOException {
+        return stream(ItemExportWriter.Format.JSON_LINES);
+    }
+
+    private long stream(ItemExportWriter.Format format) throws IOException {
+        ItemExportWriter writer = new ItemExportWriter(out, format, 65536);
+        writer.writeHeader();
+        itemRepository.forEach(item -> {
+            try {
+                writer.write(item);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        writer.flush();
+        return writer.getRows();
+    }
+}
@@ -0,0 +1,93 @@
+package hello.itemservice.benchmark;
+
+import hello.itemservice.domain.history.HistoryStats;
+import hello.itemservice.domain.history.ItemHistory;
+import hello.itemservice.domain.history.ItemVersion;
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.MemoryItemRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 변경 이력, 상품 1만개에 가격 위주 수정 100만건을 넣고 크기(백만 건당 byte)를 출력
+ * update: 이력 기록이 붙은 수정 비용 / findAt: 임의 상품의 임의 시점 조회 (이진 탐색 + 세그먼트 디코딩)
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class ItemHistoryBenchmark {
+
+    private static final int ITEMS = 10_000;
+    private static final int EDITS = 1_000_000;
+
+    @Param({"32"})
+    public int checkpointInterval;
+
+    private ItemRepository itemRepository;
+    private ItemHistory itemHistory;
+    private Long[] ids;
+    private long start;
+    private long end;
+
+    @Setup
+    public void setup() {
+        itemRepository = new MemoryItemRepository();
+        itemRepository.clearStore();
+        itemHistory = new ItemHistory(itemRepository, checkpointInterval);
+
+        List<Item> items = new ArrayList<>(ITEMS);
+        for (int i = 0; i < ITEMS; i++) {
+            items.add(new Item("상품 item" + i, 10000, 100));
+        }
+        start = System.currentTimeMillis();
+        itemRepository.saveAll(items);
+        ids = items.stream().map(Item::getId).toArray(Long[]::new);
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < EDITS; i++) {
+            edit(random);
+        }
+        end = System.currentTimeMillis();
+
+        HistoryStats stats = itemHistory.stats();
+        System.out.printf("%nedits=%d segments=%d total=%d bytes, %.1f MB per million edits%n",
+                stats.getEdits(), stats.getSegments(), stats.getTotalBytes(), stats.getBytesPerMillionEdits() / 1e6);
+    }
+
+    @TearDown
+    public void tearDown() {
+        itemRepository.clearStore();
+    }
+
+    @Benchmark
+    public void update() {
+        edit(ThreadLocalRandom.current());
+    }
+
+    @Benchmark
+    public ItemVersion findAt() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Long id = ids[random.nextInt(ids.length)];
+        return itemHistory.findAt(id, Instant.ofEpochMilli(random.nextLong(start, end + 1)));
+    }
+
+    //가격 조정이 대부분, 가끔 수량, 드물게 이름
+    private void edit(ThreadLocalRandom random) {
+        Long id = ids[random.nextInt(ids.length)];
+        Item current = itemRepository.findById(id);
+        int kind = random.nextInt(100);
+        String itemName = kind == 0 ? "상품 item" + id + "-" + random.nextInt(1000) : current.getItemName();
+        Integer price = kind < 80 ? current.getPrice() + random.nextInt(-500, 501) : current.getPrice();
+        Integer quantity = kind >= 80 ? random.nextInt(1, 1000) : current.getQuantity();
+        itemRepository.update(id, new Item(itemName, price, quantity));
+    }
+}
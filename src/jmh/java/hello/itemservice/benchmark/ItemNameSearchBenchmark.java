@@ -0,0 +1,97 @@
+package hello.itemservice.benchmark;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.MemoryItemRepository;
+import hello.itemservice.domain.search.IndexStats;
+import hello.itemservice.domain.search.ItemNameIndex;
+import hello.itemservice.domain.search.SearchResult;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 상품 이름 부분 검색, n-gram 색인 vs findAll() 전체 탐색
+ * 색인 메모리는 setup 에서 한번 출력
+ * 5M 건은 힙이 커야 해서 -Xmx4g 로 fork
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class ItemNameSearchBenchmark {
+
+    private static final String[] COLORS = {"red", "blue", "green", "black", "white", "gray", "navy", "ivory",
+            "beige", "brown", "olive", "coral", "mint", "gold", "silver", "pink"};
+    private static final String[] NOUNS = {"chair", "table", "lamp", "sofa", "desk", "shelf", "mirror", "rug",
+            "bench", "stool", "cabinet", "drawer", "bed", "clock", "vase", "frame"};
+
+    @Param({"1000000", "5000000"})
+    public int size;
+
+    private ItemRepository itemRepository;
+    private ItemNameIndex index;
+
+    @Setup
+    public void setup() {
+        itemRepository = new MemoryItemRepository();
+        itemRepository.clearStore();
+        index = new ItemNameIndex(itemRepository);
+
+        Random random = new Random(42);
+        List<Item> batch = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            String name = COLORS[random.nextInt(COLORS.length)] + " " + NOUNS[random.nextInt(NOUNS.length)]
+                    + " " + random.nextInt(100000);
+            batch.add(new Item(name, 10000, 10));
+            if (batch.size() == 100000) {
+                itemRepository.saveAll(batch);
+                batch = new ArrayList<>();
+            }
+        }
+        itemRepository.saveAll(batch);
+
+        IndexStats stats = index.stats();
+        System.out.printf("%nindex items=%d grams=%d postings=%d total=%dMB (%.1f bytes/item)%n",
+                stats.getItems(), stats.getGrams(), stats.getPostings(),
+                stats.getTotalBytes() / (1024 * 1024), stats.getBytesPerItem());
+    }
+
+    @TearDown
+    public void tearDown() {
+        itemRepository.clearStore();
+    }
+
+    //결과가 수십건인 검색어
+    @Benchmark
+    public SearchResult selective() {
+        return index.search("navy lamp 4242", 20);
+    }
+
+    //전체의 1/16 이 걸리는 검색어, 후보 확인이 대부분
+    @Benchmark
+    public SearchResult common() {
+        return index.search("mirror", 20);
+    }
+
+    @Benchmark
+    public SearchResult shortQuery() {
+        return index.search("ug", 20);
+    }
+
+    @Benchmark
+    public int linearScan() {
+        int matched = 0;
+        for (Item item : itemRepository.findAll()) {
+            if (item.getItemName().contains("navy lamp 4242")) {
+                matched++;
+            }
+        }
+        return matched;
+    }
+}
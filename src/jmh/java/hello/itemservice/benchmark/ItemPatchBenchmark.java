@@ -0,0 +1,76 @@
+package hello.itemservice.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.MemoryItemRepository;
+import hello.itemservice.web.idempotency.IdempotencyKeyStore;
+import hello.itemservice.web.validation.ItemPatcher;
+import hello.itemservice.web.validation.PartialValidator;
+import hello.itemservice.web.validation.ValidationItemControllerV4;
+import hello.itemservice.web.validation.form.ItemUpdateForm;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.MutablePropertyValues;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+import org.springframework.web.bind.WebDataBinder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 가격만 바꾸는 경우, 수정 폼(V4 edit: 전체 바인딩 + 전체 검증 + 세 필드 덮어쓰기) vs 부분 수정(ItemPatcher)
+ * 요청 파싱(폼 파라미터, json)은 양쪽 다 제외하고 바인딩부터 저장까지
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ItemPatchBenchmark {
+
+    private ItemRepository itemRepository;
+    private LocalValidatorFactoryBean beanValidator;
+    private ValidationItemControllerV4 v4;
+    private ItemPatcher itemPatcher;
+
+    private Long itemId;
+    private MutablePropertyValues fullForm;
+    private ObjectNode pricePatch;
+
+    @Setup
+    public void setup() throws Exception {
+        itemRepository = new MemoryItemRepository();
+        itemRepository.clearStore();
+        itemId = itemRepository.save(new Item("itemA", 10000, 10)).getId();
+
+        beanValidator = new LocalValidatorFactoryBean();
+        beanValidator.afterPropertiesSet();
+        v4 = new ValidationItemControllerV4(itemRepository, new IdempotencyKeyStore(600, 1000));
+        itemPatcher = new ItemPatcher(itemRepository, new PartialValidator(beanValidator));
+
+        fullForm = new MutablePropertyValues();
+        fullForm.add("id", String.valueOf(itemId)).add("itemName", "itemA").add("price", "12000").add("quantity", "10");
+        pricePatch = (ObjectNode) new ObjectMapper().readTree("{\"price\":12000}");
+    }
+
+    @TearDown
+    public void tearDown() {
+        beanValidator.close();
+        itemRepository.clearStore();
+    }
+
+    @Benchmark
+    public String fullFormEdit() {
+        WebDataBinder binder = new WebDataBinder(new ItemUpdateForm(), "item");
+        binder.setValidator(beanValidator);
+        binder.bind(fullForm);
+        binder.validate();
+        return v4.edit(itemId, (ItemUpdateForm) binder.getTarget(), binder.getBindingResult());
+    }
+
+    @Benchmark
+    public ItemPatcher.PatchResult pricePatch() {
+        return itemPatcher.patch(itemId, pricePatch);
+    }
+}
@@ -0,0 +1,66 @@
+package hello.itemservice.benchmark;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.MemoryItemRepository;
+import hello.itemservice.domain.ranking.ItemRanking;
+import hello.itemservice.domain.ranking.RankedItem;
+import hello.itemservice.domain.ranking.Ranking;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 재고 가치 상위 100개, 미리 정렬해둔 ItemRanking vs 요청마다 findAll() 정렬
+ * update: 순위를 유지하는 비용이 더해진 수정 (수량 변경)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class ItemRankingBenchmark {
+
+    private static final Comparator<Item> STOCK_VALUE =
+            Comparator.<Item>comparingLong(item -> (long) item.getPrice() * item.getQuantity()).reversed();
+
+    @Param({"10000", "1000000"})
+    public int size;
+
+    private ItemRepository itemRepository;
+    private ItemRanking ranking;
+    private Random random;
+
+    @Setup
+    public void setup() {
+        itemRepository = new MemoryItemRepository();
+        ranking = new ItemRanking(itemRepository);
+        random = new Random(42);
+        List<Item> batch = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            batch.add(new Item("item" + i, 1000 + random.nextInt(999000), random.nextInt(9999)));
+        }
+        itemRepository.saveAll(batch);
+    }
+
+    @Benchmark
+    public List<RankedItem> ranked() {
+        return ranking.top(Ranking.STOCK_VALUE, 100);
+    }
+
+    @Benchmark
+    public List<Item> sortFindAll() {
+        return itemRepository.findAll().stream().sorted(STOCK_VALUE).limit(100).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public Item update() {
+        return itemRepository.adjustQuantity(1L + random.nextInt(size), random.nextBoolean() ? 1 : -1);
+    }
+}
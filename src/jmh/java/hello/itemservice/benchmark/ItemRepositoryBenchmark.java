@@ -0,0 +1,112 @@
+package hello.itemservice.benchmark;
+
+import hello.itemservice.domain.item.CachingItemRepository;
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.JdbcItemRepository;
+import hello.itemservice.domain.item.MemoryItemRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 컨트롤러가 쓰는 저장소 연산별 비용, memory vs jdbc(내장 H2, 읽기 캐시 없음) vs jdbc-cached
+ * saveAll 은 batch-size 건씩 묶은 배치 insert, 같은 건수를 save 로 한건씩 넣는 것과 비교
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ItemRepositoryBenchmark {
+
+    private static final int ITEMS = 1000;
+    private static final int BULK = 500;
+
+    @Param({"memory", "jdbc", "jdbc-cached"})
+    public String backend;
+
+    private EmbeddedDatabase database;
+    private ItemRepository itemRepository;
+    private Long[] ids;
+
+    @Setup
+    public void setup() {
+        if ("memory".equals(backend)) {
+            itemRepository = new MemoryItemRepository();
+        } else {
+            database = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+            JdbcItemRepository jdbc = new JdbcItemRepository(new JdbcTemplate(database),
+                    new TransactionTemplate(new DataSourceTransactionManager(database)), 500, 1000);
+            jdbc.createSchemaIfMissing();
+            itemRepository = "jdbc-cached".equals(backend) ? new CachingItemRepository(jdbc, 10000) : jdbc;
+        }
+        itemRepository.clearStore();
+        itemRepository.saveAll(items(ITEMS));
+        ids = itemRepository.findAll().stream().map(Item::getId).toArray(Long[]::new);
+    }
+
+    @TearDown
+    public void tearDown() {
+        itemRepository.clearStore();
+        if (database != null) {
+            database.shutdown();
+        }
+    }
+
+    @Benchmark
+    public Item findById() {
+        return itemRepository.findById(randomId());
+    }
+
+    @Benchmark
+    public Item save() {
+        return itemRepository.save(new Item("itemA", 10000, 10));
+    }
+
+    @Benchmark
+    public void update() {
+        itemRepository.update(randomId(), new Item("itemB", 20000, 20));
+    }
+
+    @Benchmark
+    public List<Item> findAll() {
+        return itemRepository.findAll();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BULK)
+    public void saveAll() {
+        itemRepository.saveAll(items(BULK));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BULK)
+    public void saveOneByOne() {
+        for (Item item : items(BULK)) {
+            itemRepository.save(item);
+        }
+    }
+
+    private Long randomId() {
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+
+    private static List<Item> items(int count) {
+        List<Item> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            items.add(new Item("item" + i, 1000 + i, 10));
+        }
+        return items;
+    }
+}
@@ -0,0 +1,123 @@
+package hello.itemservice.benchmark;
+
+import hello.itemservice.message.CachingMessageSource;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.MessageSource;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.validation.DefaultMessageCodesResolver;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.MessageCodesResolver;
+import org.springframework.validation.ObjectError;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 검증 오류를 화면에 출력할 때 드는 비용
+ * MessageCodesResolver: rejectValue(), reject() 마다 오류 코드 4개(필드), 2개(객체) 생성
+ * MessageSource: th:errors 가 생성된 코드를 순서대로 찾고 {0} 같은 인자를 포맷
+ * spring.messages.basename=messages,errors 와 같은 설정의 ResourceBundleMessageSource 사용
+ * cached=true 면 애플리케이션과 같이 CachingMessageSource 로 감싸서 완성된 메시지를 캐시
+ * formWithManyErrors: 오류가 많은 등록 폼 하나를 렌더링할 때 th:errors, #fields.globalErrors() 가 조회하는 메시지 전부
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MessageResolutionBenchmark {
+
+    @Param({"ko", "en"})
+    public String lang;
+
+    @Param({"false", "true"})
+    public boolean cached;
+
+    private Locale locale;
+    private MessageCodesResolver codesResolver;
+    private MessageSource messageSource;
+
+    //Level1 에 바로 있는 코드, 인자 2개
+    private FieldError rangeError;
+    //Level1 이 없어서 Level3 까지 내려가는 코드
+    private FieldError typeMismatchError;
+    private ObjectError totalPriceError;
+    private FieldError requiredError;
+    private FieldError maxError;
+    private String[] labels;
+
+    @Setup
+    public void setup() {
+        locale = new Locale(lang);
+        codesResolver = new DefaultMessageCodesResolver();
+
+        ResourceBundleMessageSource bundleMessageSource = new ResourceBundleMessageSource();
+        bundleMessageSource.setBasenames("messages", "errors");
+        bundleMessageSource.setDefaultEncoding("UTF-8");
+        messageSource = cached ? new CachingMessageSource(bundleMessageSource, 10000) : bundleMessageSource;
+
+        rangeError = new FieldError("item", "price", 100, false,
+                codesResolver.resolveMessageCodes("range", "item", "price", Integer.class),
+                new Object[]{1000, 1000000}, null);
+        typeMismatchError = new FieldError("item", "price", "abc", true,
+                codesResolver.resolveMessageCodes("typeMismatch", "item", "price", Integer.class),
+                null, null);
+        totalPriceError = new ObjectError("item",
+                codesResolver.resolveMessageCodes("totalPriceMin", "item"),
+                new Object[]{10000, 100}, null);
+        requiredError = new FieldError("item", "itemName", " ", false,
+                codesResolver.resolveMessageCodes("required", "item", "itemName", String.class),
+                null, null);
+        maxError = new FieldError("item", "quantity", 10000, false,
+                codesResolver.resolveMessageCodes("max", "item", "quantity", Integer.class),
+                new Object[]{9999}, null);
+        //라벨 #{label.item.*}, 버튼, 제목까지
+        labels = new String[]{"page.addItem", "label.item.itemName", "label.item.price", "label.item.quantity",
+                "button.save", "button.cancel"};
+    }
+
+    @Benchmark
+    public String[] resolveFieldCodes() {
+        return codesResolver.resolveMessageCodes("required", "item", "itemName", String.class);
+    }
+
+    @Benchmark
+    public String[] resolveObjectCodes() {
+        return codesResolver.resolveMessageCodes("totalPriceMin", "item");
+    }
+
+    @Benchmark
+    public String messageWithArguments() {
+        return messageSource.getMessage(rangeError, locale);
+    }
+
+    @Benchmark
+    public String messageFallbackLevel() {
+        return messageSource.getMessage(typeMismatchError, locale);
+    }
+
+    @Benchmark
+    public String globalErrorMessage() {
+        return messageSource.getMessage(totalPriceError, locale);
+    }
+
+    @Benchmark
+    public String plainMessage() {
+        return messageSource.getMessage("label.item.price", null, locale);
+    }
+
+    @Benchmark
+    public int formWithManyErrors() {
+        int length = 0;
+        for (String label : labels) {
+            length += messageSource.getMessage(label, null, locale).length();
+        }
+        length += messageSource.getMessage(totalPriceError, locale).length();
+        length += messageSource.getMessage(requiredError, locale).length();
+        length += messageSource.getMessage(rangeError, locale).length();
+        length += messageSource.getMessage(typeMismatchError, locale).length();
+        length += messageSource.getMessage(maxError, locale).length();
+        return length;
+    }
+}
@@ -0,0 +1,100 @@
+package hello.itemservice.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.util.StreamUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 화면 한번(v4 addForm: bootstrap.min.css + live-validation.js)에 정적 파일을 보내는 비용
+ * onTheFlyGzip: server.compression 처럼 요청마다 압축 / precompressed: 빌드 때 만든 .gz, .zst 를 그대로 복사
+ * 화면당 전송 바이트는 setup 에서 출력, 지문 주소 + immutable 이면 두번째 화면부터는 요청 자체가 없다
+ * processResources 결과물(build/resources/main)을 읽으므로 ./gradlew jmh 로 실행
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StaticAssetBenchmark {
+
+    private static final String[] PAGE_ASSETS = {"static/css/bootstrap.min.css", "static/js/live-validation.js"};
+
+    private byte[][] identity;
+    private byte[][] gzip;
+    private byte[][] zstd;
+    private OutputStream out;
+
+    @Setup
+    public void setup() throws IOException {
+        identity = new byte[PAGE_ASSETS.length][];
+        gzip = new byte[PAGE_ASSETS.length][];
+        zstd = new byte[PAGE_ASSETS.length][];
+        for (int i = 0; i < PAGE_ASSETS.length; i++) {
+            identity[i] = read(PAGE_ASSETS[i]);
+            gzip[i] = read(PAGE_ASSETS[i] + ".gz");
+            zstd[i] = read(PAGE_ASSETS[i] + ".zst");
+        }
+        out = OutputStream.nullOutputStream();
+
+        System.out.printf("%nbytes per first page view: identity=%d gzip=%d zstd=%d, repeat view (immutable)=0%n",
+                total(identity), total(gzip), total(zstd));
+    }
+
+    @Benchmark
+    public void identity() throws IOException {
+        send(identity);
+    }
+
+    @Benchmark
+    public void onTheFlyGzip() throws IOException {
+        for (byte[] bytes : identity) {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(bytes.length / 4);
+            try (GZIPOutputStream gzipStream = new GZIPOutputStream(buffer)) {
+                gzipStream.write(bytes);
+            }
+            buffer.writeTo(out);
+        }
+    }
+
+    @Benchmark
+    public void precompressedGzip() throws IOException {
+        send(gzip);
+    }
+
+    @Benchmark
+    public void precompressedZstd() throws IOException {
+        send(zstd);
+    }
+
+    private void send(byte[][] assets) throws IOException {
+        for (byte[] bytes : assets) {
+            out.write(bytes);
+        }
+    }
+
+    private static byte[] read(String path) throws IOException {
+        ClassPathResource resource = new ClassPathResource(path);
+        if (!resource.exists()) {
+            throw new IllegalStateException(path + " 가 없습니다, processResources 를 먼저 실행");
+        }
+        try (InputStream in = resource.getInputStream()) {
+            return StreamUtils.copyToByteArray(in);
+        }
+    }
+
+    private static long total(byte[][] assets) {
+        long total = 0;
+        for (byte[] bytes : assets) {
+            total += bytes.length;
+        }
+        return total;
+    }
+}
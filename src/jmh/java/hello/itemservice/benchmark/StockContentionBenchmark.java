@@ -0,0 +1,48 @@
+package hello.itemservice.benchmark;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.MemoryItemRepository;
+import hello.itemservice.domain.stock.StockLedger;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 256 스레드가 인기 상품 하나를 예약하고 바로 반환
+ * direct: 매번 저장소 adjustQuantity (상품 하나의 잠금에 모두 줄을 섬)
+ * striped: StockLedger, 예약 가능 수량을 칸에 나눠서 CAS, 저장소 수량은 건드리지 않음
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(256)
+@State(Scope.Benchmark)
+public class StockContentionBenchmark {
+
+    ItemRepository itemRepository;
+    StockLedger ledger;
+    Long itemId;
+
+    @Setup
+    public void setup() {
+        itemRepository = new MemoryItemRepository();
+        ledger = new StockLedger(itemRepository);
+        itemId = itemRepository.save(new Item("bestSeller", 10000, 1_000_000)).getId();
+    }
+
+    @Benchmark
+    public Item direct() {
+        itemRepository.adjustQuantity(itemId, -1);
+        return itemRepository.adjustQuantity(itemId, 1);
+    }
+
+    @Benchmark
+    public boolean striped() {
+        boolean reserved = ledger.reserve(itemId, 1);
+        ledger.release(itemId, 1);
+        return reserved;
+    }
+}
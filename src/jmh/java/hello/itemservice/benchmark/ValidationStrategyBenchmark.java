@@ -0,0 +1,140 @@
+package hello.itemservice.benchmark;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.MemoryItemRepository;
+import hello.itemservice.domain.item.SaveCheck;
+import hello.itemservice.web.idempotency.IdempotencyKeyStore;
+import hello.itemservice.web.metrics.ValidationFailureStats;
+import hello.itemservice.web.validation.ItemValidator;
+import hello.itemservice.web.validation.ValidationItemControllerV1;
+import hello.itemservice.web.validation.ValidationItemControllerV2;
+import hello.itemservice.web.validation.ValidationItemControllerV3;
+import hello.itemservice.web.validation.ValidationItemControllerV4;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.MutablePropertyValues;
+import org.springframework.ui.ExtendedModelMap;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+import org.springframework.web.bind.WebDataBinder;
+import org.springframework.web.servlet.mvc.support.RedirectAttributesModelMap;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 같은 검증 규칙을 4가지 방법으로 구현한 컨트롤러의 비용 비교
+ * V1: Map 에 직접 오류를 담는 방식
+ * V2: ItemValidator + rejectValue() (글로벌 Bean Validator 도 같이 실행됨)
+ * V3: Item 의 Bean Validation groups (SaveCheck)
+ * V4: ItemSaveForm 폼 객체 + Bean Validation
+ *
+ * 스프링 MVC 가 하는 것처럼 문자열 파라미터를 WebDataBinder 로 바인딩, 검증하고 컨트롤러 메서드를 직접 호출한다
+ * 저장소는 저장하지 않는 스텁이므로 순수하게 바인딩 + 검증 + 컨트롤러 로직 비용만 나온다
+ * 현재 Item 의 Bean Validation 애노테이션은 주석 처리되어 있어서 V3 는 totalPriceMin 만 검증됨
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValidationStrategyBenchmark {
+
+    @Param({"valid", "singleError", "allErrors", "typeMismatch"})
+    public String input;
+
+    private MutablePropertyValues params;
+    private LocalValidatorFactoryBean beanValidator;
+    private ItemValidator itemValidator;
+
+    private ValidationItemControllerV1 v1;
+    private ValidationItemControllerV2 v2;
+    private ValidationItemControllerV3 v3;
+    private ValidationItemControllerV4 v4;
+
+    @Setup
+    public void setup() {
+        params = new MutablePropertyValues();
+        switch (input) {
+            case "valid":
+                params.add("itemName", "itemA").add("price", "10000").add("quantity", "10");
+                break;
+            case "singleError":
+                //수량 최대값 오류 하나
+                params.add("itemName", "itemA").add("price", "10000").add("quantity", "10000");
+                break;
+            case "allErrors":
+                //이름 필수, 가격 범위, 가격 * 수량 최소 (수량 최대값과 합계 최소는 동시에 날 수 없음)
+                params.add("itemName", " ").add("price", "100").add("quantity", "1");
+                break;
+            case "typeMismatch":
+                params.add("itemName", "itemA").add("price", "abc").add("quantity", "10");
+                break;
+            default:
+                throw new IllegalArgumentException(input);
+        }
+
+        //스프링 부트가 글로벌 Validator 로 등록하는 것과 같은 구현체
+        beanValidator = new LocalValidatorFactoryBean();
+        beanValidator.afterPropertiesSet();
+        itemValidator = new ItemValidator();
+
+        ItemRepository repository = new NoOpItemRepository();
+        v1 = new ValidationItemControllerV1(repository, new ValidationFailureStats(30, 10));
+        v2 = new ValidationItemControllerV2(repository, itemValidator);
+        v3 = new ValidationItemControllerV3(repository);
+        v4 = new ValidationItemControllerV4(repository, new IdempotencyKeyStore(600, 1000));
+    }
+
+    @TearDown
+    public void tearDown() {
+        beanValidator.close();
+    }
+
+    @Benchmark
+    public String v1ManualMap() {
+        WebDataBinder binder = new WebDataBinder(new Item(), "item");
+        binder.bind(params);
+        return v1.addItem((Item) binder.getTarget(), new RedirectAttributesModelMap(), new ExtendedModelMap());
+    }
+
+    @Benchmark
+    public String v2ItemValidator() {
+        WebDataBinder binder = new WebDataBinder(new Item(), "item");
+        binder.setValidator(beanValidator);
+        binder.addValidators(itemValidator);
+        binder.bind(params);
+        binder.validate();
+        return v2.addItemV6((Item) binder.getTarget(), binder.getBindingResult(),
+                new RedirectAttributesModelMap(), new ExtendedModelMap());
+    }
+
+    @Benchmark
+    public String v3BeanValidationGroups() {
+        WebDataBinder binder = new WebDataBinder(new Item(), "item");
+        binder.setValidator(beanValidator);
+        binder.bind(params);
+        binder.validate(SaveCheck.class);
+        return v3.addItem2((Item) binder.getTarget(), binder.getBindingResult(), new RedirectAttributesModelMap());
+    }
+
+    @Benchmark
+    public String v4FormObject() {
+        WebDataBinder binder = new WebDataBinder(new ItemSaveForm(), "item");
+        binder.setValidator(beanValidator);
+        binder.bind(params);
+        binder.validate();
+        return v4.addItem((ItemSaveForm) binder.getTarget(), binder.getBindingResult(),
+                new RedirectAttributesModelMap(), null, new ExtendedModelMap());
+    }
+
+    //저장 비용은 제외, 저장소가 계속 커지지 않게
+    static class NoOpItemRepository extends MemoryItemRepository {
+
+        @Override
+        public Item save(Item item) {
+            item.setId(1L);
+            return item;
+        }
+    }
+}
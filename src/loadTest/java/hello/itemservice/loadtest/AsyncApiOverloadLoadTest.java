@@ -0,0 +1,94 @@
+package hello.itemservice.loadtest;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.MemoryItemRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 저장이 느릴 때 동기 API 와 비동기 API(AsyncItemApiController) 의 처리량, 지연시간 비교, ./gradlew loadTest 로 실행
+ * 저장에 loadtest.write-delay-millis 가 걸리는 저장소로 바꾸고, 등록 요청을 처리 가능한 양보다 많이 보낸다
+ *
+ * 동기: 톰캣 스레드가 저장을 기다리며 묶여서 등록과 상관없는 상세 화면까지 밀린다
+ * 비동기: 실행기가 처리할 수 있는 만큼만 받고 나머지는 바로 503, 상세 화면은 톰캣 스레드가 남아 있어서 빠르다
+ *
+ * 설정 (-Ploadtest.xxx=값)
+ * loadtest.overload-rate: 초당 요청 수 (등록 + 상세), loadtest.overload-add-percent: 그 중 등록 비율
+ * loadtest.write-delay-millis, loadtest.warmup-seconds, loadtest.duration-seconds
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "item.repository=slow",
+        //톰캣 스레드를 적게 두어서 동기 버전이 포화되는 지점을 낮춘다
+        "server.tomcat.threads.max=16",
+        "api.async.threads=8",
+        "api.async.queue-capacity=64",
+        "api.async.timeout-millis=2000",
+        "admission.submit.rate-per-second=1000000",
+        "admission.submit.burst=1000000",
+        "logging.level.hello.itemservice=warn"
+})
+class AsyncApiOverloadLoadTest {
+
+    private static final long WRITE_DELAY_NANOS =
+            TimeUnit.MILLISECONDS.toNanos(Long.parseLong(System.getProperty("loadtest.write-delay-millis", "50")));
+
+    @LocalServerPort
+    int port;
+
+    @Test
+    void asyncKeepsOtherRequestsFastUnderOverload() throws Exception {
+        //기본값: 등록 400/s, 동기 처리 한도 16 / 50ms = 320/s, 비동기 한도 8 / 50ms = 160/s
+        double rate = Double.parseDouble(System.getProperty("loadtest.overload-rate", "800"));
+        int addPercent = Integer.parseInt(System.getProperty("loadtest.overload-add-percent", "50"));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(System.getProperty("loadtest.warmup-seconds", "3")));
+        Duration duration = Duration.ofSeconds(Long.parseLong(System.getProperty("loadtest.duration-seconds", "10")));
+        String baseUrl = "http://localhost:" + port;
+
+        Map<String, OpenLoopLoadGenerator.EndpointResult> sync = run(
+                LoadMix.apiAdd(baseUrl, "/validation/api/items/add", addPercent, 100 - addPercent, 1L), rate, warmup, duration);
+        Map<String, OpenLoopLoadGenerator.EndpointResult> async = run(
+                LoadMix.apiAdd(baseUrl, "/validation/api/async/items/add", addPercent, 100 - addPercent, 1L), rate, warmup, duration);
+
+        //비동기 쪽 상세 화면은 과부하와 상관없이 빨라야 함, 등록은 일부 503 으로 거절
+        assertThat(async.get("detail").errors()).isZero();
+        assertThat(async.get("detail").latency().percentile(99))
+                .isLessThan(sync.get("detail").latency().percentile(99));
+    }
+
+    private Map<String, OpenLoopLoadGenerator.EndpointResult> run(LoadMix mix, double rate, Duration warmup,
+                                                                  Duration duration) throws InterruptedException {
+        OpenLoopLoadGenerator generator = new OpenLoopLoadGenerator(mix, 8, rate);
+        Map<String, OpenLoopLoadGenerator.EndpointResult> results = generator.run(warmup, duration);
+        System.out.println(new LoadReport(results, mix, rate).table());
+        return results;
+    }
+
+    @TestConfiguration
+    static class SlowRepositoryConfig {
+
+        //느린 데이터베이스 대신, 저장할 때마다 스레드를 잡아둔다
+        @Bean
+        @Primary
+        ItemRepository slowItemRepository() {
+            return new MemoryItemRepository() {
+                @Override
+                public Item save(Item item) {
+                    LockSupport.parkNanos(WRITE_DELAY_NANOS);
+                    return super.save(item);
+                }
+            };
+        }
+    }
+}
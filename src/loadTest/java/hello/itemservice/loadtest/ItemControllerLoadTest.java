@@ -0,0 +1,60 @@
+package hello.itemservice.loadtest;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 상품 컨트롤러 부하 테스트, ./gradlew loadTest 로 실행
+ * 랜덤 포트로 애플리케이션을 띄우고 로컬에서만 요청하므로 네트워크 없이 한 대에서 돌릴 수 있다
+ *
+ * 설정 (-Ploadtest.xxx=값)
+ * loadtest.rate: 초당 요청 수 (전체), loadtest.clients: 동시 클라이언트 수
+ * loadtest.warmup-seconds, loadtest.duration-seconds
+ * loadtest.mix: list,detail,validAdd,invalidAdd,edit 비율
+ * loadtest.tolerance: 기준선 대비 허용 오차 (0.2 = 20%)
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        //모든 요청이 127.0.0.1 에서 오므로 요청 제한은 풀어둔다
+        "admission.submit.rate-per-second=1000000",
+        "admission.submit.burst=1000000",
+        "admission.invalid.rate-per-second=1000000",
+        "admission.invalid.burst=1000000",
+        "logging.level.hello.itemservice=warn"
+})
+class ItemControllerLoadTest {
+
+    @LocalServerPort
+    int port;
+
+    @Test
+    void mixedWorkload() throws Exception {
+        double rate = Double.parseDouble(System.getProperty("loadtest.rate", "200"));
+        int clients = Integer.parseInt(System.getProperty("loadtest.clients", "8"));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(System.getProperty("loadtest.warmup-seconds", "10")));
+        Duration duration = Duration.ofSeconds(Long.parseLong(System.getProperty("loadtest.duration-seconds", "30")));
+        int[] weights = Arrays.stream(System.getProperty("loadtest.mix", "10,35,15,25,15").split(","))
+                .mapToInt(w -> Integer.parseInt(w.trim())).toArray();
+        double tolerance = Double.parseDouble(System.getProperty("loadtest.tolerance", "0.2"));
+        Path reportDir = Path.of(System.getProperty("loadtest.report-dir", "build/reports/loadtest"));
+
+        LoadMix mix = LoadMix.standard("http://localhost:" + port, weights, 1L);
+        OpenLoopLoadGenerator generator = new OpenLoopLoadGenerator(mix, clients, rate);
+        LoadReport report = new LoadReport(generator.run(warmup, duration), mix, rate);
+
+        System.out.println(report.table());
+        report.writeCandidate(reportDir);
+
+        Properties baseline = LoadReport.loadBaseline("loadtest-baseline.properties");
+        List<String> regressions = report.regressions(baseline, tolerance);
+        assertThat(regressions).as("기준선 대비 성능 저하").isEmpty();
+    }
+}
@@ -0,0 +1,120 @@
+package hello.itemservice.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+//부하 테스트에서 보내는 요청 종류와 비율
+//목록, 상세, 정상 등록, 검증 실패 등록, 수정을 v1~v4 에 고르게, API 는 등록만 있음
+//HttpRequest 는 불변이라 미리 만들어두고 계속 재사용한다
+public class LoadMix {
+
+    private static final String[] VERSIONS = {"v1", "v2", "v3", "v4"};
+
+    private final List<Entry> entries = new ArrayList<>();
+    private int totalWeight;
+
+    /**
+     * weights: list, detail, validAdd, invalidAdd, edit 순서의 비율
+     * itemId: 상세, 수정에 쓰는 상품 id (TestDataInit 이 넣는 1번 상품)
+     */
+    public static LoadMix standard(String baseUrl, int[] weights, long itemId) {
+        LoadMix mix = new LoadMix();
+        for (String v : VERSIONS) {
+            String items = baseUrl + "/validation/" + v + "/items";
+            mix.add(v + " list", weights[0], get(items));
+            mix.add(v + " detail", weights[1], get(items + "/" + itemId));
+            mix.add(v + " validAdd", weights[2], form(items + "/add", "itemName=load&price=10000&quantity=10"));
+            mix.add(v + " invalidAdd", weights[3], form(items + "/add", "itemName=&price=100&quantity=1"));
+            mix.add(v + " edit", weights[4], form(items + "/" + itemId + "/edit",
+                    "id=" + itemId + "&itemName=itemA&price=10000&quantity=10"));
+        }
+        String api = baseUrl + "/validation/api/items/add";
+        mix.add("api validAdd", weights[2], json(api, "{\"itemName\":\"load\",\"price\":10000,\"quantity\":10}"));
+        mix.add("api invalidAdd", weights[3], json(api, "{\"itemName\":\"\",\"price\":100,\"quantity\":1}"));
+        return mix;
+    }
+
+    /**
+     * API 등록 과부하 비교용, addPath 는 동기(/validation/api/items/add) 또는 비동기(/validation/api/async/items/add)
+     * 등록과 함께 상세 화면도 섞어서, 등록이 밀릴 때 다른 요청까지 느려지는지 본다
+     */
+    public static LoadMix apiAdd(String baseUrl, String addPath, int addWeight, int detailWeight, long itemId) {
+        LoadMix mix = new LoadMix();
+        mix.add("add", addWeight, json(baseUrl + addPath, "{\"itemName\":\"load\",\"price\":10000,\"quantity\":10}"));
+        mix.add("detail", detailWeight, get(baseUrl + "/validation/v4/items/" + itemId));
+        return mix;
+    }
+
+    public void add(String endpoint, int weight, HttpRequest request) {
+        if (weight <= 0) {
+            return;
+        }
+        totalWeight += weight;
+        entries.add(new Entry(endpoint, request, totalWeight));
+    }
+
+    public Entry next(Random random) {
+        int pick = random.nextInt(totalWeight);
+        for (Entry entry : entries) {
+            if (pick < entry.cumulativeWeight) {
+                return entry;
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    //전체 요청 중 이 엔드포인트가 차지하는 비율
+    public double share(String endpoint) {
+        int previous = 0;
+        for (Entry entry : entries) {
+            if (entry.endpoint.equals(endpoint)) {
+                return (double) (entry.cumulativeWeight - previous) / totalWeight;
+            }
+            previous = entry.cumulativeWeight;
+        }
+        return 0;
+    }
+
+    public List<String> endpoints() {
+        List<String> names = new ArrayList<>();
+        for (Entry entry : entries) {
+            names.add(entry.endpoint);
+        }
+        return names;
+    }
+
+    private static HttpRequest get(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).GET().build();
+    }
+
+    private static HttpRequest form(String url, String body) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8))
+                .build();
+    }
+
+    private static HttpRequest json(String url, String body) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8))
+                .build();
+    }
+
+    public static class Entry {
+
+        final String endpoint;
+        final HttpRequest request;
+        final int cumulativeWeight;
+
+        Entry(String endpoint, HttpRequest request, int cumulativeWeight) {
+            this.endpoint = endpoint;
+            this.request = request;
+            this.cumulativeWeight = cumulativeWeight;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package hello.itemservice.loadtest;
+
+import hello.itemservice.web.metrics.LatencyHistogram;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * 엔드포인트별 처리량, 지연시간 백분위 출력과 기준선(baseline) 비교
+ * 기준선 키: "<엔드포인트>.p99.ms", "<엔드포인트>.throughput.ratio", "<엔드포인트>.error.rate"
+ * 엔드포인트 키가 없으면 "default." 로 시작하는 값을 쓴다, 엔드포인트 이름의 공백은 _ 로 바꿔서 적는다
+ * 이번 실행 결과는 baseline-candidate.properties 로 저장되므로 기준선을 갱신할 때 복사해서 쓰면 된다
+ */
+public class LoadReport {
+
+    private final Map<String, OpenLoopLoadGenerator.EndpointResult> results;
+    private final LoadMix mix;
+    private final double ratePerSecond;
+
+    public LoadReport(Map<String, OpenLoopLoadGenerator.EndpointResult> results, LoadMix mix, double ratePerSecond) {
+        this.results = results;
+        this.mix = mix;
+        this.ratePerSecond = ratePerSecond;
+    }
+
+    public String table() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-18s %8s %10s %9s %9s %9s %9s %7s%n",
+                "endpoint", "count", "req/s", "p50(ms)", "p99(ms)", "p999(ms)", "max(ms)", "errors"));
+        results.forEach((endpoint, result) -> {
+            LatencyHistogram.Snapshot latency = result.latency();
+            sb.append(String.format("%-18s %8d %10.1f %9.2f %9.2f %9.2f %9.2f %7d%n",
+                    endpoint, latency.getCount(), result.throughput(),
+                    millis(latency.percentile(50)), millis(latency.percentile(99)),
+                    millis(latency.percentile(99.9)), millis(latency.getMax()), result.errors()));
+        });
+        return sb.toString();
+    }
+
+    //기준선보다 나빠진 항목 목록, 비어있으면 통과
+    public List<String> regressions(Properties baseline, double tolerance) {
+        List<String> regressions = new ArrayList<>();
+        results.forEach((endpoint, result) -> {
+            LatencyHistogram.Snapshot latency = result.latency();
+            if (latency.getCount() == 0) {
+                return;
+            }
+            String key = key(endpoint);
+
+            double p99 = millis(latency.percentile(99));
+            double maxP99 = value(baseline, key, "p99.ms") * (1 + tolerance);
+            if (p99 > maxP99) {
+                regressions.add(String.format("%s p99 %.2fms > %.2fms", endpoint, p99, maxP99));
+            }
+
+            //open-loop 이므로 서버가 버티면 처리량은 보낸 만큼 나온다, 덜 나오면 밀린 것
+            double ratio = result.throughput() / offeredRate(endpoint);
+            double minRatio = value(baseline, key, "throughput.ratio") * (1 - tolerance);
+            if (ratio < minRatio) {
+                regressions.add(String.format("%s throughput ratio %.2f < %.2f", endpoint, ratio, minRatio));
+            }
+
+            double errorRate = (double) result.errors() / latency.getCount();
+            double maxErrorRate = value(baseline, key, "error.rate");
+            if (errorRate > maxErrorRate) {
+                regressions.add(String.format("%s error rate %.4f > %.4f", endpoint, errorRate, maxErrorRate));
+            }
+        });
+        return regressions;
+    }
+
+    public void writeCandidate(Path dir) throws IOException {
+        Files.createDirectories(dir);
+        Properties candidate = new Properties();
+        results.forEach((endpoint, result) -> {
+            String key = key(endpoint);
+            candidate.setProperty(key + ".p99.ms", String.format(Locale.ROOT, "%.2f", millis(result.latency().percentile(99))));
+            candidate.setProperty(key + ".throughput.ratio",
+                    String.format(Locale.ROOT, "%.2f", result.throughput() / offeredRate(endpoint)));
+        });
+        try (Writer writer = Files.newBufferedWriter(dir.resolve("baseline-candidate.properties"), StandardCharsets.UTF_8)) {
+            candidate.store(writer, "load test result, copy to src/loadTest/resources/loadtest-baseline.properties");
+        }
+        Files.writeString(dir.resolve("report.txt"), table(), StandardCharsets.UTF_8);
+    }
+
+    public static Properties loadBaseline(String resource) throws IOException {
+        Properties baseline = new Properties();
+        try (InputStream in = LoadReport.class.getClassLoader().getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalStateException("baseline not found: " + resource);
+            }
+            baseline.load(in);
+        }
+        return baseline;
+    }
+
+    //요청 비율대로 나눈 엔드포인트별 기대 처리량
+    private double offeredRate(String endpoint) {
+        return ratePerSecond * mix.share(endpoint);
+    }
+
+    private static double value(Properties baseline, String key, String metric) {
+        String value = baseline.getProperty(key + "." + metric, baseline.getProperty("default." + metric));
+        if (value == null) {
+            throw new IllegalStateException("baseline has no value for " + key + "." + metric);
+        }
+        return Double.parseDouble(value.trim());
+    }
+
+    private static String key(String endpoint) {
+        return endpoint.replace(' ', '_');
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,152 @@
+package hello.itemservice.loadtest;
+
+import hello.itemservice.web.metrics.LatencyHistogram;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 고정 도착률(open-loop) 부하 생성기
+ * 클라이언트마다 정해진 간격으로 요청 시각을 미리 정해두고, 응답을 기다리지 않고 그 시각에 요청을 보낸다
+ * 지연시간은 실제로 보낸 시각이 아니라 "보냈어야 할 시각"부터 잰다
+ * 서버가 느려져서 요청이 밀리면 밀린 시간까지 지연시간에 포함되므로 coordinated omission 이 생기지 않는다
+ */
+public class OpenLoopLoadGenerator {
+
+    private final LoadMix mix;
+    private final int clients;
+    private final double ratePerSecond;
+
+    private final Map<String, EndpointResult> results = new LinkedHashMap<>();
+
+    public OpenLoopLoadGenerator(LoadMix mix, int clients, double ratePerSecond) {
+        this.mix = mix;
+        this.clients = clients;
+        this.ratePerSecond = ratePerSecond;
+        for (String endpoint : mix.endpoints()) {
+            results.put(endpoint, new EndpointResult());
+        }
+    }
+
+    //warmup 동안의 결과는 버리고 duration 동안 측정
+    public Map<String, EndpointResult> run(Duration warmup, Duration duration) throws InterruptedException {
+        if (!warmup.isZero()) {
+            drive(warmup);
+            for (EndpointResult result : results.values()) {
+                result.reset();
+            }
+        }
+        drive(duration);
+        for (EndpointResult result : results.values()) {
+            result.elapsedNanos = duration.toNanos();
+        }
+        return results;
+    }
+
+    private void drive(Duration duration) throws InterruptedException {
+        ExecutorService executor = Executors.newCachedThreadPool();
+        //응답을 기다리는 요청 수, 끝날 때 남은 요청을 기다리기 위해
+        AtomicInteger inFlight = new AtomicInteger();
+        Thread[] schedulers = new Thread[clients];
+
+        long start = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(10);
+        long end = start + duration.toNanos();
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) * clients / ratePerSecond);
+
+        for (int c = 0; c < clients; c++) {
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .followRedirects(HttpClient.Redirect.NEVER)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .executor(executor)
+                    .build();
+            //클라이언트마다 시작 시각을 조금씩 어긋나게 해서 요청이 한꺼번에 몰리지 않게
+            long clientStart = start + intervalNanos * c / clients;
+            Random random = new Random(c);
+
+            schedulers[c] = new Thread(() -> {
+                for (long i = 0; ; i++) {
+                    long intended = clientStart + i * intervalNanos;
+                    if (intended - end >= 0) {
+                        return;
+                    }
+                    sleepUntil(intended);
+
+                    LoadMix.Entry entry = mix.next(random);
+                    EndpointResult result = results.get(entry.endpoint);
+                    inFlight.incrementAndGet();
+                    client.sendAsync(entry.request, HttpResponse.BodyHandlers.discarding())
+                            .whenComplete((response, ex) -> {
+                                result.record(System.nanoTime() - intended, ex == null ? response.statusCode() : -1);
+                                inFlight.decrementAndGet();
+                            });
+                }
+            }, "load-client-" + c);
+            schedulers[c].start();
+        }
+
+        for (Thread scheduler : schedulers) {
+            scheduler.join();
+        }
+        try {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            while (inFlight.get() > 0) {
+                if (System.nanoTime() - deadline > 0) {
+                    throw new IllegalStateException("응답을 기다리다 시간 초과, 남은 요청=" + inFlight.get());
+                }
+                Thread.sleep(10);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void sleepUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    public static class EndpointResult {
+
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder errors = new LongAdder();
+        private long elapsedNanos;
+
+        void record(long nanos, int status) {
+            latency.record(nanos);
+            //정상 응답: 200 화면, 302 PRG 리다이렉트
+            if (status != 200 && status != 302) {
+                errors.increment();
+            }
+        }
+
+        void reset() {
+            latency.reset();
+            errors.reset();
+        }
+
+        public LatencyHistogram.Snapshot latency() {
+            return latency.snapshot();
+        }
+
+        public long errors() {
+            return errors.sum();
+        }
+
+        public double throughput() {
+            return latency().getCount() / (elapsedNanos / 1e9);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package hello.itemservice.loadtest;
+
+import hello.itemservice.ItemServiceApplication;
+import hello.itemservice.warmup.ValidationWarmUp;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * warmup.enabled 유무에 따른 시작 시간, 첫 요청 지연시간 비교, ./gradlew loadTest 로 실행
+ * JIT, 클래스 로딩은 JVM 전체에 남기 때문에 한 JVM 안에서는 비교할 수 없어서 매번 새 JVM 으로 애플리케이션을 띄운다
+ * 준비 완료 시점은 예열을 하면 예열 완료 로그, 안하면 Started 로그
+ *
+ * loadtest.startup-runs: 설정마다 띄워볼 횟수, 중앙값으로 비교
+ */
+class WarmUpStartupTest {
+
+    private static final String STARTED_LOG = "Started " + ItemServiceApplication.class.getSimpleName();
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+    @Test
+    void warmUpReducesFirstRequestLatency() throws Exception {
+        int runs = Integer.parseInt(System.getProperty("loadtest.startup-runs", "3"));
+
+        Map<String, List<Long>> cold = new LinkedHashMap<>();
+        Map<String, List<Long>> warm = new LinkedHashMap<>();
+        for (int i = 0; i < runs; i++) {
+            measure(false, cold);
+            measure(true, warm);
+        }
+
+        StringBuilder table = new StringBuilder(String.format(Locale.ROOT, "%-24s %12s %12s%n", "median(ms)", "cold", "warm-up"));
+        for (String name : cold.keySet()) {
+            table.append(String.format(Locale.ROOT, "%-24s %12.1f %12.1f%n",
+                    name, median(cold.get(name)) / 1e6, median(warm.get(name)) / 1e6));
+        }
+        System.out.println(table);
+
+        assertThat(median(warm.get("first requests total")))
+                .as("예열 후 첫 요청이 예열 전보다 빨라야 함")
+                .isLessThan(median(cold.get("first requests total")));
+    }
+
+    private void measure(boolean warmUp, Map<String, List<Long>> samples) throws Exception {
+        int port = freePort();
+        String javaBin = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        String classpath = System.getProperty("loadtest.app-classpath", System.getProperty("java.class.path"));
+        ProcessBuilder builder = new ProcessBuilder(javaBin, "-cp", classpath,
+                ItemServiceApplication.class.getName(),
+                "--server.port=" + port,
+                "--warmup.enabled=" + warmUp,
+                "--admission.invalid.burst=1000")
+                .redirectErrorStream(true);
+
+        long start = System.nanoTime();
+        Process process = builder.start();
+        try {
+            awaitReady(process, warmUp ? ValidationWarmUp.COMPLETED_LOG : STARTED_LOG);
+            record(samples, "time to ready", System.nanoTime() - start);
+
+            String base = "http://localhost:" + port + "/validation";
+            long total = 0;
+            total += record(samples, "v3 invalidAdd", time(form(base + "/v3/items/add")));
+            total += record(samples, "v4 invalidAdd", time(form(base + "/v4/items/add")));
+            total += record(samples, "api invalidAdd", time(HttpRequest.newBuilder(URI.create(base + "/api/items/add"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"itemName\":\"\",\"price\":100,\"quantity\":1}"))
+                    .build()));
+            total += record(samples, "v4 list", time(HttpRequest.newBuilder(URI.create(base + "/v4/items")).build()));
+            record(samples, "first requests total", total);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    //로그를 계속 읽어줘야 출력 버퍼가 차서 자식 프로세스가 멈추지 않는다
+    private void awaitReady(Process process, String readyLog) throws InterruptedException {
+        CountDownLatch ready = new CountDownLatch(1);
+        Thread reader = new Thread(() -> {
+            try (BufferedReader in = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = in.readLine()) != null) {
+                    if (line.contains(readyLog)) {
+                        ready.countDown();
+                    }
+                }
+            } catch (IOException ignored) {
+                //프로세스 종료
+            }
+        }, "startup-log-reader");
+        reader.setDaemon(true);
+        reader.start();
+
+        assertThat(ready.await(120, TimeUnit.SECONDS)).as("애플리케이션 준비 완료 로그: " + readyLog).isTrue();
+    }
+
+    private HttpRequest form(String url) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString("itemName=&price=100&quantity=1"))
+                .build();
+    }
+
+    private long time(HttpRequest request) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        client.send(request, HttpResponse.BodyHandlers.discarding());
+        return System.nanoTime() - start;
+    }
+
+    private static long record(Map<String, List<Long>> samples, String name, long nanos) {
+        samples.computeIfAbsent(name, k -> new ArrayList<>()).add(nanos);
+        return nanos;
+    }
+
+    private static long median(List<Long> values) {
+        long[] sorted = values.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -3,11 +3,15 @@ package hello.itemservice;
 import hello.itemservice.domain.item.Item;
 import hello.itemservice.domain.item.ItemRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.stereotype.Component;
 
 import javax.annotation.PostConstruct;
 
+//seed.file 로 대량 적재할 때는 SeedDataInit 이 대신 데이터를 넣음
+//팔로워(item.repository=replica)는 리더에서 받으므로 넣지 않는다
 @Component
+@ConditionalOnExpression("'${seed.file:}'.isEmpty() and '${item.repository:memory}' != 'replica'")
 @RequiredArgsConstructor
 public class TestDataInit {
 
@@ -0,0 +1,185 @@
+package hello.itemservice;
+
+import hello.itemservice.domain.catalog.CatalogRegistry;
+import hello.itemservice.domain.replication.ReplicationClient;
+import hello.itemservice.jfr.JfrMessageCodesResolver;
+import hello.itemservice.web.admission.AdmissionInterceptor;
+import hello.itemservice.web.admission.AdmissionPolicy;
+import hello.itemservice.web.asset.AssetCacheInterceptor;
+import hello.itemservice.web.catalog.CatalogFilter;
+import hello.itemservice.web.idempotency.IdempotencyInterceptor;
+import hello.itemservice.web.idempotency.IdempotencyKeyStore;
+import hello.itemservice.web.metrics.LatencyInterceptor;
+import hello.itemservice.web.metrics.LatencyMetrics;
+import hello.itemservice.web.metrics.TimedMessageCodesResolver;
+import hello.itemservice.web.metrics.TimedRequestMappingHandlerAdapter;
+import hello.itemservice.web.metrics.ValidationFailureInterceptor;
+import hello.itemservice.web.metrics.ValidationFailureStats;
+import hello.itemservice.web.replication.ReplicaCatalogFilter;
+import hello.itemservice.web.replication.ReplicaInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcRegistrations;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.util.StringUtils;
+import org.springframework.validation.DefaultMessageCodesResolver;
+import org.springframework.validation.MessageCodesResolver;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.ResourceUrlEncodingFilter;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
+
+import java.util.List;
+
+//인터셉터, 정적 파일 등록 설정
+//getValidator()는 오버라이드 하지 않는다, 글로벌 Validator를 등록하면 Bean Validator가 자동 등록되지 않기 때문
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final AdmissionPolicy admissionPolicy;
+    //X-Forwarded-For 를 믿을 프록시(로드밸런서) 주소, 쉼표로 구분
+    @Value("${admission.trusted-proxies:}")
+    private final String trustedProxies;
+    private final IdempotencyKeyStore idempotencyKeyStore;
+    private final HttpMessageConverters httpMessageConverters;
+    private final LatencyMetrics latencyMetrics;
+    private final ValidationFailureStats validationFailureStats;
+    //검증, 메시지 코드, 저장소 JFR 이벤트 (hello.itemservice.jfr)
+    @Value("${jfr.events.enabled:false}")
+    private final boolean jfrEvents;
+    //팔로워(item.repository=replica)일 때만 있음
+    private final ObjectProvider<ReplicationClient> replicationClient;
+    @Value("${replication.leader-url:}")
+    private final String leaderUrl;
+
+    //빌드(processResources)에서 지문을 붙이고 압축본(.gz, .zst)을 만들어두는 정적 파일 경로
+    private static final String[] ASSET_DIRECTORIES = {"css", "js"};
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        //팔로워는 쓰기(와 뒤처졌을 때의 읽기)를 리더로 보냄, 리더가 처리할 요청은 이 인스턴스의 다른 인터셉터를 거치지 않게 제일 앞에
+        ReplicationClient client = replicationClient.getIfAvailable();
+        if (client != null) {
+            if (!StringUtils.hasText(leaderUrl)) {
+                throw new IllegalStateException("팔로워는 replication.leader-url (리더 HTTP 주소) 이 필요합니다");
+            }
+            registry.addInterceptor(new ReplicaInterceptor(client, leaderUrl))
+                    .order(-2)
+                    .excludePathPatterns("/metrics/**", "/error", "/css/**", "/js/**");
+        }
+
+        //지연시간 측정은 요청 제한으로 거절되는 요청까지 포함하도록 제일 앞에
+        if (latencyMetrics.isEnabled()) {
+            registry.addInterceptor(new LatencyInterceptor(latencyMetrics))
+                    .order(-1)
+                    .addPathPatterns("/validation/**");
+        }
+
+        //요청 제한을 가장 먼저, 거절할 요청은 다른 인터셉터도 거치지 않게
+        //비동기 API 도 포함, 재디스패치 때는 인터셉터가 알아서 건너뜀
+        registry.addInterceptor(new AdmissionInterceptor(admissionPolicy,
+                        StringUtils.commaDelimitedListToSet(StringUtils.trimAllWhitespace(trustedProxies))))
+                .order(0)
+                .addPathPatterns("/validation/*/items/add", "/validation/api/async/items/add");
+
+        //상품 등록 요청에만 중복 방지 적용
+        registry.addInterceptor(new IdempotencyInterceptor(idempotencyKeyStore, httpMessageConverters.getConverters()))
+                .order(1)
+                .addPathPatterns("/validation/v4/items/add", "/validation/api/items/add",
+                        "/validation/api/async/items/add");
+
+        //검증 실패 통계, 등록과 수정 모두
+        registry.addInterceptor(new ValidationFailureInterceptor(validationFailureStats))
+                .order(2)
+                .addPathPatterns("/validation/**");
+
+        //정적 파일 캐시 헤더, 리소스 핸들러에도 인터셉터가 적용됨
+        registry.addInterceptor(new AssetCacheInterceptor())
+                .addPathPatterns("/css/**", "/js/**");
+    }
+
+    /**
+     * css, js 는 스프링 부트 기본 정적 리소스(/**) 대신 여기서 처리
+     * 1. VersionResourceResolver: bootstrap.min-<md5>.css 요청을 원본으로 찾고 md5 가 맞는지 확인
+     * 2. EncodedResourceResolver: Accept-Encoding 에 따라 빌드 때 만들어둔 .zst, .gz 를 그대로 보냄 (요청마다 압축하지 않음)
+     * 캐시 헤더는 AssetCacheInterceptor 가 쓰므로 핸들러에는 설정하지 않는다
+     */
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        EncodedResourceResolver encodedResolver = new EncodedResourceResolver();
+        encodedResolver.setContentCodings(List.of("zstd", "gzip"));
+        encodedResolver.registerExtension("zstd", ".zst");
+
+        for (String directory : ASSET_DIRECTORIES) {
+            registry.addResourceHandler("/" + directory + "/**")
+                    .addResourceLocations("classpath:/static/" + directory + "/")
+                    .resourceChain(true)
+                    .addResolver(encodedResolver)
+                    .addResolver(new VersionResourceResolver().addContentVersionStrategy("/**"));
+        }
+    }
+
+    //카탈로그 선택 (/catalogs/{name}/..., X-Catalog 헤더), 경로를 바꾸므로 다른 필터보다 먼저
+    @Bean
+    public FilterRegistrationBean<CatalogFilter> catalogFilter(CatalogRegistry catalogRegistry) {
+        FilterRegistrationBean<CatalogFilter> registration = new FilterRegistrationBean<>(new CatalogFilter(catalogRegistry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    //팔로워에는 default 말고 다른 카탈로그가 없으므로 그 요청은 CatalogFilter 보다 먼저 리더로 보냄
+    @Bean
+    @ConditionalOnProperty(name = "item.repository", havingValue = "replica")
+    public FilterRegistrationBean<ReplicaCatalogFilter> replicaCatalogFilter(ReplicationClient replicationClient) {
+        FilterRegistrationBean<ReplicaCatalogFilter> registration =
+                new FilterRegistrationBean<>(new ReplicaCatalogFilter(replicationClient, leaderUrl));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 5);
+        return registration;
+    }
+
+    //타임리프 @{/css/...} 링크를 지문이 붙은 주소로 바꿈 (response.encodeURL)
+    @Bean
+    public FilterRegistrationBean<ResourceUrlEncodingFilter> assetUrlEncodingFilter() {
+        FilterRegistrationBean<ResourceUrlEncodingFilter> registration =
+                new FilterRegistrationBean<>(new ResourceUrlEncodingFilter());
+        registration.addUrlPatterns("/validation/*", "/catalogs/*");
+        return registration;
+    }
+
+    //null 이면 스프링 기본 DefaultMessageCodesResolver 사용
+    @Override
+    public MessageCodesResolver getMessageCodesResolver() {
+        if (!latencyMetrics.isEnabled() && !jfrEvents) {
+            return null;
+        }
+        MessageCodesResolver resolver = new DefaultMessageCodesResolver();
+        if (jfrEvents) {
+            resolver = new JfrMessageCodesResolver(resolver);
+        }
+        return latencyMetrics.isEnabled() ? new TimedMessageCodesResolver(resolver) : resolver;
+    }
+
+    //바인딩, 검증 시간을 재거나 검증 JFR 이벤트를 남기는 바인더를 만들도록 RequestMappingHandlerAdapter 교체
+    //시간 측정은 요청마다 LatencyMetrics.current() 가 없으면 건너뛰므로 jfr 만 켜도 그대로 쓴다
+    @Bean
+    @ConditionalOnExpression("${metrics.latency.enabled:false} or ${jfr.events.enabled:false}")
+    public WebMvcRegistrations timedWebMvcRegistrations() {
+        return new WebMvcRegistrations() {
+            @Override
+            public RequestMappingHandlerAdapter getRequestMappingHandlerAdapter() {
+                return new TimedRequestMappingHandlerAdapter(jfrEvents);
+            }
+        };
+    }
+}
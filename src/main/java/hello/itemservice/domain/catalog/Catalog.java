@@ -0,0 +1,66 @@
+package hello.itemservice.domain.catalog;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemChangeListener;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.stock.StockLedger;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+//카탈로그(스토어프론트) 하나, 자기 저장소와 id 시퀀스를 따로 가지므로 다른 카탈로그와 경합하지 않는다
+@Getter
+public class Catalog {
+
+    private final String name;
+    private final ItemRepository repository;
+    private final Instant createdAt;
+    //재고 예약, 카탈로그 저장소의 수량을 나눠서 관리
+    private final StockLedger stock;
+    private final LongAdder saves = new LongAdder();
+    private final LongAdder updates = new LongAdder();
+    //요청 경로에서 쓰는 감싼 저장소(JFR 이벤트 등), 처음 한 번 만들어서 카탈로그가 없어질 때까지 재사용
+    @Getter(AccessLevel.NONE)
+    private volatile ItemRepository decorated;
+
+    public Catalog(String name, ItemRepository repository, Instant createdAt) {
+        this.name = name;
+        this.repository = repository;
+        this.createdAt = createdAt;
+        this.stock = new StockLedger(repository);
+        repository.addListener(new ItemChangeListener() {
+            @Override
+            public void onSave(Item item) {
+                saves.increment();
+            }
+
+            @Override
+            public void onSaveAll(List<Item> items) {
+                saves.add(items.size());
+            }
+
+            @Override
+            public void onUpdate(Item before, Item after) {
+                updates.increment();
+            }
+        });
+    }
+
+    //decorator 는 상태 없는 래퍼여야 한다, 동시에 처음 불리면 둘 다 만들고 하나만 남을 수 있음
+    public ItemRepository decoratedRepository(Function<Catalog, ItemRepository> decorator) {
+        ItemRepository result = decorated;
+        if (result == null) {
+            result = decorator.apply(this);
+            decorated = result;
+        }
+        return result;
+    }
+
+    public CatalogStats stats() {
+        return new CatalogStats(name, repository.count(), saves.sum(), updates.sum(), createdAt);
+    }
+}
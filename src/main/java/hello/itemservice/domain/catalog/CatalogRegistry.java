@@ -0,0 +1,89 @@
+package hello.itemservice.domain.catalog;
+
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.MemoryItemRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * 한 인스턴스에서 여러 스토어프론트를 운영하기 위한 카탈로그 목록
+ * default 카탈로그는 스프링 빈 ItemRepository(item.repository 설정), 색인, 변경 피드, 이력은 default 만 따라간다
+ * 나머지 카탈로그는 각자 MemoryItemRepository 를 가지며, 만들기(create)는 명시적으로 해야 한다 (요청 헤더로 아무 이름이나 만들 수 없게)
+ * 삭제(drop)하면 목록에서 빼고 저장소를 비우므로 진행중인 요청이 끝나면 메모리가 회수된다
+ *
+ * catalog.max-catalogs: default 를 포함한 최대 개수
+ */
+@Component
+public class CatalogRegistry {
+
+    public static final String DEFAULT = "default";
+
+    private static final Pattern NAME = Pattern.compile("[a-z0-9][a-z0-9-]{0,31}");
+
+    private final Map<String, Catalog> catalogs = new ConcurrentHashMap<>();
+    private final int maxCatalogs;
+
+    public CatalogRegistry(ItemRepository itemRepository, @Value("${catalog.max-catalogs:100}") int maxCatalogs) {
+        this.maxCatalogs = maxCatalogs;
+        catalogs.put(DEFAULT, new Catalog(DEFAULT, itemRepository, Instant.now()));
+    }
+
+    public Catalog getDefault() {
+        return catalogs.get(DEFAULT);
+    }
+
+    //없으면 null
+    public Catalog find(String name) {
+        return catalogs.get(name);
+    }
+
+    //이미 있으면 그대로 돌려준다
+    public Catalog create(String name) {
+        if (!NAME.matcher(name).matches()) {
+            throw new IllegalArgumentException("카탈로그 이름은 소문자, 숫자, - 로 32자 이하: " + name);
+        }
+        Catalog existing = catalogs.get(name);
+        if (existing != null) {
+            return existing;
+        }
+        //개수 확인과 추가 사이에 다른 스레드가 끼어들 수 있어서 넣고 나서 넘쳤으면 되돌림
+        Catalog created = new Catalog(name, new MemoryItemRepository(), Instant.now());
+        existing = catalogs.putIfAbsent(name, created);
+        if (existing != null) {
+            return existing;
+        }
+        if (catalogs.size() > maxCatalogs) {
+            catalogs.remove(name, created);
+            throw new IllegalStateException("카탈로그는 최대 " + maxCatalogs + "개");
+        }
+        return created;
+    }
+
+    //default 는 지울 수 없음, 없던 카탈로그면 false
+    public boolean drop(String name) {
+        if (DEFAULT.equals(name)) {
+            throw new IllegalArgumentException("default 카탈로그는 지울 수 없습니다");
+        }
+        Catalog removed = catalogs.remove(name);
+        if (removed == null) {
+            return false;
+        }
+        removed.getRepository().clearStore();
+        return true;
+    }
+
+    public List<CatalogStats> stats() {
+        List<CatalogStats> stats = new ArrayList<>(catalogs.size());
+        for (Catalog catalog : catalogs.values()) {
+            stats.add(catalog.stats());
+        }
+        return stats;
+    }
+}
@@ -0,0 +1,23 @@
+package hello.itemservice.domain.catalog;
+
+import lombok.Getter;
+
+import java.time.Instant;
+
+@Getter
+public class CatalogStats {
+
+    private final String name;
+    private final long items;
+    private final long saves;
+    private final long updates;
+    private final Instant createdAt;
+
+    public CatalogStats(String name, long items, long saves, long updates, Instant createdAt) {
+        this.name = name;
+        this.items = items;
+        this.saves = saves;
+        this.updates = updates;
+        this.createdAt = createdAt;
+    }
+}
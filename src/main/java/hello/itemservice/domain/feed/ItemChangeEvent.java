@@ -0,0 +1,32 @@
+package hello.itemservice.domain.feed;
+
+import lombok.Getter;
+
+//변경 피드로 나가는 이벤트, 링 버퍼에서 읽을 때 복사해서 만든다
+//CLEAR 는 상품 값이 없음
+@Getter
+public class ItemChangeEvent {
+
+    public enum Type {
+        SAVE, UPDATE, CLEAR
+    }
+
+    private final long sequence;
+    private final Type type;
+    private final Long itemId;
+    private final String itemName;
+    private final Integer price;
+    private final Integer quantity;
+    private final long timestamp;
+
+    public ItemChangeEvent(long sequence, Type type, Long itemId, String itemName, Integer price, Integer quantity,
+                           long timestamp) {
+        this.sequence = sequence;
+        this.type = type;
+        this.itemId = itemId;
+        this.itemName = itemName;
+        this.price = price;
+        this.quantity = quantity;
+        this.timestamp = timestamp;
+    }
+}
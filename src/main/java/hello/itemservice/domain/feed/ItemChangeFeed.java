@@ -0,0 +1,49 @@
+package hello.itemservice.domain.feed;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemChangeListener;
+import hello.itemservice.domain.item.ItemRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * ItemRepository 의 저장, 수정을 링 버퍼에 기록
+ * 저장 스레드가 하는 일은 순번 발급과 배열 쓰기뿐이고, 구독자에게 보내는 일은 ItemChangeBroadcaster 가 따로 한다
+ */
+@Component
+public class ItemChangeFeed implements ItemChangeListener {
+
+    private final ItemChangeRingBuffer ringBuffer;
+
+    public ItemChangeFeed(ItemRepository itemRepository, @Value("${feed.ring-size:65536}") int ringSize) {
+        this.ringBuffer = new ItemChangeRingBuffer(ringSize);
+        itemRepository.addListener(this);
+    }
+
+    @Override
+    public void onSave(Item item) {
+        ringBuffer.publish(ItemChangeEvent.Type.SAVE, item);
+    }
+
+    @Override
+    public void onUpdate(Item before, Item after) {
+        ringBuffer.publish(ItemChangeEvent.Type.UPDATE, after);
+    }
+
+    @Override
+    public void onClear() {
+        ringBuffer.publish(ItemChangeEvent.Type.CLEAR, null);
+    }
+
+    public ItemChangeEvent read(long sequence) {
+        return ringBuffer.read(sequence);
+    }
+
+    public long next() {
+        return ringBuffer.next();
+    }
+
+    public boolean isLapped(long sequence) {
+        return ringBuffer.isLapped(sequence);
+    }
+}
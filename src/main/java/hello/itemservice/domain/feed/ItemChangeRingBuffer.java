@@ -0,0 +1,109 @@
+package hello.itemservice.domain.feed;
+
+import hello.itemservice.domain.item.Item;
+
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 미리 할당한 배열로 만든 락 없는 링 버퍼, 쓰는 쪽(저장 스레드)은 읽는 쪽을 절대 기다리지 않는다
+ *
+ * 쓰기: AtomicLong 으로 순번을 받고, 칸에 값을 쓴 뒤 published[칸] 에 순번을 기록해서 공개
+ * 같은 칸을 쓰던 이전 바퀴의 writer 가 아직 쓰는 중이면 그것만 잠깐 기다림 (용량만큼 동시에 쓰는 경우라 사실상 없음)
+ * 읽기: StampedLock 의 낙관적 읽기처럼 published 를 읽고, 값을 복사한 뒤 published 가 그대로인지 다시 확인
+ * 느린 구독자는 자기 순번이 덮어써졌는지(isLapped) 보고 다시 동기화한다
+ *
+ * 저장 경로에서 객체를 만들지 않도록 이벤트 필드를 칸마다 배열로 나눠서 보관
+ */
+public class ItemChangeRingBuffer {
+
+    //쓰는 중 표시, 정상 순번과 겹치지 않는 값
+    private static final long WRITING = Long.MIN_VALUE;
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicLong next = new AtomicLong();
+    private final AtomicLongArray published;
+
+    private final ItemChangeEvent.Type[] types;
+    private final Long[] itemIds;
+    private final String[] itemNames;
+    private final Integer[] prices;
+    private final Integer[] quantities;
+    private final long[] timestamps;
+
+    public ItemChangeRingBuffer(int requestedCapacity) {
+        //인덱스를 나머지 대신 비트 마스크로 구하도록 2의 거듭제곱으로 올림
+        capacity = Integer.highestOneBit(Math.max(2, requestedCapacity - 1)) << 1;
+        mask = capacity - 1;
+        published = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            published.set(i, i - capacity);
+        }
+        types = new ItemChangeEvent.Type[capacity];
+        itemIds = new Long[capacity];
+        itemNames = new String[capacity];
+        prices = new Integer[capacity];
+        quantities = new Integer[capacity];
+        timestamps = new long[capacity];
+    }
+
+    //item 은 null 가능 (CLEAR)
+    public long publish(ItemChangeEvent.Type type, Item item) {
+        long sequence = next.getAndIncrement();
+        int index = (int) (sequence & mask);
+
+        long previous = sequence - capacity;
+        while (published.get(index) != previous) {
+            Thread.onSpinWait();
+        }
+        published.set(index, WRITING);
+        //아래 필드 쓰기가 WRITING 표시보다 먼저 보이지 않도록
+        VarHandle.storeStoreFence();
+
+        types[index] = type;
+        itemIds[index] = item == null ? null : item.getId();
+        itemNames[index] = item == null ? null : item.getItemName();
+        prices[index] = item == null ? null : item.getPrice();
+        quantities[index] = item == null ? null : item.getQuantity();
+        timestamps[index] = System.currentTimeMillis();
+
+        published.setRelease(index, sequence);
+        return sequence;
+    }
+
+    //아직 공개되지 않았거나 읽는 도중 덮어써지면 null
+    public ItemChangeEvent read(long sequence) {
+        int index = (int) (sequence & mask);
+        if (published.getAcquire(index) != sequence) {
+            return null;
+        }
+        ItemChangeEvent.Type type = types[index];
+        Long itemId = itemIds[index];
+        String itemName = itemNames[index];
+        Integer price = prices[index];
+        Integer quantity = quantities[index];
+        long timestamp = timestamps[index];
+        //복사한 값이 확인보다 늦게 읽히지 않도록
+        VarHandle.acquireFence();
+        if (published.get(index) != sequence) {
+            return null;
+        }
+        return new ItemChangeEvent(sequence, type, itemId, itemName, price, quantity, timestamp);
+    }
+
+    //다음에 발급할 순번, 구독을 지금부터 시작하려면 여기서부터 읽으면 된다
+    public long next() {
+        return next.get();
+    }
+
+    //이미 다른 이벤트가 그 칸을 차지했으면(차지하는 중이면) 다시 읽을 수 없다
+    public boolean isLapped(long sequence) {
+        return next.get() - capacity > sequence;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+}
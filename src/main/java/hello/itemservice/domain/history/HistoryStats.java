@@ -0,0 +1,30 @@
+package hello.itemservice.domain.history;
+
+import lombok.Getter;
+
+//변경 이력 크기, 메모리는 배열 크기와 객체 헤더로 계산한 추정치
+@Getter
+public class HistoryStats {
+
+    private final long items;
+    private final long edits;
+    private final long segments;
+    private final long recordBytes;
+    private final long indexBytes;
+
+    public HistoryStats(long items, long edits, long segments, long recordBytes, long indexBytes) {
+        this.items = items;
+        this.edits = edits;
+        this.segments = segments;
+        this.recordBytes = recordBytes;
+        this.indexBytes = indexBytes;
+    }
+
+    public long getTotalBytes() {
+        return recordBytes + indexBytes;
+    }
+
+    public double getBytesPerMillionEdits() {
+        return edits == 0 ? 0 : (double) getTotalBytes() / edits * 1_000_000;
+    }
+}
@@ -0,0 +1,105 @@
+package hello.itemservice.domain.history;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemChangeListener;
+import hello.itemservice.domain.item.ItemRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 상품별 변경 이력, "X 상품의 D 시점 가격" 조회용
+ * ItemRepository 에 리스너로 등록해서 저장, 수정될 때마다 바뀐 필드만 ItemTimeline 에 차이로 기록한다 (전체 복사본을 두지 않음)
+ * 애플리케이션 메모리에만 있으므로 재시작하면 그 시점의 값부터 다시 시작
+ *
+ * history.checkpoint-interval: 세그먼트(체크포인트)당 기록 수, 클수록 작고 조회할 때 디코딩이 길어진다
+ */
+@Component
+public class ItemHistory implements ItemChangeListener {
+
+    private final Map<Long, ItemTimeline> timelines = new ConcurrentHashMap<>();
+    private final int checkpointInterval;
+    private final Clock clock;
+
+    @Autowired
+    public ItemHistory(ItemRepository itemRepository, @Value("${history.checkpoint-interval:32}") int checkpointInterval) {
+        this(itemRepository, checkpointInterval, Clock.systemUTC());
+    }
+
+    ItemHistory(ItemRepository itemRepository, int checkpointInterval, Clock clock) {
+        this.checkpointInterval = checkpointInterval;
+        this.clock = clock;
+        itemRepository.addListener(this);
+        //리스너 등록 전에 저장된 상품, 같은 값이 두번 들어와도 바뀐 필드가 없으면 기록하지 않는다
+        long now = clock.millis();
+        for (Item item : itemRepository.findAll()) {
+            record(item, now);
+        }
+    }
+
+    @Override
+    public void onSave(Item item) {
+        record(item, clock.millis());
+    }
+
+    @Override
+    public void onSaveAll(List<Item> items) {
+        long now = clock.millis();
+        for (Item item : items) {
+            record(item, now);
+        }
+    }
+
+    @Override
+    public void onUpdate(Item before, Item after) {
+        long now = clock.millis();
+        if (before != null && !timelines.containsKey(after.getId())) {
+            //이력이 시작되기 전부터 있던 상품, 이전 값은 언제부터인지 모르므로 지금 시점으로
+            record(before, now);
+        }
+        record(after, now);
+    }
+
+    @Override
+    public void onClear() {
+        timelines.clear();
+    }
+
+    //at 시점에 유효했던 값, 그 시점에 상품이 없었으면 null
+    public ItemVersion findAt(Long itemId, Instant at) {
+        ItemTimeline timeline = timelines.get(itemId);
+        return timeline == null ? null : timeline.find(at.toEpochMilli());
+    }
+
+    //오래된 순서
+    public List<ItemVersion> versions(Long itemId) {
+        ItemTimeline timeline = timelines.get(itemId);
+        return timeline == null ? List.of() : timeline.versions();
+    }
+
+    public HistoryStats stats() {
+        long edits = 0;
+        long segments = 0;
+        long recordBytes = 0;
+        long indexBytes = 0;
+        for (ItemTimeline timeline : timelines.values()) {
+            edits += timeline.records();
+            segments += timeline.segmentCount();
+            recordBytes += timeline.recordBytes();
+            //ConcurrentHashMap 노드 + Long 키
+            indexBytes += timeline.indexBytes() + 32 + 16;
+        }
+        return new HistoryStats(timelines.size(), edits, segments, recordBytes, indexBytes);
+    }
+
+    private void record(Item item, long time) {
+        timelines.computeIfAbsent(item.getId(), id -> new ItemTimeline(id, checkpointInterval))
+                .append(time, item.getItemName(), item.getPrice(), item.getQuantity());
+    }
+}
@@ -0,0 +1,276 @@
+package hello.itemservice.domain.history;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 상품 하나의 변경 이력, 추가만 하는(append-only) 세그먼트들
+ *
+ * 세그먼트마다 첫 기록은 빈 상태 기준이라 전체 값(체크포인트), 이후 기록은 직전 기록 기준의 차이만
+ * 기록: 시간 차이(varint, ms) + 바뀐 필드 flags(1 byte) + 바뀐 가격, 수량의 차이(zigzag varint) + 바뀐 이름(길이 + UTF-8)
+ * 가격 10000 -> 12000, 수량 그대로면 시간 포함 대략 5~6 byte
+ *
+ * 시점 조회: 세그먼트 시작 시간 배열에서 이진 탐색 O(log n) + 세그먼트 안에서 최대 checkpointInterval 개 디코딩
+ * 동시 접근은 상품 단위로 synchronized, 저장소 update 가 같은 상품을 잠근 상태에서 호출하므로 경합은 거의 없다
+ */
+final class ItemTimeline {
+
+    private static final int PRICE = 1;
+    private static final int PRICE_NULL = 1 << 1;
+    private static final int QUANTITY = 1 << 2;
+    private static final int QUANTITY_NULL = 1 << 3;
+    private static final int NAME = 1 << 4;
+    private static final int NAME_NULL = 1 << 5;
+
+    private static final int INITIAL_SEGMENT_BYTES = 32;
+
+    private final Long itemId;
+    private final int checkpointInterval;
+
+    private byte[][] segments = new byte[2][];
+    private long[] segmentStarts = new long[2];
+    private int segmentCount;
+
+    //열린(마지막) 세그먼트, 닫힌 세그먼트는 길이에 딱 맞게 줄여둔다
+    private int openLength;
+    private int openRecords;
+    private long records;
+
+    //직전 기록, 다음 기록의 기준값
+    private long lastTime;
+    private Integer lastPrice;
+    private Integer lastQuantity;
+    private String lastName;
+
+    ItemTimeline(Long itemId, int checkpointInterval) {
+        this.itemId = itemId;
+        this.checkpointInterval = checkpointInterval;
+    }
+
+    //바뀐 필드가 없으면 기록하지 않고 false, 시계가 뒤로 가면 직전 시간으로 맞춘다
+    synchronized boolean append(long time, String name, Integer price, Integer quantity) {
+        if (segmentCount > 0 && Objects.equals(name, lastName) && Objects.equals(price, lastPrice)
+                && Objects.equals(quantity, lastQuantity)) {
+            return false;
+        }
+        time = Math.max(time, lastTime);
+        if (segmentCount == 0 || openRecords == checkpointInterval) {
+            startSegment(time);
+        }
+
+        int flags = 0;
+        if (!Objects.equals(price, lastPrice)) {
+            flags |= PRICE | (price == null ? PRICE_NULL : 0);
+        }
+        if (!Objects.equals(quantity, lastQuantity)) {
+            flags |= QUANTITY | (quantity == null ? QUANTITY_NULL : 0);
+        }
+        byte[] nameBytes = null;
+        if (!Objects.equals(name, lastName)) {
+            flags |= NAME | (name == null ? NAME_NULL : 0);
+            if (name != null) {
+                nameBytes = name.getBytes(StandardCharsets.UTF_8);
+            }
+        }
+
+        ensure(10 + 1 + 10 + 10 + 5 + (nameBytes == null ? 0 : nameBytes.length));
+        writeVarLong(time - lastTime);
+        segments[segmentCount - 1][openLength++] = (byte) flags;
+        if ((flags & PRICE) != 0 && price != null) {
+            writeVarLong(zigzag((long) price - value(lastPrice)));
+        }
+        if ((flags & QUANTITY) != 0 && quantity != null) {
+            writeVarLong(zigzag((long) quantity - value(lastQuantity)));
+        }
+        if (nameBytes != null) {
+            writeVarLong(nameBytes.length);
+            System.arraycopy(nameBytes, 0, segments[segmentCount - 1], openLength, nameBytes.length);
+            openLength += nameBytes.length;
+        }
+
+        lastTime = time;
+        lastPrice = price;
+        lastQuantity = quantity;
+        lastName = name;
+        openRecords++;
+        records++;
+        return true;
+    }
+
+    //time 시점에 유효했던 값, 첫 기록 이전이면 null
+    synchronized ItemVersion find(long time) {
+        //segmentStarts[i] <= time 인 마지막 세그먼트
+        int low = 0;
+        int high = segmentCount - 1;
+        int found = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (segmentStarts[mid] <= time) {
+                found = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        if (found < 0) {
+            return null;
+        }
+        Decoder decoder = new Decoder(found);
+        while (decoder.hasNext() && decoder.peekTime() <= time) {
+            decoder.next();
+        }
+        return decoder.version();
+    }
+
+    synchronized List<ItemVersion> versions() {
+        List<ItemVersion> versions = new ArrayList<>((int) Math.min(records, Integer.MAX_VALUE));
+        for (int i = 0; i < segmentCount; i++) {
+            Decoder decoder = new Decoder(i);
+            while (decoder.hasNext()) {
+                decoder.next();
+                versions.add(decoder.version());
+            }
+        }
+        return versions;
+    }
+
+    synchronized long records() {
+        return records;
+    }
+
+    synchronized int segmentCount() {
+        return segmentCount;
+    }
+
+    synchronized long recordBytes() {
+        long bytes = 0;
+        for (int i = 0; i < segmentCount; i++) {
+            //byte[] 헤더 16
+            bytes += 16 + segments[i].length;
+        }
+        return bytes;
+    }
+
+    //세그먼트 참조, 시작 시간 배열과 이 객체
+    synchronized long indexBytes() {
+        return 16 + segments.length * 8L + 16 + segmentStarts.length * 8L + 64;
+    }
+
+    private void startSegment(long time) {
+        if (segmentCount > 0) {
+            segments[segmentCount - 1] = Arrays.copyOf(segments[segmentCount - 1], openLength);
+        }
+        if (segmentCount == segments.length) {
+            segments = Arrays.copyOf(segments, segmentCount * 2);
+            segmentStarts = Arrays.copyOf(segmentStarts, segmentCount * 2);
+        }
+        segments[segmentCount] = new byte[INITIAL_SEGMENT_BYTES];
+        segmentStarts[segmentCount] = time;
+        segmentCount++;
+        openLength = 0;
+        openRecords = 0;
+        //체크포인트, 빈 상태 기준으로 전체 값을 쓴다
+        lastTime = time;
+        lastPrice = null;
+        lastQuantity = null;
+        lastName = null;
+    }
+
+    private void ensure(int bytes) {
+        byte[] open = segments[segmentCount - 1];
+        if (openLength + bytes > open.length) {
+            segments[segmentCount - 1] = Arrays.copyOf(open, Math.max(open.length * 2, openLength + bytes));
+        }
+    }
+
+    private void writeVarLong(long value) {
+        byte[] open = segments[segmentCount - 1];
+        while ((value & ~0x7FL) != 0) {
+            open[openLength++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        open[openLength++] = (byte) value;
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static long value(Integer value) {
+        return value == null ? 0 : value;
+    }
+
+    //세그먼트 하나를 앞에서부터 읽음
+    private final class Decoder {
+
+        private final byte[] segment;
+        private final int length;
+        private int position;
+
+        private long time;
+        private Integer price;
+        private Integer quantity;
+        private String name;
+
+        private Decoder(int index) {
+            this.segment = segments[index];
+            this.length = index == segmentCount - 1 ? openLength : segment.length;
+            this.time = segmentStarts[index];
+        }
+
+        boolean hasNext() {
+            return position < length;
+        }
+
+        long peekTime() {
+            int saved = position;
+            long next = time + readVarLong();
+            position = saved;
+            return next;
+        }
+
+        void next() {
+            time += readVarLong();
+            int flags = segment[position++];
+            if ((flags & PRICE) != 0) {
+                price = (flags & PRICE_NULL) != 0 ? null : (int) (value(price) + unzigzag(readVarLong()));
+            }
+            if ((flags & QUANTITY) != 0) {
+                quantity = (flags & QUANTITY_NULL) != 0 ? null : (int) (value(quantity) + unzigzag(readVarLong()));
+            }
+            if ((flags & NAME) != 0) {
+                if ((flags & NAME_NULL) != 0) {
+                    name = null;
+                } else {
+                    int nameLength = (int) readVarLong();
+                    name = new String(segment, position, nameLength, StandardCharsets.UTF_8);
+                    position += nameLength;
+                }
+            }
+        }
+
+        ItemVersion version() {
+            return new ItemVersion(itemId, name, price, quantity, Instant.ofEpochMilli(time));
+        }
+
+        private long readVarLong() {
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = segment[position++];
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+    }
+}
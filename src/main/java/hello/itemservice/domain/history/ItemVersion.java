@@ -0,0 +1,24 @@
+package hello.itemservice.domain.history;
+
+import lombok.Getter;
+
+import java.time.Instant;
+
+//특정 시점의 상품 값, validFrom 부터 다음 변경 전까지 유효
+@Getter
+public class ItemVersion {
+
+    private final Long itemId;
+    private final String itemName;
+    private final Integer price;
+    private final Integer quantity;
+    private final Instant validFrom;
+
+    public ItemVersion(Long itemId, String itemName, Integer price, Integer quantity, Instant validFrom) {
+        this.itemId = itemId;
+        this.itemName = itemName;
+        this.price = price;
+        this.quantity = quantity;
+        this.validFrom = validFrom;
+    }
+}
@@ -0,0 +1,77 @@
+package hello.itemservice.domain.item;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+//구현체 공통, 변경 리스너 관리와 알림
+public abstract class AbstractItemRepository implements ItemRepository {
+
+    //등록은 시작할때 한번이라 CopyOnWriteArrayList
+    private final List<ItemChangeListener> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void addListener(ItemChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    protected boolean hasListeners() {
+        return !listeners.isEmpty();
+    }
+
+    protected void fireSave(Item item) {
+        for (ItemChangeListener listener : listeners) {
+            listener.onSave(item);
+        }
+    }
+
+    protected void fireSaveAll(List<Item> items) {
+        for (ItemChangeListener listener : listeners) {
+            listener.onSaveAll(items);
+        }
+    }
+
+    protected void fireUpdate(Item before, Item after) {
+        for (ItemChangeListener listener : listeners) {
+            listener.onUpdate(before, after);
+        }
+    }
+
+    protected void fireClear() {
+        for (ItemChangeListener listener : listeners) {
+            listener.onClear();
+        }
+    }
+
+    //patch 의 null 이 아닌 필드만 덮어쓴 새 객체
+    protected static Item merge(Item item, Item patch) {
+        Item merged = copy(item);
+        if (patch.getItemName() != null) {
+            merged.setItemName(patch.getItemName());
+        }
+        if (patch.getPrice() != null) {
+            merged.setPrice(patch.getPrice());
+        }
+        if (patch.getQuantity() != null) {
+            merged.setQuantity(patch.getQuantity());
+        }
+        return merged;
+    }
+
+    //수량 + delta, 음수가 되면 null (수량이 비어 있으면 0 으로 본다)
+    protected static Integer adjustedQuantity(Item item, int delta) {
+        long quantity = (item.getQuantity() == null ? 0 : item.getQuantity()) + (long) delta;
+        if (quantity < 0) {
+            return null;
+        }
+        if (quantity > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("수량이 너무 큽니다 itemId=" + item.getId());
+        }
+        return (int) quantity;
+    }
+
+    protected static Item copy(Item item) {
+        Item copy = new Item(item.getItemName(), item.getPrice(), item.getQuantity());
+        copy.setId(item.getId());
+        return copy;
+    }
+}
@@ -0,0 +1,153 @@
+package hello.itemservice.domain.item;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * findById 앞의 읽기 캐시 (read-through), 상세, 수정 화면처럼 같은 상품을 반복해서 읽는 경우
+ * 없으면 저장소에서 읽어서 넣고, 이 인스턴스를 거친 저장, 수정은 커밋된 값으로 바로 덮어쓴다 (write-through)
+ * 덮어쓰기는 저장소의 변경 알림에서 한다, 같은 행의 알림은 커밋 순서대로 오므로 (JdbcItemRepository.rowLock)
+ * 동시에 수정해도 데이터베이스에 남은 값이 캐시에 남는다
+ * 읽어온 값은 putIfAbsent 로만 넣기 때문에 읽는 도중 수정이 끼어들어도 오래된 값이 새 값을 덮지 않는다
+ * 다른 인스턴스가 데이터베이스를 직접 바꾼 것은 알 수 없으므로 여러 대로 운영하면 max-entries 를 작게 하거나 clear()
+ * 최대 개수를 넘으면 1/4 을 비운다
+ */
+public class CachingItemRepository implements ItemRepository {
+
+    private final ItemRepository delegate;
+    private final int maxEntries;
+    private final Map<Long, Item> cache = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public CachingItemRepository(ItemRepository delegate, int maxEntries) {
+        this.delegate = delegate;
+        this.maxEntries = maxEntries;
+        delegate.addListener(new ItemChangeListener() {
+            @Override
+            public void onSave(Item item) {
+                put(item.getId(), item);
+            }
+
+            //대량 적재한 상품은 바로 읽힐 가능성이 낮아서 캐시하지 않음
+            @Override
+            public void onSaveAll(List<Item> items) {
+            }
+
+            @Override
+            public void onUpdate(Item before, Item after) {
+                put(after.getId(), after);
+            }
+        });
+    }
+
+    @Override
+    public Item save(Item item) {
+        return delegate.save(item);
+    }
+
+    @Override
+    public void saveAll(List<Item> items) {
+        delegate.saveAll(items);
+    }
+
+    @Override
+    public Item findById(Long id) {
+        Item item = cache.get(id);
+        if (item != null) {
+            hits.increment();
+            return item;
+        }
+        misses.increment();
+        item = delegate.findById(id);
+        if (item != null) {
+            Item existing = cache.putIfAbsent(id, item);
+            if (existing != null) {
+                return existing;
+            }
+            evictIfFull();
+        }
+        return item;
+    }
+
+    @Override
+    public List<Item> findAll() {
+        return delegate.findAll();
+    }
+
+    //전체 순회는 캐시를 채우지 않음
+    @Override
+    public void forEach(Consumer<Item> action) {
+        delegate.forEach(action);
+    }
+
+    @Override
+    public long count() {
+        return delegate.count();
+    }
+
+    @Override
+    public void update(Long itemId, Item updateParam) {
+        delegate.update(itemId, updateParam);
+    }
+
+    @Override
+    public Item patch(Long itemId, Item patch, Predicate<Item> rule) {
+        return delegate.patch(itemId, patch, rule);
+    }
+
+    @Override
+    public Item adjustQuantity(Long itemId, int delta) {
+        return delegate.adjustQuantity(itemId, delta);
+    }
+
+    @Override
+    public void clearStore() {
+        delegate.clearStore();
+        cache.clear();
+    }
+
+    @Override
+    public void addListener(ItemChangeListener listener) {
+        delegate.addListener(listener);
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    private void put(Long id, Item item) {
+        cache.put(id, item);
+        evictIfFull();
+    }
+
+    private void evictIfFull() {
+        if (cache.size() > maxEntries && evicting.compareAndSet(false, true)) {
+            try {
+                Iterator<Long> iterator = cache.keySet().iterator();
+                int target = maxEntries * 3 / 4;
+                while (cache.size() > target && iterator.hasNext()) {
+                    iterator.next();
+                    iterator.remove();
+                }
+            } finally {
+                evicting.set(false);
+            }
+        }
+    }
+}
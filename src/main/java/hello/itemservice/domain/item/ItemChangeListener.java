@@ -0,0 +1,25 @@
+package hello.itemservice.domain.item;
+
+import java.util.List;
+
+/**
+ * ItemRepository 의 변경을 받아서 색인, 변경 피드 같은 부가 저장소를 맞춰주는 리스너
+ * 저장, 수정한 스레드에서 바로 호출되므로 오래 걸리는 작업을 하면 안된다
+ */
+public interface ItemChangeListener {
+
+    void onSave(Item item);
+
+    //saveAll 로 한번에 저장된 상품들, id 오름차순
+    default void onSaveAll(List<Item> items) {
+        for (Item item : items) {
+            onSave(item);
+        }
+    }
+
+    //before 는 수정 전 값을 복사한 것, after 는 저장소에 있는 객체
+    void onUpdate(Item before, Item after);
+
+    default void onClear() {
+    }
+}
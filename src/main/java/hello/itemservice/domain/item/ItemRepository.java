@@ -1,41 +1,45 @@
 package hello.itemservice.domain.item;
 
-import org.springframework.stereotype.Repository;
-
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * 상품 저장소, 컨트롤러는 이 인터페이스만 사용한다
+ * 구현체는 item.repository 로 선택
+ * memory(기본): MemoryItemRepository, 애플리케이션 메모리
+ * jdbc: JdbcItemRepository + findById 앞의 CachingItemRepository, spring.datasource.* 의 데이터베이스
+ */
+public interface ItemRepository {
+
+    Item save(Item item);
+
+    //대량 저장, 구현체는 id 를 묶음으로 받아서 한번에 저장한다
+    void saveAll(List<Item> items);
+
+    //없으면 null
+    Item findById(Long id);
 
-@Repository
-public class ItemRepository {
+    List<Item> findAll();
 
-    private static final Map<Long, Item> store = new HashMap<>(); //static
-    private static long sequence = 0L; //static
+    //전체 상품을 하나씩 넘긴다, findAll 과 달리 목록을 만들지 않아서 전체 내보내기처럼 큰 작업도 메모리가 일정
+    //구현체가 Item 객체를 재사용할 수 있으므로 action 밖으로 참조를 남기지 말 것 (필요하면 복사)
+    void forEach(Consumer<Item> action);
 
-    public Item save(Item item) {
-        item.setId(++sequence);
-        store.put(item.getId(), item);
-        return item;
-    }
+    long count();
 
-    public Item findById(Long id) {
-        return store.get(id);
-    }
+    void update(Long itemId, Item updateParam);
 
-    public List<Item> findAll() {
-        return new ArrayList<>(store.values());
-    }
+    //부분 수정, patch 에서 null 인 필드는 그대로 둔다
+    //rule 은 합쳐진 결과에 대한 복합 룰, 통과하지 못하면 아무것도 바꾸지 않고 null
+    //확인과 적용이 원자적이어야 동시에 가격, 수량을 따로 바꿔도 룰이 깨지지 않음
+    Item patch(Long itemId, Item patch, Predicate<Item> rule);
 
-    public void update(Long itemId, Item updateParam) {
-        Item findItem = findById(itemId);
-        findItem.setItemName(updateParam.getItemName());
-        findItem.setPrice(updateParam.getPrice());
-        findItem.setQuantity(updateParam.getQuantity());
-    }
+    //수량만 delta 만큼 원자적으로 바꾼다 (재고 예약, 반환), 결과가 음수가 되면 바꾸지 않고 null
+    Item adjustQuantity(Long itemId, int delta);
 
-    public void clearStore() {
-        store.clear();
-    }
+    void clearStore();
 
+    //색인 등 변경을 따라가야 하는 곳
+    void addListener(ItemChangeListener listener);
 }
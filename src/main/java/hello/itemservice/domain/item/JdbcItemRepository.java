@@ -0,0 +1,239 @@
+package hello.itemservice.domain.item;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * 데이터베이스 저장소 (item.repository=jdbc)
+ *
+ * id 는 item_sequence 테이블에서 block-size 만큼 한번에 받아와서 메모리에서 나눠준다 (매번 시퀀스를 조회하지 않음)
+ * saveAll 은 하나의 PreparedStatement 로 batch-size 건씩 addBatch/executeBatch, 전체를 한 트랜잭션으로
+ * SQL 은 모두 상수라 드라이버, 커넥션 풀의 PreparedStatement 캐시가 그대로 재사용된다
+ * update, patch, adjustQuantity 는 SELECT ... FOR UPDATE 로 행을 잠그고 수정 전 값을 읽어서 리스너에 넘긴다
+ * 리스너 알림은 커밋한 뒤에, 같은 행의 수정은 커밋과 알림을 id 별 잠금(rowLock) 안에서 묶어서
+ * 행 잠금은 커밋할 때 풀리므로 이렇게 하지 않으면 동시에 수정한 두 알림이 커밋과 반대 순서로 도착할 수 있다
+ * (색인, 변경 피드, 이력, 랭킹이 오래된 값으로 남음)
+ * forEach 는 fetch size 만큼씩 커서로 읽으면서 Item 하나를 재사용 (드라이버에 따라 PostgreSQL 은 트랜잭션 안, MySQL 은 useCursorFetch 필요)
+ */
+@Slf4j
+public class JdbcItemRepository extends AbstractItemRepository {
+
+    private static final String INSERT = "insert into item (id, item_name, price, quantity) values (?, ?, ?, ?)";
+    private static final String SELECT_BY_ID = "select id, item_name, price, quantity from item where id = ?";
+    private static final String SELECT_FOR_UPDATE = SELECT_BY_ID + " for update";
+    private static final String SELECT_ALL = "select id, item_name, price, quantity from item order by id";
+    private static final String UPDATE = "update item set item_name = ?, price = ?, quantity = ? where id = ?";
+    private static final String UPDATE_QUANTITY = "update item set quantity = ? where id = ?";
+    private static final String COUNT = "select count(*) from item";
+    private static final String DELETE_ALL = "delete from item";
+    private static final String NEXT_BLOCK = "update item_sequence set next_val = next_val + ? where name = 'item'";
+    private static final String CURRENT_BLOCK_END = "select next_val from item_sequence where name = 'item'";
+
+    private static final int SCAN_FETCH_SIZE = 500;
+    private static final int ROW_LOCK_STRIPES = 64;
+
+    private static final RowMapper<Item> ITEM_MAPPER = (rs, rowNum) -> {
+        Item item = new Item(rs.getString("item_name"), rs.getObject("price", Integer.class),
+                rs.getObject("quantity", Integer.class));
+        item.setId(rs.getLong("id"));
+        return item;
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int idBlockSize;
+    private final Object[] rowLocks = new Object[ROW_LOCK_STRIPES];
+
+    //메모리에 받아둔 id 구간 [nextId, blockEnd)
+    private long nextId;
+    private long blockEnd;
+
+    public JdbcItemRepository(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                              int batchSize, int idBlockSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.idBlockSize = idBlockSize;
+        for (int i = 0; i < rowLocks.length; i++) {
+            rowLocks[i] = new Object();
+        }
+    }
+
+    //내장 데이터베이스, 테스트용, 운영에서는 스키마를 따로 관리하면 item.jdbc.create-schema=false
+    public void createSchemaIfMissing() {
+        jdbcTemplate.execute("create table if not exists item ("
+                + "id bigint primary key, item_name varchar(255), price integer, quantity integer)");
+        jdbcTemplate.execute("create table if not exists item_sequence ("
+                + "name varchar(50) primary key, next_val bigint not null)");
+        Integer rows = jdbcTemplate.queryForObject("select count(*) from item_sequence where name = 'item'", Integer.class);
+        if (rows == null || rows == 0) {
+            try {
+                jdbcTemplate.update("insert into item_sequence (name, next_val) values ('item', 1)");
+            } catch (DuplicateKeyException e) {
+                //다른 인스턴스가 먼저 만듦
+            }
+        }
+    }
+
+    @Override
+    public Item save(Item item) {
+        item.setId(allocateIds(1));
+        jdbcTemplate.update(INSERT, item.getId(), item.getItemName(), item.getPrice(), item.getQuantity());
+        fireSave(item);
+        return item;
+    }
+
+    @Override
+    public void saveAll(List<Item> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+        long id = allocateIds(items.size());
+        for (Item item : items) {
+            item.setId(id++);
+        }
+        transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.batchUpdate(INSERT, items, batchSize, (ps, item) -> {
+                    ps.setLong(1, item.getId());
+                    ps.setString(2, item.getItemName());
+                    ps.setObject(3, item.getPrice());
+                    ps.setObject(4, item.getQuantity());
+                }));
+        fireSaveAll(items);
+    }
+
+    @Override
+    public Item findById(Long id) {
+        List<Item> items = jdbcTemplate.query(SELECT_BY_ID, ITEM_MAPPER, id);
+        return items.isEmpty() ? null : items.get(0);
+    }
+
+    @Override
+    public List<Item> findAll() {
+        return jdbcTemplate.query(SELECT_ALL, ITEM_MAPPER);
+    }
+
+    @Override
+    public void forEach(Consumer<Item> action) {
+        Item item = new Item();
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(SELECT_ALL);
+            ps.setFetchSize(SCAN_FETCH_SIZE);
+            return ps;
+        }, (RowCallbackHandler) rs -> {
+            item.setId(rs.getLong("id"));
+            item.setItemName(rs.getString("item_name"));
+            item.setPrice(rs.getObject("price", Integer.class));
+            item.setQuantity(rs.getObject("quantity", Integer.class));
+            action.accept(item);
+        });
+    }
+
+    @Override
+    public long count() {
+        Long count = jdbcTemplate.queryForObject(COUNT, Long.class);
+        return count == null ? 0 : count;
+    }
+
+    @Override
+    public void update(Long itemId, Item updateParam) {
+        synchronized (rowLock(itemId)) {
+            Item[] beforeAfter = transactionTemplate.execute(status -> {
+                Item before = lockRow(itemId);
+                Item after = copy(updateParam);
+                after.setId(itemId);
+                jdbcTemplate.update(UPDATE, after.getItemName(), after.getPrice(), after.getQuantity(), itemId);
+                return new Item[]{before, after};
+            });
+            fireUpdate(beforeAfter[0], beforeAfter[1]);
+        }
+    }
+
+    @Override
+    public Item patch(Long itemId, Item patch, Predicate<Item> rule) {
+        synchronized (rowLock(itemId)) {
+            Item[] beforeAfter = transactionTemplate.execute(status -> {
+                Item before = lockRow(itemId);
+                Item merged = merge(before, patch);
+                if (rule != null && !rule.test(merged)) {
+                    return null;
+                }
+                jdbcTemplate.update(UPDATE, merged.getItemName(), merged.getPrice(), merged.getQuantity(), itemId);
+                return new Item[]{before, merged};
+            });
+            if (beforeAfter == null) {
+                return null;
+            }
+            fireUpdate(beforeAfter[0], beforeAfter[1]);
+            return beforeAfter[1];
+        }
+    }
+
+    @Override
+    public Item adjustQuantity(Long itemId, int delta) {
+        synchronized (rowLock(itemId)) {
+            Item[] beforeAfter = transactionTemplate.execute(status -> {
+                Item before = lockRow(itemId);
+                Integer quantity = adjustedQuantity(before, delta);
+                if (quantity == null) {
+                    return null;
+                }
+                Item after = copy(before);
+                after.setQuantity(quantity);
+                jdbcTemplate.update(UPDATE_QUANTITY, quantity, itemId);
+                return new Item[]{before, after};
+            });
+            if (beforeAfter == null) {
+                return null;
+            }
+            fireUpdate(beforeAfter[0], beforeAfter[1]);
+            return beforeAfter[1];
+        }
+    }
+
+    @Override
+    public void clearStore() {
+        jdbcTemplate.update(DELETE_ALL);
+        fireClear();
+    }
+
+    //이 인스턴스 안에서 같은 행의 수정(커밋 + 알림)을 차례로, 다른 인스턴스의 수정은 어차피 이 리스너에 오지 않는다
+    private Object rowLock(Long itemId) {
+        return rowLocks[Long.hashCode(itemId) & (ROW_LOCK_STRIPES - 1)];
+    }
+
+    private Item lockRow(Long itemId) {
+        List<Item> items = jdbcTemplate.query(SELECT_FOR_UPDATE, ITEM_MAPPER, itemId);
+        if (items.isEmpty()) {
+            throw new IllegalArgumentException("상품이 없습니다 itemId=" + itemId);
+        }
+        return items.get(0);
+    }
+
+    //연속된 count 개의 id 중 첫번째, 받아둔 구간이 모자라면 새 구간을 받는다 (남은 구간은 버림)
+    private synchronized long allocateIds(int count) {
+        if (blockEnd - nextId < count) {
+            int size = Math.max(idBlockSize, count);
+            Long end = transactionTemplate.execute(status -> {
+                jdbcTemplate.update(NEXT_BLOCK, size);
+                return jdbcTemplate.queryForObject(CURRENT_BLOCK_END, Long.class);
+            });
+            blockEnd = end;
+            nextId = end - size;
+            log.debug("item id 구간 할당 [{}, {})", nextId, blockEnd);
+        }
+        long first = nextId;
+        nextId += count;
+        return first;
+    }
+}
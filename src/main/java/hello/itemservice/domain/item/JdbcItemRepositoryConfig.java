@@ -0,0 +1,32 @@
+package hello.itemservice.domain.item;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+//item.repository=jdbc 일 때 JdbcItemRepository 를 읽기 캐시로 감싸서 등록
+//데이터베이스는 spring.datasource.*, 지정하지 않으면 스프링 부트가 내장 H2 를 띄운다
+@Configuration
+@ConditionalOnProperty(name = "item.repository", havingValue = "jdbc")
+public class JdbcItemRepositoryConfig {
+
+    @Bean
+    @Primary
+    public ItemRepository itemRepository(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                         @Value("${item.jdbc.batch-size:500}") int batchSize,
+                                         @Value("${item.jdbc.id-block-size:1000}") int idBlockSize,
+                                         @Value("${item.jdbc.create-schema:true}") boolean createSchema,
+                                         @Value("${item.jdbc.cache.max-entries:10000}") int cacheMaxEntries) {
+        JdbcItemRepository repository = new JdbcItemRepository(jdbcTemplate,
+                new TransactionTemplate(transactionManager), batchSize, idBlockSize);
+        if (createSchema) {
+            repository.createSchemaIfMissing();
+        }
+        return new CachingItemRepository(repository, cacheMaxEntries);
+    }
+}
@@ -0,0 +1,123 @@
+package hello.itemservice.domain.item;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+//애플리케이션 메모리 저장소, 기본 구현체
+//카탈로그별 라우팅 저장소(CatalogItemRepository)도 ItemRepository 라서 그냥 주입받으면 이쪽
+@Primary
+@Repository
+@ConditionalOnProperty(name = "item.repository", havingValue = "memory", matchIfMissing = true)
+public class MemoryItemRepository extends AbstractItemRepository {
+
+    //여러 요청 스레드와 대량 적재 스레드가 동시에 쓰므로 ConcurrentHashMap, AtomicLong
+    //카탈로그마다 인스턴스를 따로 만들므로 static 이 아님 (CatalogRegistry)
+    private final Map<Long, Item> store = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Override
+    public Item save(Item item) {
+        item.setId(sequence.incrementAndGet());
+        store.put(item.getId(), item);
+        fireSave(item);
+        return item;
+    }
+
+    //id 를 한번에 묶음으로 받아서 시퀀스 경합을 줄인다
+    @Override
+    public void saveAll(List<Item> items) {
+        long id = sequence.getAndAdd(items.size());
+        for (Item item : items) {
+            item.setId(++id);
+            store.put(item.getId(), item);
+        }
+        fireSaveAll(items);
+    }
+
+    @Override
+    public Item findById(Long id) {
+        return store.get(id);
+    }
+
+    @Override
+    public List<Item> findAll() {
+        return new ArrayList<>(store.values());
+    }
+
+    //ConcurrentHashMap 을 그대로 순회, 도중에 추가, 수정된 상품은 보일 수도 안보일 수도 있다
+    @Override
+    public void forEach(Consumer<Item> action) {
+        store.values().forEach(action);
+    }
+
+    @Override
+    public long count() {
+        return store.size();
+    }
+
+    //같은 상품을 동시에 수정하면 리스너가 받는 수정 전, 후 값이 섞이지 않게 상품 단위로 잠금
+    @Override
+    public void update(Long itemId, Item updateParam) {
+        Item findItem = findById(itemId);
+        synchronized (findItem) {
+            Item before = hasListeners() ? copy(findItem) : null;
+            findItem.setItemName(updateParam.getItemName());
+            findItem.setPrice(updateParam.getPrice());
+            findItem.setQuantity(updateParam.getQuantity());
+            fireUpdate(before, findItem);
+        }
+    }
+
+    @Override
+    public Item patch(Long itemId, Item patch, Predicate<Item> rule) {
+        Item findItem = findById(itemId);
+        if (findItem == null) {
+            throw new IllegalArgumentException("상품이 없습니다 itemId=" + itemId);
+        }
+        synchronized (findItem) {
+            Item merged = merge(findItem, patch);
+            if (rule != null && !rule.test(merged)) {
+                return null;
+            }
+            Item before = copy(findItem);
+            findItem.setItemName(merged.getItemName());
+            findItem.setPrice(merged.getPrice());
+            findItem.setQuantity(merged.getQuantity());
+            fireUpdate(before, findItem);
+            return findItem;
+        }
+    }
+
+    @Override
+    public Item adjustQuantity(Long itemId, int delta) {
+        Item findItem = findById(itemId);
+        if (findItem == null) {
+            throw new IllegalArgumentException("상품이 없습니다 itemId=" + itemId);
+        }
+        synchronized (findItem) {
+            Integer quantity = adjustedQuantity(findItem, delta);
+            if (quantity == null) {
+                return null;
+            }
+            Item before = hasListeners() ? copy(findItem) : null;
+            findItem.setQuantity(quantity);
+            fireUpdate(before, findItem);
+            return findItem;
+        }
+    }
+
+    @Override
+    public void clearStore() {
+        store.clear();
+        fireClear();
+    }
+}
@@ -0,0 +1,130 @@
+package hello.itemservice.domain.ranking;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemChangeListener;
+import hello.itemservice.domain.item.ItemRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * 재고 가치 상위, 가격 하위 상품 목록을 save, update 때마다 갱신해두는 순위
+ * 요청마다 findAll() 을 정렬(O(n log n))하지 않고, 정렬된 ConcurrentSkipListSet 의 앞에서 limit 개만 읽는다
+ * 수정은 O(log n) (새 값으로 넣고 이전 값을 뺌), 조회는 O(limit) 이라 카탈로그 크기와 상관없다
+ *
+ * 상위 N 개만 들고 있는 힙은 순위 안의 상품 값이 내려가면 밖에 있던 상품 중 다음 순위를 찾으려고 전체를 다시 봐야 해서
+ * 모든 상품을 정렬된 채로 유지한다 (상품당 순위마다 노드 하나)
+ * ItemRepository 에 리스너로 등록, default 카탈로그만 따라간다
+ */
+@Component
+public class ItemRanking implements ItemChangeListener {
+
+    //키 오름차순, 같으면 id 오름차순 (먼저 등록된 상품)
+    private static final Comparator<Entry> ORDER = Comparator.<Entry>comparingLong(e -> e.key)
+            .thenComparingLong(e -> e.item.getId());
+
+    private final Map<Ranking, NavigableSet<Entry>> rankings = new EnumMap<>(Ranking.class);
+    //상품별 현재 순위 항목, 수정할 때 이전 항목을 찾아서 빼기 위해
+    private final Map<Long, Entry[]> current = new ConcurrentHashMap<>();
+
+    public ItemRanking(ItemRepository itemRepository) {
+        for (Ranking ranking : Ranking.values()) {
+            rankings.put(ranking, new ConcurrentSkipListSet<>(ORDER));
+        }
+        itemRepository.addListener(this);
+        for (Item item : itemRepository.findAll()) {
+            onSave(item);
+        }
+    }
+
+    @Override
+    public void onSave(Item item) {
+        put(item);
+    }
+
+    @Override
+    public void onUpdate(Item before, Item after) {
+        put(after);
+    }
+
+    @Override
+    public void onClear() {
+        current.clear();
+        for (NavigableSet<Entry> set : rankings.values()) {
+            set.clear();
+        }
+    }
+
+    /**
+     * 순위 앞에서 limit 개
+     * 수정 중인 상품은 새 항목을 넣고 이전 항목을 빼는 사이에 두번 보일 수 있어서 id 로 한번만 담는다
+     */
+    public List<RankedItem> top(Ranking ranking, int limit) {
+        List<RankedItem> result = new ArrayList<>(limit);
+        Set<Long> seen = new HashSet<>();
+        Iterator<Entry> iterator = rankings.get(ranking).iterator();
+        while (result.size() < limit && iterator.hasNext()) {
+            RankedItem item = iterator.next().item;
+            if (seen.add(item.getId())) {
+                result.add(item);
+            }
+        }
+        return result;
+    }
+
+    public int size(Ranking ranking) {
+        return rankings.get(ranking).size();
+    }
+
+    //같은 상품의 수정이 동시에 오면 compute 가 상품 단위로 줄을 세운다
+    private void put(Item item) {
+        RankedItem ranked = new RankedItem(item.getId(), item.getItemName(), item.getPrice(), item.getQuantity());
+        current.compute(item.getId(), (id, previous) -> {
+            Entry[] entries = new Entry[Ranking.values().length];
+            entries[Ranking.STOCK_VALUE.ordinal()] = new Entry(-ranked.getStockValue(), ranked);
+            if (ranked.getPrice() != null) {
+                entries[Ranking.CHEAPEST.ordinal()] = new Entry(ranked.getPrice(), ranked);
+            }
+            for (Ranking ranking : Ranking.values()) {
+                NavigableSet<Entry> set = rankings.get(ranking);
+                Entry entry = entries[ranking.ordinal()];
+                Entry old = previous == null ? null : previous[ranking.ordinal()];
+                //순위 키가 같으면 ORDER 로 같은 항목이라 add 가 무시되므로 먼저 뺀다 (이름만 바뀐 경우)
+                if (old != null && entry != null && old.key == entry.key) {
+                    set.remove(old);
+                    set.add(entry);
+                    continue;
+                }
+                if (entry != null) {
+                    set.add(entry);
+                }
+                if (old != null) {
+                    set.remove(old);
+                }
+            }
+            return entries;
+        });
+    }
+
+    //순위 키(작을수록 앞)와 그 때의 상품 값
+    private static final class Entry {
+
+        private final long key;
+        private final RankedItem item;
+
+        private Entry(long key, RankedItem item) {
+            this.key = key;
+            this.item = item;
+        }
+    }
+}
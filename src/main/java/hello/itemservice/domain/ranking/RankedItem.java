@@ -0,0 +1,22 @@
+package hello.itemservice.domain.ranking;
+
+import lombok.Getter;
+
+//순위에 올라간 시점의 상품 값, 순위 구조에 그대로 들어 있어서 조회할 때 저장소를 다시 읽지 않는다
+@Getter
+public class RankedItem {
+
+    private final Long id;
+    private final String itemName;
+    private final Integer price;
+    private final Integer quantity;
+    private final long stockValue;
+
+    RankedItem(Long id, String itemName, Integer price, Integer quantity) {
+        this.id = id;
+        this.itemName = itemName;
+        this.price = price;
+        this.quantity = quantity;
+        this.stockValue = price == null || quantity == null ? 0 : (long) price * quantity;
+    }
+}
@@ -0,0 +1,10 @@
+package hello.itemservice.domain.ranking;
+
+//ItemRanking 이 유지하는 순위 종류
+public enum Ranking {
+
+    //재고 가치(price * quantity) 큰 순
+    STOCK_VALUE,
+    //가격 싼 순, 가격이 없는 상품은 빠짐
+    CHEAPEST
+}
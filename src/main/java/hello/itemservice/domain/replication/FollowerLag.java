@@ -0,0 +1,24 @@
+package hello.itemservice.domain.replication;
+
+import lombok.Getter;
+
+import java.time.Instant;
+
+//리더가 보는 팔로워 하나, lagOps 는 리더의 마지막 순번 - 팔로워가 적용했다고 알려온 순번
+@Getter
+public class FollowerLag {
+
+    private final String address;
+    private final long sentSequence;
+    private final long ackedSequence;
+    private final long lagOps;
+    private final Instant connectedAt;
+
+    public FollowerLag(String address, long sentSequence, long ackedSequence, long lagOps, Instant connectedAt) {
+        this.address = address;
+        this.sentSequence = sentSequence;
+        this.ackedSequence = ackedSequence;
+        this.lagOps = lagOps;
+        this.connectedAt = connectedAt;
+    }
+}
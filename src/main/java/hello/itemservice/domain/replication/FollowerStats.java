@@ -0,0 +1,34 @@
+package hello.itemservice.domain.replication;
+
+import lombok.Getter;
+
+//lagMillis 는 리더를 마지막으로 따라잡았다고 확인한 뒤 지난 시간, stale 이면 ReplicaInterceptor 가 읽기도 리더로 보낸다
+@Getter
+public class FollowerStats {
+
+    private final String role = "follower";
+    private final String leader;
+    private final String leaderId;
+    private final boolean connected;
+    private final long appliedSequence;
+    private final long leaderSequence;
+    private final long lagOps;
+    private final long lagMillis;
+    private final boolean stale;
+    private final long snapshots;
+    private final long reconnects;
+
+    public FollowerStats(String leader, String leaderId, boolean connected, long appliedSequence, long leaderSequence,
+                         long lagOps, long lagMillis, boolean stale, long snapshots, long reconnects) {
+        this.leader = leader;
+        this.leaderId = leaderId;
+        this.connected = connected;
+        this.appliedSequence = appliedSequence;
+        this.leaderSequence = leaderSequence;
+        this.lagOps = lagOps;
+        this.lagMillis = lagMillis;
+        this.stale = stale;
+        this.snapshots = snapshots;
+        this.reconnects = reconnects;
+    }
+}
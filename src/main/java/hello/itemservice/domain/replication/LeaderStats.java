@@ -0,0 +1,24 @@
+package hello.itemservice.domain.replication;
+
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class LeaderStats {
+
+    private final String role = "leader";
+    private final String leaderId;
+    private final int port;
+    private final long sequence;
+    private final long snapshots;
+    private final List<FollowerLag> followers;
+
+    public LeaderStats(String leaderId, int port, long sequence, long snapshots, List<FollowerLag> followers) {
+        this.leaderId = leaderId;
+        this.port = port;
+        this.sequence = sequence;
+        this.snapshots = snapshots;
+        this.followers = followers;
+    }
+}
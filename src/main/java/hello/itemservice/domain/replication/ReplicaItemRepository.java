@@ -0,0 +1,121 @@
+package hello.itemservice.domain.replication;
+
+import hello.itemservice.domain.item.AbstractItemRepository;
+import hello.itemservice.domain.item.Item;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * 팔로워(item.repository=replica)의 저장소, 리더에서 받은 스냅샷과 작업 기록(ReplicationClient)으로만 바뀐다
+ * 조회는 MemoryItemRepository 와 같고, 쓰기는 리더로 보내야 하므로 예외 (웹 요청은 ReplicaInterceptor 가 미리 리더로 돌려보냄)
+ * 적용할 때도 리스너를 부르므로 색인, 변경 피드, 순위는 팔로워에서도 그대로 동작한다
+ */
+public class ReplicaItemRepository extends AbstractItemRepository {
+
+    private final Map<Long, Item> store = new ConcurrentHashMap<>();
+
+    @Override
+    public Item save(Item item) {
+        throw readOnly();
+    }
+
+    @Override
+    public void saveAll(List<Item> items) {
+        throw readOnly();
+    }
+
+    @Override
+    public Item findById(Long id) {
+        return store.get(id);
+    }
+
+    @Override
+    public List<Item> findAll() {
+        return new ArrayList<>(store.values());
+    }
+
+    @Override
+    public void forEach(Consumer<Item> action) {
+        store.values().forEach(action);
+    }
+
+    @Override
+    public long count() {
+        return store.size();
+    }
+
+    @Override
+    public void update(Long itemId, Item updateParam) {
+        throw readOnly();
+    }
+
+    @Override
+    public Item patch(Long itemId, Item patch, Predicate<Item> rule) {
+        throw readOnly();
+    }
+
+    @Override
+    public Item adjustQuantity(Long itemId, int delta) {
+        throw readOnly();
+    }
+
+    @Override
+    public void clearStore() {
+        throw readOnly();
+    }
+
+    /**
+     * 리더의 저장, 수정 하나를 적용, 작업에는 항상 상품 전체 값이 있으므로 같은 작업을 두번 적용해도 결과가 같다
+     * (스냅샷을 뜨는 동안 바뀐 상품은 스냅샷과 뒤따르는 작업 기록 양쪽에 들어올 수 있음)
+     */
+    void apply(Item item) {
+        Item existing = store.get(item.getId());
+        if (existing == null) {
+            existing = store.putIfAbsent(item.getId(), item);
+            if (existing == null) {
+                fireSave(item);
+                return;
+            }
+        }
+        synchronized (existing) {
+            Item before = hasListeners() ? copy(existing) : null;
+            existing.setItemName(item.getItemName());
+            existing.setPrice(item.getPrice());
+            existing.setQuantity(item.getQuantity());
+            fireUpdate(before, existing);
+        }
+    }
+
+    void applyClear() {
+        store.clear();
+        fireClear();
+    }
+
+    /**
+     * 스냅샷으로 통째로 교체, 받는 동안에는 이전 상품을 계속 보여주고 교체할 때도 목록이 비는 순간이 없게
+     * 적용은 ReplicationClient 스레드 하나만 하므로 교체 도중 다른 적용이 끼어들지 않는다
+     */
+    void replace(List<Item> items) {
+        Map<Long, Item> snapshot = new HashMap<>(items.size() * 2);
+        for (Item item : items) {
+            snapshot.put(item.getId(), item);
+        }
+        store.putAll(snapshot);
+        store.keySet().retainAll(snapshot.keySet());
+        List<Item> sorted = new ArrayList<>(items);
+        sorted.sort(Comparator.comparing(Item::getId));
+        fireClear();
+        fireSaveAll(sorted);
+    }
+
+    private static UnsupportedOperationException readOnly() {
+        return new UnsupportedOperationException("팔로워 저장소는 읽기 전용, 쓰기는 리더로 보내야 합니다");
+    }
+}
@@ -0,0 +1,205 @@
+package hello.itemservice.domain.replication;
+
+import hello.itemservice.domain.feed.ItemChangeEvent;
+import hello.itemservice.domain.item.Item;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 팔로워 쪽 복제, 리더에 연결해서 받은 스냅샷과 기록을 ReplicaItemRepository 에 적용하는 스레드 하나
+ * 연결이 끊기면 reconnect-millis 뒤에 다시 연결하고, 마지막으로 적용한 순번을 알려서 이어받는다
+ *
+ * 지연: 리더 순번(기록, 하트비트로 받음)까지 적용했으면 따라잡은 것, lagMillis 는 마지막으로 따라잡은 뒤 지난 시간
+ * 두 서버의 시계를 비교하지 않으므로 시계가 어긋나도 맞고, 연결이 끊겨 있으면 계속 늘어난다
+ * 리더가 한가하면 하트비트 간격만큼은 늘었다가 돌아오므로 max-lag-millis 는 하트비트보다 충분히 크게
+ */
+@Slf4j
+public class ReplicationClient implements Closeable {
+
+    private final ReplicaItemRepository replica;
+    private final String host;
+    private final int port;
+    private final String secret;
+    private final long heartbeatMillis;
+    private final long reconnectMillis;
+    private final long maxLagNanos;
+    private final long startedAt = System.nanoTime();
+    private final LongAdder snapshots = new LongAdder();
+    private final LongAdder reconnects = new LongAdder();
+
+    //적용은 이 클래스의 스레드만 하고 조회(stats)는 요청 스레드가 하므로 volatile
+    private volatile String leaderId = ReplicationProtocol.NO_LEADER;
+    private volatile long applied = -1;
+    private volatile long leaderNext;
+    private volatile long caughtUpAt;
+    private volatile boolean synced;
+    private volatile boolean connected;
+    private volatile boolean closed;
+    private volatile Socket socket;
+
+    public ReplicationClient(ReplicaItemRepository replica, String host, int port, String secret, long heartbeatMillis,
+                             long reconnectMillis, long maxLagMillis) {
+        this.replica = replica;
+        this.host = host;
+        this.port = port;
+        this.secret = secret;
+        this.heartbeatMillis = heartbeatMillis;
+        this.reconnectMillis = reconnectMillis;
+        this.maxLagNanos = TimeUnit.MILLISECONDS.toNanos(maxLagMillis);
+    }
+
+    public void start() {
+        Thread thread = new Thread(this::run, "replication-client");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    //처음 동기화 전이거나 max-lag-millis 보다 오래 따라잡지 못했으면 true
+    public boolean isStale() {
+        return !synced || System.nanoTime() - caughtUpAt > maxLagNanos;
+    }
+
+    public long appliedSequence() {
+        return applied;
+    }
+
+    public FollowerStats stats() {
+        long now = System.nanoTime();
+        long lagMillis = TimeUnit.NANOSECONDS.toMillis(now - (synced ? caughtUpAt : startedAt));
+        long lagOps = Math.max(0, leaderNext - 1 - applied);
+        return new FollowerStats(host + ":" + port, leaderId, connected, applied, leaderNext - 1, lagOps, lagMillis,
+                isStale(), snapshots.sum(), reconnects.sum());
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        Socket current = socket;
+        if (current != null) {
+            current.close();
+        }
+    }
+
+    private void run() {
+        while (!closed) {
+            try {
+                follow();
+            } catch (IOException e) {
+                if (!closed) {
+                    log.info("리더 연결 끊김 leader={}:{} reason={}", host, port, e.toString());
+                }
+            } finally {
+                connected = false;
+            }
+            if (closed) {
+                return;
+            }
+            reconnects.increment();
+            try {
+                Thread.sleep(reconnectMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void follow() throws IOException {
+        try (Socket s = new Socket()) {
+            socket = s;
+            if (closed) {
+                return;
+            }
+            s.connect(new InetSocketAddress(host, port), (int) Math.max(1000, heartbeatMillis * 5));
+            //하트비트가 몇번 오지 않으면 리더가 죽은 것으로 보고 다시 연결
+            s.setSoTimeout((int) Math.max(1000, heartbeatMillis * 5));
+            s.setTcpNoDelay(true);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(s.getInputStream(), 64 * 1024));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(s.getOutputStream()));
+
+            byte[] nonce = new byte[ReplicationProtocol.NONCE_BYTES];
+            in.readFully(nonce);
+            out.write(ReplicationProtocol.proof(secret, nonce));
+            out.writeUTF(leaderId);
+            out.writeLong(applied);
+            out.flush();
+            connected = true;
+
+            while (!closed) {
+                byte type = in.readByte();
+                switch (type) {
+                    case ReplicationProtocol.RESUME:
+                        leaderId = in.readUTF();
+                        in.readLong();
+                        log.info("리더에서 이어받기 leader={}:{} from={}", host, port, applied + 1);
+                        break;
+                    case ReplicationProtocol.SNAPSHOT:
+                        readSnapshot(in);
+                        break;
+                    case ReplicationProtocol.OP:
+                        applyOp(in);
+                        break;
+                    case ReplicationProtocol.HEARTBEAT:
+                        leaderNext = Math.max(leaderNext, in.readLong());
+                        out.writeLong(applied);
+                        out.flush();
+                        break;
+                    default:
+                        throw new IOException("알 수 없는 프레임: " + type);
+                }
+                if (synced && applied + 1 >= leaderNext) {
+                    caughtUpAt = System.nanoTime();
+                }
+            }
+        } finally {
+            socket = null;
+        }
+    }
+
+    //다 받은 뒤에 한번에 교체, 받는 도중 끊기면 이전 상품을 그대로 둔다
+    private void readSnapshot(DataInputStream in) throws IOException {
+        String id = in.readUTF();
+        long from = in.readLong();
+        List<Item> items = new ArrayList<>();
+        byte type;
+        while ((type = in.readByte()) == ReplicationProtocol.ITEM) {
+            items.add(ReplicationProtocol.readItem(in));
+        }
+        if (type != ReplicationProtocol.SNAPSHOT_END || in.readInt() != items.size()) {
+            throw new IOException("스냅샷이 올바르지 않습니다");
+        }
+        replica.replace(items);
+        leaderId = id;
+        applied = from - 1;
+        leaderNext = from;
+        synced = true;
+        snapshots.increment();
+        log.info("리더 스냅샷 적용 leader={}:{} items={} from={}", host, port, items.size(), from);
+    }
+
+    private void applyOp(DataInputStream in) throws IOException {
+        long sequence = in.readLong();
+        ItemChangeEvent.Type type = ReplicationProtocol.readType(in);
+        if (type == ItemChangeEvent.Type.CLEAR) {
+            replica.applyClear();
+        } else {
+            replica.apply(ReplicationProtocol.readItem(in));
+        }
+        applied = sequence;
+        if (sequence >= leaderNext) {
+            leaderNext = sequence + 1;
+        }
+    }
+}
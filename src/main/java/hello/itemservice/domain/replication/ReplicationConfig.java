@@ -0,0 +1,80 @@
+package hello.itemservice.domain.replication;
+
+import hello.itemservice.domain.feed.ItemChangeFeed;
+import hello.itemservice.domain.item.ItemRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.net.InetAddress;
+
+/**
+ * 조회를 여러 인스턴스로 나누기 위한 리더-팔로워 복제, default 카탈로그만 복제한다
+ * 리더: replication.port 를 지정하면 그 포트로 팔로워 연결을 받는다 (저장소는 memory 그대로)
+ *   replication.bind-address 에서만 받는다, 지정하지 않으면 루프백 (다른 서버의 팔로워를 받으려면 내부망 주소로)
+ * 리더, 팔로워 모두 replication.secret 공유 비밀이 필요하고 연결마다 인증한다
+ * 팔로워: item.repository=replica, replication.leader=리더호스트:포트, replication.leader-url=리더 HTTP 주소
+ *   목록, 상세 등 읽기는 팔로워가 처리하고 쓰기 요청은 ReplicaInterceptor 가 리더로 보낸다 (307)
+ */
+@Configuration
+public class ReplicationConfig {
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "replication.port")
+    public ReplicationServer replicationServer(ItemChangeFeed feed, ItemRepository itemRepository,
+                                               @Value("${replication.bind-address:}") String bindAddress,
+                                               @Value("${replication.port}") int port,
+                                               @Value("${replication.secret:}") String secret,
+                                               @Value("${replication.max-followers:16}") int maxFollowers,
+                                               @Value("${replication.batch-size:1024}") int batchSize,
+                                               @Value("${replication.poll-millis:2}") long pollMillis,
+                                               @Value("${replication.heartbeat-millis:200}") long heartbeatMillis) throws IOException {
+        InetAddress address = StringUtils.hasText(bindAddress) ? InetAddress.getByName(bindAddress)
+                : InetAddress.getLoopbackAddress();
+        ReplicationServer server = new ReplicationServer(feed, itemRepository, address, port, requireSecret(secret),
+                maxFollowers, batchSize, pollMillis, heartbeatMillis);
+        server.start();
+        return server;
+    }
+
+    @Configuration
+    @ConditionalOnProperty(name = "item.repository", havingValue = "replica")
+    static class FollowerConfig {
+
+        //카탈로그 라우팅 저장소(CatalogItemRepository)가 아닌 이쪽이 default 카탈로그 저장소
+        @Bean
+        @Primary
+        public ReplicaItemRepository replicaItemRepository() {
+            return new ReplicaItemRepository();
+        }
+
+        @Bean(destroyMethod = "close")
+        public ReplicationClient replicationClient(ReplicaItemRepository replicaItemRepository,
+                                                   @Value("${replication.leader}") String leader,
+                                                   @Value("${replication.secret:}") String secret,
+                                                   @Value("${replication.heartbeat-millis:200}") long heartbeatMillis,
+                                                   @Value("${replication.reconnect-millis:1000}") long reconnectMillis,
+                                                   @Value("${replication.max-lag-millis:5000}") long maxLagMillis) {
+            int colon = leader.lastIndexOf(':');
+            if (colon <= 0) {
+                throw new IllegalArgumentException("replication.leader 는 호스트:포트 형식: " + leader);
+            }
+            ReplicationClient client = new ReplicationClient(replicaItemRepository, leader.substring(0, colon),
+                    Integer.parseInt(leader.substring(colon + 1)), requireSecret(secret), heartbeatMillis, reconnectMillis,
+                    maxLagMillis);
+            client.start();
+            return client;
+        }
+    }
+
+    private static String requireSecret(String secret) {
+        if (!StringUtils.hasText(secret)) {
+            throw new IllegalStateException("복제 리더, 팔로워는 replication.secret (공유 비밀) 이 필요합니다");
+        }
+        return secret;
+    }
+}
@@ -0,0 +1,112 @@
+package hello.itemservice.domain.replication;
+
+import hello.itemservice.domain.feed.ItemChangeEvent;
+import hello.itemservice.domain.item.Item;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+
+/**
+ * 리더, 팔로워 사이 TCP 프레임 (DataOutputStream, 첫 바이트가 종류)
+ *
+ * 인증 (연결 직후, replication.secret 공유 비밀)
+ *   리더 -> 팔로워: 임의의 nonce(NONCE_BYTES)
+ *   팔로워 -> 리더: HMAC-SHA256(secret, nonce) (PROOF_BYTES), 틀리면 리더가 바로 끊는다 (비밀 자체는 보내지 않음)
+ * 팔로워 -> 리더
+ *   인증 직후: leaderId(UTF, 처음이면 ""), 마지막으로 적용한 순번(long, 없으면 -1)
+ *   이후: 적용한 순번(long), 하트비트를 받을 때마다
+ * 리더 -> 팔로워
+ *   RESUME  leaderId, 이어서 보낼 순번           같은 리더이고 그 순번이 아직 링 버퍼에 있을 때
+ *   SNAPSHOT leaderId, 스냅샷 뒤에 이어질 순번, ITEM * n, SNAPSHOT_END 개수
+ *   OP      순번, 종류(SAVE, UPDATE, CLEAR), 상품(CLEAR 는 없음)
+ *   HEARTBEAT 리더의 다음 순번                   heartbeat-millis 마다, 지연 계산용
+ */
+final class ReplicationProtocol {
+
+    static final byte RESUME = 'R';
+    static final byte SNAPSHOT = 'S';
+    static final byte ITEM = 'I';
+    static final byte SNAPSHOT_END = 'E';
+    static final byte OP = 'O';
+    static final byte HEARTBEAT = 'H';
+
+    //처음 연결하는 팔로워
+    static final String NO_LEADER = "";
+
+    static final int NONCE_BYTES = 32;
+    static final int PROOF_BYTES = 32;
+
+    private static final ItemChangeEvent.Type[] TYPES = ItemChangeEvent.Type.values();
+
+    private ReplicationProtocol() {
+    }
+
+    //nonce 에 대한 HMAC-SHA256, 리더와 팔로워가 같은 비밀을 가졌는지 확인
+    static byte[] proof(String secret, byte[] nonce) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            return mac.doFinal(nonce);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 을 사용할 수 없습니다", e);
+        }
+    }
+
+    static void writeOp(DataOutput out, ItemChangeEvent event) throws IOException {
+        out.writeByte(OP);
+        out.writeLong(event.getSequence());
+        out.writeByte(event.getType().ordinal());
+        if (event.getType() != ItemChangeEvent.Type.CLEAR) {
+            writeItem(out, event.getItemId(), event.getItemName(), event.getPrice(), event.getQuantity());
+        }
+    }
+
+    static ItemChangeEvent.Type readType(DataInput in) throws IOException {
+        int ordinal = in.readUnsignedByte();
+        if (ordinal >= TYPES.length) {
+            throw new IOException("알 수 없는 작업 종류: " + ordinal);
+        }
+        return TYPES[ordinal];
+    }
+
+    static void writeItem(DataOutput out, Long id, String itemName, Integer price, Integer quantity) throws IOException {
+        out.writeLong(id);
+        writeNullableString(out, itemName);
+        writeNullableInt(out, price);
+        writeNullableInt(out, quantity);
+    }
+
+    static Item readItem(DataInput in) throws IOException {
+        long id = in.readLong();
+        Item item = new Item(readNullableString(in), readNullableInt(in), readNullableInt(in));
+        item.setId(id);
+        return item;
+    }
+
+    private static void writeNullableString(DataOutput out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullableString(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeNullableInt(DataOutput out, Integer value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeInt(value);
+        }
+    }
+
+    private static Integer readNullableInt(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readInt() : null;
+    }
+}
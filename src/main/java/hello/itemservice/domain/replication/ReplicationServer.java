@@ -0,0 +1,288 @@
+package hello.itemservice.domain.replication;
+
+import hello.itemservice.domain.feed.ItemChangeEvent;
+import hello.itemservice.domain.feed.ItemChangeFeed;
+import hello.itemservice.domain.item.ItemRepository;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 리더 쪽 복제 (replication.port 를 지정한 인스턴스), 팔로워마다 연결 하나와 전송 스레드 하나
+ * 전체 상품과 변경 기록을 보내므로 bindAddress(기본 루프백)에서만 받고, 연결마다 공유 비밀로 인증한 뒤에 보낸다
+ *
+ * 작업 기록은 따로 만들지 않고 변경 피드(ItemChangeFeed)의 링 버퍼를 그대로 쓴다
+ * 순번이 저장 순서대로 붙고, 같은 상품의 수정은 상품 잠금 안에서 기록되므로 순번 순서로 적용하면 리더와 같아진다
+ * 저장 스레드는 지금처럼 링 버퍼에 쓰기만 하고 팔로워를 기다리지 않는다 (비동기 복제)
+ *
+ * 팔로워가 처음 붙거나, 리더가 재시작했거나(leaderId 가 다름), 따라오지 못해서 링 버퍼가 한바퀴 돌았으면
+ * 스냅샷(전체 상품) + 스냅샷을 뜨기 시작한 순번부터의 기록을 보낸다
+ * 스냅샷은 잠금 없이 뜨므로 그 사이 바뀐 상품은 스냅샷과 기록 양쪽에 들어가지만 작업마다 상품 전체 값이 있어서 두번 적용해도 같다
+ * 그 외에는 팔로워가 마지막으로 적용한 순번 다음부터 이어서 보낸다
+ *
+ * jdbc 저장소도 같은 상품의 커밋과 알림을 묶어서 하므로 (JdbcItemRepository.rowLock) 기록 순서가 커밋 순서와 같다
+ */
+@Slf4j
+public class ReplicationServer implements Closeable {
+
+    //인증을 마치지 않은 연결이 세션을 오래 잡고 있지 않게
+    private static final int HANDSHAKE_TIMEOUT_MILLIS = 5000;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final ItemChangeFeed feed;
+    private final ItemRepository repository;
+    private final int maxFollowers;
+    private final int batchSize;
+    private final long pollNanos;
+    private final long heartbeatNanos;
+    private final String secret;
+    //재시작하면 순번이 0 부터 다시 시작하므로 팔로워가 이어받을 수 있는지 구분
+    private final String leaderId = UUID.randomUUID().toString();
+    private final Set<FollowerSession> sessions = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger sessionIds = new AtomicInteger();
+    private final LongAdder snapshots = new LongAdder();
+    private final ServerSocket serverSocket;
+
+    private volatile boolean closed;
+
+    public ReplicationServer(ItemChangeFeed feed, ItemRepository repository, InetAddress bindAddress, int port,
+                             String secret, int maxFollowers, int batchSize, long pollMillis,
+                             long heartbeatMillis) throws IOException {
+        if (secret == null || secret.isEmpty()) {
+            throw new IllegalArgumentException("복제 공유 비밀이 필요합니다");
+        }
+        this.feed = feed;
+        this.repository = repository;
+        this.maxFollowers = maxFollowers;
+        this.batchSize = batchSize;
+        this.pollNanos = TimeUnit.MILLISECONDS.toNanos(pollMillis);
+        this.heartbeatNanos = TimeUnit.MILLISECONDS.toNanos(heartbeatMillis);
+        this.secret = secret;
+        this.serverSocket = new ServerSocket();
+        serverSocket.setReuseAddress(true);
+        serverSocket.bind(new InetSocketAddress(bindAddress, port));
+    }
+
+    public void start() {
+        Thread thread = new Thread(this::accept, "replication-accept");
+        thread.setDaemon(true);
+        thread.start();
+        log.info("복제 리더 시작 address={} leaderId={}", serverSocket.getLocalSocketAddress(), leaderId);
+    }
+
+    //port 0 으로 띄웠을 때 실제 포트
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public LeaderStats stats() {
+        long sequence = feed.next() - 1;
+        List<FollowerLag> followers = new ArrayList<>();
+        for (FollowerSession session : sessions) {
+            if (!session.authenticated) {
+                continue;
+            }
+            followers.add(new FollowerLag(session.address, session.sent - 1, session.acked,
+                    Math.max(0, sequence - session.acked), session.connectedAt));
+        }
+        return new LeaderStats(leaderId, getPort(), sequence, snapshots.sum(), followers);
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        serverSocket.close();
+        for (FollowerSession session : sessions) {
+            session.socket.close();
+        }
+    }
+
+    private void accept() {
+        while (!closed) {
+            Socket socket;
+            try {
+                socket = serverSocket.accept();
+            } catch (IOException e) {
+                if (!closed) {
+                    log.warn("복제 연결 받기 실패", e);
+                }
+                continue;
+            }
+            if (sessions.size() >= maxFollowers) {
+                log.warn("팔로워가 너무 많아서 연결을 닫음 address={} max={}", socket.getRemoteSocketAddress(), maxFollowers);
+                closeQuietly(socket);
+                continue;
+            }
+            FollowerSession session = new FollowerSession(socket);
+            sessions.add(session);
+            Thread thread = new Thread(session, "replication-follower-" + sessionIds.incrementAndGet());
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    //팔로워 하나에 기록을 보내는 스레드
+    private class FollowerSession implements Runnable {
+
+        private final Socket socket;
+        private final String address;
+        private final Instant connectedAt = Instant.now();
+        //다음에 보낼 순번, 팔로워가 적용했다고 알려온 순번
+        private volatile long sent;
+        private volatile long acked = -1;
+        private volatile boolean authenticated;
+
+        FollowerSession(Socket socket) {
+            this.socket = socket;
+            this.address = String.valueOf(socket.getRemoteSocketAddress());
+        }
+
+        @Override
+        public void run() {
+            try (Socket ignored = socket) {
+                socket.setTcpNoDelay(true);
+                DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), 64 * 1024));
+
+                if (!authenticate(in, out)) {
+                    log.warn("복제 인증 실패, 연결을 닫음 address={}", address);
+                    return;
+                }
+                authenticated = true;
+
+                String followerLeaderId = in.readUTF();
+                long lastApplied = in.readLong();
+                long cursor = lastApplied + 1;
+                if (leaderId.equals(followerLeaderId) && cursor <= feed.next() && !feed.isLapped(cursor)) {
+                    out.writeByte(ReplicationProtocol.RESUME);
+                    out.writeUTF(leaderId);
+                    out.writeLong(cursor);
+                    log.info("팔로워 이어받기 address={} from={}", address, cursor);
+                } else {
+                    cursor = sendSnapshot(out);
+                }
+                out.flush();
+                sent = cursor;
+                acked = cursor - 1;
+                stream(in, out, cursor);
+            } catch (IOException | UncheckedIOException e) {
+                if (!closed) {
+                    log.info("팔로워 연결 종료 address={} reason={}", address, e.toString());
+                }
+            } finally {
+                sessions.remove(this);
+            }
+        }
+
+        //nonce 를 보내고 HMAC 을 받아서 비교, 인증 전에는 아무 데이터도 보내지 않는다
+        private boolean authenticate(DataInputStream in, DataOutputStream out) throws IOException {
+            byte[] nonce = new byte[ReplicationProtocol.NONCE_BYTES];
+            RANDOM.nextBytes(nonce);
+            socket.setSoTimeout(HANDSHAKE_TIMEOUT_MILLIS);
+            out.write(nonce);
+            out.flush();
+            byte[] proof = new byte[ReplicationProtocol.PROOF_BYTES];
+            in.readFully(proof);
+            socket.setSoTimeout(0);
+            return MessageDigest.isEqual(proof, ReplicationProtocol.proof(secret, nonce));
+        }
+
+        //스냅샷을 뜨기 전의 순번부터 기록을 이어서 보내야 스냅샷 도중의 변경을 놓치지 않는다
+        private long sendSnapshot(DataOutputStream out) throws IOException {
+            long from = feed.next();
+            out.writeByte(ReplicationProtocol.SNAPSHOT);
+            out.writeUTF(leaderId);
+            out.writeLong(from);
+            int[] count = new int[1];
+            repository.forEach(item -> {
+                try {
+                    out.writeByte(ReplicationProtocol.ITEM);
+                    ReplicationProtocol.writeItem(out, item.getId(), item.getItemName(), item.getPrice(), item.getQuantity());
+                    count[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            out.writeByte(ReplicationProtocol.SNAPSHOT_END);
+            out.writeInt(count[0]);
+            snapshots.increment();
+            log.info("팔로워에 스냅샷 전송 address={} items={} from={}", address, count[0], from);
+            return from;
+        }
+
+        private void stream(DataInputStream in, DataOutputStream out, long cursor) throws IOException {
+            long lastHeartbeat = 0;
+            while (!closed) {
+                int count = 0;
+                while (count < batchSize) {
+                    ItemChangeEvent event = feed.read(cursor);
+                    if (event != null) {
+                        ReplicationProtocol.writeOp(out, event);
+                        cursor++;
+                        count++;
+                    } else if (feed.isLapped(cursor)) {
+                        //보낼 기록이 덮어써짐, 끊으면 팔로워가 다시 연결해서 스냅샷부터 받는다
+                        log.warn("팔로워가 너무 뒤처져서 연결을 끊음 address={} cursor={} next={}", address, cursor, feed.next());
+                        return;
+                    } else {
+                        break;
+                    }
+                }
+                sent = cursor;
+
+                long now = System.nanoTime();
+                if (now - lastHeartbeat >= heartbeatNanos) {
+                    out.writeByte(ReplicationProtocol.HEARTBEAT);
+                    out.writeLong(feed.next());
+                    lastHeartbeat = now;
+                }
+                if (count > 0 || lastHeartbeat == now) {
+                    out.flush();
+                }
+                readAcks(in);
+
+                if (count == 0) {
+                    //새 기록이 없거나 아직 쓰는 중
+                    LockSupport.parkNanos(cursor < feed.next() ? 1000 : pollNanos);
+                }
+            }
+        }
+
+        //전송 스레드가 막히지 않게 이미 도착한 것만 읽는다
+        private void readAcks(DataInputStream in) throws IOException {
+            while (in.available() >= Long.BYTES) {
+                acked = in.readLong();
+            }
+        }
+    }
+
+    private static void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            log.debug("소켓 닫기 실패", e);
+        }
+    }
+}
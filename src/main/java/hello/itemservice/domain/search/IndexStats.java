@@ -0,0 +1,33 @@
+package hello.itemservice.domain.search;
+
+import lombok.Getter;
+
+//색인 크기, 메모리는 배열 크기와 객체 헤더로 계산한 추정치
+@Getter
+public class IndexStats {
+
+    private final long items;
+    private final long grams;
+    private final long postings;
+    private final long postingBytes;
+    private final long dictionaryBytes;
+    //후보 확인용 정규화된 이름
+    private final long nameBytes;
+
+    public IndexStats(long items, long grams, long postings, long postingBytes, long dictionaryBytes, long nameBytes) {
+        this.items = items;
+        this.grams = grams;
+        this.postings = postings;
+        this.postingBytes = postingBytes;
+        this.dictionaryBytes = dictionaryBytes;
+        this.nameBytes = nameBytes;
+    }
+
+    public long getTotalBytes() {
+        return postingBytes + dictionaryBytes + nameBytes;
+    }
+
+    public double getBytesPerItem() {
+        return items == 0 ? 0 : (double) getTotalBytes() / items;
+    }
+}
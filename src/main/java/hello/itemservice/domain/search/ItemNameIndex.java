@@ -0,0 +1,319 @@
+package hello.itemservice.domain.search;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemChangeListener;
+import hello.itemservice.domain.item.ItemRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 상품 이름 부분 검색(contains)용 글자 n-gram(3글자) 역색인
+ * findAll() 로 전체를 훑는 대신 검색어의 3-gram 들의 posting list 교집합만 확인한다
+ * ItemRepository 에 리스너로 등록해서 save, saveAll, update 때 같이 갱신됨
+ *
+ * 대소문자는 구분하지 않고 앞뒤 공백은 무시
+ * 3글자보다 짧은 이름은 이름 전체를 하나의 gram 으로 색인
+ * 3글자보다 짧은 검색어는 gram 사전에서 검색어를 포함하는 gram 을 찾아서 후보를 모으고, 후보는 SHORT_QUERY_CANDIDATES 개까지만 본다
+ * 후보가 잘리면 SearchResult.truncated, 그때 matched 는 본 후보 안에서 센 수
+ * 교집합은 gram 이 같은 위치에 있는지까지는 보지 않으므로 마지막에 색인해둔 정규화된 이름으로 한번 더 확인
+ * 저장소는 순위 안에 든 limit 개를 꺼낼 때만 조회
+ *
+ * 시작할 때 리스너를 먼저 등록하고 findAll() 을 읽는다, 그 사이의 변경은 리스너가 먼저 반영하므로
+ * findAll() 결과는 아직 색인에 없는 상품만 채운다 (같은 상품을 두번 색인하거나 예전 이름으로 덮어쓰지 않음)
+ */
+@Component
+public class ItemNameIndex implements ItemChangeListener {
+
+    static final int GRAM = 3;
+    static final int SHORT_QUERY_CANDIDATES = 10000;
+
+    //사전 항목 하나당 ConcurrentHashMap 노드 + Long 키 + PostingList 객체 대략의 크기
+    private static final long DICTIONARY_ENTRY_BYTES = 32 + 16 + 24;
+    //이름 항목 하나당 ConcurrentHashMap 노드 + Integer 키 + String, byte[] 헤더, 글자는 따로 (한글 기준 2byte)
+    private static final long NAME_ENTRY_BYTES = 32 + 16 + 24 + 16;
+
+    //순위: 이름 전체 일치 > 앞부분 일치 > 일치 위치가 앞일수록 > 이름이 짧을수록 > 먼저 등록된 상품
+    private static final Comparator<Candidate> RANK = Comparator.<Candidate>comparingInt(c -> c.tier)
+            .thenComparingInt(c -> c.position)
+            .thenComparingInt(c -> c.length)
+            .thenComparingInt(c -> c.id);
+
+    private final ItemRepository itemRepository;
+    private final Map<Long, PostingList> postings = new ConcurrentHashMap<>();
+    //상품 id -> 색인한 정규화된 이름, 후보 확인과 수정 때 예전 gram 을 찾는 데 사용
+    private final Map<Integer, String> names = new ConcurrentHashMap<>();
+
+    public ItemNameIndex(ItemRepository itemRepository) {
+        this.itemRepository = itemRepository;
+        itemRepository.addListener(this);
+        index(itemRepository.findAll(), false);
+    }
+
+    @Override
+    public void onSave(Item item) {
+        reindex(toIndexId(item.getId()), normalize(item.getItemName()));
+    }
+
+    @Override
+    public void onSaveAll(List<Item> saved) {
+        index(saved, true);
+    }
+
+    //before 대신 색인해둔 이름에서 gram 을 지운다, 시작 직후 아직 색인에 없던 상품이어도 새 이름으로 들어감
+    @Override
+    public void onUpdate(Item before, Item after) {
+        reindex(toIndexId(after.getId()), normalize(after.getItemName()));
+    }
+
+    @Override
+    public void onClear() {
+        postings.clear();
+        names.clear();
+    }
+
+    public SearchResult search(String query, int limit) {
+        String q = normalize(query);
+        if (q.isEmpty()) {
+            return new SearchResult(query, 0, false, List.of());
+        }
+
+        int[] candidates = q.length() >= GRAM ? intersect(q) : shortQueryCandidates(q);
+        //짧은 검색어는 하나 더 모아서 잘렸는지 안다
+        boolean truncated = candidates.length > SHORT_QUERY_CANDIDATES;
+        if (truncated) {
+            candidates = Arrays.copyOf(candidates, SHORT_QUERY_CANDIDATES);
+        }
+
+        //순위가 가장 낮은 후보가 맨 앞, limit 개만 유지
+        PriorityQueue<Candidate> top = new PriorityQueue<>(RANK.reversed());
+        int matched = 0;
+        for (int id : candidates) {
+            String name = names.get(id);
+            int position = name == null ? -1 : name.indexOf(q);
+            if (position < 0) {
+                continue;
+            }
+            matched++;
+            Candidate candidate = new Candidate(id, name.length() == q.length() ? 0 : position == 0 ? 1 : 2,
+                    position, name.length());
+            if (top.size() < limit) {
+                top.add(candidate);
+            } else if (RANK.compare(candidate, top.peek()) < 0) {
+                top.poll();
+                top.add(candidate);
+            }
+        }
+
+        List<Candidate> ranked = new ArrayList<>(top);
+        ranked.sort(RANK);
+        List<Item> result = new ArrayList<>(ranked.size());
+        for (Candidate candidate : ranked) {
+            Item item = itemRepository.findById((long) candidate.id);
+            if (item != null) {
+                result.add(item);
+            }
+        }
+        return new SearchResult(query, matched, truncated, result);
+    }
+
+    public IndexStats stats() {
+        long postingCount = 0;
+        long postingBytes = 0;
+        for (PostingList list : postings.values()) {
+            postingCount += list.size();
+            postingBytes += list.capacityBytes();
+        }
+        long nameBytes = 0;
+        for (String name : names.values()) {
+            nameBytes += NAME_ENTRY_BYTES + 2L * name.length();
+        }
+        long grams = postings.size();
+        return new IndexStats(names.size(), grams, postingCount, postingBytes, grams * DICTIONARY_ENTRY_BYTES,
+                nameBytes);
+    }
+
+    /**
+     * 상품 하나의 이름을 바꿔 색인, 같은 이름이면 아무것도 하지 않음
+     * names.compute 안에서 gram 을 옮겨서 같은 상품의 변경끼리는 섞이지 않는다
+     */
+    private void reindex(int id, String name) {
+        names.compute(id, (key, previous) -> {
+            if (name.equals(previous)) {
+                return previous;
+            }
+            if (previous != null) {
+                for (long gram : grams(previous)) {
+                    PostingList list = postings.get(gram);
+                    if (list != null) {
+                        list.remove(id);
+                    }
+                }
+            }
+            for (long gram : grams(name)) {
+                postings.computeIfAbsent(gram, k -> new PostingList()).add(id);
+            }
+            return name;
+        });
+    }
+
+    /**
+     * 묶음 안에서 gram 별 목록을 먼저 만들고 전체 색인에는 gram 마다 한번씩 병합
+     * 이미 색인된 상품은 묶음에 넣지 않는다
+     * replace: 저장 알림이면 새 이름으로 바꾸고, 시작할 때 읽은 findAll() 이면 리스너가 먼저 넣은 것을 그대로 둔다
+     */
+    private void index(List<Item> items, boolean replace) {
+        Map<Long, PostingList> batch = new HashMap<>();
+        for (Item item : items) {
+            int id = toIndexId(item.getId());
+            String name = normalize(item.getItemName());
+            if (names.putIfAbsent(id, name) != null) {
+                if (replace) {
+                    reindex(id, name);
+                }
+                continue;
+            }
+            for (long gram : grams(name)) {
+                batch.computeIfAbsent(gram, k -> new PostingList()).add(id);
+            }
+        }
+        for (Map.Entry<Long, PostingList> entry : batch.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), k -> new PostingList()).addAll(entry.getValue().toArray());
+        }
+    }
+
+    //가장 짧은 목록을 기준으로 나머지 목록에 모두 있는 id 만 남김
+    private int[] intersect(String q) {
+        long[] grams = grams(q);
+        PostingList[] lists = new PostingList[grams.length];
+        for (int i = 0; i < grams.length; i++) {
+            lists[i] = postings.get(grams[i]);
+            if (lists[i] == null) {
+                return new int[0];
+            }
+        }
+        Arrays.sort(lists, Comparator.comparingInt(PostingList::size));
+
+        int[] ids = lists[0].toArray();
+        int count = 0;
+        for (int id : ids) {
+            boolean all = true;
+            for (int i = 1; i < lists.length && all; i++) {
+                all = lists[i].contains(id);
+            }
+            if (all) {
+                ids[count++] = id;
+            }
+        }
+        return Arrays.copyOf(ids, count);
+    }
+
+    //이름 전체가 검색어인 상품(짧은 이름의 gram)을 먼저 모아서 후보가 잘려도 전체 일치는 빠지지 않게
+    private int[] shortQueryCandidates(String q) {
+        Set<Integer> ids = new LinkedHashSet<>();
+        long exact = encode(q, 0, q.length());
+        PostingList exactList = postings.get(exact);
+        if (exactList != null && collect(exactList, ids)) {
+            return toArray(ids);
+        }
+        for (Map.Entry<Long, PostingList> entry : postings.entrySet()) {
+            if (entry.getKey() == exact || !decode(entry.getKey()).contains(q)) {
+                continue;
+            }
+            if (collect(entry.getValue(), ids)) {
+                break;
+            }
+        }
+        return toArray(ids);
+    }
+
+    //SHORT_QUERY_CANDIDATES 보다 많아지면 true
+    private static boolean collect(PostingList list, Set<Integer> ids) {
+        for (int id : list.toArray()) {
+            ids.add(id);
+            if (ids.size() > SHORT_QUERY_CANDIDATES) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int[] toArray(Set<Integer> ids) {
+        return ids.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    //중복 없이 정렬된 gram 키 목록
+    static long[] grams(String name) {
+        if (name.isEmpty()) {
+            return new long[0];
+        }
+        if (name.length() < GRAM) {
+            return new long[]{encode(name, 0, name.length())};
+        }
+        long[] grams = new long[name.length() - GRAM + 1];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = encode(name, i, i + GRAM);
+        }
+        Arrays.sort(grams);
+        int count = 0;
+        for (int i = 0; i < grams.length; i++) {
+            if (i == 0 || grams[i] != grams[i - 1]) {
+                grams[count++] = grams[i];
+            }
+        }
+        return Arrays.copyOf(grams, count);
+    }
+
+    //글자(char 16bit) 3개와 길이를 long 하나에 담음, 문자열 키보다 작고 비교가 빠르다
+    static long encode(String s, int from, int to) {
+        long key = (long) (to - from) << 48;
+        for (int i = from; i < to; i++) {
+            key |= (long) s.charAt(i) << (16 * (GRAM - 1 - (i - from)));
+        }
+        return key;
+    }
+
+    static String decode(long key) {
+        int length = (int) (key >>> 48);
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) (key >>> (16 * (GRAM - 1 - i)));
+        }
+        return new String(chars);
+    }
+
+    private static String normalize(String name) {
+        return name == null ? "" : name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static int toIndexId(Long id) {
+        if (id > Integer.MAX_VALUE) {
+            throw new IllegalStateException("색인은 int 범위의 상품 id 만 지원 id=" + id);
+        }
+        return id.intValue();
+    }
+
+    private static final class Candidate {
+        private final int id;
+        private final int tier;
+        private final int position;
+        private final int length;
+
+        private Candidate(int id, int tier, int position, int length) {
+            this.id = id;
+            this.tier = tier;
+            this.position = position;
+            this.length = length;
+        }
+    }
+}
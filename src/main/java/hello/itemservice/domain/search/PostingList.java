@@ -0,0 +1,93 @@
+package hello.itemservice.domain.search;
+
+import java.util.Arrays;
+
+/**
+ * 하나의 n-gram 을 포함하는 상품 id 목록, 오름차순 int 배열
+ * 박싱된 Long 목록보다 원소당 메모리가 훨씬 작고(4byte) 이진 탐색으로 포함 여부를 바로 확인할 수 있다
+ * id 는 시퀀스로 증가하므로 대부분 뒤에 붙이기만 하면 됨
+ */
+final class PostingList {
+
+    private int[] ids = new int[2];
+    private int size;
+
+    synchronized void add(int id) {
+        if (size == 0 || ids[size - 1] < id) {
+            ensureCapacity();
+            ids[size++] = id;
+            return;
+        }
+        int index = Arrays.binarySearch(ids, 0, size, id);
+        if (index >= 0) {
+            return;
+        }
+        int insertAt = -index - 1;
+        ensureCapacity();
+        System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+        ids[insertAt] = id;
+        size++;
+    }
+
+    //오름차순 id 묶음을 한번에 병합, 동시에 적재되는 묶음끼리 id 가 엇갈려도 중간 삽입을 한건씩 하지 않도록
+    synchronized void addAll(int[] sorted) {
+        if (sorted.length == 0) {
+            return;
+        }
+        if (size == 0 || ids[size - 1] < sorted[0]) {
+            if (size + sorted.length > ids.length) {
+                ids = Arrays.copyOf(ids, size + sorted.length + (size >> 1));
+            }
+            System.arraycopy(sorted, 0, ids, size, sorted.length);
+            size += sorted.length;
+            return;
+        }
+        int[] merged = new int[size + sorted.length + (size >> 1)];
+        int i = 0, j = 0, n = 0;
+        while (i < size || j < sorted.length) {
+            int next;
+            if (j == sorted.length || (i < size && ids[i] <= sorted[j])) {
+                next = ids[i++];
+            } else {
+                next = sorted[j++];
+            }
+            if (n == 0 || merged[n - 1] != next) {
+                merged[n++] = next;
+            }
+        }
+        ids = merged;
+        size = n;
+    }
+
+    synchronized void remove(int id) {
+        int index = Arrays.binarySearch(ids, 0, size, id);
+        if (index < 0) {
+            return;
+        }
+        System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+        size--;
+    }
+
+    synchronized boolean contains(int id) {
+        return Arrays.binarySearch(ids, 0, size, id) >= 0;
+    }
+
+    synchronized int[] toArray() {
+        return Arrays.copyOf(ids, size);
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    //배열 헤더 16byte + 할당된 칸
+    synchronized long capacityBytes() {
+        return 16 + 4L * ids.length;
+    }
+
+    private void ensureCapacity() {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, ids.length + (ids.length >> 1) + 1);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package hello.itemservice.domain.search;
+
+import hello.itemservice.domain.item.Item;
+import lombok.Getter;
+
+import java.util.List;
+
+//matched 는 검색어를 포함하는 전체 상품 수, items 는 그중 순위가 높은 limit 개
+//truncated 면 짧은 검색어라 후보를 ItemNameIndex.SHORT_QUERY_CANDIDATES 개까지만 봤다는 것, matched 는 그 안에서 센 수 (실제보다 적을 수 있음)
+@Getter
+public class SearchResult {
+
+    private final String query;
+    private final int matched;
+    private final boolean truncated;
+    private final List<Item> items;
+
+    public SearchResult(String query, int matched, boolean truncated, List<Item> items) {
+        this.query = query;
+        this.matched = matched;
+        this.truncated = truncated;
+        this.items = items;
+    }
+}
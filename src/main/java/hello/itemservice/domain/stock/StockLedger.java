@@ -0,0 +1,262 @@
+package hello.itemservice.domain.stock;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemChangeListener;
+import hello.itemservice.domain.item.ItemRepository;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 주문(결제)용 재고 예약, 반환, 조정, 카탈로그마다 하나 (Catalog.getStock)
+ *
+ * 저장소의 Item.quantity 는 실제 재고 그대로 두고 (수정 폼, 내보내기, 랭킹, 복제가 보는 값) 예약은 여기서 따로 센다
+ * 예약 가능 수량 = 저장소 수량 - 예약 수량
+ * 예약마다 상품 하나의 잠금에 줄을 서지 않도록 예약 가능 수량을 상품별 풀(AtomicLong)에 두고
+ * leaseSize 개씩 StripedStock 의 칸에 나눠 담아 예약은 칸에서 CAS 로 꺼낸다, 칸이 비었을 때만 풀에 간다
+ * 칸도 풀도 음수가 되지 않으므로 전체 재고보다 많이 예약되지 않는다
+ *
+ * 수정 폼 등 다른 곳에서 수량을 바꾸면 바뀐 만큼(after - 마지막으로 본 수량)만 풀에 더한다
+ * 가격만 바꾸거나 같은 수량을 다시 저장하면 예약 가능 수량은 그대로
+ * 예약은 메모리에만 있으므로 재시작하면 모두 반환된 것으로 본다
+ */
+public class StockLedger {
+
+    private static final int DEFAULT_LEASE_SIZE = 16;
+
+    //adjust 로 줄일 때는 풀에서 먼저 빼두므로 그 수정 알림은 수량만 기록하고 풀에 다시 반영하지 않는다
+    private static final ThreadLocal<Boolean> ADJUSTING = new ThreadLocal<>();
+
+    private final ItemRepository repository;
+    private final int stripes;
+    private final int leaseSize;
+    private final Map<Long, ItemStock> stocks = new ConcurrentHashMap<>();
+    private final LongAdder reservations = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+    private final LongAdder leases = new LongAdder();
+
+    public StockLedger(ItemRepository repository) {
+        this(repository, defaultStripes(), DEFAULT_LEASE_SIZE);
+    }
+
+    //stripes 는 2의 제곱수
+    public StockLedger(ItemRepository repository, int stripes, int leaseSize) {
+        if (Integer.bitCount(stripes) != 1) {
+            throw new IllegalArgumentException("stripes 는 2의 제곱수: " + stripes);
+        }
+        this.repository = repository;
+        this.stripes = stripes;
+        this.leaseSize = leaseSize;
+        repository.addListener(new ItemChangeListener() {
+            @Override
+            public void onSave(Item item) {
+            }
+
+            @Override
+            public void onUpdate(Item before, Item after) {
+                ItemStock stock = stocks.get(after.getId());
+                if (stock != null) {
+                    stock.stored(quantityOf(after), ADJUSTING.get() != null);
+                }
+            }
+
+            @Override
+            public void onClear() {
+                stocks.clear();
+            }
+        });
+    }
+
+    /**
+     * quantity 개 예약, 재고가 모자라면 아무것도 줄이지 않고 false
+     * 저장소 수량은 바꾸지 않는다
+     */
+    public boolean reserve(Long itemId, int quantity) {
+        checkPositive(quantity);
+        ItemStock stock = stock(itemId);
+        if (take(stock, quantity)) {
+            stock.reserved.add(quantity);
+            reservations.increment();
+            return true;
+        }
+        rejections.increment();
+        return false;
+    }
+
+    //예약 취소, 자기 칸에 돌려놓고 칸에 너무 많이 쌓이면 풀로 돌려준다
+    //예약된 것보다 많이 돌려주면 아무것도 바꾸지 않고 false
+    public boolean release(Long itemId, int quantity) {
+        checkPositive(quantity);
+        ItemStock stock = stock(itemId);
+        synchronized (stock) {
+            if (stock.reserved.sum() < quantity) {
+                return false;
+            }
+            stock.reserved.add(-quantity);
+        }
+        int home = home();
+        stock.cells.put(home, quantity);
+        stock.pool.addAndGet(stock.cells.trim(home, 2L * leaseSize, leaseSize));
+        return true;
+    }
+
+    //입고(+), 폐기(-), 저장소 수량을 바꾼다, 줄일 때는 예약되지 않은 수량만큼만 (모자라면 false)
+    public boolean adjust(Long itemId, int delta) {
+        if (delta > 0) {
+            return repository.adjustQuantity(itemId, delta) != null;
+        }
+        if (delta == 0) {
+            return true;
+        }
+        ItemStock stock = stock(itemId);
+        if (!take(stock, -delta)) {
+            return false;
+        }
+        Item adjusted;
+        ADJUSTING.set(Boolean.TRUE);
+        try {
+            adjusted = repository.adjustQuantity(itemId, delta);
+        } finally {
+            ADJUSTING.remove();
+        }
+        if (adjusted == null) {
+            stock.pool.addAndGet(-delta);
+            return false;
+        }
+        return true;
+    }
+
+    //없는 상품이면 null
+    public StockLevel level(Long itemId) {
+        Item item = repository.findById(itemId);
+        if (item == null) {
+            return null;
+        }
+        ItemStock stock = stocks.get(itemId);
+        return new StockLevel(itemId, quantityOf(item), stock == null ? 0 : stock.reserved.sum());
+    }
+
+    public long reservations() {
+        return reservations.sum();
+    }
+
+    public long rejections() {
+        return rejections.sum();
+    }
+
+    //풀에서 칸으로 나눠 담은 횟수, 예약 수보다 훨씬 적어야 칸이 제 역할을 하는 것
+    public long leases() {
+        return leases.sum();
+    }
+
+    /**
+     * 1. 칸에서 꺼냄 2. 풀에서 새로 나눠 담음 3. 칸을 모두 비워 풀에 합치고 다시 (재고가 거의 떨어졌을 때만)
+     * 저장소를 부르지 않으므로 저장소 리스너(상품 잠금 안에서 호출)와 잠금 순서가 엉키지 않는다
+     */
+    private boolean take(ItemStock stock, int quantity) {
+        int home = home();
+        if (stock.cells.tryTake(home, quantity)) {
+            return true;
+        }
+        int lease = Math.max(quantity, leaseSize);
+        if (stock.lease(lease)) {
+            leases.increment();
+            stock.cells.put(home, lease - quantity);
+            return true;
+        }
+        if (lease != quantity && stock.lease(quantity)) {
+            return true;
+        }
+        synchronized (stock) {
+            stock.pool.addAndGet(stock.cells.drain());
+            return stock.lease(quantity);
+        }
+    }
+
+    //맵에 먼저 넣고 저장소를 읽어서, 읽는 도중의 수정도 리스너로 놓치지 않는다
+    private ItemStock stock(Long itemId) {
+        ItemStock stock = stocks.get(itemId);
+        if (stock == null) {
+            stock = stocks.computeIfAbsent(itemId, id -> new ItemStock(new StripedStock(stripes)));
+        }
+        if (!stock.loaded) {
+            Item item = repository.findById(itemId);
+            stock.load(item == null ? 0 : quantityOf(item));
+        }
+        return stock;
+    }
+
+    private static long quantityOf(Item item) {
+        return item.getQuantity() == null ? 0 : item.getQuantity();
+    }
+
+    //요청 스레드(톰캣 풀)는 오래 살아 있으므로 스레드 id 로 칸을 고정
+    private static int home() {
+        long id = Thread.currentThread().getId();
+        return (int) ((id * 0x9E3779B97F4A7C15L) >>> 40);
+    }
+
+    private static void checkPositive(int quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("수량은 1 이상: " + quantity);
+        }
+    }
+
+    //LongAdder 처럼 코어 수 이상의 2의 제곱수
+    private static int defaultStripes() {
+        int cpus = Runtime.getRuntime().availableProcessors();
+        return Integer.highestOneBit(Math.max(1, cpus * 2 - 1));
+    }
+
+    /**
+     * 상품 하나의 예약 상태
+     * pool + 칸의 합 = 저장소 수량 - 예약 수량 (나눠 담는 도중에는 잠깐 어긋남)
+     * 저장소 수량이 예약보다 적게 수정되면 pool 이 음수가 되고, 반환될 때까지 예약을 받지 않는다
+     */
+    private static final class ItemStock {
+
+        private final StripedStock cells;
+        private final AtomicLong pool = new AtomicLong();
+        private final LongAdder reserved = new LongAdder();
+        //마지막으로 본 저장소 수량, this 로 보호
+        private long stored;
+        private volatile boolean loaded;
+
+        private ItemStock(StripedStock cells) {
+            this.cells = cells;
+        }
+
+        //pool 에 n 개 이상 있을 때만 꺼낸다
+        private boolean lease(long n) {
+            long available;
+            while ((available = pool.get()) >= n) {
+                if (pool.compareAndSet(available, available - n)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private synchronized void load(long quantity) {
+            if (!loaded) {
+                stored = quantity;
+                pool.set(quantity);
+                loaded = true;
+            }
+        }
+
+        //accounted: 풀에서 이미 빼둔 변경 (adjust 로 줄임)
+        private synchronized void stored(long quantity, boolean accounted) {
+            if (!loaded) {
+                load(quantity);
+                return;
+            }
+            if (!accounted) {
+                pool.addAndGet(quantity - stored);
+            }
+            stored = quantity;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package hello.itemservice.domain.stock;
+
+import lombok.Getter;
+
+//available = stored(저장소의 Item.quantity) - reserved(예약 수량), 저장소 수량이 예약보다 적게 수정되면 0
+@Getter
+public class StockLevel {
+
+    private final Long itemId;
+    private final long available;
+    private final long stored;
+    private final long reserved;
+
+    public StockLevel(Long itemId, long stored, long reserved) {
+        this.itemId = itemId;
+        this.available = Math.max(0, stored - reserved);
+        this.stored = stored;
+        this.reserved = reserved;
+    }
+}
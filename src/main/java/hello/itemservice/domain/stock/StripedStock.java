@@ -0,0 +1,69 @@
+package hello.itemservice.domain.stock;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 상품 하나의 예약 가능 수량 일부를 여러 칸(stripe)에 나눠 담은 카운터
+ * 스레드마다 정해진 칸에서 먼저 CAS 로 꺼내므로 인기 상품에 요청이 몰려도 한 변수를 두고 경합하지 않는다
+ * 칸마다 0 아래로는 내려가지 않는다 (꺼낼 만큼 있을 때만 CAS)
+ */
+final class StripedStock {
+
+    //칸 사이를 캐시 라인(64~128 byte) 이상 띄워서 false sharing 방지
+    private static final int PAD = 16;
+
+    private final AtomicLongArray cells;
+    private final int mask;
+
+    StripedStock(int stripes) {
+        this.cells = new AtomicLongArray(stripes * PAD);
+        this.mask = stripes - 1;
+    }
+
+    //home 칸부터 돌면서 quantity 만큼 있는 칸에서 꺼낸다, 어느 칸에도 없으면 false
+    boolean tryTake(int home, int quantity) {
+        for (int k = 0; k <= mask; k++) {
+            int index = ((home + k) & mask) * PAD;
+            long units;
+            while ((units = cells.get(index)) >= quantity) {
+                if (cells.compareAndSet(index, units, units - quantity)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    void put(int home, long quantity) {
+        cells.getAndAdd((home & mask) * PAD, quantity);
+    }
+
+    //home 칸이 limit 를 넘으면 keep 만 남기고 꺼낸 양, 넘지 않으면 0
+    long trim(int home, long limit, long keep) {
+        int index = (home & mask) * PAD;
+        long units;
+        while ((units = cells.get(index)) > limit) {
+            if (cells.compareAndSet(index, units, keep)) {
+                return units - keep;
+            }
+        }
+        return 0;
+    }
+
+    //모든 칸을 비우고 비운 양
+    long drain() {
+        long drained = 0;
+        for (int i = 0; i <= mask; i++) {
+            drained += cells.getAndSet(i * PAD, 0);
+        }
+        return drained;
+    }
+
+    long sum() {
+        long sum = 0;
+        for (int i = 0; i <= mask; i++) {
+            sum += cells.get(i * PAD);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,80 @@
+package hello.itemservice.jfr;
+
+import org.springframework.validation.Errors;
+import org.springframework.validation.SmartValidator;
+import org.springframework.validation.Validator;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.StringJoiner;
+
+/**
+ * JFR 이벤트 공통 (jfr.events.enabled=true 일 때만 쓰인다)
+ * 설정이 꺼져 있으면 이벤트를 남기는 래퍼 자체를 끼우지 않고
+ * 켜져 있어도 JFR 녹화가 없거나 이벤트가 꺼져 있으면 isEnabled(), shouldCommit() 확인만 하고 지나간다
+ *
+ * 녹화: java -XX:StartFlightRecording=filename=item.jfr ... 또는 jcmd <pid> JFR.start
+ */
+public final class JfrEvents {
+
+    private JfrEvents() {
+    }
+
+    /**
+     * DataBinder.validate() 가 검증기마다 하는 것과 같이 실행하고 ValidationEvent 를 남김
+     * hints 는 @Validated(SaveCheck.class) 의 그룹
+     */
+    public static void validate(Validator validator, Object target, Errors errors, Object... hints) {
+        ValidationEvent event = new ValidationEvent();
+        if (!event.isEnabled()) {
+            invoke(validator, target, errors, hints);
+            return;
+        }
+        int before = errors.getErrorCount();
+        event.begin();
+        try {
+            invoke(validator, target, errors, hints);
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.endpoint = endpoint();
+                event.validator = validator.getClass().getSimpleName();
+                event.groups = groups(hints);
+                event.objectName = errors.getObjectName();
+                event.errorCount = errors.getErrorCount() - before;
+                event.commit();
+            }
+        }
+    }
+
+    //현재 요청의 매핑 패턴 (/validation/v2/items/add ...), 요청 밖이면 null
+    static String endpoint() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        Object pattern = attributes.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE,
+                RequestAttributes.SCOPE_REQUEST);
+        return pattern == null ? null : pattern.toString();
+    }
+
+    private static void invoke(Validator validator, Object target, Errors errors, Object... hints) {
+        if (hints != null && hints.length > 0 && validator instanceof SmartValidator) {
+            ((SmartValidator) validator).validate(target, errors, hints);
+        } else {
+            validator.validate(target, errors);
+        }
+    }
+
+    private static String groups(Object[] hints) {
+        if (hints == null || hints.length == 0) {
+            return null;
+        }
+        StringJoiner joiner = new StringJoiner(",");
+        for (Object hint : hints) {
+            joiner.add(hint instanceof Class ? ((Class<?>) hint).getSimpleName() : String.valueOf(hint));
+        }
+        return joiner.toString();
+    }
+}
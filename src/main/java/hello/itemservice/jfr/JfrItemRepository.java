@@ -0,0 +1,130 @@
+package hello.itemservice.jfr;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemChangeListener;
+import hello.itemservice.domain.item.ItemRepository;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * 저장소 작업마다 RepositoryEvent, CatalogItemRepository 가 jfr.events.enabled 일 때 카탈로그 저장소를 이것으로 감싼다
+ * 녹화 중이 아니면 begin() 이 null 을 돌려주고 바로 위임한다
+ */
+public class JfrItemRepository implements ItemRepository {
+
+    private final ItemRepository delegate;
+    private final String catalog;
+
+    public JfrItemRepository(ItemRepository delegate, String catalog) {
+        this.delegate = delegate;
+        this.catalog = catalog;
+    }
+
+    @Override
+    public Item save(Item item) {
+        RepositoryEvent event = begin();
+        Item saved = delegate.save(item);
+        commit(event, "save", saved.getId(), 1);
+        return saved;
+    }
+
+    @Override
+    public void saveAll(List<Item> items) {
+        RepositoryEvent event = begin();
+        delegate.saveAll(items);
+        commit(event, "saveAll", null, items.size());
+    }
+
+    @Override
+    public Item findById(Long id) {
+        RepositoryEvent event = begin();
+        Item item = delegate.findById(id);
+        commit(event, "findById", id, item == null ? 0 : 1);
+        return item;
+    }
+
+    @Override
+    public List<Item> findAll() {
+        RepositoryEvent event = begin();
+        List<Item> items = delegate.findAll();
+        commit(event, "findAll", null, items.size());
+        return items;
+    }
+
+    @Override
+    public void forEach(Consumer<Item> action) {
+        RepositoryEvent event = begin();
+        delegate.forEach(action);
+        commit(event, "forEach", null, 0);
+    }
+
+    @Override
+    public long count() {
+        RepositoryEvent event = begin();
+        long count = delegate.count();
+        commit(event, "count", null, (int) Math.min(count, Integer.MAX_VALUE));
+        return count;
+    }
+
+    @Override
+    public void update(Long itemId, Item updateParam) {
+        RepositoryEvent event = begin();
+        delegate.update(itemId, updateParam);
+        commit(event, "update", itemId, 1);
+    }
+
+    @Override
+    public Item patch(Long itemId, Item patch, Predicate<Item> rule) {
+        RepositoryEvent event = begin();
+        Item patched = delegate.patch(itemId, patch, rule);
+        commit(event, "patch", itemId, patched == null ? 0 : 1);
+        return patched;
+    }
+
+    @Override
+    public Item adjustQuantity(Long itemId, int delta) {
+        RepositoryEvent event = begin();
+        Item adjusted = delegate.adjustQuantity(itemId, delta);
+        commit(event, "adjustQuantity", itemId, adjusted == null ? 0 : 1);
+        return adjusted;
+    }
+
+    @Override
+    public void clearStore() {
+        RepositoryEvent event = begin();
+        delegate.clearStore();
+        commit(event, "clearStore", null, 0);
+    }
+
+    @Override
+    public void addListener(ItemChangeListener listener) {
+        delegate.addListener(listener);
+    }
+
+    //예외가 나면 이벤트는 남기지 않는다 (시간을 재는 대상은 정상 경로)
+    private static RepositoryEvent begin() {
+        RepositoryEvent event = new RepositoryEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    private void commit(RepositoryEvent event, String operation, Long itemId, int count) {
+        if (event == null) {
+            return;
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.endpoint = JfrEvents.endpoint();
+            event.catalog = catalog;
+            event.operation = operation;
+            event.itemId = itemId == null ? 0 : itemId;
+            event.count = count;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package hello.itemservice.jfr;
+
+import org.springframework.validation.MessageCodesResolver;
+
+//MessageCodesResolver 호출마다 MessageCodesEvent
+public class JfrMessageCodesResolver implements MessageCodesResolver {
+
+    private final MessageCodesResolver delegate;
+
+    public JfrMessageCodesResolver(MessageCodesResolver delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public String[] resolveMessageCodes(String errorCode, String objectName) {
+        return resolveMessageCodes(errorCode, objectName, null, null);
+    }
+
+    @Override
+    public String[] resolveMessageCodes(String errorCode, String objectName, String field, Class<?> fieldType) {
+        MessageCodesEvent event = new MessageCodesEvent();
+        if (!event.isEnabled()) {
+            return resolve(errorCode, objectName, field, fieldType);
+        }
+        event.begin();
+        String[] codes = resolve(errorCode, objectName, field, fieldType);
+        event.end();
+        if (event.shouldCommit()) {
+            event.endpoint = JfrEvents.endpoint();
+            event.errorCode = errorCode;
+            event.objectName = objectName;
+            event.field = field;
+            event.codeCount = codes.length;
+            event.commit();
+        }
+        return codes;
+    }
+
+    //객체 오류(reject)는 field 없는 메서드로 넘겨야 DefaultMessageCodesResolver 의 결과가 같다
+    private String[] resolve(String errorCode, String objectName, String field, Class<?> fieldType) {
+        if (field == null) {
+            return delegate.resolveMessageCodes(errorCode, objectName);
+        }
+        return delegate.resolveMessageCodes(errorCode, objectName, field, fieldType);
+    }
+}
@@ -0,0 +1,75 @@
+package hello.itemservice.jfr;
+
+import org.springframework.context.MessageSource;
+import org.springframework.context.MessageSourceResolvable;
+import org.springframework.context.NoSuchMessageException;
+
+import java.util.Locale;
+
+//메시지 찾기마다 MessageResolutionEvent, 찾지 못해 예외가 나도 남긴다
+public class JfrMessageSource implements MessageSource {
+
+    private final MessageSource delegate;
+
+    public JfrMessageSource(MessageSource delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public String getMessage(String code, Object[] args, String defaultMessage, Locale locale) {
+        MessageResolutionEvent event = new MessageResolutionEvent();
+        if (!event.isEnabled()) {
+            return delegate.getMessage(code, args, defaultMessage, locale);
+        }
+        event.begin();
+        String message = delegate.getMessage(code, args, defaultMessage, locale);
+        commit(event, code, locale, message != null);
+        return message;
+    }
+
+    @Override
+    public String getMessage(String code, Object[] args, Locale locale) throws NoSuchMessageException {
+        MessageResolutionEvent event = new MessageResolutionEvent();
+        if (!event.isEnabled()) {
+            return delegate.getMessage(code, args, locale);
+        }
+        event.begin();
+        boolean found = false;
+        try {
+            String message = delegate.getMessage(code, args, locale);
+            found = true;
+            return message;
+        } finally {
+            commit(event, code, locale, found);
+        }
+    }
+
+    @Override
+    public String getMessage(MessageSourceResolvable resolvable, Locale locale) throws NoSuchMessageException {
+        MessageResolutionEvent event = new MessageResolutionEvent();
+        if (!event.isEnabled()) {
+            return delegate.getMessage(resolvable, locale);
+        }
+        event.begin();
+        boolean found = false;
+        try {
+            String message = delegate.getMessage(resolvable, locale);
+            found = true;
+            return message;
+        } finally {
+            String[] codes = resolvable.getCodes();
+            commit(event, codes == null || codes.length == 0 ? null : codes[0], locale, found);
+        }
+    }
+
+    private static void commit(MessageResolutionEvent event, String code, Locale locale, boolean found) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.endpoint = JfrEvents.endpoint();
+            event.code = code;
+            event.locale = locale == null ? null : locale.toLanguageTag();
+            event.found = found;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package hello.itemservice.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+//MessageCodesResolver 로 오류 코드 하나의 메시지 코드 목록 생성
+@Name(MessageCodesEvent.NAME)
+@Label("Message Codes")
+@Category({"Item Service", "Validation"})
+@Description("rejectValue(), reject(), 타입 오류의 메시지 코드 생성")
+@StackTrace(false)
+public class MessageCodesEvent extends Event {
+
+    public static final String NAME = "hello.itemservice.MessageCodes";
+
+    @Label("Endpoint")
+    String endpoint;
+
+    @Label("Error Code")
+    String errorCode;
+
+    @Label("Object Name")
+    String objectName;
+
+    @Label("Field")
+    String field;
+
+    @Label("Code Count")
+    int codeCount;
+}
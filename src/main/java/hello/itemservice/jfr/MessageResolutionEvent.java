@@ -0,0 +1,31 @@
+package hello.itemservice.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+//MessageSource 에서 메시지 하나 찾기 + 포맷, 완성된 메시지 캐시에 없을 때만 (CachingMessageSource 안쪽)
+@Name(MessageResolutionEvent.NAME)
+@Label("Message Resolution")
+@Category({"Item Service", "Message"})
+@Description("메시지 코드를 찾아서 인자까지 포맷")
+@StackTrace(false)
+public class MessageResolutionEvent extends Event {
+
+    public static final String NAME = "hello.itemservice.MessageResolution";
+
+    @Label("Endpoint")
+    String endpoint;
+
+    @Label("Code")
+    String code;
+
+    @Label("Locale")
+    String locale;
+
+    @Label("Found")
+    boolean found;
+}
@@ -0,0 +1,36 @@
+package hello.itemservice.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+//ItemRepository 작업 하나 (save, findById, update ...)
+@Name(RepositoryEvent.NAME)
+@Label("Item Repository")
+@Category({"Item Service", "Repository"})
+@Description("상품 저장소 작업")
+@StackTrace(false)
+public class RepositoryEvent extends Event {
+
+    public static final String NAME = "hello.itemservice.Repository";
+
+    @Label("Endpoint")
+    String endpoint;
+
+    @Label("Catalog")
+    String catalog;
+
+    @Label("Operation")
+    String operation;
+
+    //대상 상품이 없는 작업(findAll, count ...)은 0
+    @Label("Item Id")
+    long itemId;
+
+    //saveAll, findAll 의 상품 수
+    @Label("Count")
+    int count;
+}
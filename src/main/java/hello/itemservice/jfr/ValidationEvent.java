@@ -0,0 +1,34 @@
+package hello.itemservice.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+//WebDataBinder 의 검증기 하나 실행 (ItemValidator, Bean Validation)
+@Name(ValidationEvent.NAME)
+@Label("Validation")
+@Category({"Item Service", "Validation"})
+@Description("검증기 하나의 validate() 실행")
+@StackTrace(false)
+public class ValidationEvent extends Event {
+
+    public static final String NAME = "hello.itemservice.Validation";
+
+    @Label("Endpoint")
+    String endpoint;
+
+    @Label("Validator")
+    String validator;
+
+    @Label("Groups")
+    String groups;
+
+    @Label("Object Name")
+    String objectName;
+
+    @Label("Error Count")
+    int errorCount;
+}
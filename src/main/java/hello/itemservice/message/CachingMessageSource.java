@@ -0,0 +1,209 @@
+package hello.itemservice.message;
+
+import org.springframework.context.MessageSource;
+import org.springframework.context.MessageSourceResolvable;
+import org.springframework.context.NoSuchMessageException;
+import org.springframework.context.support.DefaultMessageSourceResolvable;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 완성된 메시지(코드 찾기 + {0} ~ {1} 인자 포맷까지 끝난 문자열)를 (코드들, 인자, 기본 메시지, locale) 로 캐시
+ * th:errors, #fields.globalErrors() 가 렌더링할 때마다 MessageCodesResolver 가 만든 코드를 순서대로 찾고
+ * MessageFormat 으로 포맷하는 비용을 같은 오류가 다시 나올 때는 건너뛴다
+ *
+ * 인자가 값으로 비교할 수 있는 타입(숫자, 문자열, DefaultMessageSourceResolvable ...)일 때만 캐시
+ * 그렇지 않은 인자(equals 가 없는 객체)는 매번 새 키가 되어 캐시만 채우므로 그대로 위임한다
+ * totalPriceMin 의 현재 값처럼 입력마다 달라지는 인자가 있어서 최대 개수를 넘으면 일부를 비운다
+ * 메시지 파일을 다시 읽으면 clear() 로 비워야 한다 (WatchedMessageSource 가 변경마다 한번 호출)
+ * clear() 와 겹쳐서 이전 메시지를 찾던 요청이 비운 뒤에 넣는 값은 세대(generation)를 비교해서 다시 뺀다
+ */
+public class CachingMessageSource implements MessageSource {
+
+    private final MessageSource delegate;
+    private final int maxEntries;
+    private final Map<Key, String> cache = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public CachingMessageSource(MessageSource delegate, int maxEntries) {
+        this.delegate = delegate;
+        this.maxEntries = maxEntries;
+    }
+
+    @Override
+    public String getMessage(String code, Object[] args, String defaultMessage, Locale locale) {
+        if (!cacheable(args)) {
+            return delegate.getMessage(code, args, defaultMessage, locale);
+        }
+        Key key = new Key(new String[]{code}, args, defaultMessage, locale);
+        String message = cache.get(key);
+        if (message != null) {
+            hits.increment();
+            return message;
+        }
+        misses.increment();
+        long startGeneration = generation.get();
+        message = delegate.getMessage(code, args, defaultMessage, locale);
+        put(key, message, startGeneration);
+        return message;
+    }
+
+    //찾지 못하면 NoSuchMessageException, 예외는 캐시하지 않음
+    @Override
+    public String getMessage(String code, Object[] args, Locale locale) throws NoSuchMessageException {
+        if (!cacheable(args)) {
+            return delegate.getMessage(code, args, locale);
+        }
+        Key key = new Key(new String[]{code}, args, null, locale);
+        String message = cache.get(key);
+        if (message != null) {
+            hits.increment();
+            return message;
+        }
+        misses.increment();
+        long startGeneration = generation.get();
+        message = delegate.getMessage(code, args, locale);
+        put(key, message, startGeneration);
+        return message;
+    }
+
+    @Override
+    public String getMessage(MessageSourceResolvable resolvable, Locale locale) throws NoSuchMessageException {
+        Object[] args = resolvable.getArguments();
+        if (resolvable.getCodes() == null || !cacheable(args)) {
+            return delegate.getMessage(resolvable, locale);
+        }
+        Key key = new Key(resolvable.getCodes(), args, resolvable.getDefaultMessage(), locale);
+        String message = cache.get(key);
+        if (message != null) {
+            hits.increment();
+            return message;
+        }
+        misses.increment();
+        long startGeneration = generation.get();
+        message = delegate.getMessage(resolvable, locale);
+        put(key, message, startGeneration);
+        return message;
+    }
+
+    //세대를 먼저 올려야 clear() 전에 찾기 시작한 요청의 put 이 되돌려진다
+    public void clear() {
+        generation.incrementAndGet();
+        cache.clear();
+    }
+
+    //clear() 횟수, 메시지 파일 변경 횟수와 같아야 한다
+    public long clears() {
+        return generation.get();
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    //기본 메시지가 없을 때 null 이 올 수 있다
+    private void put(Key key, String message, long startGeneration) {
+        if (message == null) {
+            return;
+        }
+        cache.put(key, message);
+        //찾는 도중 clear() 됐으면 이전 파일의 메시지일 수 있으므로 되돌림
+        if (generation.get() != startGeneration) {
+            cache.remove(key, message);
+            return;
+        }
+        if (cache.size() > maxEntries && evicting.compareAndSet(false, true)) {
+            try {
+                //순서가 의미 없는 해시 순서대로 1/4 을 비움, 자주 쓰는 메시지는 바로 다시 채워진다
+                Iterator<Key> iterator = cache.keySet().iterator();
+                int target = maxEntries * 3 / 4;
+                while (cache.size() > target && iterator.hasNext()) {
+                    iterator.next();
+                    iterator.remove();
+                }
+            } finally {
+                evicting.set(false);
+            }
+        }
+    }
+
+    private static boolean cacheable(Object[] args) {
+        if (args == null) {
+            return true;
+        }
+        for (Object arg : args) {
+            if (!cacheable(arg)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    //DefaultMessageSourceResolvable 은 코드, 인자, 기본 메시지로 equals 를 구현하지만 하위 클래스(FieldError 등)는 아님
+    private static boolean cacheable(Object arg) {
+        if (arg == null || arg instanceof String || arg instanceof Number || arg instanceof Boolean
+                || arg instanceof Character || arg instanceof Enum) {
+            return true;
+        }
+        if (arg.getClass() == DefaultMessageSourceResolvable.class) {
+            return cacheable(((DefaultMessageSourceResolvable) arg).getArguments());
+        }
+        return false;
+    }
+
+    private static final class Key {
+        private final String[] codes;
+        private final Object[] args;
+        private final String defaultMessage;
+        private final Locale locale;
+        private final int hash;
+
+        private Key(String[] codes, Object[] args, String defaultMessage, Locale locale) {
+            this.codes = codes;
+            this.args = args;
+            this.defaultMessage = defaultMessage;
+            this.locale = locale;
+            this.hash = Objects.hash(Arrays.hashCode(codes), Arrays.deepHashCode(args), defaultMessage, locale);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return hash == other.hash
+                    && Arrays.equals(codes, other.codes)
+                    && Arrays.deepEquals(args, other.args)
+                    && Objects.equals(defaultMessage, other.defaultMessage)
+                    && Objects.equals(locale, other.locale);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package hello.itemservice.message;
+
+import hello.itemservice.jfr.JfrMessageSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.context.MessageSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.MessageSource;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.support.AbstractApplicationContext;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * 스프링 부트가 spring.messages.* 로 만드는 것과 같은 ResourceBundleMessageSource 를 만들고 CachingMessageSource 로 감싼다
+ * 빈 이름이 messageSource 여야 ApplicationContext(타임리프의 #{...}, th:errors 포함)가 이걸 사용하고
+ * 부트의 MessageSourceAutoConfiguration 은 같은 이름의 빈이 있으면 등록하지 않는다
+ *
+ * spring.messages.cache-duration 으로 메시지 파일을 주기적으로 다시 읽게 하면 완성된 메시지를 캐시할 수 없으므로 감싸지 않음
+ *
+ * messages.reload.dir 을 지정하면 그 디렉터리의 메시지 파일을 WatchedMessageSource 로 읽고 바뀌면 다시 읽는다
+ * 클래스패스 번들은 부모로 두어서 디렉터리에 없는 코드를 찾는 데 쓰고, 다시 읽을 때마다 캐시를 한번 비운다
+ * WatchedMessageSource 는 캐시 안쪽에 감싸여서 빈이 아니므로, 감시 스레드와 WatchService 는 이 설정이 닫힐 때(destroy) 정리한다
+ * (MessageSource 빈이 둘이 되면 MessageSource 로 주입받는 곳이 모호해져서 따로 빈으로 두지 않음)
+ *
+ * jfr.events.enabled 면 캐시 안쪽을 JfrMessageSource 로 감싼다, 캐시에 없어서 실제로 찾는 경우만 이벤트가 남는다
+ */
+@Configuration
+public class MessageSourceConfig implements DisposableBean {
+
+    //messages.reload.dir 일 때만, messageSource 빈을 만들 때 한번 정해짐
+    private volatile WatchedMessageSource watched;
+
+    @Bean
+    @ConfigurationProperties(prefix = "spring.messages")
+    public MessageSourceProperties messageSourceProperties() {
+        return new MessageSourceProperties();
+    }
+
+    @Bean(name = AbstractApplicationContext.MESSAGE_SOURCE_BEAN_NAME)
+    public MessageSource messageSource(MessageSourceProperties properties,
+                                       @Value("${messages.cache.enabled:true}") boolean cacheEnabled,
+                                       @Value("${messages.cache.max-entries:10000}") int maxEntries,
+                                       @Value("${messages.reload.dir:}") String reloadDir,
+                                       @Value("${messages.reload.debounce-millis:200}") long debounceMillis,
+                                       @Value("${jfr.events.enabled:false}") boolean jfrEvents) throws IOException {
+        ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+        if (StringUtils.hasText(properties.getBasename())) {
+            messageSource.setBasenames(StringUtils
+                    .commaDelimitedListToStringArray(StringUtils.trimAllWhitespace(properties.getBasename())));
+        }
+        if (properties.getEncoding() != null) {
+            messageSource.setDefaultEncoding(properties.getEncoding().name());
+        }
+        messageSource.setFallbackToSystemLocale(properties.isFallbackToSystemLocale());
+        Duration cacheDuration = properties.getCacheDuration();
+        if (cacheDuration != null) {
+            messageSource.setCacheMillis(cacheDuration.toMillis());
+        }
+        messageSource.setAlwaysUseMessageFormat(properties.isAlwaysUseMessageFormat());
+        messageSource.setUseCodeAsDefaultMessage(properties.isUseCodeAsDefaultMessage());
+
+        if (cacheDuration != null) {
+            return jfrEvents ? new JfrMessageSource(messageSource) : messageSource;
+        }
+
+        MessageSource target = messageSource;
+        WatchedMessageSource watched = null;
+        if (StringUtils.hasText(reloadDir)) {
+            Charset encoding = properties.getEncoding() == null ? StandardCharsets.UTF_8 : properties.getEncoding();
+            watched = new WatchedMessageSource(Path.of(reloadDir), messageSource.getBasenameSet().toArray(new String[0]),
+                    encoding, debounceMillis);
+            watched.setParentMessageSource(messageSource);
+            watched.setAlwaysUseMessageFormat(properties.isAlwaysUseMessageFormat());
+            watched.setUseCodeAsDefaultMessage(properties.isUseCodeAsDefaultMessage());
+            watched.start();
+            this.watched = watched;
+            target = watched;
+        }
+        if (jfrEvents) {
+            target = new JfrMessageSource(target);
+        }
+        if (!cacheEnabled) {
+            return target;
+        }
+
+        CachingMessageSource cachingMessageSource = new CachingMessageSource(target, maxEntries);
+        if (watched != null) {
+            watched.addReloadListener(cachingMessageSource::clear);
+        }
+        return cachingMessageSource;
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        WatchedMessageSource watched = this.watched;
+        if (watched != null) {
+            this.watched = null;
+            watched.close();
+        }
+    }
+}
@@ -0,0 +1,293 @@
+package hello.itemservice.message;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.support.AbstractMessageSource;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * 디렉터리의 메시지 파일(messages.properties, errors_en.properties ...)을 읽고, 파일이 바뀌면 재시작 없이 다시 읽는 MessageSource
+ * errors.properties 의 range.item.price 같은 문구를 운영 중에 고칠 때 사용 (messages.reload.dir)
+ *
+ * ReloadableResourceBundleMessageSource(cache-duration)는 요청마다 파일 수정 시각을 확인하지만
+ * 여기서는 WatchService 스레드가 변경 알림을 받아서 새 테이블을 다 만든 다음 volatile 필드 하나로 바꿔 끼운다
+ * 요청 스레드는 그 테이블을 읽기만 하므로 잠금도 파일 확인도 없다
+ *
+ * 내용이 실제로 바뀐 경우에만 리스너(CachingMessageSource.clear)를 한번 호출한다
+ * 편집기가 저장하면서 알림을 여러번 보내므로 debounce 동안 조용해질 때까지 모아서 한번에 읽는다
+ * 디렉터리에 없는 코드는 부모 MessageSource(클래스패스 번들)에서 찾는다
+ */
+@Slf4j
+public class WatchedMessageSource extends AbstractMessageSource {
+
+    private final Path directory;
+    private final String[] basenames;
+    private final Charset encoding;
+    private final long debounceMillis;
+    private final List<Runnable> reloadListeners = new CopyOnWriteArrayList<>();
+    private final LongAdder reloads = new LongAdder();
+
+    private volatile Snapshot snapshot;
+    private WatchService watchService;
+    private Thread watchThread;
+
+    public WatchedMessageSource(Path directory, String[] basenames, Charset encoding, long debounceMillis) {
+        this.directory = directory;
+        this.basenames = basenames;
+        this.encoding = encoding;
+        this.debounceMillis = debounceMillis;
+        this.snapshot = load();
+    }
+
+    //메시지가 바뀔 때마다 한번씩 호출, 완성된 메시지 캐시 비우기 등
+    public void addReloadListener(Runnable listener) {
+        reloadListeners.add(listener);
+    }
+
+    public long reloads() {
+        return reloads.sum();
+    }
+
+    //감시 스레드 시작, 데몬 스레드라 애플리케이션 종료를 막지 않는다
+    public synchronized void start() throws IOException {
+        if (watchService != null) {
+            return;
+        }
+        watchService = FileSystems.getDefault().newWatchService();
+        Set<Path> directories = new LinkedHashSet<>();
+        for (String basename : basenames) {
+            directories.add(directory.resolve(basename).getParent());
+        }
+        for (Path dir : directories) {
+            dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        }
+        watchThread = new Thread(this::watch, "message-watch");
+        watchThread.setDaemon(true);
+        watchThread.start();
+        log.info("메시지 파일 감시 시작 directories={}", directories);
+    }
+
+    //WatchService 를 닫으면 감시 스레드가 깨어나서 끝난다, 끝날 때까지 기다림 (컨텍스트 종료, MessageSourceConfig)
+    public void close() throws IOException {
+        Thread thread;
+        synchronized (this) {
+            if (watchService == null) {
+                return;
+            }
+            watchService.close();
+            watchService = null;
+            thread = watchThread;
+            watchThread = null;
+        }
+        //다시 읽는 중이면 reload() 가 this 를 잡고 있으므로 잠금 밖에서 기다린다
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 파일을 다시 읽어서 새 테이블로 바꿔 끼운다, 내용이 같으면(touch, 같은 내용 저장) 아무것도 하지 않음
+     * 이전 테이블에서 조회된 적 있는 locale 은 미리 합쳐둬서 바꾼 직후 첫 요청도 느려지지 않게
+     * 바뀌었으면 true
+     */
+    public synchronized boolean reload() {
+        Snapshot previous = snapshot;
+        Snapshot next = load();
+        if (next.files.equals(previous.files)) {
+            return false;
+        }
+        for (Locale locale : previous.tables.keySet()) {
+            next.table(locale);
+        }
+        snapshot = next;
+        reloads.increment();
+        log.info("메시지 파일 다시 읽음 directory={}", directory);
+        for (Runnable listener : reloadListeners) {
+            listener.run();
+        }
+        return true;
+    }
+
+    @Override
+    protected String resolveCodeWithoutArguments(String code, Locale locale) {
+        return snapshot.table(locale).messages.get(code);
+    }
+
+    @Override
+    protected MessageFormat resolveCode(String code, Locale locale) {
+        LocaleTable table = snapshot.table(locale);
+        MessageFormat format = table.formats.get(code);
+        if (format != null) {
+            return format;
+        }
+        String message = table.messages.get(code);
+        if (message == null) {
+            return null;
+        }
+        //MessageFormat 은 스레드 안전하지 않지만 AbstractMessageSource 가 포맷할 때 synchronized 로 감싼다
+        return table.formats.computeIfAbsent(code, c -> createMessageFormat(message, locale));
+    }
+
+    private void watch() {
+        WatchService service;
+        synchronized (this) {
+            service = watchService;
+        }
+        if (service == null) {
+            return;
+        }
+        try {
+            while (true) {
+                WatchKey key = service.take();
+                key.pollEvents();
+                key.reset();
+                //조용해질 때까지 이어지는 알림은 한번으로 합친다
+                WatchKey more;
+                while ((more = service.poll(debounceMillis, TimeUnit.MILLISECONDS)) != null) {
+                    more.pollEvents();
+                    more.reset();
+                }
+                try {
+                    reload();
+                } catch (RuntimeException e) {
+                    //잘못 저장된 파일 때문에 감시가 멈추지 않게, 이전 메시지를 계속 쓴다
+                    log.warn("메시지 파일 다시 읽기 실패, 이전 메시지 유지", e);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            log.info("메시지 파일 감시 종료");
+        }
+    }
+
+    //basename 마다 있는 파일(basename.properties, basename_ko.properties ...)을 전부 읽는다
+    private Snapshot load() {
+        Map<String, Map<String, String>> files = new HashMap<>();
+        try {
+            for (String basename : basenames) {
+                Path base = directory.resolve(basename);
+                String prefix = base.getFileName().toString();
+                try (Stream<Path> paths = Files.list(base.getParent())) {
+                    for (Path path : (Iterable<Path>) paths::iterator) {
+                        String name = path.getFileName().toString();
+                        if (name.endsWith(".properties") && (name.equals(prefix + ".properties") || name.startsWith(prefix + "_"))) {
+                            String suffix = name.substring(prefix.length(), name.length() - ".properties".length());
+                            files.put(basename + suffix, read(path));
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("메시지 파일을 읽을 수 없습니다 directory=" + directory, e);
+        }
+        return new Snapshot(files, basenames);
+    }
+
+    private Map<String, String> read(Path path) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(path, encoding)) {
+            properties.load(reader);
+        }
+        Map<String, String> messages = new HashMap<>();
+        for (String name : properties.stringPropertyNames()) {
+            messages.put(name, properties.getProperty(name));
+        }
+        return messages;
+    }
+
+    //한번 만들면 바뀌지 않는 파일 내용, 다시 읽으면 새 Snapshot 으로 통째로 교체
+    private static final class Snapshot {
+
+        private final Map<String, Map<String, String>> files;
+        private final String[] basenames;
+        private final Map<Locale, LocaleTable> tables = new ConcurrentHashMap<>();
+
+        private Snapshot(Map<String, Map<String, String>> files, String[] basenames) {
+            this.files = files;
+            this.basenames = basenames;
+        }
+
+        //처음 조회하는 locale 만 합치고, 이후에는 잠금 없이 get
+        LocaleTable table(Locale locale) {
+            LocaleTable table = tables.get(locale);
+            if (table != null) {
+                return table;
+            }
+            return tables.computeIfAbsent(locale, this::merge);
+        }
+
+        /**
+         * ResourceBundleMessageSource 와 같은 우선순위: 앞의 basename 이 먼저, 같은 basename 안에서는 자세한 locale 이 먼저
+         * 우선순위가 낮은 것부터 덮어써서 하나의 Map 으로 만든다
+         */
+        private LocaleTable merge(Locale locale) {
+            List<String> suffixes = suffixes(locale);
+            Map<String, String> messages = new HashMap<>();
+            for (int b = basenames.length - 1; b >= 0; b--) {
+                for (int s = suffixes.size() - 1; s >= 0; s--) {
+                    Map<String, String> file = files.get(basenames[b] + suffixes.get(s));
+                    if (file != null) {
+                        messages.putAll(file);
+                    }
+                }
+            }
+            return new LocaleTable(messages);
+        }
+
+        //ko_KR -> _ko_KR, _ko, "" (자세한 것부터)
+        private static List<String> suffixes(Locale locale) {
+            List<String> suffixes = new ArrayList<>(4);
+            String language = locale.getLanguage();
+            String country = locale.getCountry();
+            String variant = locale.getVariant();
+            if (!variant.isEmpty()) {
+                suffixes.add("_" + language + "_" + country + "_" + variant);
+            }
+            if (!country.isEmpty()) {
+                suffixes.add("_" + language + "_" + country);
+            }
+            if (!language.isEmpty()) {
+                suffixes.add("_" + language);
+            }
+            suffixes.add("");
+            return suffixes;
+        }
+    }
+
+    private static final class LocaleTable {
+
+        private final Map<String, String> messages;
+        private final Map<String, MessageFormat> formats = new ConcurrentHashMap<>();
+
+        private LocaleTable(Map<String, String> messages) {
+            this.messages = messages;
+        }
+    }
+}
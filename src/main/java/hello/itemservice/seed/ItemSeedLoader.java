@@ -0,0 +1,251 @@
+package hello.itemservice.seed;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * CSV 파일(itemName,price,quantity)로 대량의 상품을 적재
+ * 파일을 CHUNK_SIZE 씩 읽어서 마지막 줄바꿈까지를 청크로 넘기고, 잘린 줄 조각은 다음 청크 앞에 붙인다
+ * 청크 단위로 병렬 파싱, 검증하고 청크마다 ItemRepository.saveAll() 로 한번에 저장한다
+ * 파일 전체를 힙에 올리지 않으므로 파일 크기 제한이 없고, 파싱이 읽기를 못 따라가면 읽기를 멈춰서 힙에는 청크가 parallelism * 2 개까지만
+ * 검증은 상품 등록 폼과 같은 규칙, ItemSaveForm 의 Bean Validation + 컨트롤러의 totalPriceMin 복합 룰
+ * 규칙에 맞지 않는 줄은 건너뛰고 개수만 센다, 청크 저장이 예외로 실패하면 남은 파일은 읽지 않고 바로 실패
+ * 상품 이름에 쉼표가 있어도 되도록 뒤에서부터 쉼표 두개를 찾아서 나눈다, 첫줄이 itemName 으로 시작하면 헤더로 보고 건너뜀
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemSeedLoader {
+
+    static final int CHUNK_SIZE = 4 * 1024 * 1024;
+
+    private final ItemRepository itemRepository;
+    private final Validator validator;
+
+    public SeedResult load(Path file, int parallelism) throws IOException, InterruptedException {
+        return load(file, parallelism, CHUNK_SIZE);
+    }
+
+    SeedResult load(Path file, int parallelism, int chunkSize) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+
+        LongAdder loaded = new LongAdder();
+        LongAdder rejected = new LongAdder();
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, r -> {
+            Thread thread = new Thread(r, "item-seed");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Semaphore inFlight = new Semaphore(parallelism * 2);
+        //처음 실패한 청크의 예외, 작업은 이걸 남기고 나서 permit 을 돌려주므로 acquire 뒤에 보면 놓치지 않는다
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        try (InputStream in = Files.newInputStream(file)) {
+            List<Future<?>> futures = new ArrayList<>();
+            byte[] buffer = new byte[chunkSize];
+            int length = 0;
+            boolean first = true;
+            while (true) {
+                length += in.readNBytes(buffer, length, buffer.length - length);
+                //readNBytes 는 파일 끝에서만 덜 채운다
+                boolean eof = length < buffer.length;
+                int from = first ? skipHeader(buffer, length) : 0;
+                int to = eof ? length : lastIndexOf(buffer, (byte) '\n', from, length) + 1;
+                if (to <= from && !eof) {
+                    //청크보다 긴 줄(헤더 포함), 버퍼를 늘려서 줄 끝까지 읽고 다시 나눈다
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                    continue;
+                }
+                first = false;
+
+                if (to > from) {
+                    byte[] chunk = buffer;
+                    int chunkFrom = from;
+                    int chunkTo = to;
+                    checkFailure(failure, file);
+                    inFlight.acquire();
+                    checkFailure(failure, file);
+                    futures.add(executor.submit(() -> {
+                        try {
+                            loadChunk(chunk, chunkFrom, chunkTo, loaded, rejected);
+                        } catch (RuntimeException | Error e) {
+                            failure.compareAndSet(null, e);
+                            throw e;
+                        } finally {
+                            inFlight.release();
+                        }
+                    }));
+                }
+                if (eof) {
+                    break;
+                }
+
+                //넘긴 청크는 작업 스레드가 읽으므로 새 버퍼에 남은 줄 조각부터 채운다
+                int remainder = length - to;
+                byte[] next = new byte[Math.max(chunkSize, remainder * 2)];
+                System.arraycopy(buffer, to, next, 0, remainder);
+                buffer = next;
+                length = remainder;
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("seed 적재 실패 file=" + file, e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        SeedResult result = new SeedResult(loaded.sum(), rejected.sum(), System.nanoTime() - start);
+        log.info("seed 적재 완료 file={} {}", file, result);
+        return result;
+    }
+
+    private static void checkFailure(AtomicReference<Throwable> failure, Path file) {
+        Throwable cause = failure.get();
+        if (cause != null) {
+            throw new IllegalStateException("seed 적재 실패 file=" + file, cause);
+        }
+    }
+
+    private void loadChunk(byte[] data, int from, int to, LongAdder loaded, LongAdder rejected) {
+        List<Item> items = new ArrayList<>();
+        int lineStart = from;
+        while (lineStart < to) {
+            int lineEnd = indexOf(data, (byte) '\n', lineStart, to);
+            Item item = parseLine(data, lineStart, lineEnd);
+            if (item != null) {
+                items.add(item);
+            } else if (!isBlank(data, lineStart, lineEnd)) {
+                rejected.increment();
+            }
+            lineStart = lineEnd + 1;
+        }
+        if (!items.isEmpty()) {
+            itemRepository.saveAll(items);
+            loaded.add(items.size());
+        }
+    }
+
+    //규칙에 맞지 않으면 null
+    Item parseLine(byte[] data, int from, int to) {
+        if (to > from && data[to - 1] == '\r') {
+            to--;
+        }
+        int quantityComma = lastIndexOf(data, (byte) ',', from, to);
+        if (quantityComma < 0) {
+            return null;
+        }
+        int priceComma = lastIndexOf(data, (byte) ',', from, quantityComma);
+        if (priceComma < 0) {
+            return null;
+        }
+        Integer price = parseInt(data, priceComma + 1, quantityComma);
+        Integer quantity = parseInt(data, quantityComma + 1, to);
+        //숫자가 아니면 typeMismatch 와 같은 경우
+        if (price == null || quantity == null) {
+            return null;
+        }
+
+        ItemSaveForm form = new ItemSaveForm();
+        form.setItemName(new String(data, from, priceComma - from, StandardCharsets.UTF_8).trim());
+        form.setPrice(price);
+        form.setQuantity(quantity);
+        if (!validator.validate(form).isEmpty() || (long) price * quantity < 10000) {
+            return null;
+        }
+        return new Item(form.getItemName(), form.getPrice(), form.getQuantity());
+    }
+
+    private static Integer parseInt(byte[] data, int from, int to) {
+        while (from < to && data[from] == ' ') {
+            from++;
+        }
+        while (to > from && data[to - 1] == ' ') {
+            to--;
+        }
+        if (from == to || to - from > 10) {
+            return null;
+        }
+        boolean negative = data[from] == '-';
+        int i = negative ? from + 1 : from;
+        if (i == to) {
+            return null;
+        }
+        long value = 0;
+        for (; i < to; i++) {
+            int digit = data[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return null;
+            }
+            value = value * 10 + digit;
+        }
+        value = negative ? -value : value;
+        if (value > Integer.MAX_VALUE || value < Integer.MIN_VALUE) {
+            return null;
+        }
+        return (int) value;
+    }
+
+    //헤더 줄이 없으면 0, 있으면 그 다음 줄의 시작
+    private static int skipHeader(byte[] data, int length) {
+        byte[] header = "itemName".getBytes(StandardCharsets.US_ASCII);
+        if (length < header.length) {
+            return 0;
+        }
+        for (int i = 0; i < header.length; i++) {
+            if (data[i] != header[i]) {
+                return 0;
+            }
+        }
+        return Math.min(indexOf(data, (byte) '\n', 0, length) + 1, length);
+    }
+
+    //없으면 to
+    private static int indexOf(byte[] data, byte b, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (data[i] == b) {
+                return i;
+            }
+        }
+        return to;
+    }
+
+    private static int lastIndexOf(byte[] data, byte b, int from, int to) {
+        for (int i = to - 1; i >= from; i--) {
+            if (data[i] == b) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isBlank(byte[] data, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (data[i] != ' ' && data[i] != '\r' && data[i] != '\t') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,53 @@
+package hello.itemservice.seed;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+/**
+ * 스테이징, 성능 환경용 대량 데이터 적재, seed.file 을 지정하면 TestDataInit 대신 동작
+ * seed.background=true 면 별도 스레드에서 적재해서 웹 서버는 적재가 끝나기 전부터 요청을 받는다
+ * false 면 적재가 끝난 뒤에 애플리케이션 시작이 완료됨
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "seed.file")
+@RequiredArgsConstructor
+public class SeedDataInit implements ApplicationRunner {
+
+    private final ItemSeedLoader itemSeedLoader;
+
+    @Value("${seed.file}")
+    private Path file;
+
+    @Value("${seed.background:false}")
+    private boolean background;
+
+    @Value("${seed.parallelism:0}")
+    private int parallelism;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        if (!background) {
+            itemSeedLoader.load(file, threads);
+            return;
+        }
+
+        Thread thread = new Thread(() -> {
+            try {
+                itemSeedLoader.load(file, threads);
+            } catch (Exception e) {
+                log.error("seed 적재 실패 file={}", file, e);
+            }
+        }, "item-seed-main");
+        thread.setDaemon(true);
+        thread.start();
+    }
+}
@@ -0,0 +1,30 @@
+package hello.itemservice.seed;
+
+import lombok.Getter;
+
+import java.util.concurrent.TimeUnit;
+
+//적재 결과, 초당 적재 건수까지 로그로 남김
+@Getter
+public class SeedResult {
+
+    private final long loaded;
+    private final long rejected;
+    private final long elapsedNanos;
+
+    public SeedResult(long loaded, long rejected, long elapsedNanos) {
+        this.loaded = loaded;
+        this.rejected = rejected;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public double itemsPerSecond() {
+        return elapsedNanos == 0 ? 0 : loaded * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("loaded=%d rejected=%d elapsed=%dms rate=%.0f items/s",
+                loaded, rejected, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), itemsPerSecond());
+    }
+}
@@ -0,0 +1,192 @@
+package hello.itemservice.warmup;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.SaveCheck;
+import hello.itemservice.domain.item.UpdateCheck;
+import hello.itemservice.web.validation.ItemValidator;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import hello.itemservice.web.validation.form.ItemUpdateForm;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.MutablePropertyValues;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.MessageSource;
+import org.springframework.context.NoSuchMessageException;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.ObjectError;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+import org.springframework.web.bind.WebDataBinder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Enumeration;
+import java.util.Locale;
+import java.util.MissingResourceException;
+import java.util.ResourceBundle;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 배포 직후 첫 요청들이 느린(p99 튀는) 문제를 줄이기 위한 예열, warmup.enabled=true 일 때만 동작
+ * ApplicationRunner 는 readiness(ACCEPTING_TRAFFIC) 신호보다 먼저 실행되므로 예열이 끝난 뒤에 트래픽을 받는다
+ *
+ * 1. 하이버네이트 Validator 가 Item, ItemSaveForm, ItemUpdateForm 의 제약조건 메타데이터를 미리 만든다
+ * 2. messages, errors 번들의 모든 키를 언어별로 한번씩 조회해서 메시지 테이블을 로딩
+ * 3. 실제 요청처럼 바인딩 + 검증 + 오류 메시지 조회를 반복해서 JIT 가 미리 컴파일하게 한다
+ * 4. 서버 포트가 있으면 화면(GET)을 한번씩 호출해서 타임리프 템플릿 캐시를 채움
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "warmup.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class ValidationWarmUp implements ApplicationRunner {
+
+    //예열 완료 로그, 부하 테스트에서 이 문구로 준비 완료를 판단함
+    public static final String COMPLETED_LOG = "warm-up completed";
+
+    private static final Locale[] LOCALES = {Locale.KOREAN, Locale.ENGLISH};
+    private static final Class<?>[] VALIDATED_TYPES = {Item.class, ItemSaveForm.class, ItemUpdateForm.class};
+    private static final String[] VERSIONS = {"v1", "v2", "v3", "v4"};
+
+    private final LocalValidatorFactoryBean validator;
+    private final ItemValidator itemValidator;
+    private final MessageSource messageSource;
+    private final Environment environment;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+
+        long metadata = time(this::buildValidatorMetadata);
+        long messages = time(this::loadMessages);
+        int iterations = environment.getProperty("warmup.iterations", Integer.class, 2000);
+        long synthetic = time(() -> runSyntheticValidations(iterations));
+        long http = time(this::requestPages);
+
+        log.info("{} total={}ms metadata={}ms messages={}ms synthetic={}ms({} iterations) http={}ms",
+                COMPLETED_LOG, millis(System.nanoTime() - start), millis(metadata), millis(messages),
+                millis(synthetic), iterations, millis(http));
+    }
+
+    void buildValidatorMetadata() {
+        for (Class<?> type : VALIDATED_TYPES) {
+            validator.getConstraintsForClass(type);
+        }
+    }
+
+    void loadMessages() {
+        String basenames = environment.getProperty("spring.messages.basename", "messages");
+        for (String basename : StringUtils.commaDelimitedListToStringArray(basenames)) {
+            for (Locale locale : LOCALES) {
+                ResourceBundle bundle;
+                try {
+                    bundle = ResourceBundle.getBundle(basename.trim(), locale);
+                } catch (MissingResourceException e) {
+                    continue;
+                }
+                Enumeration<String> keys = bundle.getKeys();
+                while (keys.hasMoreElements()) {
+                    //{0}, {1} 인자가 있는 메시지도 포맷까지 한번 거치게
+                    messageSource.getMessage(keys.nextElement(), new Object[]{1000, 1000000}, "", locale);
+                }
+            }
+        }
+    }
+
+    void runSyntheticValidations(int iterations) {
+        MutablePropertyValues valid = params("itemA", "10000", "10");
+        MutablePropertyValues invalid = params(" ", "100", "1");
+        MutablePropertyValues typeMismatch = params("itemA", "abc", "10000");
+
+        for (int i = 0; i < iterations; i++) {
+            MutablePropertyValues values = i % 3 == 0 ? valid : i % 3 == 1 ? invalid : typeMismatch;
+
+            //V2: ItemValidator
+            resolveMessages(bind(new Item(), values, null, true));
+            //V3: Item + groups
+            resolveMessages(bind(new Item(), values, SaveCheck.class, false));
+            resolveMessages(bind(new Item(), values, UpdateCheck.class, false));
+            //V4, API: 폼 객체
+            resolveMessages(bind(new ItemSaveForm(), values, null, false));
+            resolveMessages(bind(new ItemUpdateForm(), values, null, false));
+        }
+    }
+
+    void requestPages() {
+        String port = environment.getProperty("local.server.port");
+        if (port == null) {
+            return;
+        }
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+        for (String version : VERSIONS) {
+            get(client, "http://localhost:" + port + "/validation/" + version + "/items");
+            get(client, "http://localhost:" + port + "/validation/" + version + "/items/add");
+        }
+    }
+
+    private BindingResult bind(Object target, MutablePropertyValues values, Class<?> group, boolean itemValidatorOnly) {
+        WebDataBinder binder = new WebDataBinder(target, "item");
+        if (itemValidatorOnly) {
+            binder.setValidator(itemValidator);
+        } else {
+            binder.setValidator(validator);
+        }
+        binder.bind(values);
+        if (group == null) {
+            binder.validate();
+        } else {
+            binder.validate(group);
+        }
+        return binder.getBindingResult();
+    }
+
+    //th:errors 가 하는 것처럼 오류마다 메시지 조회
+    private void resolveMessages(BindingResult bindingResult) {
+        for (ObjectError error : bindingResult.getAllErrors()) {
+            for (Locale locale : LOCALES) {
+                try {
+                    messageSource.getMessage(error, locale);
+                } catch (NoSuchMessageException ignored) {
+                    //코드도 기본 메시지도 없는 오류, 예열에는 상관없음
+                }
+            }
+        }
+    }
+
+    private void get(HttpClient client, String url) {
+        try {
+            client.send(HttpRequest.newBuilder(URI.create(url)).GET().build(), HttpResponse.BodyHandlers.discarding());
+        } catch (Exception e) {
+            log.warn("warm-up 요청 실패 url={}", url, e);
+        }
+    }
+
+    private static MutablePropertyValues params(String itemName, String price, String quantity) {
+        MutablePropertyValues values = new MutablePropertyValues();
+        values.add("id", "1");
+        values.add("itemName", itemName);
+        values.add("price", price);
+        values.add("quantity", quantity);
+        return values;
+    }
+
+    private static long time(Runnable task) {
+        long start = System.nanoTime();
+        task.run();
+        return System.nanoTime() - start;
+    }
+
+    private static long millis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+}
@@ -0,0 +1,90 @@
+package hello.itemservice.web.admission;
+
+import hello.itemservice.web.support.BindingResultCollector;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Map;
+import java.util.Set;
+
+//등록 요청 수를 제한하는 인터셉터
+//preHandle 은 @ModelAttribute 바인딩, @Validated 검증, 메시지 처리보다 먼저 호출되므로
+//여기서 거절하면 바디도 읽지 않고 429 만 응답한다
+//클라이언트는 접속 주소로 구분, X-Forwarded-For 는 접속 주소가 믿을 수 있는 프록시(admission.trusted-proxies)일 때만 본다
+//아니면 클라이언트가 헤더를 바꿔가며 매번 새 토큰 버킷을 받아서 제한을 피할 수 있음
+@Slf4j
+public class AdmissionInterceptor implements HandlerInterceptor {
+
+    private static final String CLIENT_ATTRIBUTE = AdmissionInterceptor.class.getName() + ".CLIENT";
+    private static final String INVALID_ATTRIBUTE = AdmissionInterceptor.class.getName() + ".INVALID";
+
+    private final AdmissionPolicy admissionPolicy;
+    private final Set<String> trustedProxies;
+
+    public AdmissionInterceptor(AdmissionPolicy admissionPolicy, Set<String> trustedProxies) {
+        this.admissionPolicy = admissionPolicy;
+        this.trustedProxies = trustedProxies;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        //비동기 API 는 재디스패치(ASYNC) 때 preHandle 이 한번 더 불린다, 처음 요청에서만 확인
+        if (!"POST".equals(request.getMethod()) || request.getDispatcherType() != DispatcherType.REQUEST) {
+            return true;
+        }
+
+        String clientKey = clientKey(request);
+        if (!admissionPolicy.tryAdmit(clientKey)) {
+            log.info("요청 제한 client={} uri={}", clientKey, request.getRequestURI());
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader("Retry-After", "1");
+            return false;
+        }
+
+        request.setAttribute(CLIENT_ATTRIBUTE, clientKey);
+        return true;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler, ModelAndView modelAndView) {
+        //ValidationItemControllerV1 은 BindingResult 대신 errors 라는 Map 을 모델에 담는다
+        if (modelAndView != null && modelAndView.getModel().get("errors") instanceof Map
+                && !((Map<?, ?>) modelAndView.getModel().get("errors")).isEmpty()) {
+            request.setAttribute(INVALID_ATTRIBUTE, Boolean.TRUE);
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object clientKey = request.getAttribute(CLIENT_ATTRIBUTE);
+        if (clientKey == null) {
+            return;
+        }
+        if (request.getAttribute(INVALID_ATTRIBUTE) != null || BindingResultCollector.hasErrors(request)) {
+            admissionPolicy.onInvalidSubmission((String) clientKey);
+        }
+    }
+
+    //믿을 수 있는 프록시를 거쳐 왔으면 X-Forwarded-For 를 오른쪽부터 보면서 믿을 수 있는 프록시가 아닌 첫 주소
+    //(왼쪽 값은 클라이언트가 마음대로 넣을 수 있으므로), 모두 프록시면 가장 왼쪽
+    String clientKey(HttpServletRequest request) {
+        String remoteAddr = request.getRemoteAddr();
+        String forwarded = request.getHeader("X-Forwarded-For");
+        if (!trustedProxies.contains(remoteAddr) || !StringUtils.hasText(forwarded)) {
+            return remoteAddr;
+        }
+        String[] hops = StringUtils.tokenizeToStringArray(forwarded, ",");
+        for (int i = hops.length - 1; i >= 0; i--) {
+            if (!trustedProxies.contains(hops[i])) {
+                return hops[i];
+            }
+        }
+        return hops.length == 0 ? remoteAddr : hops[0];
+    }
+}
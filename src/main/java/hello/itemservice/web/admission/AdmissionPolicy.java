@@ -0,0 +1,12 @@
+package hello.itemservice.web.admission;
+
+//등록 요청을 받아줄지 결정하는 정책, 다른 구현체를 빈으로 등록하면 교체할 수 있다
+//AdmissionInterceptor 가 바인딩, 검증 전에 tryAdmit()을 호출하고 검증 실패로 끝나면 onInvalidSubmission()을 호출
+public interface AdmissionPolicy {
+
+    //요청을 받아주면 true, false 면 바로 429 응답
+    boolean tryAdmit(String clientKey);
+
+    //검증 오류로 끝난 요청, 잘못된 요청은 더 빡빡한 예산에서 따로 차감
+    void onInvalidSubmission(String clientKey);
+}
@@ -0,0 +1,58 @@
+package hello.itemservice.web.admission;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+//토큰 버킷, 상태를 long 하나(다음 토큰이 "이론적으로" 도착하는 시각)로만 표현해서 CAS 한번으로 갱신한다 (GCRA)
+//ratePerSecond 만큼 토큰이 채워지고 최대 burst 개까지 쌓인다
+//tat 가 현재 시각보다 과거면 버킷이 가득 찬 상태, 이때는 버려도 새로 만든 버킷과 같다
+public class TokenBucket {
+
+    private final long intervalNanos;
+    //burst 개를 한번에 꺼낼 수 있는 여유 시간
+    private final long toleranceNanos;
+    private final AtomicLong tat;
+
+    public TokenBucket(double ratePerSecond, int burst, long now) {
+        this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+        this.toleranceNanos = intervalNanos * Math.max(burst - 1, 0);
+        this.tat = new AtomicLong(now);
+    }
+
+    //토큰 하나를 꺼낸다, 없으면 false
+    public boolean tryAcquire(long now) {
+        while (true) {
+            long current = tat.get();
+            long next = Math.max(current, now) + intervalNanos;
+            if (next - now > toleranceNanos + intervalNanos) {
+                return false;
+            }
+            if (tat.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+
+    //토큰을 꺼내지 않고 남아있는지만 확인
+    public boolean hasToken(long now) {
+        long next = Math.max(tat.get(), now) + intervalNanos;
+        return next - now <= toleranceNanos + intervalNanos;
+    }
+
+    //이미 일어난 일(검증 실패)에 대한 차감, 거절할 수 없으므로 무조건 꺼내고 빚은 버킷 하나 분량까지만 쌓는다
+    public void consume(long now) {
+        while (true) {
+            long current = tat.get();
+            long limit = now + toleranceNanos + intervalNanos;
+            long next = Math.min(Math.max(current, now) + intervalNanos, limit);
+            if (next == current || tat.compareAndSet(current, next)) {
+                return;
+            }
+        }
+    }
+
+    //가득 찬 버킷인지, 가득 찬 버킷은 상태가 없는 것과 같아서 정리 대상
+    public boolean isFull(long now) {
+        return tat.get() - now <= 0;
+    }
+}
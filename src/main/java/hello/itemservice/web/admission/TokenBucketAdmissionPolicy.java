@@ -0,0 +1,99 @@
+package hello.itemservice.web.admission;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+//클라이언트별 토큰 버킷 2개로 요청을 제한하는 기본 정책
+//submit 버킷: 모든 등록 요청이 차감
+//invalid 버킷: 검증 실패한 요청만 차감, 비어있으면 유효한 요청이라도 거절 -> 잘못된 값만 보내는 봇을 싸게 차단
+//클라이언트 테이블은 최대 개수를 넘으면 가득 찬(상태 없는) 버킷부터 정리한다
+@Component
+public class TokenBucketAdmissionPolicy implements AdmissionPolicy {
+
+    private final ConcurrentHashMap<String, ClientBuckets> clients = new ConcurrentHashMap<>();
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+
+    private final double submitRate;
+    private final int submitBurst;
+    private final double invalidRate;
+    private final int invalidBurst;
+    private final int maxClients;
+
+    public TokenBucketAdmissionPolicy(@Value("${admission.submit.rate-per-second:20}") double submitRate,
+                                      @Value("${admission.submit.burst:40}") int submitBurst,
+                                      @Value("${admission.invalid.rate-per-second:2}") double invalidRate,
+                                      @Value("${admission.invalid.burst:10}") int invalidBurst,
+                                      @Value("${admission.max-clients:10000}") int maxClients) {
+        this.submitRate = submitRate;
+        this.submitBurst = submitBurst;
+        this.invalidRate = invalidRate;
+        this.invalidBurst = invalidBurst;
+        this.maxClients = maxClients;
+    }
+
+    @Override
+    public boolean tryAdmit(String clientKey) {
+        long now = System.nanoTime();
+        ClientBuckets buckets = bucketsOf(clientKey, now);
+        //잘못된 요청 예산을 다 쓴 클라이언트는 submit 토큰도 꺼내지 않고 거절
+        return buckets.invalid.hasToken(now) && buckets.submit.tryAcquire(now);
+    }
+
+    @Override
+    public void onInvalidSubmission(String clientKey) {
+        long now = System.nanoTime();
+        bucketsOf(clientKey, now).invalid.consume(now);
+    }
+
+    public int clientCount() {
+        return clients.size();
+    }
+
+    private ClientBuckets bucketsOf(String clientKey, long now) {
+        ClientBuckets buckets = clients.get(clientKey);
+        if (buckets != null) {
+            return buckets;
+        }
+        buckets = clients.computeIfAbsent(clientKey, k -> new ClientBuckets(now));
+        evictIfFull(now);
+        return buckets;
+    }
+
+    private void evictIfFull(long now) {
+        if (clients.size() <= maxClients || !sweeping.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            //가득 찬 버킷은 지워도 다음에 새로 만든 버킷과 같으므로 손해가 없다
+            clients.values().removeIf(b -> b.isIdle(now));
+
+            //그래도 넘치면 순회 순서대로 잘라낸다, 잘린 클라이언트는 새 예산으로 다시 시작
+            Iterator<ClientBuckets> it = clients.values().iterator();
+            while (clients.size() > maxClients && it.hasNext()) {
+                it.next();
+                it.remove();
+            }
+        } finally {
+            sweeping.set(false);
+        }
+    }
+
+    private class ClientBuckets {
+
+        private final TokenBucket submit;
+        private final TokenBucket invalid;
+
+        ClientBuckets(long now) {
+            this.submit = new TokenBucket(submitRate, submitBurst, now);
+            this.invalid = new TokenBucket(invalidRate, invalidBurst, now);
+        }
+
+        boolean isIdle(long now) {
+            return submit.isFull(now) && invalid.isFull(now);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package hello.itemservice.web.asset;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.regex.Pattern;
+
+//정적 파일 캐시 헤더
+//지문(내용 md5)이 붙은 주소는 내용이 바뀌면 주소도 바뀌므로 1년 + immutable, 브라우저가 다시 확인조차 하지 않는다
+//지문 없는 주소는 no-cache, 매번 Last-Modified 로 확인해서 304
+//압축본, 원본이 Accept-Encoding 에 따라 달라지므로 항상 Vary
+public class AssetCacheInterceptor implements HandlerInterceptor {
+
+    public static final String IMMUTABLE = "public, max-age=31536000, immutable";
+    public static final String REVALIDATE = "no-cache";
+
+    //ContentVersionStrategy 형식, bootstrap.min-<md5>.css
+    private static final Pattern FINGERPRINTED = Pattern.compile("-[0-9a-f]{32}\\.[^/.]+$");
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        boolean fingerprinted = FINGERPRINTED.matcher(request.getRequestURI()).find();
+        response.setHeader(HttpHeaders.CACHE_CONTROL, fingerprinted ? IMMUTABLE : REVALIDATE);
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        return true;
+    }
+}
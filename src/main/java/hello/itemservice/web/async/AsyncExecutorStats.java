@@ -0,0 +1,23 @@
+package hello.itemservice.web.async;
+
+import lombok.Getter;
+
+@Getter
+public class AsyncExecutorStats {
+
+    private final int threads;
+    private final int active;
+    private final int queued;
+    private final int queueCapacity;
+    private final long completed;
+    private final long rejected;
+
+    public AsyncExecutorStats(int threads, int active, int queued, int queueCapacity, long completed, long rejected) {
+        this.threads = threads;
+        this.active = active;
+        this.queued = queued;
+        this.queueCapacity = queueCapacity;
+        this.completed = completed;
+        this.rejected = rejected;
+    }
+}
@@ -0,0 +1,190 @@
+package hello.itemservice.web.async;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.web.catalog.CatalogItemRepository;
+import hello.itemservice.web.idempotency.IdempotencyInterceptor;
+import hello.itemservice.web.idempotency.IdempotencyKeyStore;
+import hello.itemservice.web.support.BindingResultCollector;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * ValidationItemApiController.addItem 의 비동기 버전
+ * 톰캣 스레드는 바디(byte[])만 읽고 돌아가고, json 변환 + 검증 + 저장은 AsyncItemExecutor 에서 한다
+ * 저장소가 느려져도 톰캣 스레드가 묶이지 않아서 다른 화면, API 는 계속 응답한다
+ *
+ * 응답은 동기 버전과 같다, 성공하면 저장된 상품, 검증 오류면 오류 목록, json 변환 실패는 400
+ * 실행기 대기열이 꽉 차면 바로 503 + Retry-After, 대기열에서 api.async.timeout-millis 를 넘기면 503
+ * 503 은 저장하지 않은 요청에만, 저장을 시작한 뒤에 시간이 지나면 끝날 때까지 기다려서 저장된 상품으로 응답
+ * 멱등성 키, 요청 제한 인터셉터는 처음 요청(REQUEST 디스패치)에서만 동작하고 afterCompletion 은 재디스패치 때 불린다
+ */
+@Slf4j
+@RestController
+@RequestMapping("/validation/api/async/items")
+@RequiredArgsConstructor
+public class AsyncItemApiController {
+
+    private static final ResponseEntity<Object> UNAVAILABLE = ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .build();
+
+    private final AsyncItemExecutor asyncItemExecutor;
+    private final HttpMessageConverters httpMessageConverters;
+    private final LocalValidatorFactoryBean validator;
+    private final CatalogItemRepository catalogItemRepository;
+    private final IdempotencyKeyStore idempotencyKeyStore;
+
+    @Value("${api.async.timeout-millis:5000}")
+    private long timeoutMillis;
+
+    @PostMapping("/add")
+    public DeferredResult<ResponseEntity<Object>> addItem(
+            HttpEntity<byte[]> entity, HttpServletRequest request,
+            @RequestAttribute(value = IdempotencyInterceptor.KEY_ATTRIBUTE, required = false) String idempotencyKey) {
+        DeferredResult<ResponseEntity<Object>> result = new DeferredResult<>(timeoutMillis);
+
+        HttpHeaders headers = entity.getHeaders();
+        HttpMessageConverter<ItemSaveForm> converter = findConverter(headers.getContentType());
+        if (converter == null) {
+            result.setResult(ResponseEntity.status(HttpStatus.UNSUPPORTED_MEDIA_TYPE).build());
+            return result;
+        }
+
+        //카탈로그 저장소(JFR 래퍼 포함), 검증 결과 자리는 요청 스레드에서 정해둔다, 작업 스레드에는 RequestContextHolder 가 없고
+        //타임아웃 뒤에는 요청 객체가 재사용될 수 있어서 작업 스레드는 요청을 건드리지 않는다
+        ItemRepository itemRepository = catalogItemRepository.current();
+        AtomicReference<BindingResult> validated = BindingResultCollector.defer(request);
+        byte[] body = entity.getBody() == null ? new byte[0] : entity.getBody();
+
+        //작업 시작과 타임아웃 중 먼저 잡은 쪽이 응답을 정한다
+        AtomicBoolean claimed = new AtomicBoolean();
+        CountDownLatch finished = new CountDownLatch(1);
+        result.onTimeout(() -> {
+            if (claimed.compareAndSet(false, true)) {
+                //대기열에서 기다리다 시간이 지남, 아직 아무것도 저장하지 않았으므로 다시 보내도 된다
+                result.setResult(UNAVAILABLE);
+                return;
+            }
+            //이미 시작한 작업은 끝날 때까지 기다려서 그 결과(저장된 상품)로 응답, 저장하고 503 을 주면 재시도가 중복 생성
+            if (!await(finished)) {
+                //그래도 끝나지 않으면 재시도하지 말라고 504, 멱등성 키는 작업이 끝날 때 기록하도록 풀지 않고 남겨둔다
+                log.warn("비동기 API 저장이 끝나지 않음, 504 응답 key={}", idempotencyKey);
+                request.removeAttribute(IdempotencyInterceptor.KEY_ATTRIBUTE);
+                result.setResult(ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).build());
+            }
+        });
+
+        boolean submitted = asyncItemExecutor.trySubmit(() -> {
+            if (!claimed.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                result.setResult(add(converter, headers, body, itemRepository, validated, idempotencyKey));
+            } catch (Exception e) {
+                //HttpMessageNotReadableException 은 재디스패치 후 예외 처리기가 400 으로 바꿈
+                result.setErrorResult(e);
+            } finally {
+                finished.countDown();
+            }
+        });
+        if (!submitted) {
+            log.debug("비동기 API 실행기 포화, 거절");
+            claimed.set(true);
+            result.setResult(UNAVAILABLE);
+        }
+        return result;
+    }
+
+    private ResponseEntity<Object> add(HttpMessageConverter<ItemSaveForm> converter, HttpHeaders headers, byte[] body,
+                                       ItemRepository itemRepository, AtomicReference<BindingResult> validated,
+                                       String idempotencyKey) throws IOException {
+        ItemSaveForm form = converter.read(ItemSaveForm.class, new BodyMessage(headers, body));
+
+        //@RequestBody @Validated 와 같은 objectName, 같은 오류 코드
+        BindingResult bindingResult = new BeanPropertyBindingResult(form, "itemSaveForm");
+        validator.validate(form, bindingResult);
+        //재디스패치 때 ValidationFailureInterceptor, AdmissionInterceptor 가 요청 스레드에서 꺼내 집계
+        validated.set(bindingResult);
+        if (bindingResult.hasErrors()) {
+            log.info("검증 오류 발생 errors={}", bindingResult);
+            return ResponseEntity.ok(bindingResult.getAllErrors());
+        }
+
+        Item item = itemRepository.save(new Item(form.getItemName(), form.getPrice(), form.getQuantity()));
+        if (idempotencyKey != null) {
+            idempotencyKeyStore.complete(idempotencyKey, item);
+        }
+        return ResponseEntity.ok(item);
+    }
+
+    private boolean await(CountDownLatch finished) {
+        try {
+            return finished.await(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    //json, cbor, smile 등 @RequestBody 와 같은 컨버터 목록에서 찾는다, Content-Type 이 없으면 octet-stream 취급
+    @SuppressWarnings("unchecked")
+    private HttpMessageConverter<ItemSaveForm> findConverter(MediaType contentType) {
+        MediaType mediaType = contentType == null ? MediaType.APPLICATION_OCTET_STREAM : contentType;
+        for (HttpMessageConverter<?> converter : httpMessageConverters.getConverters()) {
+            if (converter.canRead(ItemSaveForm.class, mediaType)) {
+                return (HttpMessageConverter<ItemSaveForm>) converter;
+            }
+        }
+        return null;
+    }
+
+    //요청 스레드에서 읽어둔 바디를 컨버터에 넘기기 위한 HttpInputMessage
+    private static class BodyMessage implements HttpInputMessage {
+
+        private final HttpHeaders headers;
+        private final byte[] body;
+
+        BodyMessage(HttpHeaders headers, byte[] body) {
+            this.headers = headers;
+            this.body = body;
+        }
+
+        @Override
+        public InputStream getBody() {
+            return new ByteArrayInputStream(body);
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package hello.itemservice.web.async;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 비동기 API(AsyncItemApiController)의 검증, 저장을 실행하는 전용 스레드 풀
+ * 스레드 수와 대기열 크기가 모두 고정이라 저장소가 느려져도 밀린 일이 끝없이 쌓이지 않는다
+ * 대기열이 차면 기다리지 않고 바로 거절, 컨트롤러는 503 + Retry-After 로 응답
+ * 톰캣 스레드는 요청을 넘기고 바로 돌아가므로 목록, 상세 같은 다른 요청은 계속 처리된다
+ */
+@Slf4j
+@Component
+public class AsyncItemExecutor {
+
+    private final ThreadPoolExecutor executor;
+    private final int queueCapacity;
+    private final LongAdder rejected = new LongAdder();
+
+    public AsyncItemExecutor(@Value("${api.async.threads:8}") int threads,
+                             @Value("${api.async.queue-capacity:200}") int queueCapacity) {
+        AtomicInteger sequence = new AtomicInteger();
+        this.queueCapacity = queueCapacity;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                task -> new Thread(task, "item-async-" + sequence.incrementAndGet()),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    //대기열이 꽉 차면 false, 호출한 스레드는 기다리지 않는다
+    public boolean trySubmit(Runnable task) {
+        try {
+            executor.execute(task);
+            return true;
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            return false;
+        }
+    }
+
+    public AsyncExecutorStats stats() {
+        return new AsyncExecutorStats(executor.getMaximumPoolSize(), executor.getActiveCount(),
+                executor.getQueue().size(), queueCapacity, executor.getCompletedTaskCount(), rejected.sum());
+    }
+
+    //대기열에 남은 일은 끝내고 종료
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+            log.warn("비동기 API 작업이 끝나지 않아 강제 종료 queued={}", executor.getQueue().size());
+            executor.shutdownNow();
+        }
+    }
+}
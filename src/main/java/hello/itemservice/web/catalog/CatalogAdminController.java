@@ -0,0 +1,56 @@
+package hello.itemservice.web.catalog;
+
+import hello.itemservice.domain.catalog.CatalogRegistry;
+import hello.itemservice.domain.catalog.CatalogStats;
+import hello.itemservice.web.metrics.LatencyMetricsController;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.List;
+
+//카탈로그 관리, 로컬에서만
+//GET /admin/catalogs: 카탈로그별 상품 수, 저장, 수정 횟수 / PUT /admin/catalogs/{name}: 만들기 / DELETE: 지우기
+@RestController
+@RequestMapping("/admin/catalogs")
+@RequiredArgsConstructor
+public class CatalogAdminController {
+
+    private final CatalogRegistry catalogRegistry;
+
+    @GetMapping
+    public List<CatalogStats> catalogs(HttpServletRequest request) {
+        LatencyMetricsController.checkLocal(request);
+        return catalogRegistry.stats();
+    }
+
+    @PutMapping("/{name}")
+    public CatalogStats create(@PathVariable String name, HttpServletRequest request) {
+        LatencyMetricsController.checkLocal(request);
+        try {
+            return catalogRegistry.create(name).stats();
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage());
+        }
+    }
+
+    @DeleteMapping("/{name}")
+    public ResponseEntity<Void> drop(@PathVariable String name, HttpServletRequest request) {
+        LatencyMetricsController.checkLocal(request);
+        try {
+            return catalogRegistry.drop(name) ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+}
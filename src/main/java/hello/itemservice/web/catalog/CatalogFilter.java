@@ -0,0 +1,129 @@
+package hello.itemservice.web.catalog;
+
+import hello.itemservice.domain.catalog.Catalog;
+import hello.itemservice.domain.catalog.CatalogRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * 요청의 카탈로그를 정하는 필터
+ * 1. 경로: /catalogs/{name}/validation/v4/items ... 앞부분을 contextPath 처럼 취급해서 컨트롤러, 인터셉터는 지금 경로 그대로 매핑되고
+ *    redirect:/validation/..., 타임리프 @{/...} 링크에도 /catalogs/{name} 이 자동으로 붙는다
+ * 2. 헤더: X-Catalog: {name} (API 호출용)
+ * 없으면 default, 만들지 않은 카탈로그면 404
+ * 검색 색인, 이력, 랭킹, 변경 피드, 관리, 지표는 default 만 따라가므로 default 가 아닌 카탈로그로 부르면 404
+ * (default 데이터가 다른 카탈로그 응답으로 섞여 나가지 않게, 카탈로그별 경로는 CATALOG_PATHS 에 있는 것만)
+ * 팔로워는 default 만 복제하므로 다른 카탈로그 요청은 이 필터보다 앞의 ReplicaCatalogFilter 가 리더로 보낸다
+ */
+@RequiredArgsConstructor
+public class CatalogFilter extends OncePerRequestFilter {
+
+    public static final String CATALOG_ATTRIBUTE = CatalogFilter.class.getName() + ".CATALOG";
+    public static final String HEADER_NAME = "X-Catalog";
+    public static final String PATH_PREFIX = "/catalogs/";
+
+    //카탈로그별 저장소(CatalogItemRepository)를 쓰거나 데이터와 상관없는 경로, 새 경로는 카탈로그를 나눈 뒤에 추가
+    private static final List<String> CATALOG_PATHS = List.of(
+            "/validation/v1/items/**", "/validation/v2/items/**", "/validation/v3/items/**", "/validation/v4/items/**",
+            "/validation/api/items/add", "/validation/api/items/{itemId:[0-9]+}",
+            "/validation/api/items/{itemId:[0-9]+}/stock/**", "/validation/api/items/fields/**",
+            "/validation/api/async/items/**", "/export/**", "/css/**", "/js/**");
+
+    private static final PathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private final CatalogRegistry catalogRegistry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String contextPath = request.getContextPath();
+        String path = request.getRequestURI().substring(contextPath.length());
+
+        String prefix = pathPrefix(path);
+        String name = prefix == null ? request.getHeader(HEADER_NAME) : prefix.substring(PATH_PREFIX.length());
+        if (!StringUtils.hasText(name)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        Catalog catalog = catalogRegistry.find(name);
+        if (catalog == null) {
+            response.sendError(HttpStatus.NOT_FOUND.value(), "unknown catalog: " + name);
+            return;
+        }
+        String rest = prefix == null ? path : path.substring(prefix.length());
+        if (!CatalogRegistry.DEFAULT.equals(catalog.getName()) && !isCatalogPath(rest)) {
+            response.sendError(HttpStatus.NOT_FOUND.value(), "not available per catalog: " + rest);
+            return;
+        }
+        request.setAttribute(CATALOG_ATTRIBUTE, catalog);
+        filterChain.doFilter(prefix == null ? request : new PrefixedRequest(request, contextPath + prefix), response);
+    }
+
+    //요청이 고른 카탈로그 이름 (경로가 헤더보다 먼저), 없으면 null (default)
+    public static String catalogName(HttpServletRequest request) {
+        String prefix = pathPrefix(request.getRequestURI().substring(request.getContextPath().length()));
+        String name = prefix == null ? request.getHeader(HEADER_NAME) : prefix.substring(PATH_PREFIX.length());
+        return StringUtils.hasText(name) ? name : null;
+    }
+
+    //"/catalogs/{name}" 부분, 카탈로그 경로가 아니면 null
+    private static String pathPrefix(String path) {
+        if (path.startsWith(PATH_PREFIX)) {
+            int end = path.indexOf('/', PATH_PREFIX.length());
+            if (end > PATH_PREFIX.length()) {
+                return path.substring(0, end);
+            }
+        }
+        return null;
+    }
+
+    static boolean isCatalogPath(String path) {
+        for (String pattern : CATALOG_PATHS) {
+            if (PATH_MATCHER.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    //비동기 요청(DeferredResult)의 재디스패치도 원래 경로(/catalogs/{name}/...)로 오므로 다시 걸러야 한다
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    //카탈로그 경로를 contextPath 에 포함시켜서 나머지는 원래 경로로 보이게
+    private static class PrefixedRequest extends HttpServletRequestWrapper {
+
+        private final String contextPath;
+
+        PrefixedRequest(HttpServletRequest request, String contextPath) {
+            super(request);
+            this.contextPath = contextPath;
+        }
+
+        @Override
+        public String getContextPath() {
+            return contextPath;
+        }
+
+        @Override
+        public String getServletPath() {
+            //DispatcherServlet 은 "/" 에 매핑되어 있으므로 contextPath 뒤 전부
+            return getRequestURI().substring(contextPath.length());
+        }
+    }
+}
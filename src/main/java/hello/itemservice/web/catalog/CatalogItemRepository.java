@@ -0,0 +1,111 @@
+package hello.itemservice.web.catalog;
+
+import hello.itemservice.domain.catalog.Catalog;
+import hello.itemservice.domain.catalog.CatalogRegistry;
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemChangeListener;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.jfr.JfrItemRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * 현재 요청의 카탈로그(CatalogFilter 가 정함) 저장소로 보내는 ItemRepository
+ * 카탈로그를 나눠야 하는 컨트롤러는 @Qualifier(CatalogItemRepository.BEAN_NAME) 로 주입받는다
+ * 요청 밖(시작 시 초기화, 배치 등)에서는 default 카탈로그
+ * jfr.events.enabled 면 작업마다 카탈로그 이름을 담은 RepositoryEvent 를 남긴다
+ */
+@Component(CatalogItemRepository.BEAN_NAME)
+@RequiredArgsConstructor
+public class CatalogItemRepository implements ItemRepository {
+
+    public static final String BEAN_NAME = "catalogItemRepository";
+
+    private final CatalogRegistry catalogRegistry;
+    @Value("${jfr.events.enabled:false}")
+    private final boolean jfrEvents;
+
+    @Override
+    public Item save(Item item) {
+        return target().save(item);
+    }
+
+    @Override
+    public void saveAll(List<Item> items) {
+        target().saveAll(items);
+    }
+
+    @Override
+    public Item findById(Long id) {
+        return target().findById(id);
+    }
+
+    @Override
+    public List<Item> findAll() {
+        return target().findAll();
+    }
+
+    @Override
+    public void forEach(Consumer<Item> action) {
+        target().forEach(action);
+    }
+
+    @Override
+    public long count() {
+        return target().count();
+    }
+
+    @Override
+    public void update(Long itemId, Item updateParam) {
+        target().update(itemId, updateParam);
+    }
+
+    @Override
+    public Item patch(Long itemId, Item patch, Predicate<Item> rule) {
+        return target().patch(itemId, patch, rule);
+    }
+
+    @Override
+    public Item adjustQuantity(Long itemId, int delta) {
+        return target().adjustQuantity(itemId, delta);
+    }
+
+    @Override
+    public void clearStore() {
+        target().clearStore();
+    }
+
+    @Override
+    public void addListener(ItemChangeListener listener) {
+        target().addListener(listener);
+    }
+
+    //현재 요청의 카탈로그 저장소, 다른 스레드로 넘길 때는 요청 스레드에서 미리 구해서 넘긴다
+    //jfr.events.enabled 면 감싼 저장소라서 다른 스레드에서 써도 RepositoryEvent 가 남는다
+    public ItemRepository current() {
+        return target();
+    }
+
+    public Catalog currentCatalog() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        Object catalog = attributes == null ? null
+                : attributes.getAttribute(CatalogFilter.CATALOG_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        return catalog == null ? catalogRegistry.getDefault() : (Catalog) catalog;
+    }
+
+    //JFR 이벤트를 남길 때만 감싼다, 래퍼는 카탈로그마다 한 번만 만든다
+    private ItemRepository target() {
+        Catalog catalog = currentCatalog();
+        if (!jfrEvents) {
+            return catalog.getRepository();
+        }
+        return catalog.decoratedRepository(c -> new JfrItemRepository(c.getRepository(), c.getName()));
+    }
+}
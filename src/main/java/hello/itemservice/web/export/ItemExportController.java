@@ -0,0 +1,68 @@
+package hello.itemservice.web.export;
+
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.web.catalog.CatalogItemRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * 전체 상품 내보내기, GET /export/items.csv, /export/items.jsonl
+ * findAll() 로 목록을 만들고 직렬화하는 대신 ItemRepository.forEach 로 하나씩 받아서 응답 스트림에 바로 쓴다
+ * 상품 수와 상관없이 메모리는 export.buffer-size 버퍼 하나, 버퍼가 찰 때마다 청크로 전송
+ * 요청의 카탈로그(/catalogs/{name}/export/..., X-Catalog) 상품만 내보낸다
+ * 오래 걸리는 요청이라 요청 제한, 지연시간 측정 인터셉터가 걸리지 않도록 /validation/** 밖에 둠
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+public class ItemExportController {
+
+    @Qualifier(CatalogItemRepository.BEAN_NAME)
+    private final ItemRepository itemRepository;
+
+    @Value("${export.buffer-size:65536}")
+    private int bufferSize;
+
+    @GetMapping("/export/items.csv")
+    public void exportCsv(HttpServletResponse response) throws IOException {
+        export(response, ItemExportWriter.Format.CSV);
+    }
+
+    @GetMapping("/export/items.jsonl")
+    public void exportJsonLines(HttpServletResponse response) throws IOException {
+        export(response, ItemExportWriter.Format.JSON_LINES);
+    }
+
+    private void export(HttpServletResponse response, ItemExportWriter.Format format) throws IOException {
+        response.setContentType(format.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"items." + format.getExtension() + "\"");
+
+        long start = System.nanoTime();
+        ItemExportWriter writer = new ItemExportWriter(response.getOutputStream(), format, bufferSize);
+        writer.writeHeader();
+        try {
+            itemRepository.forEach(item -> {
+                try {
+                    writer.write(item);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            //대부분 클라이언트가 연결을 끊은 경우
+            throw e.getCause();
+        }
+        writer.flush();
+        log.info("export format={} rows={} elapsed={}ms", format.getExtension(), writer.getRows(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -0,0 +1,267 @@
+package hello.itemservice.web.export;
+
+import hello.itemservice.domain.item.Item;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 상품을 CSV, JSON Lines 바이트로 바로 써주는 writer
+ * 행마다 String 이나 byte[] 를 만들지 않고 숫자는 자릿수를, 이름은 UTF-8 로 직접 인코딩해서 하나의 버퍼에 채운다
+ * 버퍼가 차면 그때 출력 스트림에 쓰므로 내보내는 상품 수와 상관없이 메모리는 버퍼 크기만큼
+ *
+ * CSV: RFC 4180, 헤더 id,itemName,price,quantity, 쉼표, 따옴표, 줄바꿈이 있는 이름만 따옴표로 감싼다, null 은 빈 칸
+ * JSON Lines: 한 줄에 {"id":1,"itemName":"itemA","price":10000,"quantity":10}, null 은 null
+ * 스레드에 안전하지 않음, 요청 하나에 하나
+ */
+public class ItemExportWriter {
+
+    public enum Format {
+        CSV("text/csv;charset=UTF-8", "csv"),
+        JSON_LINES("application/x-ndjson;charset=UTF-8", "jsonl");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    private static final byte[] CSV_HEADER = ascii("id,itemName,price,quantity\n");
+    private static final byte[] JSON_ID = ascii("{\"id\":");
+    private static final byte[] JSON_ITEM_NAME = ascii(",\"itemName\":");
+    private static final byte[] JSON_PRICE = ascii(",\"price\":");
+    private static final byte[] JSON_QUANTITY = ascii(",\"quantity\":");
+    private static final byte[] JSON_NULL = ascii("null");
+    private static final byte[] HEX = ascii("0123456789abcdef");
+
+    //문자 하나를 쓸 때 필요한 최대 바이트, JSON 의 \u001f
+    private static final int MAX_CHAR_BYTES = 6;
+    //long 최대 자릿수 + 부호
+    private static final int MAX_NUMBER_BYTES = 20;
+
+    private final OutputStream out;
+    private final Format format;
+    private final byte[] buffer;
+    private int position;
+    private long rows;
+
+    public ItemExportWriter(OutputStream out, Format format, int bufferSize) {
+        this.out = out;
+        this.format = format;
+        this.buffer = new byte[Math.max(bufferSize, 64)];
+    }
+
+    public void writeHeader() throws IOException {
+        if (format == Format.CSV) {
+            writeBytes(CSV_HEADER);
+        }
+    }
+
+    public void write(Item item) throws IOException {
+        if (format == Format.CSV) {
+            writeCsv(item);
+        } else {
+            writeJson(item);
+        }
+        rows++;
+    }
+
+    //남은 버퍼를 내보냄, 출력 스트림은 닫지 않는다
+    public void flush() throws IOException {
+        flushBuffer();
+        out.flush();
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    private void writeCsv(Item item) throws IOException {
+        writeNumber(item.getId());
+        writeByte(',');
+        String name = item.getItemName();
+        if (name != null) {
+            boolean quote = needsCsvQuote(name);
+            if (quote) {
+                writeByte('"');
+            }
+            for (int i = 0; i < name.length(); i++) {
+                char c = name.charAt(i);
+                if (c == '"') {
+                    writeByte('"');
+                }
+                i = writeChar(name, i);
+            }
+            if (quote) {
+                writeByte('"');
+            }
+        }
+        writeByte(',');
+        writeNumber(item.getPrice());
+        writeByte(',');
+        writeNumber(item.getQuantity());
+        writeByte('\n');
+    }
+
+    private void writeJson(Item item) throws IOException {
+        writeBytes(JSON_ID);
+        writeJsonNumber(item.getId());
+        writeBytes(JSON_ITEM_NAME);
+        String name = item.getItemName();
+        if (name == null) {
+            writeBytes(JSON_NULL);
+        } else {
+            writeByte('"');
+            for (int i = 0; i < name.length(); i++) {
+                char c = name.charAt(i);
+                if (c == '"' || c == '\\') {
+                    writeByte('\\');
+                    writeByte(c);
+                } else if (c < 0x20) {
+                    writeControl(c);
+                } else {
+                    i = writeChar(name, i);
+                }
+            }
+            writeByte('"');
+        }
+        writeBytes(JSON_PRICE);
+        writeJsonNumber(item.getPrice());
+        writeBytes(JSON_QUANTITY);
+        writeJsonNumber(item.getQuantity());
+        writeByte('}');
+        writeByte('\n');
+    }
+
+    private void writeControl(char c) throws IOException {
+        ensure(MAX_CHAR_BYTES);
+        buffer[position++] = '\\';
+        switch (c) {
+            case '\n':
+                buffer[position++] = 'n';
+                break;
+            case '\r':
+                buffer[position++] = 'r';
+                break;
+            case '\t':
+                buffer[position++] = 't';
+                break;
+            default:
+                buffer[position++] = 'u';
+                buffer[position++] = '0';
+                buffer[position++] = '0';
+                buffer[position++] = HEX[c >> 4];
+                buffer[position++] = HEX[c & 0xF];
+        }
+    }
+
+    //i 번째 문자를 UTF-8 로, 서로게이트 쌍이면 두 문자를 같이 쓰고 마지막으로 읽은 위치를 돌려준다
+    private int writeChar(String s, int i) throws IOException {
+        ensure(MAX_CHAR_BYTES);
+        char c = s.charAt(i);
+        if (c < 0x80) {
+            buffer[position++] = (byte) c;
+        } else if (c < 0x800) {
+            buffer[position++] = (byte) (0xC0 | (c >> 6));
+            buffer[position++] = (byte) (0x80 | (c & 0x3F));
+        } else if (Character.isHighSurrogate(c) && i + 1 < s.length() && Character.isLowSurrogate(s.charAt(i + 1))) {
+            int codePoint = Character.toCodePoint(c, s.charAt(++i));
+            buffer[position++] = (byte) (0xF0 | (codePoint >> 18));
+            buffer[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+            buffer[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+            buffer[position++] = (byte) (0x80 | (codePoint & 0x3F));
+        } else if (Character.isSurrogate(c)) {
+            //짝이 없는 서로게이트, String.getBytes(UTF_8) 처럼 '?'
+            buffer[position++] = '?';
+        } else {
+            buffer[position++] = (byte) (0xE0 | (c >> 12));
+            buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+            buffer[position++] = (byte) (0x80 | (c & 0x3F));
+        }
+        return i;
+    }
+
+    private void writeJsonNumber(Number number) throws IOException {
+        if (number == null) {
+            writeBytes(JSON_NULL);
+        } else {
+            writeNumber(number);
+        }
+    }
+
+    //Integer, Long 만, null 이면 아무것도 쓰지 않음
+    private void writeNumber(Number number) throws IOException {
+        if (number == null) {
+            return;
+        }
+        ensure(MAX_NUMBER_BYTES);
+        long value = number.longValue();
+        if (value < 0) {
+            buffer[position++] = '-';
+        }
+        int start = position;
+        do {
+            //음수는 자릿수도 음수라서 부호를 뒤집어서 씀 (Long.MIN_VALUE 도 안전)
+            buffer[position++] = (byte) ('0' + Math.abs(value % 10));
+            value /= 10;
+        } while (value != 0);
+        for (int left = start, right = position - 1; left < right; left++, right--) {
+            byte tmp = buffer[left];
+            buffer[left] = buffer[right];
+            buffer[right] = tmp;
+        }
+    }
+
+    private void writeByte(int b) throws IOException {
+        ensure(1);
+        buffer[position++] = (byte) b;
+    }
+
+    private void writeBytes(byte[] bytes) throws IOException {
+        ensure(bytes.length);
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (position + bytes > buffer.length) {
+            flushBuffer();
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        if (position > 0) {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+
+    private static boolean needsCsvQuote(String name) {
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static byte[] ascii(String s) {
+        byte[] bytes = new byte[s.length()];
+        for (int i = 0; i < s.length(); i++) {
+            bytes[i] = (byte) s.charAt(i);
+        }
+        return bytes;
+    }
+}
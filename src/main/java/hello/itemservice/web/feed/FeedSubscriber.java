@@ -0,0 +1,19 @@
+package hello.itemservice.web.feed;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+//SSE 구독자 하나, cursor 는 다음에 보낼 순번
+//보내는 작업은 한번에 하나만 돌도록 draining 으로 막는다
+class FeedSubscriber {
+
+    final SseEmitter emitter;
+    final AtomicBoolean draining = new AtomicBoolean();
+    volatile long cursor;
+
+    FeedSubscriber(SseEmitter emitter, long cursor) {
+        this.emitter = emitter;
+        this.cursor = cursor;
+    }
+}
@@ -0,0 +1,139 @@
+package hello.itemservice.web.feed;
+
+import hello.itemservice.domain.feed.ItemChangeEvent;
+import hello.itemservice.domain.feed.ItemChangeFeed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 변경 피드를 SSE 구독자들에게 전달
+ * poll-millis 마다 새 이벤트가 있는 구독자를 찾아서 전송 스레드풀에 맡긴다, 구독자마다 전송 작업은 최대 하나
+ * 느린 구독자는 전송 스레드 하나만 붙잡고 있을 뿐 저장 스레드나 다른 구독자를 막지 않는다
+ * 그 사이 링 버퍼가 한바퀴 돌아서 보낼 이벤트가 덮어써졌으면 resync 이벤트를 보내고 최신 위치로 건너뜀
+ * resync 를 받은 클라이언트는 목록을 다시 조회해야 한다
+ */
+@Slf4j
+@Component
+public class ItemChangeBroadcaster {
+
+    public static final String ITEM_EVENT = "item";
+    public static final String RESYNC_EVENT = "resync";
+
+    private final ItemChangeFeed feed;
+    private final int maxSubscribers;
+    private final int batchSize;
+    private final Set<FeedSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService poller;
+    private final ExecutorService senders;
+
+    public ItemChangeBroadcaster(ItemChangeFeed feed,
+                                 @Value("${feed.max-subscribers:1000}") int maxSubscribers,
+                                 @Value("${feed.batch-size:256}") int batchSize,
+                                 @Value("${feed.poll-millis:20}") long pollMillis,
+                                 @Value("${feed.send-threads:8}") int sendThreads) {
+        this.feed = feed;
+        this.maxSubscribers = maxSubscribers;
+        this.batchSize = batchSize;
+        this.poller = Executors.newSingleThreadScheduledExecutor(r -> daemon(r, "item-feed-poller"));
+        this.senders = Executors.newFixedThreadPool(sendThreads, r -> daemon(r, "item-feed-sender"));
+        poller.scheduleWithFixedDelay(this::dispatch, pollMillis, pollMillis, TimeUnit.MILLISECONDS);
+    }
+
+    //lastSequence 다음부터 보냄, null 이면 지금부터, 구독자가 너무 많으면 null
+    public SseEmitter subscribe(Long lastSequence, long timeoutMillis) {
+        if (subscribers.size() >= maxSubscribers) {
+            return null;
+        }
+        long next = feed.next();
+        long cursor = lastSequence == null ? next : Math.min(Math.max(lastSequence + 1, 0), next);
+
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        FeedSubscriber subscriber = new FeedSubscriber(emitter, cursor);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        return emitter;
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    void dispatch() {
+        long next = feed.next();
+        for (FeedSubscriber subscriber : subscribers) {
+            if (subscriber.cursor < next && subscriber.draining.compareAndSet(false, true)) {
+                try {
+                    senders.execute(() -> drain(subscriber));
+                } catch (RejectedExecutionException e) {
+                    subscriber.draining.set(false);
+                }
+            }
+        }
+    }
+
+    private void drain(FeedSubscriber subscriber) {
+        try {
+            for (int sent = 0; sent < batchSize; sent++) {
+                long cursor = subscriber.cursor;
+                ItemChangeEvent event = feed.read(cursor);
+                if (event != null) {
+                    subscriber.emitter.send(SseEmitter.event()
+                            .id(String.valueOf(event.getSequence()))
+                            .name(ITEM_EVENT)
+                            .data(event, MediaType.APPLICATION_JSON));
+                    subscriber.cursor = cursor + 1;
+                } else if (feed.isLapped(cursor)) {
+                    long next = feed.next();
+                    //id 는 건너뛴 마지막 순번, 재연결하면 최신 위치부터 받게
+                    subscriber.emitter.send(SseEmitter.event()
+                            .id(String.valueOf(next - 1))
+                            .name(RESYNC_EVENT)
+                            .data(Map.of("skippedFrom", cursor, "next", next), MediaType.APPLICATION_JSON));
+                    subscriber.cursor = next;
+                } else {
+                    //아직 쓰는 중인 이벤트, 다음 주기에 이어서
+                    break;
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            //연결이 끊겼거나 이미 완료된 emitter
+            log.debug("feed 구독자 전송 실패", e);
+            subscribers.remove(subscriber);
+            subscriber.emitter.completeWithError(e);
+        } finally {
+            subscriber.draining.set(false);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        poller.shutdownNow();
+        senders.shutdownNow();
+        for (FeedSubscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+        }
+        subscribers.clear();
+    }
+
+    private static Thread daemon(Runnable r, String name) {
+        Thread thread = new Thread(r, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+}
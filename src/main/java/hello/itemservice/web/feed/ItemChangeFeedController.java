@@ -0,0 +1,40 @@
+package hello.itemservice.web.feed;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * 상품 변경 피드 (Server-Sent Events)
+ * event: item, id: 순번, data: 변경된 상품 / event: resync 는 놓친 이벤트가 있으니 목록을 다시 조회하라는 뜻
+ *
+ * 이어받기: 브라우저 EventSource 는 재연결할 때 Last-Event-ID 헤더를 자동으로 보낸다
+ * 직접 붙는 클라이언트는 ?from=마지막으로 받은 순번
+ * 요청 제한, 지연시간 측정 인터셉터가 걸리지 않도록 /validation/** 밖에 둠
+ */
+@RestController
+@RequiredArgsConstructor
+public class ItemChangeFeedController {
+
+    private final ItemChangeBroadcaster broadcaster;
+
+    @Value("${feed.emitter-timeout-millis:1800000}")
+    private long timeoutMillis;
+
+    @GetMapping(value = "/feed/items", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+                                @RequestParam(value = "from", required = false) Long from) {
+        SseEmitter emitter = broadcaster.subscribe(from != null ? from : lastEventId, timeoutMillis);
+        if (emitter == null) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "too many feed subscribers");
+        }
+        return emitter;
+    }
+}
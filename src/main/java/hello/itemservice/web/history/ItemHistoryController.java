@@ -0,0 +1,36 @@
+package hello.itemservice.web.history;
+
+import hello.itemservice.domain.history.ItemHistory;
+import hello.itemservice.domain.history.ItemVersion;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Instant;
+import java.util.List;
+
+//상품 변경 이력
+//GET /validation/api/items/1/history?at=2026-10-19T09:00:00Z : 그 시점의 값, 그 시점에 없었으면 404
+//GET /validation/api/items/1/history : 전체 이력, 오래된 순서
+@RestController
+@RequestMapping("/validation/api/items/{itemId}/history")
+@RequiredArgsConstructor
+public class ItemHistoryController {
+
+    private final ItemHistory itemHistory;
+
+    @GetMapping(params = "at")
+    public ResponseEntity<ItemVersion> findAt(@PathVariable Long itemId, @RequestParam Instant at) {
+        ItemVersion version = itemHistory.findAt(itemId, at);
+        return version == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(version);
+    }
+
+    @GetMapping
+    public List<ItemVersion> versions(@PathVariable Long itemId) {
+        return itemHistory.versions(itemId);
+    }
+}
@@ -0,0 +1,128 @@
+package hello.itemservice.web.idempotency;
+
+import hello.itemservice.domain.catalog.Catalog;
+import hello.itemservice.domain.catalog.CatalogRegistry;
+import hello.itemservice.web.catalog.CatalogFilter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.List;
+
+//등록 요청의 중복을 막는 인터셉터
+//preHandle 은 @ModelAttribute, @RequestBody 바인딩과 @Validated 검증보다 먼저 호출되므로
+//이미 처리된 키라면 바인딩, 검증, 저장을 전혀 하지 않고 처음 결과를 그대로 응답한다
+//결과 기록은 컨트롤러가 성공 로직 뒤에 IdempotencyKeyStore.complete() 로 직접 한다
+//저장소 키는 카탈로그 + 핸들러 경로 패턴 + 클라이언트가 보낸 키, 같은 키라도 다른 엔드포인트(폼의 리다이렉트와 API 의 json)나
+//다른 카탈로그의 결과를 재응답하지 않는다
+@Slf4j
+@RequiredArgsConstructor
+public class IdempotencyInterceptor implements HandlerInterceptor {
+
+    public static final String HEADER_NAME = "Idempotency-Key";
+    //폼에서는 hidden input 으로 보냄
+    public static final String PARAMETER_NAME = "idempotencyKey";
+    //컨트롤러에서 @RequestAttribute 로 꺼내 쓰는 이름(저장소 키), 애노테이션에 쓰므로 상수식이어야 함
+    public static final String KEY_ATTRIBUTE = "hello.itemservice.web.idempotency.KEY";
+
+    private final IdempotencyKeyStore keyStore;
+    //응답을 쓸 때와 같은 컨버터 목록, 첫 응답과 같은 형식(JSON, CBOR, Smile)으로 재응답하기 위해
+    private final List<HttpMessageConverter<?>> messageConverters;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        //비동기 API 는 재디스패치(ASYNC) 때 preHandle 이 한번 더 불린다, 처음 요청에서만 확인
+        if (!"POST".equals(request.getMethod()) || request.getDispatcherType() != DispatcherType.REQUEST) {
+            return true;
+        }
+
+        String key = request.getHeader(HEADER_NAME);
+        if (!StringUtils.hasText(key)) {
+            key = request.getParameter(PARAMETER_NAME);
+        }
+        if (!StringUtils.hasText(key)) {
+            //키가 없으면 예전처럼 매번 처리
+            return true;
+        }
+
+        key = storeKey(request, key);
+        IdempotencyKeyStore.Entry existing = keyStore.begin(key);
+        if (existing == IdempotencyKeyStore.FULL) {
+            //처리중인 키만으로 가득 참, 처리하면 중복을 막을 수 없으므로 받지 않는다
+            log.warn("중복 방지 키 저장소가 가득 참 key={}", key);
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value());
+            return false;
+        }
+        if (existing == null) {
+            request.setAttribute(KEY_ATTRIBUTE, key);
+            return true;
+        }
+
+        if (!existing.isCompleted()) {
+            //같은 키의 첫 요청이 아직 처리중
+            log.info("처리중인 중복 요청 key={}", key);
+            response.sendError(HttpStatus.CONFLICT.value());
+            return false;
+        }
+
+        log.info("중복 요청, 처음 결과 재사용 key={}", key);
+        replay(request, response, existing.getResult());
+        return false;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        //검증 오류나 예외로 complete 가 호출되지 않았으면 키를 풀어준다
+        Object key = request.getAttribute(KEY_ATTRIBUTE);
+        if (key != null) {
+            keyStore.releaseIfPending((String) key);
+        }
+    }
+
+    static String storeKey(HttpServletRequest request, String key) {
+        Catalog catalog = (Catalog) request.getAttribute(CatalogFilter.CATALOG_ATTRIBUTE);
+        String catalogName = catalog == null ? CatalogRegistry.DEFAULT : catalog.getName();
+        return catalogName + " " + request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE) + " " + key;
+    }
+
+    private void replay(HttpServletRequest request, HttpServletResponse response, Object result) throws Exception {
+        if (result instanceof IdempotentRedirect) {
+            response.sendRedirect(request.getContextPath() + ((IdempotentRedirect) result).getLocation());
+            return;
+        }
+        //Accept 순서대로 쓸 수 있는 첫 컨버터, 컨트롤러의 @RestController 응답과 같은 규칙
+        List<MediaType> accepted = MediaType.parseMediaTypes(request.getHeader(HttpHeaders.ACCEPT));
+        if (accepted.isEmpty()) {
+            accepted = List.of(MediaType.ALL);
+        }
+        MediaType.sortBySpecificityAndQuality(accepted);
+        for (MediaType mediaType : accepted) {
+            for (HttpMessageConverter<?> converter : messageConverters) {
+                if (converter.canWrite(result.getClass(), mediaType)) {
+                    response.setStatus(HttpStatus.OK.value());
+                    write(converter, result, mediaType.isConcrete() ? mediaType : null, response);
+                    return;
+                }
+            }
+        }
+        response.sendError(HttpStatus.NOT_ACCEPTABLE.value());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void write(HttpMessageConverter<?> converter, Object result, MediaType mediaType,
+                              HttpServletResponse response) throws Exception {
+        ServletServerHttpResponse outputMessage = new ServletServerHttpResponse(response);
+        ((HttpMessageConverter<Object>) converter).write(result, mediaType, outputMessage);
+        outputMessage.flush();
+    }
+}
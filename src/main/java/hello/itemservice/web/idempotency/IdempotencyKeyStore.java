@@ -0,0 +1,150 @@
+package hello.itemservice.web.idempotency;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+//Idempotency-Key 헤더나 폼의 hidden 토큰으로 들어온 키를 보관하는 저장소
+//프록시가 같은 요청을 재전송해도 처음 처리한 결과(리다이렉트 경로, json 바디)를 그대로 돌려주기 위해 사용
+//ConcurrentHashMap 의 putIfAbsent, replace, remove(key, value) 만 사용해서 락을 잡지 않는다
+//키마다 TTL 이 있고, 최대 개수에 닿으면 만료된 키, 완료된 키 순으로 정리해서 메모리가 무한히 커지지 않게 한다
+//처리중인 키는 지우면 중복 처리가 되므로 남겨두고, 처리중인 키만으로 가득 차면 새 키를 받지 않는다 (FULL)
+//키는 IdempotencyInterceptor 가 카탈로그, 핸들러 경로와 묶어서 만든 것
+@Component
+public class IdempotencyKeyStore {
+
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    //처리중인 키로 가득 차서 새 키를 받을 수 없을 때 begin 의 반환값
+    public static final Entry FULL = new Entry(null, Long.MAX_VALUE);
+
+    private final ConcurrentHashMap<String, Entry> store = new ConcurrentHashMap<>();
+
+    //정리 작업은 한 스레드만 하도록 CAS 로 깃발을 잡는다, 나머지 스레드는 기다리지 않고 그냥 지나감
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+    //마지막으로 정리해도 가득 차 있던 시각
+    private volatile long fullSince = System.nanoTime() - SWEEP_INTERVAL_NANOS;
+
+    private final long ttlNanos;
+    private final int maxKeys;
+
+    public IdempotencyKeyStore(@Value("${idempotency.ttl-seconds:600}") long ttlSeconds,
+                               @Value("${idempotency.max-keys:100000}") int maxKeys) {
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.maxKeys = maxKeys;
+    }
+
+    /**
+     * 키 처리를 시작한다
+     * 처음 보는 키(또는 만료된 키)면 처리중 상태로 등록하고 null 반환, 호출한 쪽이 실제 로직을 수행하면 된다
+     * 이미 있는 키면 기존 Entry 반환, 완료된 Entry 면 결과를 재사용하고 처리중이면 중복 요청이 동시에 들어온 것
+     * 정리해도 max-keys 만큼 차 있으면 FULL
+     */
+    public Entry begin(String key) {
+        long now = System.nanoTime();
+        Entry fresh = new Entry(null, now + ttlNanos);
+
+        while (true) {
+            if (size() >= maxKeys && !store.containsKey(key)) {
+                //동시에 들어온 요청 수만큼은 넘을 수 있지만 그 이상 커지지 않는다
+                evict(now);
+                if (size() >= maxKeys) {
+                    return FULL;
+                }
+            }
+            Entry existing = store.putIfAbsent(key, fresh);
+            if (existing == null) {
+                return null;
+            }
+            if (!existing.isExpired(now)) {
+                return existing;
+            }
+            //만료된 키는 새 Entry 로 교체, 다른 스레드가 먼저 바꿨으면 다시 시도
+            if (store.replace(key, existing, fresh)) {
+                return null;
+            }
+        }
+    }
+
+    //성공 로직까지 끝났을 때 결과를 기록, 이후 같은 키로 들어온 요청은 이 결과를 받는다
+    public void complete(String key, Object result) {
+        Entry pending = store.get(key);
+        if (pending != null && !pending.isCompleted()) {
+            store.replace(key, pending, new Entry(result, System.nanoTime() + ttlNanos));
+        }
+    }
+
+    //검증 오류나 예외로 결과가 없으면 키를 풀어준다, 사용자가 값을 고쳐서 같은 토큰으로 다시 보낼 수 있게
+    public void releaseIfPending(String key) {
+        Entry entry = store.get(key);
+        if (entry != null && !entry.isCompleted()) {
+            store.remove(key, entry);
+        }
+    }
+
+    public long size() {
+        return store.mappingCount();
+    }
+
+    public void clear() {
+        store.clear();
+    }
+
+    /**
+     * 한번 정리할 때 max-keys 의 90% 까지 줄여서 가득 찬 뒤 요청마다 정리하지 않게
+     * 정리해도 처리중인 키만으로 가득 차 있으면(FULL) 그 뒤 SWEEP_INTERVAL 동안은 훑지 않는다, 새 키마다 전체를 훑지 않게
+     */
+    private void evict(long now) {
+        if (now - fullSince < SWEEP_INTERVAL_NANOS || !sweeping.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            //1. 만료된 키 먼저 정리
+            store.entrySet().removeIf(e -> e.getValue().isExpired(now));
+
+            //2. 그래도 넘치면 순회 순서대로 잘라낸다, 처리중인 키는 남겨둠
+            long target = maxKeys * 9L / 10;
+            Iterator<Map.Entry<String, Entry>> it = store.entrySet().iterator();
+            while (size() > target && it.hasNext()) {
+                if (it.next().getValue().isCompleted()) {
+                    it.remove();
+                }
+            }
+            if (size() >= maxKeys) {
+                fullSince = now;
+            }
+        } finally {
+            sweeping.set(false);
+        }
+    }
+
+    //불변 객체, 상태가 바뀔 때는 새 Entry 로 replace 해서 CAS 처럼 사용
+    public static final class Entry {
+
+        //null 이면 아직 처리중
+        private final Object result;
+        private final long expiresAt;
+
+        private Entry(Object result, long expiresAt) {
+            this.result = result;
+            this.expiresAt = expiresAt;
+        }
+
+        public boolean isCompleted() {
+            return result != null;
+        }
+
+        public Object getResult() {
+            return result;
+        }
+
+        boolean isExpired(long now) {
+            return now - expiresAt > 0;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package hello.itemservice.web.idempotency;
+
+import lombok.Getter;
+
+//폼 전송(PRG 패턴)의 결과, 저장 후 이동했던 경로를 기억해두고 중복 요청에도 같은 곳으로 보낸다
+//API 의 경우는 응답 바디 객체를 그대로 결과로 저장하므로 이 클래스가 필요 없음
+@Getter
+public class IdempotentRedirect {
+
+    private final String location;
+
+    public IdempotentRedirect(String location) {
+        this.location = location;
+    }
+}
@@ -0,0 +1,23 @@
+package hello.itemservice.web.metrics;
+
+import hello.itemservice.web.async.AsyncExecutorStats;
+import hello.itemservice.web.async.AsyncItemExecutor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletRequest;
+
+//비동기 API 실행기의 실행중, 대기중, 완료, 거절 수
+@RestController
+@RequiredArgsConstructor
+public class AsyncApiMetricsController {
+
+    private final AsyncItemExecutor asyncItemExecutor;
+
+    @GetMapping("/metrics/api-async")
+    public AsyncExecutorStats stats(HttpServletRequest request) {
+        LatencyMetricsController.checkLocal(request);
+        return asyncItemExecutor.stats();
+    }
+}
@@ -0,0 +1,23 @@
+package hello.itemservice.web.metrics;
+
+import hello.itemservice.domain.history.HistoryStats;
+import hello.itemservice.domain.history.ItemHistory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletRequest;
+
+//변경 이력의 기록 수, 추정 메모리(byte), 백만 건당 크기
+@RestController
+@RequiredArgsConstructor
+public class ItemHistoryMetricsController {
+
+    private final ItemHistory itemHistory;
+
+    @GetMapping("/metrics/item-history")
+    public HistoryStats stats(HttpServletRequest request) {
+        LatencyMetricsController.checkLocal(request);
+        return itemHistory.stats();
+    }
+}
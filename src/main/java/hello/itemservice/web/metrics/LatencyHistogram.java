@@ -0,0 +1,99 @@
+package hello.itemservice.web.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+
+//지연시간(나노초) 히스토그램, 로그 스케일 버킷에 카운트만 올리므로 기록할 때 락도 할당도 없다
+//2의 거듭제곱 구간마다 16개로 나누므로 오차는 최대 약 6%
+public class LatencyHistogram {
+
+    private static final int SUB_BITS = 4;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    private static final int BUCKET_COUNT = (64 - SUB_BITS) * SUB_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAccumulator max = new LongAccumulator(Long::max, 0);
+
+    public void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        counts.incrementAndGet(indexOf(nanos));
+        max.accumulate(nanos);
+    }
+
+    //기록 중에도 읽을 수 있다, 동시에 들어온 몇 건이 빠지거나 포함되는 정도의 차이만 있음
+    public Snapshot snapshot() {
+        long[] copy = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            copy[i] = counts.get(i);
+            total += copy[i];
+        }
+        return new Snapshot(copy, total, max.get());
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts.set(i, 0);
+        }
+        max.reset();
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_COUNT) {
+            return (int) value;
+        }
+        int msb = 63 - Long.numberOfLeadingZeros(value);
+        int mantissa = (int) (value >>> (msb - SUB_BITS));
+        return (msb - SUB_BITS + 1) * SUB_COUNT + (mantissa - SUB_COUNT);
+    }
+
+    //버킷 구간의 가운데 값
+    static long valueOf(int index) {
+        if (index < SUB_COUNT) {
+            return index;
+        }
+        int msb = index / SUB_COUNT + SUB_BITS - 1;
+        long mantissa = index % SUB_COUNT + SUB_COUNT;
+        long width = 1L << (msb - SUB_BITS);
+        return (mantissa << (msb - SUB_BITS)) + width / 2;
+    }
+
+    public static class Snapshot {
+
+        private final long[] counts;
+        private final long count;
+        private final long max;
+
+        Snapshot(long[] counts, long count, long max) {
+            this.counts = counts;
+            this.count = count;
+            this.max = max;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getMax() {
+            return max;
+        }
+
+        //percentile 은 0~100, 예) 99.9
+        public long percentile(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(count * percentile / 100.0);
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(valueOf(i), max);
+                }
+            }
+            return max;
+        }
+    }
+}
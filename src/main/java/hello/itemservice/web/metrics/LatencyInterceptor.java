@@ -0,0 +1,48 @@
+package hello.itemservice.web.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+//요청의 시작, 컨트롤러 종료, 렌더링 종료 시각을 PhaseTimer 에 남기는 인터셉터
+//바인딩, 검증 시간은 TimedDataBinderFactory 가 만든 바인더가, @RequestBody 읽기 시간은 TimedRequestBodyAdvice 가 직접 더한다
+//비동기 요청(DeferredResult)은 톰캣 스레드를 잡고 있던 시간까지만 잰다, 재디스패치는 측정하지 않음
+@RequiredArgsConstructor
+public class LatencyInterceptor implements AsyncHandlerInterceptor {
+
+    private final LatencyMetrics latencyMetrics;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        //정적 리소스 요청 등은 제외
+        if (handler instanceof HandlerMethod && request.getDispatcherType() != DispatcherType.ASYNC) {
+            latencyMetrics.begin((HandlerMethod) handler);
+        }
+        return true;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler, ModelAndView modelAndView) {
+        LatencyMetrics.PhaseTimer timer = LatencyMetrics.current();
+        if (timer != null) {
+            timer.handlerCompleted(System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        latencyMetrics.end();
+    }
+
+    //비동기 처리가 시작되면 postHandle, afterCompletion 이 불리지 않으므로 여기서 끝낸다
+    //끝내지 않으면 스레드의 PhaseTimer 가 다음 요청까지 남는다
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        latencyMetrics.end();
+    }
+}
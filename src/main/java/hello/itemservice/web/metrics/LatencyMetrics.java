@@ -0,0 +1,181 @@
+package hello.itemservice.web.metrics;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+
+import java.lang.reflect.Method;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+//엔드포인트(컨트롤러 메서드)별, 구간별 지연시간 히스토그램 저장소
+//요청 중의 구간 시간은 스레드마다 하나씩 재사용하는 PhaseTimer 에 모았다가 요청이 끝날 때 한번에 기록한다
+//metrics.latency.enabled=true 일 때만 인터셉터와 바인더가 등록됨
+@Component
+public class LatencyMetrics {
+
+    private static final ThreadLocal<PhaseTimer> CURRENT = ThreadLocal.withInitial(PhaseTimer::new);
+
+    private final boolean enabled;
+    private final ConcurrentHashMap<Method, EndpointLatency> endpoints = new ConcurrentHashMap<>();
+
+    public LatencyMetrics(@Value("${metrics.latency.enabled:false}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    //측정중인 요청이 없으면 null
+    public static PhaseTimer current() {
+        PhaseTimer timer = CURRENT.get();
+        return timer.isActive() ? timer : null;
+    }
+
+    public void begin(HandlerMethod handlerMethod) {
+        EndpointLatency endpoint = endpoints.computeIfAbsent(handlerMethod.getMethod(),
+                m -> new EndpointLatency(handlerMethod.getBeanType().getSimpleName() + "." + m.getName()));
+        CURRENT.get().begin(endpoint, System.nanoTime());
+    }
+
+    public void end() {
+        PhaseTimer timer = CURRENT.get();
+        if (timer.isActive()) {
+            timer.end(System.nanoTime());
+        }
+    }
+
+    //엔드포인트 이름 -> 구간 -> 통계(마이크로초)
+    public Map<String, Map<Phase, Map<String, Long>>> report() {
+        Map<String, Map<Phase, Map<String, Long>>> result = new TreeMap<>();
+        for (EndpointLatency endpoint : endpoints.values()) {
+            Map<Phase, Map<String, Long>> phases = new EnumMap<>(Phase.class);
+            for (Phase phase : Phase.values()) {
+                LatencyHistogram.Snapshot snapshot = endpoint.histogram(phase).snapshot();
+                if (snapshot.getCount() == 0) {
+                    continue;
+                }
+                Map<String, Long> stats = new LinkedHashMap<>();
+                stats.put("count", snapshot.getCount());
+                stats.put("p50", snapshot.percentile(50) / 1000);
+                stats.put("p99", snapshot.percentile(99) / 1000);
+                stats.put("p999", snapshot.percentile(99.9) / 1000);
+                stats.put("max", snapshot.getMax() / 1000);
+                phases.put(phase, stats);
+            }
+            result.put(endpoint.getName(), phases);
+        }
+        return result;
+    }
+
+    public void reset() {
+        for (EndpointLatency endpoint : endpoints.values()) {
+            for (Phase phase : Phase.values()) {
+                endpoint.histogram(phase).reset();
+            }
+        }
+    }
+
+    static class EndpointLatency {
+
+        private final String name;
+        private final LatencyHistogram[] histograms = new LatencyHistogram[Phase.values().length];
+
+        EndpointLatency(String name) {
+            this.name = name;
+            for (int i = 0; i < histograms.length; i++) {
+                histograms[i] = new LatencyHistogram();
+            }
+        }
+
+        String getName() {
+            return name;
+        }
+
+        LatencyHistogram histogram(Phase phase) {
+            return histograms[phase.ordinal()];
+        }
+    }
+
+    //요청 하나의 구간 시간, 스레드마다 하나를 계속 재사용해서 요청마다 할당하지 않는다
+    public static class PhaseTimer {
+
+        private EndpointLatency endpoint;
+        private long start;
+        private long handlerEnd;
+        private long bodyReadStart;
+        private long bindNanos;
+        private long validateNanos;
+        private long messageCodesNanos;
+        private boolean bound;
+
+        boolean isActive() {
+            return endpoint != null;
+        }
+
+        void begin(EndpointLatency endpoint, long now) {
+            this.endpoint = endpoint;
+            this.start = now;
+            this.handlerEnd = 0;
+            this.bodyReadStart = 0;
+            this.bindNanos = 0;
+            this.validateNanos = 0;
+            this.messageCodesNanos = 0;
+            this.bound = false;
+        }
+
+        public void addBind(long nanos) {
+            bindNanos += nanos;
+            bound = true;
+        }
+
+        //@RequestBody, HttpEntity 는 바인더의 bind()를 거치지 않음, 컨버터가 바디를 읽는 동안을 BIND 로 (TimedRequestBodyAdvice)
+        public void bodyReadStarted(long now) {
+            bodyReadStart = now;
+        }
+
+        public void bodyReadCompleted(long now) {
+            if (bodyReadStart != 0) {
+                addBind(now - bodyReadStart);
+                bodyReadStart = 0;
+            }
+        }
+
+        public void addValidate(long nanos) {
+            validateNanos += nanos;
+        }
+
+        public void addMessageCodes(long nanos) {
+            messageCodesNanos += nanos;
+        }
+
+        public void handlerCompleted(long now) {
+            handlerEnd = now;
+        }
+
+        void end(long now) {
+            EndpointLatency e = endpoint;
+            endpoint = null;
+
+            if (bound) {
+                e.histogram(Phase.BIND).record(bindNanos);
+            }
+            if (validateNanos > 0) {
+                e.histogram(Phase.VALIDATE).record(validateNanos);
+            }
+            if (messageCodesNanos > 0) {
+                e.histogram(Phase.MESSAGE_CODES).record(messageCodesNanos);
+            }
+            //예외로 postHandle 이 호출되지 않으면 handlerEnd 가 없음
+            if (handlerEnd != 0) {
+                e.histogram(Phase.HANDLER).record(handlerEnd - start);
+                e.histogram(Phase.RENDER).record(now - handlerEnd);
+            }
+            e.histogram(Phase.TOTAL).record(now - start);
+        }
+    }
+}
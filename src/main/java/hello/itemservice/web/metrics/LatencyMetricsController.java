@@ -0,0 +1,46 @@
+package hello.itemservice.web.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.servlet.http.HttpServletRequest;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Map;
+
+//구간별 지연시간 조회, 단위는 마이크로초
+//운영 정보이므로 같은 서버(localhost)에서 온 요청만 받는다
+@RestController
+@RequestMapping("/metrics/latency")
+@RequiredArgsConstructor
+public class LatencyMetricsController {
+
+    private final LatencyMetrics latencyMetrics;
+
+    @GetMapping
+    public Map<String, Map<Phase, Map<String, Long>>> latency(HttpServletRequest request) {
+        checkLocal(request);
+        return latencyMetrics.report();
+    }
+
+    @PostMapping("/reset")
+    public void reset(HttpServletRequest request) {
+        checkLocal(request);
+        latencyMetrics.reset();
+    }
+
+    public static void checkLocal(HttpServletRequest request) {
+        try {
+            if (!InetAddress.getByName(request.getRemoteAddr()).isLoopbackAddress()) {
+                throw new ResponseStatusException(HttpStatus.FORBIDDEN);
+            }
+        } catch (UnknownHostException e) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package hello.itemservice.web.metrics;
+
+import hello.itemservice.message.CachingMessageSource;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.MessageSource;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+//완성된 메시지 캐시 적중률, 렌더링 구간(RENDER) 지연시간은 /metrics/latency 에서
+@RestController
+@RequiredArgsConstructor
+public class MessageCacheMetricsController {
+
+    private final MessageSource messageSource;
+
+    @GetMapping("/metrics/message-cache")
+    public Map<String, Object> stats(HttpServletRequest request) {
+        LatencyMetricsController.checkLocal(request);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", messageSource instanceof CachingMessageSource);
+        if (messageSource instanceof CachingMessageSource) {
+            CachingMessageSource cache = (CachingMessageSource) messageSource;
+            result.put("size", cache.size());
+            result.put("hits", cache.hits());
+            result.put("misses", cache.misses());
+            //메시지 파일을 다시 읽어서 비운 횟수 (messages.reload.dir)
+            result.put("clears", cache.clears());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,17 @@
+package hello.itemservice.web.metrics;
+
+//요청 하나를 나눠서 재는 구간
+public enum Phase {
+
+    //@ModelAttribute 바인딩, @RequestBody 는 HttpMessageConverter 가 바디를 읽어 객체로 만드는 시간 (검증 여부와 무관)
+    BIND,
+    //WebDataBinder 에 등록된 검증기 실행 (Bean Validation, ItemValidator)
+    VALIDATE,
+    //MessageCodesResolver 로 오류 코드 생성, BIND 와 VALIDATE 안에 포함되는 시간
+    MESSAGE_CODES,
+    //preHandle ~ postHandle, 바인딩 + 검증 + 컨트롤러 로직, @ResponseBody 는 응답 쓰기까지 포함
+    HANDLER,
+    //postHandle ~ afterCompletion, 타임리프 뷰 렌더링
+    RENDER,
+    TOTAL
+}
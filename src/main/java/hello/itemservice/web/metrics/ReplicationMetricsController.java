@@ -0,0 +1,35 @@
+package hello.itemservice.web.metrics;
+
+import hello.itemservice.domain.replication.ReplicationClient;
+import hello.itemservice.domain.replication.ReplicationServer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.servlet.http.HttpServletRequest;
+
+//복제 상태, 팔로워는 적용한 순번과 지연(lagOps, lagMillis), 리더는 팔로워별로 확인받은 순번과 지연
+@RestController
+@RequiredArgsConstructor
+public class ReplicationMetricsController {
+
+    private final ObjectProvider<ReplicationServer> replicationServer;
+    private final ObjectProvider<ReplicationClient> replicationClient;
+
+    @GetMapping("/metrics/replication")
+    public Object stats(HttpServletRequest request) {
+        LatencyMetricsController.checkLocal(request);
+        ReplicationClient client = replicationClient.getIfAvailable();
+        if (client != null) {
+            return client.stats();
+        }
+        ReplicationServer server = replicationServer.getIfAvailable();
+        if (server != null) {
+            return server.stats();
+        }
+        throw new ResponseStatusException(HttpStatus.NOT_FOUND, "복제를 사용하지 않습니다");
+    }
+}
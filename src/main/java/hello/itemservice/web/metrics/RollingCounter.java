@@ -0,0 +1,53 @@
+package hello.itemservice.web.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+//전체 누적 카운트와 최근 구간(슬롯 개수 * 슬롯 길이) 카운트를 같이 세는 카운터
+//LongAdder 는 내부적으로 스레드별 셀에 나눠 더하므로 여러 스레드가 같은 코드를 올려도 경합이 적다
+//슬롯은 링 버퍼로 재사용, 슬롯의 시간대(epoch)가 바뀌면 처음 들어온 스레드가 비운다
+public class RollingCounter {
+
+    private final LongAdder total = new LongAdder();
+    private final LongAdder[] slots;
+    private final AtomicLongArray slotEpochs;
+    private final long slotMillis;
+
+    public RollingCounter(int slotCount, long slotMillis) {
+        this.slots = new LongAdder[slotCount];
+        this.slotEpochs = new AtomicLongArray(slotCount);
+        this.slotMillis = slotMillis;
+        for (int i = 0; i < slotCount; i++) {
+            slots[i] = new LongAdder();
+        }
+    }
+
+    public void increment(long nowMillis) {
+        total.increment();
+
+        long epoch = nowMillis / slotMillis;
+        int index = (int) (epoch % slots.length);
+        long slotEpoch = slotEpochs.get(index);
+        //오래된 슬롯 비우기, 비우는 순간 동시에 올라간 몇 건은 잃을 수 있음(통계용이라 허용)
+        if (slotEpoch != epoch && slotEpochs.compareAndSet(index, slotEpoch, epoch)) {
+            slots[index].reset();
+        }
+        slots[index].increment();
+    }
+
+    public long total() {
+        return total.sum();
+    }
+
+    //최근 구간 합계, 오래된 슬롯은 제외
+    public long windowSum(long nowMillis) {
+        long epoch = nowMillis / slotMillis;
+        long sum = 0;
+        for (int i = 0; i < slots.length; i++) {
+            if (epoch - slotEpochs.get(i) < slots.length) {
+                sum += slots[i].sum();
+            }
+        }
+        return sum;
+    }
+}
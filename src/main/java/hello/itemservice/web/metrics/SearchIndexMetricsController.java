@@ -0,0 +1,23 @@
+package hello.itemservice.web.metrics;
+
+import hello.itemservice.domain.search.IndexStats;
+import hello.itemservice.domain.search.ItemNameIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletRequest;
+
+//상품 이름 색인의 gram 수, posting 수, 추정 메모리(byte)
+@RestController
+@RequiredArgsConstructor
+public class SearchIndexMetricsController {
+
+    private final ItemNameIndex itemNameIndex;
+
+    @GetMapping("/metrics/search-index")
+    public IndexStats stats(HttpServletRequest request) {
+        LatencyMetricsController.checkLocal(request);
+        return itemNameIndex.stats();
+    }
+}
@@ -0,0 +1,41 @@
+package hello.itemservice.web.metrics;
+
+import org.springframework.validation.MessageCodesResolver;
+
+//rejectValue(), reject(), 바인딩 타입 오류 때마다 호출되는 MessageCodesResolver 의 시간을 잰다
+public class TimedMessageCodesResolver implements MessageCodesResolver {
+
+    private final MessageCodesResolver delegate;
+
+    public TimedMessageCodesResolver(MessageCodesResolver delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public String[] resolveMessageCodes(String errorCode, String objectName) {
+        LatencyMetrics.PhaseTimer timer = LatencyMetrics.current();
+        if (timer == null) {
+            return delegate.resolveMessageCodes(errorCode, objectName);
+        }
+        long start = System.nanoTime();
+        try {
+            return delegate.resolveMessageCodes(errorCode, objectName);
+        } finally {
+            timer.addMessageCodes(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public String[] resolveMessageCodes(String errorCode, String objectName, String field, Class<?> fieldType) {
+        LatencyMetrics.PhaseTimer timer = LatencyMetrics.current();
+        if (timer == null) {
+            return delegate.resolveMessageCodes(errorCode, objectName, field, fieldType);
+        }
+        long start = System.nanoTime();
+        try {
+            return delegate.resolveMessageCodes(errorCode, objectName, field, fieldType);
+        } finally {
+            timer.addMessageCodes(System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package hello.itemservice.web.metrics;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+
+import java.lang.reflect.Type;
+
+//@RequestBody, HttpEntity 의 BIND 구간, beforeBodyRead ~ afterBodyRead 가 HttpMessageConverter.read() 하나만 감싼다
+//검증되지 않는 바디(부분 수정의 ObjectNode 등)도 잰다, 인터셉터, 다른 인자 처리 시간은 들어가지 않음
+//변환에 실패하면 afterBodyRead 가 불리지 않으므로 BIND 도 남지 않는다
+@ControllerAdvice
+@ConditionalOnProperty(name = "metrics.latency.enabled", havingValue = "true")
+public class TimedRequestBodyAdvice extends RequestBodyAdviceAdapter {
+
+    @Override
+    public boolean supports(MethodParameter methodParameter, Type targetType,
+                            Class<? extends HttpMessageConverter<?>> converterType) {
+        return LatencyMetrics.current() != null;
+    }
+
+    @Override
+    public HttpInputMessage beforeBodyRead(HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                           Class<? extends HttpMessageConverter<?>> converterType) {
+        LatencyMetrics.PhaseTimer timer = LatencyMetrics.current();
+        if (timer != null) {
+            timer.bodyReadStarted(System.nanoTime());
+        }
+        return inputMessage;
+    }
+
+    @Override
+    public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                Class<? extends HttpMessageConverter<?>> converterType) {
+        LatencyMetrics.PhaseTimer timer = LatencyMetrics.current();
+        if (timer != null) {
+            timer.bodyReadCompleted(System.nanoTime());
+        }
+        return body;
+    }
+}
@@ -0,0 +1,111 @@
+package hello.itemservice.web.metrics;
+
+import hello.itemservice.jfr.JfrEvents;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.Validator;
+import org.springframework.web.bind.ServletRequestDataBinder;
+import org.springframework.web.bind.support.WebBindingInitializer;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.annotation.InitBinderDataBinderFactory;
+import org.springframework.web.method.support.InvocableHandlerMethod;
+import org.springframework.web.servlet.mvc.method.annotation.ExtendedServletRequestDataBinder;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+import org.springframework.web.servlet.mvc.method.annotation.ServletRequestDataBinderFactory;
+
+import javax.servlet.ServletRequest;
+import java.util.List;
+
+//@ModelAttribute 는 WebDataBinder 의 bind(), validate(), @RequestBody 는 validate()를 거치므로
+//바인더를 만드는 팩토리만 바꿔서 바인딩, 검증 시간을 잰다
+//@RequestBody 의 바디 읽기(json 변환)는 바인더 밖이라 TimedRequestBodyAdvice 가 잰다
+//ItemValidator 처럼 @InitBinder 로 추가한 검증기, 글로벌 Bean Validator 모두 validate() 안에서 실행됨
+//jfrEvents 면 검증기마다 ValidationEvent 를 남긴다 (jfr.events.enabled)
+public class TimedRequestMappingHandlerAdapter extends RequestMappingHandlerAdapter {
+
+    private final boolean jfrEvents;
+
+    public TimedRequestMappingHandlerAdapter() {
+        this(false);
+    }
+
+    public TimedRequestMappingHandlerAdapter(boolean jfrEvents) {
+        this.jfrEvents = jfrEvents;
+    }
+
+    @Override
+    protected InitBinderDataBinderFactory createDataBinderFactory(List<InvocableHandlerMethod> binderMethods) {
+        return new TimedDataBinderFactory(binderMethods, getWebBindingInitializer(), jfrEvents);
+    }
+
+    static class TimedDataBinderFactory extends ServletRequestDataBinderFactory {
+
+        private final boolean jfrEvents;
+
+        TimedDataBinderFactory(List<InvocableHandlerMethod> binderMethods, WebBindingInitializer initializer,
+                               boolean jfrEvents) {
+            super(binderMethods, initializer);
+            this.jfrEvents = jfrEvents;
+        }
+
+        @Override
+        protected ServletRequestDataBinder createBinderInstance(Object target, String objectName, NativeWebRequest request) {
+            return new TimedDataBinder(target, objectName, jfrEvents);
+        }
+    }
+
+    static class TimedDataBinder extends ExtendedServletRequestDataBinder {
+
+        private final boolean jfrEvents;
+
+        TimedDataBinder(Object target, String objectName, boolean jfrEvents) {
+            super(target, objectName);
+            this.jfrEvents = jfrEvents;
+        }
+
+        @Override
+        public void bind(ServletRequest request) {
+            LatencyMetrics.PhaseTimer timer = LatencyMetrics.current();
+            if (timer == null) {
+                super.bind(request);
+                return;
+            }
+            long start = System.nanoTime();
+            try {
+                super.bind(request);
+            } finally {
+                timer.addBind(System.nanoTime() - start);
+            }
+        }
+
+        @Override
+        public void validate(Object... validationHints) {
+            LatencyMetrics.PhaseTimer timer = LatencyMetrics.current();
+            if (timer == null) {
+                runValidators(validationHints);
+                return;
+            }
+            long start = System.nanoTime();
+            try {
+                runValidators(validationHints);
+            } finally {
+                timer.addValidate(System.nanoTime() - start);
+            }
+        }
+
+        //DataBinder.validate() 와 같은 순서로 검증기를 부르되 검증기마다 이벤트를 남김
+        private void runValidators(Object... validationHints) {
+            if (!jfrEvents) {
+                super.validate(validationHints);
+                return;
+            }
+            Object target = getTarget();
+            if (target == null) {
+                throw new IllegalStateException("No target to validate");
+            }
+            BindingResult bindingResult = getBindingResult();
+            for (Validator validator : getValidators()) {
+                JfrEvents.validate(validator, target, bindingResult, validationHints);
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package hello.itemservice.web.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+//가장 많이 거절된 오류 코드, 필드 조회
+//window 는 최근 구간(기본 5분), total 은 서버 시작 후 누적
+@RestController
+@RequestMapping("/metrics/validation-failures")
+@RequiredArgsConstructor
+public class ValidationFailureController {
+
+    private final ValidationFailureStats validationFailureStats;
+
+    @GetMapping
+    public Map<String, Object> topCodes(@RequestParam(defaultValue = "10") int limit, HttpServletRequest request) {
+        LatencyMetricsController.checkLocal(request);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("windowSeconds", validationFailureStats.windowSeconds());
+        result.put("window", validationFailureStats.topCodes(limit, true));
+        result.put("windowByField", validationFailureStats.topFields(limit, true));
+        result.put("total", validationFailureStats.topCodes(limit, false));
+        result.put("totalByField", validationFailureStats.topFields(limit, false));
+        return result;
+    }
+}
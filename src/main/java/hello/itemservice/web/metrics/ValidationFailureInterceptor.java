@@ -0,0 +1,26 @@
+package hello.itemservice.web.metrics;
+
+import hello.itemservice.web.support.BindingResultCollector;
+import lombok.RequiredArgsConstructor;
+import org.springframework.validation.BindingResult;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.List;
+
+//요청이 끝나면 바인딩 오류, ItemValidator, Bean Validation, 컨트롤러의 reject() 로 BindingResult 에 쌓인 오류를 센다
+//BindingResult 를 쓰지 않는 ValidationItemControllerV1 은 컨트롤러에서 직접 record 한다
+@RequiredArgsConstructor
+public class ValidationFailureInterceptor implements HandlerInterceptor {
+
+    private final ValidationFailureStats validationFailureStats;
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        List<BindingResult> bindingResults = BindingResultCollector.getBindingResults(request);
+        for (int i = 0; i < bindingResults.size(); i++) {
+            validationFailureStats.record(bindingResults.get(i));
+        }
+    }
+}
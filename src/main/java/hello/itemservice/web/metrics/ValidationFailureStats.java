@@ -0,0 +1,98 @@
+package hello.itemservice.web.metrics;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.ObjectError;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+//어떤 검증 규칙이 요청을 가장 많이 거절하는지 세는 통계
+//오류 코드는 MessageCodesResolver 가 만든 첫번째(가장 구체적인) 코드를 쓴다
+//예) required.item.itemName, range.item.price, max.item.quantity, totalPriceMin.item, typeMismatch.item.price
+//코드 문자열은 FieldError, ObjectError 가 이미 갖고 있는 것을 그대로 키로 쓰므로 오류 하나를 셀 때 할당이 없다
+//(카운터 객체는 처음 보는 코드일 때 한번만 만들어짐)
+@Component
+public class ValidationFailureStats {
+
+    //ObjectError 는 필드가 없으므로 이 이름으로 묶음
+    public static final String GLOBAL = "global";
+
+    private final ConcurrentHashMap<String, RollingCounter> byCode = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, RollingCounter> byField = new ConcurrentHashMap<>();
+
+    private final int slotCount;
+    private final long slotMillis;
+
+    public ValidationFailureStats(@Value("${metrics.validation.window-slots:30}") int slotCount,
+                                  @Value("${metrics.validation.slot-seconds:10}") long slotSeconds) {
+        this.slotCount = slotCount;
+        this.slotMillis = slotSeconds * 1000;
+    }
+
+    public void record(String code, String field) {
+        long now = System.currentTimeMillis();
+        counter(byCode, code).increment(now);
+        counter(byField, field).increment(now);
+    }
+
+    //BindingResult 에 쌓인 오류를 모두 센다
+    public void record(BindingResult bindingResult) {
+        if (!bindingResult.hasErrors()) {
+            return;
+        }
+        List<ObjectError> errors = bindingResult.getAllErrors();
+        for (int i = 0; i < errors.size(); i++) {
+            ObjectError error = errors.get(i);
+            String[] codes = error.getCodes();
+            //V2 의 addItemV1, V2 처럼 코드 없이 기본 메시지만 넣은 오류는 객체 이름으로 센다
+            String code = codes != null && codes.length > 0 ? codes[0] : error.getObjectName();
+            String field = error instanceof FieldError ? ((FieldError) error).getField() : GLOBAL;
+            record(code, field);
+        }
+    }
+
+    //windowed 가 true 면 최근 구간, false 면 서버 시작 후 누적
+    public Map<String, Long> topCodes(int limit, boolean windowed) {
+        return top(byCode, limit, windowed);
+    }
+
+    public Map<String, Long> topFields(int limit, boolean windowed) {
+        return top(byField, limit, windowed);
+    }
+
+    public long windowSeconds() {
+        return slotCount * slotMillis / 1000;
+    }
+
+    private RollingCounter counter(ConcurrentHashMap<String, RollingCounter> counters, String key) {
+        RollingCounter counter = counters.get(key);
+        if (counter == null) {
+            counter = counters.computeIfAbsent(key, k -> new RollingCounter(slotCount, slotMillis));
+        }
+        return counter;
+    }
+
+    private Map<String, Long> top(ConcurrentHashMap<String, RollingCounter> counters, int limit, boolean windowed) {
+        long now = System.currentTimeMillis();
+        List<Map.Entry<String, Long>> entries = new ArrayList<>();
+        counters.forEach((key, counter) -> {
+            long count = windowed ? counter.windowSum(now) : counter.total();
+            if (count > 0) {
+                entries.add(Map.entry(key, count));
+            }
+        });
+        entries.sort(Map.Entry.<String, Long>comparingByValue().reversed());
+
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (int i = 0; i < entries.size() && i < limit; i++) {
+            result.put(entries.get(i).getKey(), entries.get(i).getValue());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,34 @@
+package hello.itemservice.web.ranking;
+
+import hello.itemservice.domain.ranking.ItemRanking;
+import hello.itemservice.domain.ranking.RankedItem;
+import hello.itemservice.domain.ranking.Ranking;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+//상품 순위, 미리 정렬해둔 순위의 앞부분만 읽으므로 상품 수와 상관없이 limit 에 비례
+//GET /validation/api/items/top/stock-value?limit=100, /validation/api/items/top/cheapest?limit=20
+@RestController
+@RequestMapping("/validation/api/items/top")
+@RequiredArgsConstructor
+public class ItemRankingController {
+
+    private static final int MAX_LIMIT = 100;
+
+    private final ItemRanking itemRanking;
+
+    @GetMapping("/stock-value")
+    public List<RankedItem> stockValue(@RequestParam(defaultValue = "100") int limit) {
+        return itemRanking.top(Ranking.STOCK_VALUE, Math.max(1, Math.min(limit, MAX_LIMIT)));
+    }
+
+    @GetMapping("/cheapest")
+    public List<RankedItem> cheapest(@RequestParam(defaultValue = "20") int limit) {
+        return itemRanking.top(Ranking.CHEAPEST, Math.max(1, Math.min(limit, MAX_LIMIT)));
+    }
+}
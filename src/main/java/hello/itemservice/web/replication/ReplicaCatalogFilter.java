@@ -0,0 +1,36 @@
+package hello.itemservice.web.replication;
+
+import hello.itemservice.domain.catalog.CatalogRegistry;
+import hello.itemservice.domain.replication.ReplicationClient;
+import hello.itemservice.web.catalog.CatalogFilter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * 팔로워에서만, default 가 아닌 카탈로그(/catalogs/{name}/..., X-Catalog) 요청은 읽기, 쓰기 모두 리더로 보낸다 (307)
+ * 복제는 default 카탈로그만 하고 카탈로그 만들기(PUT /admin/catalogs/{name})도 리더에서만 되므로 팔로워에는 그 카탈로그가 없다
+ * CatalogFilter 가 모르는 카탈로그로 404 를 내기 전에 걸러야 하므로 인터셉터(ReplicaInterceptor)가 아니라 그보다 앞의 필터
+ */
+@RequiredArgsConstructor
+public class ReplicaCatalogFilter extends OncePerRequestFilter {
+
+    private final ReplicationClient replicationClient;
+    private final String leaderUrl;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String name = CatalogFilter.catalogName(request);
+        if (name == null || CatalogRegistry.DEFAULT.equals(name)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        ReplicaInterceptor.redirectToLeader(request, response, replicationClient, leaderUrl);
+    }
+}
@@ -0,0 +1,50 @@
+package hello.itemservice.web.replication;
+
+import hello.itemservice.domain.replication.ReplicationClient;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * 팔로워에서만 등록, 리더가 처리해야 하는 요청을 리더 주소로 다시 보낸다 (307, 메서드와 바디를 그대로 다시 보내게)
+ * 1. 쓰기(GET, HEAD, OPTIONS 가 아닌 요청): 팔로워 저장소는 읽기 전용
+ * 2. 읽기라도 팔로워가 max-lag-millis 보다 뒤처졌으면 (처음 동기화 전, 리더와 끊김) 오래된 값을 보여주지 않게
+ * 주소는 원래 요청 URI 그대로라서 /catalogs/{name}/... 도 유지된다
+ */
+@RequiredArgsConstructor
+public class ReplicaInterceptor implements HandlerInterceptor {
+
+    public static final String LAG_HEADER = "X-Replication-Lag";
+
+    private final ReplicationClient replicationClient;
+    private final String leaderUrl;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!isWrite(request) && !replicationClient.isStale()) {
+            return true;
+        }
+        redirectToLeader(request, response, replicationClient, leaderUrl);
+        return false;
+    }
+
+    //ReplicaCatalogFilter 와 같은 응답
+    static void redirectToLeader(HttpServletRequest request, HttpServletResponse response,
+                                 ReplicationClient replicationClient, String leaderUrl) {
+        String location = leaderUrl + request.getRequestURI()
+                + (request.getQueryString() == null ? "" : "?" + request.getQueryString());
+        response.setStatus(HttpStatus.TEMPORARY_REDIRECT.value());
+        response.setHeader(HttpHeaders.LOCATION, location);
+        response.setHeader(LAG_HEADER, String.valueOf(replicationClient.stats().getLagMillis()));
+    }
+
+    private static boolean isWrite(HttpServletRequest request) {
+        String method = request.getMethod();
+        return !HttpMethod.GET.matches(method) && !HttpMethod.HEAD.matches(method) && !HttpMethod.OPTIONS.matches(method);
+    }
+}
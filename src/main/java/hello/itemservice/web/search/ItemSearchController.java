@@ -0,0 +1,26 @@
+package hello.itemservice.web.search;
+
+import hello.itemservice.domain.search.ItemNameIndex;
+import hello.itemservice.domain.search.SearchResult;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+//상품 이름 부분 검색, 이름 전체 일치 > 앞부분 일치 > 일치 위치 순으로 정렬
+//GET /validation/api/items/search?q=item&limit=20
+@RestController
+@RequestMapping("/validation/api/items/search")
+@RequiredArgsConstructor
+public class ItemSearchController {
+
+    private static final int MAX_LIMIT = 100;
+
+    private final ItemNameIndex itemNameIndex;
+
+    @GetMapping
+    public SearchResult search(@RequestParam("q") String query, @RequestParam(defaultValue = "20") int limit) {
+        return itemNameIndex.search(query, Math.max(1, Math.min(limit, MAX_LIMIT)));
+    }
+}
@@ -0,0 +1,92 @@
+package hello.itemservice.web.stock;
+
+import hello.itemservice.domain.stock.StockLedger;
+import hello.itemservice.domain.stock.StockLevel;
+import hello.itemservice.web.catalog.CatalogItemRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 재고 예약 API, 주문(결제)에서 수량을 예약하고 취소되면 반환
+ * 수정 폼처럼 수량을 덮어쓰지 않고 StockLedger 로 원자적으로 더하고 빼며, 음수가 되는 요청은 409 로 거절
+ * 예약은 저장소 수량을 줄이지 않고 따로 세므로 수정 폼, 내보내기 등에는 실제 재고가 그대로 보인다
+ * 예약된 것보다 많이 반환하는 요청도 409
+ * 응답은 현재 재고(StockLevel), 검증 오류는 400 과 오류 목록, 없는 상품은 404
+ */
+@Slf4j
+@RestController
+@RequestMapping("/validation/api/items/{itemId}/stock")
+@RequiredArgsConstructor
+public class ItemStockController {
+
+    private final CatalogItemRepository catalogItemRepository;
+
+    @GetMapping
+    public ResponseEntity<StockLevel> stock(@PathVariable Long itemId) {
+        StockLevel level = ledger().level(itemId);
+        return level == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(level);
+    }
+
+    @PostMapping("/reserve")
+    public ResponseEntity<Object> reserve(@PathVariable Long itemId, @RequestBody @Validated StockForm form,
+                                          BindingResult bindingResult) {
+        if (bindingResult.hasErrors()) {
+            return ResponseEntity.badRequest().body(bindingResult.getAllErrors());
+        }
+        StockLedger ledger = ledger();
+        if (ledger.level(itemId) == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return result(ledger, itemId, ledger.reserve(itemId, form.getQuantity()));
+    }
+
+    @PostMapping("/release")
+    public ResponseEntity<Object> release(@PathVariable Long itemId, @RequestBody @Validated StockForm form,
+                                          BindingResult bindingResult) {
+        if (bindingResult.hasErrors()) {
+            return ResponseEntity.badRequest().body(bindingResult.getAllErrors());
+        }
+        StockLedger ledger = ledger();
+        if (ledger.level(itemId) == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return result(ledger, itemId, ledger.release(itemId, form.getQuantity()));
+    }
+
+    @PostMapping("/adjust")
+    public ResponseEntity<Object> adjust(@PathVariable Long itemId, @RequestBody @Validated StockAdjustForm form,
+                                         BindingResult bindingResult) {
+        if (bindingResult.hasErrors()) {
+            return ResponseEntity.badRequest().body(bindingResult.getAllErrors());
+        }
+        StockLedger ledger = ledger();
+        if (ledger.level(itemId) == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return result(ledger, itemId, ledger.adjust(itemId, form.getDelta()));
+    }
+
+    private ResponseEntity<Object> result(StockLedger ledger, Long itemId, boolean applied) {
+        StockLevel level = ledger.level(itemId);
+        if (!applied) {
+            log.info("재고 부족 또는 반환 초과 itemId={} available={} reserved={}",
+                    itemId, level.getAvailable(), level.getReserved());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(level);
+        }
+        return ResponseEntity.ok(level);
+    }
+
+    private StockLedger ledger() {
+        return catalogItemRepository.currentCatalog().getStock();
+    }
+}
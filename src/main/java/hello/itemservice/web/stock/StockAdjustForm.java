@@ -0,0 +1,17 @@
+package hello.itemservice.web.stock;
+
+import lombok.Data;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+//입고(+), 폐기(-) 수량
+@Data
+public class StockAdjustForm {
+
+    @NotNull
+    @Min(-9999)
+    @Max(9999)
+    private Integer delta;
+}
@@ -0,0 +1,17 @@
+package hello.itemservice.web.stock;
+
+import lombok.Data;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+//예약, 반환 수량
+@Data
+public class StockForm {
+
+    @NotNull
+    @Min(1)
+    @Max(9999)
+    private Integer quantity;
+}
@@ -0,0 +1,65 @@
+package hello.itemservice.web.support;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 서버 간 호출용 바이너리 인코딩, Content-Type / Accept 가
+ * application/cbor 이면 CBOR, application/x-jackson-smile 이면 Smile 로 요청 바디를 읽고 응답(검증 오류 목록 포함)을 쓴다
+ * 같은 Jackson 데이터 모델이라 DTO, 오류 응답 형태는 JSON 과 똑같고 텍스트 파싱, 숫자 포맷, 이스케이프만 없어짐
+ *
+ * 스프링 부트의 Jackson2ObjectMapperBuilder(prototype) 로 만들어서 spring.jackson.* 설정이 JSON 과 똑같이 적용된다
+ * 스프링 MVC 기본 컨버터 목록의 같은 타입 자리를 대신하므로 Accept 가 없거나 모든 타입을 받으면 지금처럼 JSON
+ *
+ * binary-format.enabled=false 이면 기본 컨버터 목록에서도 CBOR, Smile 을 뺀다
+ * (jackson-dataformat-cbor, smile 이 클래스패스에 있으면 스프링 MVC 가 기본으로 넣기 때문)
+ * 그러면 바이너리 바디는 415, 바이너리 Accept 는 406
+ */
+@Configuration
+public class BinaryFormatConfig {
+
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+    public static final MediaType APPLICATION_SMILE = MediaType.valueOf(APPLICATION_SMILE_VALUE);
+
+    @Bean
+    @ConditionalOnProperty(name = "binary-format.enabled", havingValue = "true", matchIfMissing = true)
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "binary-format.enabled", havingValue = "true", matchIfMissing = true)
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    /**
+     * 스프링 부트 HttpMessageConvertersAutoConfiguration 의 빈을 대신함 (같은 방법으로 만들고 바이너리만 뺀다)
+     * MVC 의 요청/응답, 비동기 API, 중복 요청 재응답(IdempotencyInterceptor) 모두 이 목록을 쓴다
+     */
+    @Bean
+    @ConditionalOnProperty(name = "binary-format.enabled", havingValue = "false")
+    public HttpMessageConverters jsonOnlyHttpMessageConverters(ObjectProvider<HttpMessageConverter<?>> converters) {
+        return new HttpMessageConverters(converters.orderedStream().collect(Collectors.toList())) {
+            @Override
+            protected List<HttpMessageConverter<?>> postProcessConverters(List<HttpMessageConverter<?>> converters) {
+                converters.removeIf(converter -> converter instanceof MappingJackson2CborHttpMessageConverter
+                        || converter instanceof MappingJackson2SmileHttpMessageConverter);
+                return converters;
+            }
+        };
+    }
+}
@@ -0,0 +1,78 @@
+package hello.itemservice.web.support;
+
+import org.springframework.validation.BindingResult;
+import org.springframework.web.bind.WebDataBinder;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.InitBinder;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+//모든 컨트롤러의 WebDataBinder 가 만들어질 때 BindingResult 를 요청 속성에 모아두는 @ControllerAdvice
+//@ModelAttribute 든 @RequestBody 든 바인딩, 검증 결과는 binder 의 BindingResult 에 쌓이므로
+//인터셉터의 afterCompletion 에서 검증 오류가 있었는지 알 수 있다
+//@RestController 는 ModelAndView 가 없어서 postHandle 에서 모델을 볼 수 없기 때문에 이 방법을 사용
+@ControllerAdvice
+public class BindingResultCollector {
+
+    private static final String ATTRIBUTE = BindingResultCollector.class.getName() + ".RESULTS";
+    private static final String DEFERRED_ATTRIBUTE = BindingResultCollector.class.getName() + ".DEFERRED";
+
+    @InitBinder
+    public void collect(WebDataBinder dataBinder, HttpServletRequest request) {
+        //@PathVariable 같은 단순 타입 변환용 binder 는 target 이 없음
+        if (dataBinder.getTarget() == null) {
+            return;
+        }
+        results(request).add(dataBinder.getBindingResult());
+    }
+
+    //binder 없이 직접 만든 BindingResult (부분 수정 등)도 같이 집계되도록
+    public static void add(HttpServletRequest request, BindingResult bindingResult) {
+        results(request).add(bindingResult);
+    }
+
+    //비동기 작업 스레드에서 검증한 결과용 자리, 요청 스레드에서 만들어서 작업 스레드에 넘긴다
+    //작업 스레드는 요청 객체를 건드리지 않고 (타임아웃 뒤에는 재사용될 수 있음) 이 자리에만 넣고
+    //재디스패치(요청 스레드)에서 getBindingResults 가 요청 속성으로 옮겨 담는다
+    public static AtomicReference<BindingResult> defer(HttpServletRequest request) {
+        AtomicReference<BindingResult> deferred = new AtomicReference<>();
+        request.setAttribute(DEFERRED_ATTRIBUTE, deferred);
+        return deferred;
+    }
+
+    //요청 중에 모인 BindingResult, 없으면 빈 리스트
+    @SuppressWarnings("unchecked")
+    public static List<BindingResult> getBindingResults(HttpServletRequest request) {
+        Object deferred = request.getAttribute(DEFERRED_ATTRIBUTE);
+        if (deferred != null) {
+            BindingResult bindingResult = ((AtomicReference<BindingResult>) deferred).getAndSet(null);
+            if (bindingResult != null) {
+                add(request, bindingResult);
+            }
+        }
+        Object results = request.getAttribute(ATTRIBUTE);
+        return results == null ? List.of() : (List<BindingResult>) results;
+    }
+
+    public static boolean hasErrors(HttpServletRequest request) {
+        for (BindingResult bindingResult : getBindingResults(request)) {
+            if (bindingResult.hasErrors()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<BindingResult> results(HttpServletRequest request) {
+        Object results = request.getAttribute(ATTRIBUTE);
+        if (results == null) {
+            results = new ArrayList<BindingResult>(2);
+            request.setAttribute(ATTRIBUTE, results);
+        }
+        return (List<BindingResult>) results;
+    }
+}
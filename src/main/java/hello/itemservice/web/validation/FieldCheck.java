@@ -0,0 +1,26 @@
+package hello.itemservice.web.validation;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+
+//필드 하나 검증 결과, 통과하면 {"valid":true} 만
+@Getter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class FieldCheck {
+
+    public static final FieldCheck VALID = new FieldCheck(true, null, null);
+
+    private final boolean valid;
+    private final String code;
+    private final String message;
+
+    private FieldCheck(boolean valid, String code, String message) {
+        this.valid = valid;
+        this.code = code;
+        this.message = message;
+    }
+
+    public static FieldCheck invalid(String code, String message) {
+        return new FieldCheck(false, code, message);
+    }
+}
@@ -0,0 +1,155 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import hello.itemservice.web.validation.form.ItemUpdateForm;
+import org.springframework.context.MessageSource;
+import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.DefaultMessageCodesResolver;
+import org.springframework.validation.MessageCodesResolver;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import javax.validation.metadata.ConstraintDescriptor;
+import javax.validation.metadata.PropertyDescriptor;
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * 입력 중인 값 하나를 폼 필드의 제약조건으로 검증 (등록, 수정 화면의 실시간 오류 표시용)
+ *
+ * 폼 객체를 만들지 않고 Validator.validateValue 로 값만 검사하고, BindingResult 도 쓰지 않는다
+ * 메시지 코드와 인자는 @Validated + th:errors 와 같은 결과가 나오도록 SpringValidatorAdapter 와 같은 방식으로
+ * 시작할 때 필드, 제약조건마다 미리 만들어 둔다
+ * 코드: NotBlank.item.itemName, NotBlank.itemName, NotBlank.java.lang.String, NotBlank
+ * 인자: {0} 필드 이름, 그 뒤로 애노테이션 속성을 이름순으로 (Range 면 {1} max, {2} min)
+ */
+@Component
+public class FieldValidator {
+
+    private static final String OBJECT_NAME = "item";
+    private static final Object TYPE_MISMATCH = new Object();
+
+    private final Validator validator;
+    private final MessageSource messageSource;
+    //"save.price" -> 필드 정보
+    private final Map<String, FieldSpec> fields = new HashMap<>();
+
+    public FieldValidator(Validator validator, MessageSource messageSource) {
+        this.validator = validator;
+        this.messageSource = messageSource;
+        MessageCodesResolver codesResolver = new DefaultMessageCodesResolver();
+        register("save", ItemSaveForm.class, codesResolver);
+        register("update", ItemUpdateForm.class, codesResolver);
+    }
+
+    //알 수 없는 폼, 필드면 null
+    public FieldCheck validate(String form, String field, String rawValue, Locale locale) {
+        FieldSpec spec = fields.get(form + "." + field);
+        if (spec == null) {
+            return null;
+        }
+
+        Object value;
+        if (spec.type == Integer.class) {
+            value = parseInteger(rawValue);
+            if (value == TYPE_MISMATCH) {
+                return FieldCheck.invalid("typeMismatch", resolve(spec.typeMismatch, locale));
+            }
+        } else {
+            value = rawValue;
+        }
+
+        Set<? extends ConstraintViolation<?>> violations = validator.validateValue(spec.formClass, field, value);
+        if (violations.isEmpty()) {
+            return FieldCheck.VALID;
+        }
+        ConstraintViolation<?> violation = violations.iterator().next();
+        Class<? extends Annotation> constraint = violation.getConstraintDescriptor().getAnnotation().annotationType();
+        DefaultMessageSourceResolvable resolvable = spec.constraints.get(constraint);
+        String message = resolvable == null ? violation.getMessage()
+                : resolve(new DefaultMessageSourceResolvable(resolvable.getCodes(), resolvable.getArguments(),
+                violation.getMessage()), locale);
+        return FieldCheck.invalid(constraint.getSimpleName(), message);
+    }
+
+    private String resolve(DefaultMessageSourceResolvable resolvable, Locale locale) {
+        return messageSource.getMessage(resolvable, locale);
+    }
+
+    //id 는 화면에서 입력하지 않으므로 제외
+    private void register(String form, Class<?> formClass, MessageCodesResolver codesResolver) {
+        for (String field : new String[]{"itemName", "price", "quantity"}) {
+            Class<?> type = field.equals("itemName") ? String.class : Integer.class;
+            //제약조건이 없는 필드(수정 폼의 quantity)는 null, 타입 오류만 검사
+            PropertyDescriptor property = validator.getConstraintsForClass(formClass).getConstraintsForProperty(field);
+            registerField(form, formClass, field, type, property, codesResolver);
+        }
+    }
+
+    private void registerField(String form, Class<?> formClass, String field, Class<?> type,
+                               PropertyDescriptor property, MessageCodesResolver codesResolver) {
+        DefaultMessageSourceResolvable fieldName = new DefaultMessageSourceResolvable(
+                new String[]{OBJECT_NAME + "." + field, field}, field);
+
+        Map<Class<? extends Annotation>, DefaultMessageSourceResolvable> constraints = new HashMap<>();
+        if (property != null) {
+            for (ConstraintDescriptor<?> descriptor : property.getConstraintDescriptors()) {
+                Class<? extends Annotation> annotation = descriptor.getAnnotation().annotationType();
+                String[] codes = codesResolver.resolveMessageCodes(annotation.getSimpleName(), OBJECT_NAME, field, type);
+                constraints.put(annotation, new DefaultMessageSourceResolvable(codes, arguments(fieldName, descriptor)));
+            }
+        }
+        DefaultMessageSourceResolvable typeMismatch = new DefaultMessageSourceResolvable(
+                codesResolver.resolveMessageCodes("typeMismatch", OBJECT_NAME, field, type),
+                new Object[]{fieldName}, "타입 오류입니다.");
+
+        fields.put(form + "." + field, new FieldSpec(formClass, type, constraints, typeMismatch));
+    }
+
+    //SpringValidatorAdapter.getArgumentsForConstraint 와 같은 순서
+    private static Object[] arguments(DefaultMessageSourceResolvable fieldName, ConstraintDescriptor<?> descriptor) {
+        List<Object> arguments = new ArrayList<>();
+        arguments.add(fieldName);
+        Map<String, Object> attributes = new TreeMap<>(descriptor.getAttributes());
+        attributes.remove("message");
+        attributes.remove("groups");
+        attributes.remove("payload");
+        arguments.addAll(attributes.values());
+        return arguments.toArray();
+    }
+
+    //빈 값은 WebDataBinder 처럼 null, 숫자가 아니면 TYPE_MISMATCH
+    private static Object parseInteger(String rawValue) {
+        if (rawValue == null || rawValue.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(rawValue.trim());
+        } catch (NumberFormatException e) {
+            return TYPE_MISMATCH;
+        }
+    }
+
+    private static final class FieldSpec {
+        private final Class<?> formClass;
+        private final Class<?> type;
+        private final Map<Class<? extends Annotation>, DefaultMessageSourceResolvable> constraints;
+        private final DefaultMessageSourceResolvable typeMismatch;
+
+        private FieldSpec(Class<?> formClass, Class<?> type,
+                          Map<Class<? extends Annotation>, DefaultMessageSourceResolvable> constraints,
+                          DefaultMessageSourceResolvable typeMismatch) {
+            this.formClass = formClass;
+            this.type = type;
+            this.constraints = constraints;
+            this.typeMismatch = typeMismatch;
+        }
+    }
+}
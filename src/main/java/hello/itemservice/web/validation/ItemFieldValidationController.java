@@ -0,0 +1,35 @@
+package hello.itemservice.web.validation;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Locale;
+
+/**
+ * 입력 중인 필드 하나만 검증, 등록(save), 수정(update) 화면의 실시간 오류 표시에서 호출
+ * GET /validation/api/items/fields/save/price?value=100
+ * -> {"valid":false,"code":"Range","message":"price, 1000 ~ 1000000 허용"}
+ * 가격 * 수량 같은 복합 룰은 등록, 수정할 때 확인
+ */
+@RestController
+@RequestMapping("/validation/api/items/fields")
+@RequiredArgsConstructor
+public class ItemFieldValidationController {
+
+    private final FieldValidator fieldValidator;
+
+    @GetMapping("/{form}/{field}")
+    public ResponseEntity<FieldCheck> validate(@PathVariable String form, @PathVariable String field,
+                                               @RequestParam(required = false) String value, Locale locale) {
+        FieldCheck check = fieldValidator.validate(form, field, value, locale);
+        if (check == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(check);
+    }
+}
@@ -0,0 +1,126 @@
+package hello.itemservice.web.validation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.web.catalog.CatalogItemRepository;
+import hello.itemservice.web.validation.form.ItemUpdateForm;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * 부분 수정(JSON merge patch), 요청에 들어있는 필드만 바꾸고 그 필드만 검증한다
+ * 가격만 바꾸는 요청이면 price 의 @NotNull, @Range 만 확인하고 itemName 은 보지 않음
+ * totalPriceMin(가격 * 수량) 은 price 나 quantity 가 바뀔 때만, 저장소 잠금 안에서 현재 값과 합쳐서 확인
+ *
+ * 오류 코드는 ItemUpdateForm 을 @Validated 로 검증할 때와 같다 (objectName = item)
+ * null 은 값 삭제가 아니라 잘못된 값, 세 필드 모두 null 로 바꿀 수 없음
+ */
+@Component
+@RequiredArgsConstructor
+public class ItemPatcher {
+
+    private static final Set<String> PATCHABLE = Set.of("itemName", "price", "quantity");
+
+    @Qualifier(CatalogItemRepository.BEAN_NAME)
+    private final ItemRepository itemRepository;
+    private final PartialValidator partialValidator;
+
+    public PatchResult patch(Long itemId, ObjectNode patch) {
+        ItemUpdateForm form = new ItemUpdateForm();
+        form.setId(itemId);
+        BindingResult bindingResult = new BeanPropertyBindingResult(form, "item");
+
+        List<String> changed = new ArrayList<>(3);
+        Iterator<Map.Entry<String, JsonNode>> fields = patch.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            String name = field.getKey();
+            if (!PATCHABLE.contains(name)) {
+                bindingResult.reject("notPatchable", new Object[]{name}, "수정할 수 없는 필드입니다: " + name);
+            } else if (!setField(form, name, field.getValue())) {
+                //바인딩 실패처럼 typeMismatch.item.price ... 코드 사용
+                bindingResult.addError(new FieldError("item", name, field.getValue().toString(), true,
+                        bindingResult.resolveMessageCodes("typeMismatch", name), null, null));
+            } else {
+                changed.add(name);
+            }
+        }
+
+        partialValidator.validateProperties(form, changed, bindingResult);
+        if (changed.contains("quantity") && form.getQuantity() == null) {
+            bindingResult.rejectValue("quantity", "NotNull", "수량은 비울 수 없습니다.");
+        }
+        if (bindingResult.hasErrors()) {
+            return new PatchResult(bindingResult, null);
+        }
+
+        Item changes = new Item(form.getItemName(), form.getPrice(), form.getQuantity());
+        long[] resultPrice = new long[1];
+        Predicate<Item> totalPriceMin = null;
+        if (changed.contains("price") || changed.contains("quantity")) {
+            totalPriceMin = merged -> {
+                if (merged.getPrice() == null || merged.getQuantity() == null) {
+                    return true;
+                }
+                resultPrice[0] = (long) merged.getPrice() * merged.getQuantity();
+                return resultPrice[0] >= 10000;
+            };
+        }
+
+        Item updated = itemRepository.patch(itemId, changes, totalPriceMin);
+        if (updated == null) {
+            bindingResult.reject("totalPriceMin", new Object[]{10000, resultPrice[0]}, null);
+        }
+        return new PatchResult(bindingResult, updated);
+    }
+
+    //json 값의 타입이 맞으면 폼에 넣고 true
+    private static boolean setField(ItemUpdateForm form, String name, JsonNode value) {
+        if (value.isNull()) {
+            return true;
+        }
+        if (name.equals("itemName")) {
+            if (!value.isTextual()) {
+                return false;
+            }
+            form.setItemName(value.textValue());
+            return true;
+        }
+        if (!value.isIntegralNumber() || !value.canConvertToInt()) {
+            return false;
+        }
+        if (name.equals("price")) {
+            form.setPrice(value.intValue());
+        } else {
+            form.setQuantity(value.intValue());
+        }
+        return true;
+    }
+
+    //item 은 적용된 상품, 검증 실패면 null
+    @Getter
+    public static class PatchResult {
+
+        private final BindingResult bindingResult;
+        private final Item item;
+
+        PatchResult(BindingResult bindingResult, Item item) {
+            this.bindingResult = bindingResult;
+            this.item = item;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package hello.itemservice.web.validation;
+
+import org.springframework.stereotype.Component;
+import org.springframework.validation.Errors;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * 객체 전체가 아니라 지정한 프로퍼티의 제약조건만 검사 (Bean Validation 의 validateProperty)
+ * 오류 코드(NotBlank.item.itemName ...)와 인자는 SpringValidatorAdapter 가 만들기 때문에 @Validated 와 같고
+ * errors.properties 메시지도 그대로 쓸 수 있다
+ *
+ * SpringValidatorAdapter 를 빈으로 등록하면 javax.validation.Validator 빈이 두개가 되어
+ * 스프링 부트 기본 Validator 설정이 빠지므로 안쪽 클래스로 감싼다
+ */
+@Component
+public class PartialValidator {
+
+    private final Adapter adapter;
+
+    public PartialValidator(Validator validator) {
+        this.adapter = new Adapter(validator);
+    }
+
+    public void validateProperties(Object target, Collection<String> properties, Errors errors, Class<?>... groups) {
+        Set<ConstraintViolation<Object>> violations = new LinkedHashSet<>();
+        for (String property : properties) {
+            violations.addAll(adapter.validateProperty(target, property, groups));
+        }
+        adapter.process(violations, errors);
+    }
+
+    private static class Adapter extends SpringValidatorAdapter {
+
+        Adapter(Validator targetValidator) {
+            super(targetValidator);
+        }
+
+        void process(Set<ConstraintViolation<Object>> violations, Errors errors) {
+            processConstraintViolations(violations, errors);
+        }
+    }
+}
@@ -1,11 +1,23 @@
 package hello.itemservice.web.validation;
 
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.web.catalog.CatalogItemRepository;
+import hello.itemservice.web.idempotency.IdempotencyInterceptor;
+import hello.itemservice.web.idempotency.IdempotencyKeyStore;
+import hello.itemservice.web.support.BindingResultCollector;
 import hello.itemservice.web.validation.form.ItemSaveForm;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletRequest;
+
 /**
  * API로 json 이동할때 Bean Validation 어떻게 사용하는지 설명하는 클래스
  *
@@ -31,8 +43,14 @@ import org.springframework.web.bind.annotation.*;
 //반환값이 논리경로가 아닌 json객체로 바뀌어 화면에 뿌려주는
 @RestController
 @RequestMapping("/validation/api/items")
+@RequiredArgsConstructor
 public class ValidationItemApiController {
 
+    private final IdempotencyKeyStore idempotencyKeyStore;
+    @Qualifier(CatalogItemRepository.BEAN_NAME)
+    private final ItemRepository itemRepository;
+    private final ItemPatcher itemPatcher;
+
     @PostMapping("/add")
     /**
      * @ModelAttribute가 아닌 @RequestBody API json 형식으로 받음
@@ -49,8 +67,13 @@ public class ValidationItemApiController {
      * 검증 오류 요청: JSON을 객체로 생성하는 것은 성공했고, 검증에서 실패함
      * 검증 오류 요청은 타입변환이 아닌 수량이 넘었을때, 는 HttpMessageConverter 는 성공하지만 검증(Validator)에서 오류가 발생
      * json을 객체로 만드는건 성공해 컨트롤러는 호출되지만 @Validated를 하는데 검증오류가 생겨 BindingResult애 들어감
+     *
+     * Idempotency-Key 헤더가 있으면 성공 결과(바디)를 기록해두고, 같은 키의 재요청은 인터셉터가 바로 응답
+     *
+     * 변환, 검증, 저장이 모두 톰캣 스레드에서 실행된다, 저장소가 느릴 때는 비동기 버전(AsyncItemApiController) 사용
      */
-    public Object addItem(@RequestBody @Validated ItemSaveForm form, BindingResult bindingResult) {
+    public Object addItem(@RequestBody @Validated ItemSaveForm form, BindingResult bindingResult,
+                          @RequestAttribute(value = IdempotencyInterceptor.KEY_ATTRIBUTE, required = false) String idempotencyKey) {
 
         log.info("API 컨트롤러 호출");
 
@@ -68,6 +91,34 @@ public class ValidationItemApiController {
         }
 
         log.info("성공 로직 실행");
-        return form;
+        Item item = itemRepository.save(new Item(form.getItemName(), form.getPrice(), form.getQuantity()));
+        if (idempotencyKey != null) {
+            idempotencyKeyStore.complete(idempotencyKey, item);
+        }
+        return item;
+    }
+
+    /**
+     * 부분 수정, 가격만 자주 바꾸는 가격 조정 시스템용
+     * 수정 폼(V4 edit)은 모든 필드를 다시 바인딩, 검증하고 세 필드를 전부 덮어쓰지만
+     * 여기서는 {"price": 12000} 처럼 보낸 필드만 검증해서 그 필드만 바꾼다
+     * 검증 오류는 400 과 함께 addItem 과 같은 오류 목록으로 응답
+     * 받는 바디 형식은 컨버터 목록이 정한다, JSON(application/merge-patch+json 포함)과
+     * binary-format.enabled 일 때 서버 간 호출용 CBOR, Smile (BinaryFormatConfig), 그 밖은 415
+     */
+    @PatchMapping("/{itemId}")
+    public ResponseEntity<Object> patchItem(@PathVariable Long itemId, @RequestBody ObjectNode patch,
+                                            HttpServletRequest request) {
+        if (itemRepository.findById(itemId) == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        ItemPatcher.PatchResult result = itemPatcher.patch(itemId, patch);
+        BindingResultCollector.add(request, result.getBindingResult());
+        if (result.getBindingResult().hasErrors()) {
+            log.info("부분 수정 검증 오류 errors={}", result.getBindingResult());
+            return ResponseEntity.badRequest().body(result.getBindingResult().getAllErrors());
+        }
+        return ResponseEntity.ok(result.getItem());
     }
 }
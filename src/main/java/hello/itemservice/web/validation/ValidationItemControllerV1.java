@@ -2,8 +2,11 @@ package hello.itemservice.web.validation;
 
 import hello.itemservice.domain.item.Item;
 import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.web.catalog.CatalogItemRepository;
+import hello.itemservice.web.metrics.ValidationFailureStats;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.util.StringUtils;
@@ -24,7 +27,10 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class ValidationItemControllerV1 {
 
+    @Qualifier(CatalogItemRepository.BEAN_NAME)
     private final ItemRepository itemRepository;
+    //Map 으로 직접 검증하므로 BindingResult 가 없어 실패 통계도 직접 남긴다, 코드는 errors.properties 코드와 맞춤
+    private final ValidationFailureStats validationFailureStats;
 
     @GetMapping
     public String items(Model model) {
@@ -63,16 +69,19 @@ public class ValidationItemControllerV1 {
         //상품이름칸에 글자가 없다면
         if (!StringUtils.hasText(item.getItemName())) {
             errors.put("itemName", "상품 이름은 필수입니다.");
+            validationFailureStats.record("required.item.itemName", "itemName");
         }
 
         //상품가격이 없거나 1000보다 작거나 1000000보다 크면
         if (item.getPrice() == null || item.getPrice() < 1000 || item.getPrice() > 1000000) {
             errors.put("price", "가격은 1,000 ~ 1,000,000 까지 허용합니다.");
+            validationFailureStats.record("range.item.price", "price");
         }
 
         //상품수량이 없거나 9999개 넘으면
         if (item.getQuantity() == null || item.getQuantity() >= 9999) {
             errors.put("quantity", "수량은 최대 9,999 까지 허용합니다.");
+            validationFailureStats.record("max.item.quantity", "quantity");
         }
 
         //특정 필드가 아닌 복합 룰 검증
@@ -83,6 +92,7 @@ public class ValidationItemControllerV1 {
 
             if (resultPrice < 10000) {
                 errors.put("globalError", "가격 * 수량의 합은 10,000원 이상이어야 합니다. 현재 값 = " + resultPrice);
+                validationFailureStats.record("totalPriceMin.item", ValidationFailureStats.GLOBAL);
             }
         }
 
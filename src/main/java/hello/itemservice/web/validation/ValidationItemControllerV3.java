@@ -4,8 +4,10 @@ import hello.itemservice.domain.item.Item;
 import hello.itemservice.domain.item.ItemRepository;
 import hello.itemservice.domain.item.SaveCheck;
 import hello.itemservice.domain.item.UpdateCheck;
+import hello.itemservice.web.catalog.CatalogItemRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -35,6 +37,7 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ValidationItemControllerV3 {
 
+    @Qualifier(CatalogItemRepository.BEAN_NAME)
     private final ItemRepository itemRepository;
 
     @GetMapping
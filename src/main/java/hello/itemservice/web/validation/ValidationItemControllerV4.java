@@ -4,10 +4,15 @@ import hello.itemservice.domain.item.Item;
 import hello.itemservice.domain.item.ItemRepository;
 import hello.itemservice.domain.item.SaveCheck;
 import hello.itemservice.domain.item.UpdateCheck;
+import hello.itemservice.web.catalog.CatalogItemRepository;
+import hello.itemservice.web.idempotency.IdempotencyInterceptor;
+import hello.itemservice.web.idempotency.IdempotencyKeyStore;
+import hello.itemservice.web.idempotency.IdempotentRedirect;
 import hello.itemservice.web.validation.form.ItemSaveForm;
 import hello.itemservice.web.validation.form.ItemUpdateForm;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -16,6 +21,7 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.util.List;
+import java.util.UUID;
 
 //Form 전송 객체 분리
 //실무에서는 groups 를 잘 사용하지 않는데, 그 이유가 다른 곳에 있다. 바로 등록시 폼에서 전달하는
@@ -59,7 +65,9 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ValidationItemControllerV4 {
 
+    @Qualifier(CatalogItemRepository.BEAN_NAME)
     private final ItemRepository itemRepository;
+    private final IdempotencyKeyStore idempotencyKeyStore;
 
     @GetMapping
     public String items(Model model) {
@@ -78,6 +86,8 @@ public class ValidationItemControllerV4 {
     @GetMapping("/add")
     public String addForm(Model model) {
         model.addAttribute("item", new Item());
+        //폼을 열 때마다 새 토큰, 같은 폼을 두번 전송하면 같은 토큰이 넘어와서 중복 저장을 막을 수 있음
+        model.addAttribute("idempotencyKey", UUID.randomUUID().toString());
 
         return "validation/v4/addForm";
     }
@@ -88,8 +98,11 @@ public class ValidationItemControllerV4 {
     //데이터를 보내는 이름을 지정, 그래야 타임리프로 꺼낼때 item으로 꺼낼 수 있음, th:object="${item}"
     //ItemSaveForm 필드들에 값이 들오고 모델에 담겨 html에 넘아감
     //어차피 form으로 전송하면 그 안의 input태그 값이  input태그 nmae에 맞는 클래스 객체 필드에 들어가므로
+    //IdempotencyInterceptor 가 키를 등록했으면 요청 속성으로 넘어옴, 이미 처리된 키면 여기까지 오지도 않는다
     @PostMapping("/add")
-    public String addItem(@Validated @ModelAttribute("item") ItemSaveForm form, BindingResult bindingResult, RedirectAttributes redirectAttributes) {
+    public String addItem(@Validated @ModelAttribute("item") ItemSaveForm form, BindingResult bindingResult, RedirectAttributes redirectAttributes,
+                          @RequestAttribute(value = IdempotencyInterceptor.KEY_ATTRIBUTE, required = false) String idempotencyKey,
+                          Model model) {
 
         //특정 필드가 아닌 복합 룰 검증
         if (form.getPrice() != null && form.getQuantity() != null) {
@@ -103,6 +116,8 @@ public class ValidationItemControllerV4 {
         //검증에 실패하면 다시 입력 폼으로
         if (bindingResult.hasErrors()) {
             log.info("errors={} ", bindingResult);
+            //다시 보여주는 폼에도 같은 토큰을 넣어둔다, 검증 실패한 키는 인터셉터가 풀어주므로 재전송 가능
+            model.addAttribute("idempotencyKey", idempotencyKey);
 
             return "validation/v4/addForm";
         }
@@ -118,6 +133,11 @@ public class ValidationItemControllerV4 {
         redirectAttributes.addAttribute("itemId", savedItem.getId());
         redirectAttributes.addAttribute("status", true);
 
+        if (idempotencyKey != null) {
+            idempotencyKeyStore.complete(idempotencyKey,
+                    new IdempotentRedirect("/validation/v4/items/" + savedItem.getId() + "?status=true"));
+        }
+
         return "redirect:/validation/v4/items/{itemId}";
     }
 
@@ -0,0 +1,42 @@
+// 입력하는 동안 필드 하나씩 서버에 검증 요청해서 오류 메시지 표시
+// form[data-live-validation] 의 값이 검증 URL (/validation/api/items/fields/save 등)
+// 서버 검증(th:errors)을 대신하지 않는다, 저장할 때 전체 검증은 그대로
+(function () {
+    var form = document.querySelector('form[data-live-validation]');
+    if (!form) {
+        return;
+    }
+    var baseUrl = form.getAttribute('data-live-validation');
+
+    document.querySelectorAll('[data-live-error]').forEach(function (errorDiv) {
+        var field = errorDiv.getAttribute('data-live-error');
+        var input = document.getElementById(field);
+        var timer = null;
+        var latest = 0;
+
+        input.addEventListener('input', function () {
+            clearTimeout(timer);
+            timer = setTimeout(function () {
+                var requestNo = ++latest;
+                fetch(baseUrl + '/' + field + '?value=' + encodeURIComponent(input.value))
+                    .then(function (response) { return response.json(); })
+                    .then(function (check) {
+                        // 늦게 도착한 이전 응답은 무시
+                        if (requestNo !== latest) {
+                            return;
+                        }
+                        errorDiv.textContent = check.valid ? '' : check.message;
+                        input.classList.toggle('field-error', !check.valid);
+                        // 서버에서 렌더링한 이전 오류 메시지는 입력을 시작하면 숨김
+                        var serverError = errorDiv.previousElementSibling;
+                        if (serverError && serverError !== input && serverError.classList.contains('field-error')) {
+                            serverError.style.display = 'none';
+                        }
+                    })
+                    .catch(function () {
+                        // 실시간 검증 실패는 무시, 저장할 때 서버에서 검증
+                    });
+            }, 150);
+        });
+    });
+})();
@@ -0,0 +1,64 @@
+package hello.itemservice.domain.catalog;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.MemoryItemRepository;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CatalogRegistryTest {
+
+    CatalogRegistry catalogRegistry = new CatalogRegistry(new MemoryItemRepository(), 3);
+
+    @Test
+    void catalogsAreIsolated() {
+        //given
+        Catalog shopA = catalogRegistry.create("shop-a");
+        Catalog shopB = catalogRegistry.create("shop-b");
+
+        //when
+        Item itemA = shopA.getRepository().save(new Item("itemA", 10000, 10));
+        Item itemB = shopB.getRepository().save(new Item("itemB", 20000, 20));
+
+        //then
+        assertThat(itemA.getId()).isEqualTo(1L);
+        assertThat(itemB.getId()).isEqualTo(1L);
+        assertThat(shopA.getRepository().findById(1L).getItemName()).isEqualTo("itemA");
+        assertThat(shopB.getRepository().findById(1L).getItemName()).isEqualTo("itemB");
+        assertThat(catalogRegistry.getDefault().getRepository().count()).isZero();
+        assertThat(shopA.stats().getSaves()).isEqualTo(1);
+    }
+
+    @Test
+    void createIsIdempotent() {
+        assertThat(catalogRegistry.create("shop-a")).isSameAs(catalogRegistry.create("shop-a"));
+    }
+
+    @Test
+    void drop() {
+        //given
+        Catalog shopA = catalogRegistry.create("shop-a");
+        shopA.getRepository().save(new Item("itemA", 10000, 10));
+
+        //when
+        boolean dropped = catalogRegistry.drop("shop-a");
+
+        //then
+        assertThat(dropped).isTrue();
+        assertThat(catalogRegistry.find("shop-a")).isNull();
+        assertThat(shopA.getRepository().count()).isZero();
+        assertThat(catalogRegistry.drop("shop-a")).isFalse();
+        assertThatThrownBy(() -> catalogRegistry.drop(CatalogRegistry.DEFAULT))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void limits() {
+        assertThatThrownBy(() -> catalogRegistry.create("Shop A")).isInstanceOf(IllegalArgumentException.class);
+
+        catalogRegistry.create("shop-a");
+        catalogRegistry.create("shop-b");
+        assertThatThrownBy(() -> catalogRegistry.create("shop-c")).isInstanceOf(IllegalStateException.class);
+        assertThat(catalogRegistry.find("shop-c")).isNull();
+    }
+}
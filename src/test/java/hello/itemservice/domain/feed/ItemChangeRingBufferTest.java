@@ -0,0 +1,118 @@
+package hello.itemservice.domain.feed;
+
+import hello.itemservice.domain.item.Item;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ItemChangeRingBufferTest {
+
+    @Test
+    void publishAndRead() {
+        //given
+        ItemChangeRingBuffer ringBuffer = new ItemChangeRingBuffer(8);
+        Item item = item(1L);
+
+        //when
+        long sequence = ringBuffer.publish(ItemChangeEvent.Type.SAVE, item);
+
+        //then
+        ItemChangeEvent event = ringBuffer.read(sequence);
+        assertThat(event.getSequence()).isEqualTo(0);
+        assertThat(event.getType()).isEqualTo(ItemChangeEvent.Type.SAVE);
+        assertThat(event.getItemId()).isEqualTo(1L);
+        assertThat(event.getItemName()).isEqualTo("item1");
+        assertThat(ringBuffer.read(sequence + 1)).isNull();
+        assertThat(ringBuffer.next()).isEqualTo(1);
+    }
+
+    @Test
+    void capacityIsRoundedToPowerOfTwo() {
+        assertThat(new ItemChangeRingBuffer(5).capacity()).isEqualTo(8);
+        assertThat(new ItemChangeRingBuffer(8).capacity()).isEqualTo(8);
+    }
+
+    @Test
+    void slowReaderIsLapped() {
+        ItemChangeRingBuffer ringBuffer = new ItemChangeRingBuffer(4);
+        for (long i = 1; i <= 6; i++) {
+            ringBuffer.publish(ItemChangeEvent.Type.SAVE, item(i));
+        }
+
+        //0, 1 번은 4, 5 번이 덮어씀
+        assertThat(ringBuffer.read(1)).isNull();
+        assertThat(ringBuffer.isLapped(1)).isTrue();
+        assertThat(ringBuffer.isLapped(2)).isFalse();
+        assertThat(ringBuffer.read(2).getItemId()).isEqualTo(3L);
+    }
+
+    @Test
+    void concurrentWritersNeverExposeTornEvents() throws InterruptedException {
+        ItemChangeRingBuffer ringBuffer = new ItemChangeRingBuffer(64);
+        int writers = 4;
+        int perWriter = 50000;
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicInteger torn = new AtomicInteger();
+
+        List<Thread> threads = new ArrayList<>();
+        for (int w = 0; w < writers; w++) {
+            threads.add(new Thread(() -> {
+                await(start);
+                for (long i = 1; i <= perWriter; i++) {
+                    ringBuffer.publish(ItemChangeEvent.Type.SAVE, item(i));
+                }
+            }));
+        }
+        Thread reader = new Thread(() -> {
+            await(start);
+            long cursor = 0;
+            while (!done.get()) {
+                ItemChangeEvent event = ringBuffer.read(cursor);
+                if (event == null) {
+                    if (ringBuffer.isLapped(cursor)) {
+                        cursor = ringBuffer.next();
+                    }
+                    continue;
+                }
+                //이름과 id, 가격이 같은 상품에서 나왔는지
+                if (!event.getItemName().equals("item" + event.getItemId())
+                        || event.getPrice() != event.getItemId().intValue()) {
+                    torn.incrementAndGet();
+                }
+                cursor++;
+            }
+        });
+        threads.forEach(Thread::start);
+        reader.start();
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        done.set(true);
+        reader.join();
+
+        assertThat(torn.get()).isZero();
+        assertThat(ringBuffer.next()).isEqualTo((long) writers * perWriter);
+    }
+
+    private static Item item(long id) {
+        Item item = new Item("item" + id, (int) id, 1);
+        item.setId(id);
+        return item;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
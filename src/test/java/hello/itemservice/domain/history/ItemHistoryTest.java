@@ -0,0 +1,127 @@
+package hello.itemservice.domain.history;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.MemoryItemRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ItemHistoryTest {
+
+    ItemRepository itemRepository = new MemoryItemRepository();
+    TestClock clock = new TestClock();
+    //세그먼트 경계를 넘는 경우까지 보도록 작게
+    ItemHistory itemHistory = new ItemHistory(itemRepository, 2, clock);
+
+    @AfterEach
+    void afterEach() {
+        itemRepository.clearStore();
+    }
+
+    @Test
+    void findAt() {
+        //given
+        clock.millis = 1000;
+        Long itemId = itemRepository.save(new Item("itemA", 10000, 10)).getId();
+        clock.millis = 2000;
+        itemRepository.update(itemId, new Item("itemA", 12000, 10));
+        clock.millis = 3000;
+        itemRepository.update(itemId, new Item("itemB", 9000, null));
+        clock.millis = 4000;
+        itemRepository.update(itemId, new Item("itemB", 9000, 5));
+
+        //when, then
+        assertThat(itemHistory.findAt(itemId, Instant.ofEpochMilli(999))).isNull();
+        assertVersion(itemHistory.findAt(itemId, Instant.ofEpochMilli(1000)), "itemA", 10000, 10, 1000);
+        assertVersion(itemHistory.findAt(itemId, Instant.ofEpochMilli(2500)), "itemA", 12000, 10, 2000);
+        assertVersion(itemHistory.findAt(itemId, Instant.ofEpochMilli(3000)), "itemB", 9000, null, 3000);
+        assertVersion(itemHistory.findAt(itemId, Instant.ofEpochMilli(9999)), "itemB", 9000, 5, 4000);
+    }
+
+    @Test
+    void versionsSkipUnchangedUpdates() {
+        //given
+        clock.millis = 1000;
+        Long itemId = itemRepository.save(new Item("itemA", 10000, 10)).getId();
+        for (int i = 1; i <= 5; i++) {
+            clock.millis = 1000 + i;
+            itemRepository.update(itemId, new Item("itemA", 10000 + i, 10));
+            itemRepository.update(itemId, new Item("itemA", 10000 + i, 10));
+        }
+
+        //when
+        //then
+        assertThat(itemHistory.versions(itemId)).extracting(ItemVersion::getPrice)
+                .containsExactly(10000, 10001, 10002, 10003, 10004, 10005);
+        HistoryStats stats = itemHistory.stats();
+        assertThat(stats.getEdits()).isEqualTo(6);
+        assertThat(stats.getSegments()).isEqualTo(3);
+    }
+
+    @Test
+    void clockGoingBackwardsKeepsOrder() {
+        //given
+        clock.millis = 5000;
+        Long itemId = itemRepository.save(new Item("itemA", 10000, 10)).getId();
+
+        //when
+        clock.millis = 4000;
+        itemRepository.update(itemId, new Item("itemA", 20000, 10));
+
+        //then
+        assertVersion(itemHistory.findAt(itemId, Instant.ofEpochMilli(5000)), "itemA", 20000, 10, 5000);
+    }
+
+    @Test
+    void itemsSavedBeforeHistoryStarted() {
+        //given
+        Long itemId = itemRepository.save(new Item("itemA", 10000, 10)).getId();
+        clock.millis = 7000;
+
+        //when
+        ItemHistory lateHistory = new ItemHistory(itemRepository, 2, clock);
+
+        //then
+        assertVersion(lateHistory.findAt(itemId, Instant.ofEpochMilli(7000)), "itemA", 10000, 10, 7000);
+    }
+
+    private static void assertVersion(ItemVersion version, String itemName, Integer price, Integer quantity, long validFrom) {
+        assertThat(version).isNotNull();
+        assertThat(version.getItemName()).isEqualTo(itemName);
+        assertThat(version.getPrice()).isEqualTo(price);
+        assertThat(version.getQuantity()).isEqualTo(quantity);
+        assertThat(version.getValidFrom()).isEqualTo(Instant.ofEpochMilli(validFrom));
+    }
+
+    static class TestClock extends Clock {
+
+        long millis;
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+    }
+}
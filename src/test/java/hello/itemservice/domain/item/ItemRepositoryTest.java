@@ -9,7 +9,7 @@ import static org.assertj.core.api.Assertions.*;
 
 class ItemRepositoryTest {
 
-    ItemRepository itemRepository = new ItemRepository();
+    ItemRepository itemRepository = new MemoryItemRepository();
 
     @AfterEach
     void afterEach() {
@@ -65,4 +65,19 @@ class ItemRepositoryTest {
         assertThat(findItem.getPrice()).isEqualTo(updateParam.getPrice());
         assertThat(findItem.getQuantity()).isEqualTo(updateParam.getQuantity());
     }
+
+    @Test
+    void adjustQuantityNeverNegative() {
+        //given
+        Item savedItem = itemRepository.save(new Item("item1", 10000, 10));
+
+        //when
+        Item reserved = itemRepository.adjustQuantity(savedItem.getId(), -7);
+        Item rejected = itemRepository.adjustQuantity(savedItem.getId(), -4);
+
+        //then
+        assertThat(reserved.getQuantity()).isEqualTo(3);
+        assertThat(rejected).isNull();
+        assertThat(itemRepository.findById(savedItem.getId()).getQuantity()).isEqualTo(3);
+    }
 }
@@ -0,0 +1,187 @@
+package hello.itemservice.domain.item;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.*;
+
+class JdbcItemRepositoryTest {
+
+    EmbeddedDatabase database;
+    JdbcItemRepository jdbcRepository;
+    CachingItemRepository itemRepository;
+
+    @BeforeEach
+    void beforeEach() {
+        database = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+        jdbcRepository = new JdbcItemRepository(new JdbcTemplate(database),
+                new TransactionTemplate(new DataSourceTransactionManager(database)), 3, 4);
+        jdbcRepository.createSchemaIfMissing();
+        itemRepository = new CachingItemRepository(jdbcRepository, 100);
+    }
+
+    @AfterEach
+    void afterEach() {
+        database.shutdown();
+    }
+
+    @Test
+    void saveAndFind() {
+        //given
+        Item item = new Item("itemA", 10000, 10);
+
+        //when
+        Item savedItem = itemRepository.save(item);
+
+        //then
+        Item findItem = jdbcRepository.findById(savedItem.getId());
+        assertThat(findItem.getItemName()).isEqualTo("itemA");
+        assertThat(findItem.getPrice()).isEqualTo(10000);
+        assertThat(findItem.getQuantity()).isEqualTo(10);
+    }
+
+    @Test
+    void saveAllAcrossBatchesAndIdBlocks() {
+        //given
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            items.add(new Item("item" + i, 1000 + i, i));
+        }
+        itemRepository.save(new Item("first", 1000, 1));
+
+        //when
+        itemRepository.saveAll(items);
+
+        //then
+        assertThat(itemRepository.count()).isEqualTo(11);
+        assertThat(itemRepository.findAll()).extracting(Item::getId).doesNotHaveDuplicates();
+        assertThat(itemRepository.findById(items.get(9).getId()).getItemName()).isEqualTo("item9");
+    }
+
+    @Test
+    void updateRefreshesCacheAndNotifiesListener() {
+        //given
+        Item savedItem = itemRepository.save(new Item("itemA", 10000, 10));
+        itemRepository.findById(savedItem.getId());
+        List<String> changes = new ArrayList<>();
+        itemRepository.addListener(new ItemChangeListener() {
+            @Override
+            public void onSave(Item item) {
+            }
+
+            @Override
+            public void onUpdate(Item before, Item after) {
+                changes.add(before.getItemName() + "->" + after.getItemName());
+            }
+        });
+
+        //when
+        itemRepository.update(savedItem.getId(), new Item("itemB", 20000, 30));
+
+        //then
+        assertThat(itemRepository.findById(savedItem.getId()).getItemName()).isEqualTo("itemB");
+        assertThat(jdbcRepository.findById(savedItem.getId()).getPrice()).isEqualTo(20000);
+        assertThat(changes).containsExactly("itemA->itemB");
+    }
+
+    @Test
+    void patchRejectedByRuleLeavesRowUnchanged() {
+        //given
+        Item savedItem = itemRepository.save(new Item("itemA", 10000, 10));
+        Item patch = new Item();
+        patch.setPrice(100);
+
+        //when
+        Item result = itemRepository.patch(savedItem.getId(), patch, item -> item.getPrice() * item.getQuantity() >= 10000);
+
+        //then
+        assertThat(result).isNull();
+        assertThat(jdbcRepository.findById(savedItem.getId()).getPrice()).isEqualTo(10000);
+    }
+
+    @Test
+    void adjustQuantityRefreshesCacheAndNeverNegative() {
+        //given
+        Item savedItem = itemRepository.save(new Item("itemA", 10000, 10));
+        itemRepository.findById(savedItem.getId());
+
+        //when
+        Item reserved = itemRepository.adjustQuantity(savedItem.getId(), -10);
+        Item rejected = itemRepository.adjustQuantity(savedItem.getId(), -1);
+
+        //then
+        assertThat(reserved.getQuantity()).isZero();
+        assertThat(rejected).isNull();
+        assertThat(itemRepository.findById(savedItem.getId()).getQuantity()).isZero();
+        assertThat(jdbcRepository.findById(savedItem.getId()).getQuantity()).isZero();
+    }
+
+    @Test
+    void concurrentUpdatesNotifyInCommitOrder() throws InterruptedException {
+        //given
+        Long itemId = itemRepository.save(new Item("itemA", 10000, 10)).getId();
+        itemRepository.findById(itemId);
+        AtomicReference<Integer> lastNotified = new AtomicReference<>();
+        itemRepository.addListener(new ItemChangeListener() {
+            @Override
+            public void onSave(Item item) {
+            }
+
+            @Override
+            public void onUpdate(Item before, Item after) {
+                lastNotified.set(after.getPrice());
+            }
+        });
+
+        //when 여러 스레드가 같은 상품의 가격을 덮어씀
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            int price = 1000 * (t + 1);
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 20; i++) {
+                    itemRepository.update(itemId, new Item("itemA", price + i, 10));
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        //then 마지막 알림, 캐시 모두 데이터베이스에 남은 값
+        Integer stored = jdbcRepository.findById(itemId).getPrice();
+        assertThat(lastNotified.get()).isEqualTo(stored);
+        assertThat(itemRepository.findById(itemId).getPrice()).isEqualTo(stored);
+    }
+
+    @Test
+    void updateMissingItem() {
+        assertThatThrownBy(() -> itemRepository.update(999L, new Item("itemA", 10000, 10)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void clearStore() {
+        //given
+        Item savedItem = itemRepository.save(new Item("itemA", 10000, 10));
+
+        //when
+        itemRepository.clearStore();
+
+        //then
+        assertThat(itemRepository.count()).isZero();
+        assertThat(itemRepository.findById(savedItem.getId())).isNull();
+    }
+}
@@ -0,0 +1,76 @@
+package hello.itemservice.domain.ranking;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.MemoryItemRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ItemRankingTest {
+
+    ItemRepository itemRepository = new MemoryItemRepository();
+    ItemRanking ranking = new ItemRanking(itemRepository);
+
+    @Test
+    void topByStockValueAndCheapest() {
+        //given
+        itemRepository.save(new Item("itemA", 10000, 10));
+        itemRepository.save(new Item("itemB", 20000, 20));
+        itemRepository.save(new Item("itemC", 5000, 100));
+
+        //when
+        List<RankedItem> valuable = ranking.top(Ranking.STOCK_VALUE, 2);
+        List<RankedItem> cheapest = ranking.top(Ranking.CHEAPEST, 2);
+
+        //then
+        assertThat(valuable).extracting(RankedItem::getItemName).containsExactly("itemC", "itemB");
+        assertThat(valuable.get(0).getStockValue()).isEqualTo(500000);
+        assertThat(cheapest).extracting(RankedItem::getItemName).containsExactly("itemC", "itemA");
+    }
+
+    @Test
+    void updateReRanks() {
+        //given
+        Item itemA = itemRepository.save(new Item("itemA", 10000, 10));
+        itemRepository.save(new Item("itemB", 20000, 20));
+
+        //when itemA 의 수량을 늘려서 1등으로
+        itemRepository.update(itemA.getId(), new Item("itemA", 10000, 1000));
+
+        //then 이전 값은 남지 않음
+        assertThat(ranking.top(Ranking.STOCK_VALUE, 10)).extracting(RankedItem::getQuantity)
+                .containsExactly(1000, 20);
+        assertThat(ranking.size(Ranking.STOCK_VALUE)).isEqualTo(2);
+    }
+
+    @Test
+    void renameKeepsRank() {
+        //given
+        Item itemA = itemRepository.save(new Item("itemA", 10000, 10));
+
+        //when 순위 키(가격, 재고 가치)는 그대로, 이름만 변경
+        itemRepository.update(itemA.getId(), new Item("itemA2", 10000, 10));
+
+        //then
+        assertThat(ranking.top(Ranking.CHEAPEST, 10)).extracting(RankedItem::getItemName).containsExactly("itemA2");
+        assertThat(ranking.top(Ranking.STOCK_VALUE, 10)).extracting(RankedItem::getItemName).containsExactly("itemA2");
+    }
+
+    @Test
+    void existingItemsAndClear() {
+        //given 순위보다 먼저 저장된 상품
+        ItemRepository repository = new MemoryItemRepository();
+        repository.save(new Item("itemA", 10000, 10));
+        ItemRanking late = new ItemRanking(repository);
+        assertThat(late.size(Ranking.CHEAPEST)).isEqualTo(1);
+
+        //when
+        repository.clearStore();
+
+        //then
+        assertThat(late.top(Ranking.CHEAPEST, 10)).isEmpty();
+    }
+}
@@ -0,0 +1,185 @@
+package hello.itemservice.domain.replication;
+
+import hello.itemservice.domain.feed.ItemChangeFeed;
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.MemoryItemRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.*;
+
+//리더 하나와 팔로워 여럿을 localhost 포트로 연결해서 확인
+class ReplicationTest {
+
+    static final String SECRET = "test-secret";
+
+    MemoryItemRepository leader = new MemoryItemRepository();
+    ItemChangeFeed feed = new ItemChangeFeed(leader, 65536);
+    List<Closeable> closeables = new ArrayList<>();
+
+    @AfterEach
+    void afterEach() throws IOException {
+        for (Closeable closeable : closeables) {
+            closeable.close();
+        }
+    }
+
+    @Test
+    void followersCatchUpFromSnapshotAndLog() throws Exception {
+        //given 팔로워가 붙기 전에 있던 상품은 스냅샷으로
+        for (int i = 0; i < 100; i++) {
+            leader.save(new Item("before" + i, 1000 + i, i));
+        }
+        ReplicationServer server = startServer();
+        ReplicaItemRepository followerA = new ReplicaItemRepository();
+        ReplicaItemRepository followerB = new ReplicaItemRepository();
+        ReplicationClient clientA = startClient(server, followerA);
+        ReplicationClient clientB = startClient(server, followerB);
+
+        //when 붙은 뒤의 저장, 수정은 기록으로, 여러 스레드가 같은 상품을 동시에 수정
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 2000; i++) {
+                    if (i % 4 == 0) {
+                        leader.save(new Item("after" + thread + "-" + i, 2000, 1));
+                    } else {
+                        long id = 1 + ThreadLocalRandom.current().nextInt(100);
+                        leader.update(id, new Item("updated" + thread + "-" + i, 3000 + i, i));
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        awaitCaughtUp(clientA);
+        awaitCaughtUp(clientB);
+
+        //then
+        assertSameItems(followerA);
+        assertSameItems(followerB);
+        assertThat(clientA.stats().getSnapshots()).isEqualTo(1);
+        assertThat(clientA.stats().getLagOps()).isZero();
+        assertThat(clientA.isStale()).isFalse();
+        assertThat(server.stats().getFollowers()).hasSize(2);
+    }
+
+    @Test
+    void restartedFollowerResyncsWithSnapshot() throws Exception {
+        //given 팔로워가 멈춘 사이 바뀐 상품, 다시 시작한 팔로워는 마지막 순번을 모르므로 스냅샷부터
+        ReplicationServer server = startServer();
+        ReplicaItemRepository follower = new ReplicaItemRepository();
+        ReplicationClient first = startClient(server, follower);
+        leader.save(new Item("itemA", 10000, 10));
+        awaitCaughtUp(first);
+        first.close();
+
+        for (int i = 0; i < 3000; i++) {
+            leader.update(1L, new Item("itemA", 10000 + i, 10));
+        }
+        leader.save(new Item("itemB", 20000, 20));
+
+        //when
+        ReplicationClient second = startClient(server, follower);
+        awaitCaughtUp(second);
+
+        //then
+        assertSameItems(follower);
+        assertThat(follower.findById(1L).getPrice()).isEqualTo(12999);
+        assertThat(second.stats().getSnapshots()).isEqualTo(1);
+    }
+
+    @Test
+    void replicaIsReadOnly() {
+        ReplicaItemRepository replica = new ReplicaItemRepository();
+
+        assertThatThrownBy(() -> replica.save(new Item("itemA", 10000, 10)))
+                .isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> replica.update(1L, new Item("itemA", 10000, 10)))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void staleUntilFirstSync() throws Exception {
+        //given 리더가 없는 포트
+        ReplicaItemRepository replica = new ReplicaItemRepository();
+        ReplicationClient client = new ReplicationClient(replica, "localhost", 1, SECRET, 50, 100, 500);
+        closeables.add(client);
+
+        //when
+        client.start();
+
+        //then
+        assertThat(client.isStale()).isTrue();
+        assertThat(client.stats().isConnected()).isFalse();
+    }
+
+    @Test
+    void wrongSecretGetsNothing() throws Exception {
+        //given
+        leader.save(new Item("itemA", 10000, 10));
+        ReplicationServer server = startServer();
+        ReplicaItemRepository replica = new ReplicaItemRepository();
+        ReplicationClient client = new ReplicationClient(replica, "localhost", server.getPort(), "wrong", 50, 100, 2000);
+        closeables.add(client);
+
+        //when
+        client.start();
+        Thread.sleep(500);
+
+        //then
+        assertThat(replica.count()).isZero();
+        assertThat(client.isStale()).isTrue();
+        assertThat(server.stats().getFollowers()).isEmpty();
+    }
+
+    private ReplicationServer startServer() throws IOException {
+        ReplicationServer server = new ReplicationServer(feed, leader, InetAddress.getLoopbackAddress(), 0, SECRET,
+                4, 256, 1, 50);
+        closeables.add(server);
+        server.start();
+        return server;
+    }
+
+    private ReplicationClient startClient(ReplicationServer server, ReplicaItemRepository replica) {
+        ReplicationClient client = new ReplicationClient(replica, "localhost", server.getPort(), SECRET, 50, 100, 2000);
+        closeables.add(client);
+        client.start();
+        return client;
+    }
+
+    private void awaitCaughtUp(ReplicationClient client) throws InterruptedException {
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (client.appliedSequence() < feed.next() - 1 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(client.appliedSequence()).isEqualTo(feed.next() - 1);
+    }
+
+    private void assertSameItems(ItemRepository follower) {
+        assertThat(follower.count()).isEqualTo(leader.count());
+        for (Item item : leader.findAll()) {
+            assertThat(follower.findById(item.getId())).isEqualTo(item);
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package hello.itemservice.domain.search;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.MemoryItemRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ItemNameIndexTest {
+
+    ItemRepository itemRepository = new MemoryItemRepository();
+    ItemNameIndex index;
+
+    @BeforeEach
+    void setUp() {
+        itemRepository.clearStore();
+        index = new ItemNameIndex(itemRepository);
+    }
+
+    @AfterEach
+    void clear() {
+        itemRepository.clearStore();
+    }
+
+    @Test
+    void searchRanksExactThenPrefixThenPosition() {
+        //given
+        Item middle = itemRepository.save(new Item("red chair", 10000, 10));
+        Item prefix = itemRepository.save(new Item("Chair Cover", 10000, 10));
+        Item exact = itemRepository.save(new Item("chair", 10000, 10));
+        itemRepository.save(new Item("table", 10000, 10));
+
+        //when
+        SearchResult result = index.search("CHAIR", 10);
+
+        //then
+        assertThat(result.getMatched()).isEqualTo(3);
+        assertThat(result.getItems()).containsExactly(exact, prefix, middle);
+    }
+
+    @Test
+    void verifiesCandidatesAgainstName() {
+        //"cabca" 의 gram(cab, abc, bca)은 모두 "abcab" 에 있지만 부분 문자열은 아님
+        itemRepository.save(new Item("abcab", 10000, 10));
+
+        assertThat(index.search("cabca", 10).getMatched()).isZero();
+        assertThat(index.search("bca", 10).getMatched()).isEqualTo(1);
+    }
+
+    @Test
+    void shortQueryAndShortName() {
+        Item shortName = itemRepository.save(new Item("ab", 10000, 10));
+        Item tail = itemRepository.save(new Item("xyab", 10000, 10));
+
+        assertThat(index.search("ab", 10).getItems()).containsExactly(shortName, tail);
+        assertThat(index.search("b", 10).getMatched()).isEqualTo(2);
+    }
+
+    @Test
+    void updateMovesPostings() {
+        //given
+        Item item = itemRepository.save(new Item("itemA", 10000, 10));
+
+        //when
+        itemRepository.update(item.getId(), new Item("lamp", 10000, 10));
+
+        //then
+        assertThat(index.search("itemA", 10).getMatched()).isZero();
+        assertThat(index.search("lamp", 10).getItems()).containsExactly(item);
+    }
+
+    @Test
+    void saveAllBatches() {
+        List<Item> first = List.of(new Item("item1", 10000, 10), new Item("item2", 10000, 10));
+        List<Item> second = List.of(new Item("item3", 10000, 10));
+        itemRepository.saveAll(first);
+        itemRepository.saveAll(second);
+
+        assertThat(index.search("item", 10).getItems()).extracting("itemName")
+                .containsExactly("item1", "item2", "item3");
+        assertThat(index.stats().getItems()).isEqualTo(3);
+        assertThat(index.stats().getTotalBytes()).isPositive();
+    }
+
+    @Test
+    void shortQueryReportsTruncation() {
+        //given 후보 한도보다 많이 걸리는 짧은 검색어, 전체 일치 상품은 맨 나중에 등록
+        List<Item> many = new ArrayList<>();
+        for (int i = 0; i < ItemNameIndex.SHORT_QUERY_CANDIDATES + 5; i++) {
+            many.add(new Item("xab" + i, 10000, 10));
+        }
+        itemRepository.saveAll(many);
+        Item exact = itemRepository.save(new Item("ab", 10000, 10));
+
+        //when
+        SearchResult result = index.search("ab", 1);
+
+        //then
+        assertThat(result.isTruncated()).isTrue();
+        assertThat(result.getMatched()).isEqualTo(ItemNameIndex.SHORT_QUERY_CANDIDATES);
+        assertThat(result.getItems()).containsExactly(exact);
+        assertThat(index.search("lamp", 1).isTruncated()).isFalse();
+    }
+
+    @Test
+    void verifiesWithoutRepositoryLookups() {
+        //given
+        AtomicInteger lookups = new AtomicInteger();
+        MemoryItemRepository counting = new MemoryItemRepository() {
+            @Override
+            public Item findById(Long id) {
+                lookups.incrementAndGet();
+                return super.findById(id);
+            }
+        };
+        ItemNameIndex countingIndex = new ItemNameIndex(counting);
+        for (int i = 0; i < 10; i++) {
+            counting.save(new Item("item" + i, 10000, 10));
+        }
+        lookups.set(0);
+
+        //when
+        SearchResult result = countingIndex.search("item", 2);
+
+        //then 후보 확인은 색인의 이름으로, 저장소는 결과 개수만큼만
+        assertThat(result.getMatched()).isEqualTo(10);
+        assertThat(lookups).hasValue(2);
+    }
+
+    @Test
+    void sameItemIndexedOnce() {
+        //given
+        Item item = itemRepository.save(new Item("lamp", 10000, 10));
+
+        //when 시작할 때 읽은 findAll() 과 저장 알림이 겹친 경우
+        index.onSave(item);
+
+        //then lam, amp
+        assertThat(index.stats().getItems()).isEqualTo(1);
+        assertThat(index.stats().getPostings()).isEqualTo(2);
+    }
+
+    @Test
+    void updateDuringStartupSnapshotWins() {
+        //given findAll() 이 읽은 뒤 색인에 넣기 전에 이름이 바뀜
+        AtomicBoolean raced = new AtomicBoolean();
+        MemoryItemRepository racing = new MemoryItemRepository() {
+            @Override
+            public List<Item> findAll() {
+                List<Item> snapshot = new ArrayList<>();
+                for (Item stored : super.findAll()) {
+                    Item copy = new Item(stored.getItemName(), stored.getPrice(), stored.getQuantity());
+                    copy.setId(stored.getId());
+                    snapshot.add(copy);
+                }
+                if (raced.compareAndSet(false, true)) {
+                    update(snapshot.get(0).getId(), new Item("new chair", 10000, 10));
+                }
+                return snapshot;
+            }
+        };
+        Item item = racing.save(new Item("old lamp", 10000, 10));
+
+        //when
+        ItemNameIndex racingIndex = new ItemNameIndex(racing);
+
+        //then 예전 이름의 스냅샷이 리스너가 넣은 새 이름을 덮어쓰지 않음
+        assertThat(racingIndex.search("chair", 10).getItems()).containsExactly(item);
+        assertThat(racingIndex.search("lamp", 10).getMatched()).isZero();
+        assertThat(racingIndex.stats().getItems()).isEqualTo(1);
+    }
+
+    @Test
+    void postingListMerge() {
+        PostingList list = new PostingList();
+        list.add(5);
+        list.add(9);
+        list.addAll(new int[]{1, 5, 7});
+
+        assertThat(list.toArray()).containsExactly(1, 5, 7, 9);
+        list.remove(7);
+        assertThat(list.contains(7)).isFalse();
+        assertThat(list.size()).isEqualTo(3);
+    }
+}
@@ -0,0 +1,148 @@
+package hello.itemservice.domain.stock;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.MemoryItemRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+class StockLedgerTest {
+
+    ItemRepository itemRepository = new MemoryItemRepository();
+    StockLedger ledger = new StockLedger(itemRepository, 8, 16);
+
+    @Test
+    void concurrentReservationsNeverOversell() throws InterruptedException {
+        //given
+        Long itemId = itemRepository.save(new Item("itemA", 10000, 1000)).getId();
+        AtomicInteger reserved = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+
+        //when 64 스레드가 재고보다 많이 예약 시도
+        for (int t = 0; t < 64; t++) {
+            Thread thread = new Thread(() -> {
+                await(start);
+                for (int i = 0; i < 50; i++) {
+                    if (ledger.reserve(itemId, 1)) {
+                        reserved.incrementAndGet();
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        //then
+        assertThat(reserved).hasValue(1000);
+        StockLevel level = ledger.level(itemId);
+        assertThat(level.getAvailable()).isZero();
+        assertThat(level.getReserved()).isEqualTo(1000);
+        assertThat(itemRepository.findById(itemId).getQuantity()).isEqualTo(1000);
+        assertThat(ledger.leases()).isLessThan(ledger.reservations());
+    }
+
+    @Test
+    void insufficientStockChangesNothing() {
+        //given
+        Long itemId = itemRepository.save(new Item("itemA", 10000, 5)).getId();
+
+        //when
+        boolean reserved = ledger.reserve(itemId, 6);
+
+        //then
+        assertThat(reserved).isFalse();
+        assertThat(ledger.level(itemId).getAvailable()).isEqualTo(5);
+        assertThat(ledger.rejections()).isEqualTo(1);
+    }
+
+    @Test
+    void reservationLeavesStoredQuantity() {
+        //given
+        Long itemId = itemRepository.save(new Item("itemA", 10000, 20)).getId();
+
+        //when 칸에 16개를 나눠 담아도 저장소 수량은 그대로
+        ledger.reserve(itemId, 1);
+        boolean reserved = ledger.reserve(itemId, 19);
+
+        //then
+        assertThat(reserved).isTrue();
+        assertThat(itemRepository.findById(itemId).getQuantity()).isEqualTo(20);
+        assertThat(ledger.level(itemId).getAvailable()).isZero();
+        assertThat(ledger.reserve(itemId, 1)).isFalse();
+    }
+
+    @Test
+    void releaseAndAdjust() {
+        //given
+        Long itemId = itemRepository.save(new Item("itemA", 10000, 10)).getId();
+        ledger.reserve(itemId, 3);
+
+        //when
+        ledger.release(itemId, 2);
+        boolean overReleased = ledger.release(itemId, 2);
+        ledger.adjust(itemId, 5);
+        boolean shrunk = ledger.adjust(itemId, -100);
+        ledger.adjust(itemId, -4);
+
+        //then
+        assertThat(overReleased).isFalse();
+        assertThat(shrunk).isFalse();
+        StockLevel level = ledger.level(itemId);
+        assertThat(level.getStored()).isEqualTo(11);
+        assertThat(level.getReserved()).isEqualTo(1);
+        assertThat(level.getAvailable()).isEqualTo(10);
+    }
+
+    @Test
+    void priceOnlyUpdateKeepsStock() {
+        //given
+        Long itemId = itemRepository.save(new Item("itemA", 10000, 100)).getId();
+        ledger.reserve(itemId, 1);
+
+        //when 수정 폼에서 화면에 보이는 수량 그대로 가격만 바꿔서 저장
+        itemRepository.update(itemId, new Item("itemA", 20000, 100));
+
+        //then
+        StockLevel level = ledger.level(itemId);
+        assertThat(level.getStored()).isEqualTo(100);
+        assertThat(level.getAvailable()).isEqualTo(99);
+        assertThat(ledger.reserve(itemId, 99)).isTrue();
+        assertThat(ledger.reserve(itemId, 1)).isFalse();
+    }
+
+    @Test
+    void externalQuantityUpdateKeepsReservations() {
+        //given
+        Long itemId = itemRepository.save(new Item("itemA", 10000, 100)).getId();
+        ledger.reserve(itemId, 1);
+
+        //when 수정 폼에서 수량을 50 으로 덮어씀
+        itemRepository.update(itemId, new Item("itemA", 10000, 50));
+
+        //then 바뀐 만큼만 반영, 나눠 담아둔 수량은 버리지 않는다
+        StockLevel level = ledger.level(itemId);
+        assertThat(level.getReserved()).isEqualTo(1);
+        assertThat(level.getAvailable()).isEqualTo(49);
+        assertThat(ledger.reserve(itemId, 49)).isTrue();
+        assertThat(ledger.reserve(itemId, 1)).isFalse();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
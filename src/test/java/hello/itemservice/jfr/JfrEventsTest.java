@@ -0,0 +1,173 @@
+package hello.itemservice.jfr;
+
+import hello.itemservice.domain.catalog.CatalogRegistry;
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.MemoryItemRepository;
+import hello.itemservice.domain.item.SaveCheck;
+import hello.itemservice.web.catalog.CatalogItemRepository;
+import hello.itemservice.web.validation.ItemValidator;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.NoSuchMessageException;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.DefaultMessageCodesResolver;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+
+//녹화를 켠 상태로 실행하고 .jfr 파일로 덤프한 다음 다시 읽어서 확인
+class JfrEventsTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void validationAndMessageCodesEvents() throws IOException {
+        //given
+        Item item = new Item("", 10, 10000);
+        BeanPropertyBindingResult errors = new BeanPropertyBindingResult(item, "item");
+        errors.setMessageCodesResolver(new JfrMessageCodesResolver(new DefaultMessageCodesResolver()));
+
+        //when
+        List<RecordedEvent> events = record(() ->
+                JfrEvents.validate(new ItemValidator(), item, errors, SaveCheck.class));
+
+        //then
+        RecordedEvent validation = single(events, ValidationEvent.NAME);
+        assertThat(validation.getString("validator")).isEqualTo("ItemValidator");
+        assertThat(validation.getString("groups")).isEqualTo("SaveCheck");
+        assertThat(validation.getString("objectName")).isEqualTo("item");
+        assertThat(validation.getInt("errorCount")).isEqualTo(errors.getErrorCount()).isPositive();
+
+        List<RecordedEvent> codes = named(events, MessageCodesEvent.NAME);
+        assertThat(codes).hasSize(errors.getErrorCount());
+        assertThat(codes).extracting(e -> e.getString("field")).contains("itemName", "price", "quantity");
+        assertThat(codes).allSatisfy(e -> assertThat(e.getInt("codeCount")).isPositive());
+    }
+
+    @Test
+    void messageResolutionEvents() throws IOException {
+        //given
+        ResourceBundleMessageSource bundle = new ResourceBundleMessageSource();
+        bundle.setBasenames("messages", "errors");
+        bundle.setDefaultEncoding("UTF-8");
+        JfrMessageSource messageSource = new JfrMessageSource(bundle);
+
+        //when
+        List<RecordedEvent> events = record(() -> {
+            messageSource.getMessage("required.item.itemName", null, Locale.KOREAN);
+            assertThatThrownBy(() -> messageSource.getMessage("no.such.code", null, Locale.KOREAN))
+                    .isInstanceOf(NoSuchMessageException.class);
+        });
+
+        //then
+        List<RecordedEvent> resolutions = named(events, MessageResolutionEvent.NAME);
+        assertThat(resolutions).hasSize(2);
+        assertThat(resolutions.get(0).getString("code")).isEqualTo("required.item.itemName");
+        assertThat(resolutions.get(0).getBoolean("found")).isTrue();
+        assertThat(resolutions.get(1).getString("code")).isEqualTo("no.such.code");
+        assertThat(resolutions.get(1).getBoolean("found")).isFalse();
+    }
+
+    @Test
+    void repositoryEvents() throws IOException {
+        //given
+        JfrItemRepository repository = new JfrItemRepository(new MemoryItemRepository(), "default");
+
+        //when
+        Item[] saved = new Item[1];
+        List<RecordedEvent> events = record(() -> {
+            saved[0] = repository.save(new Item("itemA", 10000, 10));
+            repository.findById(saved[0].getId());
+            repository.adjustQuantity(saved[0].getId(), -3);
+        });
+
+        //then
+        List<RecordedEvent> operations = named(events, RepositoryEvent.NAME);
+        assertThat(operations).extracting(e -> e.getString("operation"))
+                .containsExactly("save", "findById", "adjustQuantity");
+        assertThat(operations).allSatisfy(e -> {
+            assertThat(e.getString("catalog")).isEqualTo("default");
+            assertThat(e.getLong("itemId")).isEqualTo(saved[0].getId());
+        });
+    }
+
+    @Test
+    void catalogRepositoryWrapsOncePerCatalog() throws IOException {
+        //given
+        CatalogItemRepository catalogItemRepository =
+                new CatalogItemRepository(new CatalogRegistry(new MemoryItemRepository(), 10), true);
+
+        //when 요청 스레드에서 구한 저장소를 다른 스레드로 넘김
+        ItemRepository current = catalogItemRepository.current();
+        List<RecordedEvent> events = record(() -> {
+            Thread worker = new Thread(() -> current.save(new Item("async", 10000, 10)));
+            worker.start();
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        //then 같은 래퍼를 재사용하고, 작업 스레드의 저장도 이벤트를 남긴다
+        assertThat(current).isInstanceOf(JfrItemRepository.class);
+        assertThat(catalogItemRepository.current()).isSameAs(current);
+        RecordedEvent save = single(events, RepositoryEvent.NAME);
+        assertThat(save.getString("operation")).isEqualTo("save");
+        assertThat(save.getString("catalog")).isEqualTo(CatalogRegistry.DEFAULT);
+    }
+
+    @Test
+    void noEventsWithoutRecording() {
+        //given 녹화가 없으면 이벤트가 꺼져 있다
+        Item item = new Item("itemA", 10000, 10);
+        BeanPropertyBindingResult errors = new BeanPropertyBindingResult(item, "item");
+
+        //when
+        JfrEvents.validate(new ItemValidator(), item, errors);
+
+        //then
+        assertThat(new ValidationEvent().isEnabled()).isFalse();
+        assertThat(errors.hasErrors()).isFalse();
+    }
+
+    private List<RecordedEvent> record(Runnable action) throws IOException {
+        Path file = dir.resolve("events.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(ValidationEvent.NAME).withThreshold(Duration.ZERO);
+            recording.enable(MessageCodesEvent.NAME).withThreshold(Duration.ZERO);
+            recording.enable(MessageResolutionEvent.NAME).withThreshold(Duration.ZERO);
+            recording.enable(RepositoryEvent.NAME).withThreshold(Duration.ZERO);
+            recording.start();
+            action.run();
+            recording.stop();
+            recording.dump(file);
+        }
+        return RecordingFile.readAllEvents(file);
+    }
+
+    private static List<RecordedEvent> named(List<RecordedEvent> events, String name) {
+        return events.stream()
+                .filter(e -> e.getEventType().getName().equals(name))
+                .sorted((a, b) -> a.getStartTime().compareTo(b.getStartTime()))
+                .collect(Collectors.toList());
+    }
+
+    private static RecordedEvent single(List<RecordedEvent> events, String name) {
+        List<RecordedEvent> found = named(events, name);
+        assertThat(found).hasSize(1);
+        return found.get(0);
+    }
+}
@@ -0,0 +1,88 @@
+package hello.itemservice.message;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.context.NoSuchMessageException;
+import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.validation.FieldError;
+
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CachingMessageSourceTest {
+
+    CachingMessageSource messageSource = new CachingMessageSource(bundle(), 100);
+
+    @Test
+    void cachesResolvedMessagePerLocale() {
+        //given
+        FieldError error = new FieldError("item", "price", 100, false,
+                new String[]{"range.item.price", "range.price", "range"}, new Object[]{1000, 1000000}, null);
+
+        //when
+        String first = messageSource.getMessage(error, Locale.KOREAN);
+        String second = messageSource.getMessage(error, Locale.KOREAN);
+        messageSource.getMessage(error, Locale.ENGLISH);
+
+        //then
+        assertThat(first).isEqualTo("가격은 1000 ~ 1000000 까지 허용합니다.").isSameAs(second);
+        assertThat(messageSource.hits()).isEqualTo(1);
+        assertThat(messageSource.misses()).isEqualTo(2);
+    }
+
+    @Test
+    void differentArgumentsAreDifferentEntries() {
+        messageSource.getMessage("totalPriceMin", new Object[]{10000, 100}, Locale.KOREAN);
+        String message = messageSource.getMessage("totalPriceMin", new Object[]{10000, 200}, Locale.KOREAN);
+
+        assertThat(message).endsWith("200");
+        assertThat(messageSource.size()).isEqualTo(2);
+    }
+
+    @Test
+    void fieldNameArgumentIsCacheable() {
+        //Bean Validation 오류의 {0} 은 DefaultMessageSourceResolvable
+        DefaultMessageSourceResolvable field = new DefaultMessageSourceResolvable(new String[]{"item.price", "price"}, "price");
+        DefaultMessageSourceResolvable error = new DefaultMessageSourceResolvable(
+                new String[]{"Range.item.price", "Range"}, new Object[]{field, 1000000, 1000});
+
+        messageSource.getMessage(error, Locale.KOREAN);
+        messageSource.getMessage(error, Locale.KOREAN);
+
+        assertThat(messageSource.hits()).isEqualTo(1);
+    }
+
+    @Test
+    void argumentsWithoutEqualsBypassCache() {
+        Object arg = new Object();
+        messageSource.getMessage("hello.name", new Object[]{arg}, Locale.KOREAN);
+
+        assertThat(messageSource.size()).isZero();
+    }
+
+    @Test
+    void missingMessageIsNotCached() {
+        assertThatThrownBy(() -> messageSource.getMessage("no_code", null, Locale.KOREAN))
+                .isInstanceOf(NoSuchMessageException.class);
+        assertThat(messageSource.getMessage("no_code", null, "기본", Locale.KOREAN)).isEqualTo("기본");
+        assertThatThrownBy(() -> messageSource.getMessage("no_code", null, Locale.KOREAN))
+                .isInstanceOf(NoSuchMessageException.class);
+    }
+
+    @Test
+    void bounded() {
+        for (int i = 0; i < 1000; i++) {
+            messageSource.getMessage("totalPriceMin", new Object[]{10000, i}, Locale.KOREAN);
+        }
+
+        assertThat(messageSource.size()).isLessThanOrEqualTo(100);
+    }
+
+    private static ResourceBundleMessageSource bundle() {
+        ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasenames("messages", "errors");
+        messageSource.setDefaultEncoding("UTF-8");
+        return messageSource;
+    }
+}
@@ -0,0 +1,39 @@
+package hello.itemservice.message;
+
+import hello.itemservice.ItemServiceApplication;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.MessageSource;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.*;
+
+class MessageSourceConfigTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void contextCloseStopsWatchThread() throws Exception {
+        //given
+        Files.writeString(dir.resolve("messages.properties"), "hello=반가워", StandardCharsets.UTF_8);
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(ItemServiceApplication.class)
+                .run("--server.port=0", "--messages.reload.dir=" + dir, "--logging.level.hello.itemservice=warn");
+        try {
+            assertThat(context.getBean(MessageSource.class).getMessage("hello", null, Locale.KOREAN)).isEqualTo("반가워");
+            assertThat(WatchedMessageSourceTest.watchThreads()).isEqualTo(1);
+        } finally {
+            //when
+            context.close();
+        }
+
+        //then
+        assertThat(WatchedMessageSourceTest.watchThreads()).isZero();
+    }
+}
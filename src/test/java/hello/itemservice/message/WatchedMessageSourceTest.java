@@ -0,0 +1,147 @@
+package hello.itemservice.message;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.support.StaticMessageSource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+class WatchedMessageSourceTest {
+
+    @TempDir
+    Path dir;
+
+    WatchedMessageSource messageSource;
+
+    @AfterEach
+    void afterEach() throws IOException {
+        if (messageSource != null) {
+            messageSource.close();
+        }
+    }
+
+    @Test
+    void reloadSwapsMessagesAndNotifiesOnce() throws IOException {
+        //given
+        write("errors.properties", "range.item.price=가격은 {0} ~ {1} 까지 허용합니다.");
+        messageSource = create();
+        AtomicInteger notified = new AtomicInteger();
+        messageSource.addReloadListener(notified::incrementAndGet);
+        assertThat(messageSource.getMessage("range.item.price", new Object[]{1000, 1000000}, Locale.KOREAN))
+                .isEqualTo("가격은 1000 ~ 1000000 까지 허용합니다.");
+
+        //when
+        write("errors.properties", "range.item.price=가격은 {0}원 이상 {1}원 이하입니다.");
+        boolean changed = messageSource.reload();
+
+        //then
+        assertThat(changed).isTrue();
+        assertThat(notified).hasValue(1);
+        assertThat(messageSource.getMessage("range.item.price", new Object[]{1000, 1000000}, Locale.KOREAN))
+                .isEqualTo("가격은 1000원 이상 1000000원 이하입니다.");
+    }
+
+    @Test
+    void sameContentDoesNotNotify() throws IOException {
+        //given
+        write("errors.properties", "required.item.itemName=상품 이름은 필수입니다.");
+        messageSource = create();
+        AtomicInteger notified = new AtomicInteger();
+        messageSource.addReloadListener(notified::incrementAndGet);
+
+        //when 같은 내용으로 다시 저장
+        write("errors.properties", "required.item.itemName=상품 이름은 필수입니다.");
+
+        //then
+        assertThat(messageSource.reload()).isFalse();
+        assertThat(notified).hasValue(0);
+    }
+
+    @Test
+    void localeAndBasenamePriority() throws IOException {
+        //given 앞의 basename(messages)이 먼저, 같은 basename 안에서는 자세한 locale 이 먼저
+        write("messages.properties", "hello=안녕\nitem=상품");
+        write("messages_en.properties", "hello=hello");
+        write("errors.properties", "hello=errors\nmax=최대");
+        messageSource = create();
+
+        //then
+        assertThat(messageSource.getMessage("hello", null, Locale.ENGLISH)).isEqualTo("hello");
+        assertThat(messageSource.getMessage("hello", null, Locale.KOREAN)).isEqualTo("안녕");
+        assertThat(messageSource.getMessage("item", null, Locale.ENGLISH)).isEqualTo("상품");
+        assertThat(messageSource.getMessage("max", null, Locale.ENGLISH)).isEqualTo("최대");
+    }
+
+    @Test
+    void missingCodeFromParent() throws IOException {
+        //given
+        write("errors.properties", "max=최대");
+        messageSource = create();
+        StaticMessageSource parent = new StaticMessageSource();
+        parent.addMessage("totalPriceMin", Locale.KOREAN, "전체 가격은 {0}원 이상이어야 합니다.");
+        messageSource.setParentMessageSource(parent);
+
+        //then
+        assertThat(messageSource.getMessage("totalPriceMin", new Object[]{10000}, Locale.KOREAN))
+                .isEqualTo("전체 가격은 10000원 이상이어야 합니다.");
+    }
+
+    @Test
+    void clearsDownstreamCacheWhenFileChanges() throws Exception {
+        //given
+        write("errors.properties", "max=최대 {0}");
+        messageSource = create();
+        CachingMessageSource cache = new CachingMessageSource(messageSource, 100);
+        messageSource.addReloadListener(cache::clear);
+        messageSource.start();
+        assertThat(cache.getMessage("max", new Object[]{9999}, Locale.KOREAN)).isEqualTo("최대 9999");
+
+        //when 파일 감시 스레드가 알림을 받아서 다시 읽을 때까지
+        write("errors.properties", "max=최대 수량 {0}");
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (messageSource.reloads() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+
+        //then
+        assertThat(cache.getMessage("max", new Object[]{9999}, Locale.KOREAN)).isEqualTo("최대 수량 9999");
+        assertThat(cache.clears()).isEqualTo(1);
+    }
+
+    @Test
+    void closeStopsWatchThread() throws IOException {
+        //given
+        write("errors.properties", "max=최대");
+        messageSource = create();
+        messageSource.start();
+        assertThat(watchThreads()).isEqualTo(1);
+
+        //when
+        messageSource.close();
+
+        //then close 는 감시 스레드가 끝날 때까지 기다림
+        assertThat(watchThreads()).isZero();
+    }
+
+    static long watchThreads() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().equals("message-watch") && thread.isAlive())
+                .count();
+    }
+
+    private WatchedMessageSource create() {
+        return new WatchedMessageSource(dir, new String[]{"messages", "errors"}, StandardCharsets.UTF_8, 50);
+    }
+
+    private void write(String name, String content) throws IOException {
+        Files.writeString(dir.resolve(name), content, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,106 @@
+package hello.itemservice.seed;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.MemoryItemRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.validation.Validation;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ItemSeedLoaderTest {
+
+    ItemRepository itemRepository = new MemoryItemRepository();
+    ItemSeedLoader loader = new ItemSeedLoader(itemRepository,
+            Validation.buildDefaultValidatorFactory().getValidator());
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void load() throws Exception {
+        SeedResult result = loader.load(sample(), 2);
+
+        assertThat(result.getLoaded()).isEqualTo(3);
+        assertThat(result.getRejected()).isEqualTo(5);
+
+        List<Item> items = itemRepository.findAll();
+        assertThat(items).extracting("itemName").containsExactlyInAnyOrder("itemA", "item, with comma", "itemG");
+        assertThat(items).extracting("id").doesNotHaveDuplicates();
+    }
+
+    @Test
+    void loadInSmallChunks() throws Exception {
+        //청크가 헤더, 한 줄보다 작아도 줄 경계에서만 나뉨, \r\n 이 청크 경계에 걸려도 같은 결과
+        for (int chunkSize : new int[]{1, 5, 8, 16, 23}) {
+            itemRepository.clearStore();
+
+            SeedResult result = loader.load(sample(), 3, chunkSize);
+
+            assertThat(result.getLoaded()).as("chunkSize=%d", chunkSize).isEqualTo(3);
+            assertThat(result.getRejected()).as("chunkSize=%d", chunkSize).isEqualTo(5);
+            assertThat(itemRepository.findAll()).extracting("itemName")
+                    .containsExactlyInAnyOrder("itemA", "item, with comma", "itemG");
+        }
+    }
+
+    @Test
+    void stopReadingOnFirstFailedChunk() throws Exception {
+        //given 저장이 항상 실패하는 저장소, 청크 하나에 한 줄
+        AtomicInteger saveAllCalls = new AtomicInteger();
+        ItemRepository failing = new MemoryItemRepository() {
+            @Override
+            public void saveAll(List<Item> items) {
+                saveAllCalls.incrementAndGet();
+                throw new IllegalStateException("저장 실패");
+            }
+        };
+        ItemSeedLoader failingLoader = new ItemSeedLoader(failing,
+                Validation.buildDefaultValidatorFactory().getValidator());
+        StringBuilder csv = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            csv.append("item").append(i).append(",10000,10\n");
+        }
+        Path file = dir.resolve("many.csv");
+        Files.writeString(file, csv, StandardCharsets.UTF_8);
+
+        //when then 첫 실패 뒤로는 청크를 더 넘기지 않음 (permit 수 만큼만 더 돌 수 있다)
+        assertThatThrownBy(() -> failingLoader.load(file, 1, 16))
+                .isInstanceOf(IllegalStateException.class)
+                .hasRootCauseMessage("저장 실패");
+        assertThat(saveAllCalls.get()).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    void saveAllAllocatesIdBlock() {
+        Item item1 = new Item("item1", 10000, 10);
+        Item item2 = new Item("item2", 20000, 20);
+
+        itemRepository.saveAll(List.of(item1, item2));
+
+        assertThat(item2.getId()).isEqualTo(item1.getId() + 1);
+        assertThat(itemRepository.findById(item1.getId())).isEqualTo(item1);
+    }
+
+    private Path sample() throws Exception {
+        Path file = dir.resolve("items.csv");
+        Files.writeString(file, "itemName,price,quantity\n"
+                + "itemA,10000,10\r\n"
+                + "item, with comma,20000,20\n"
+                + "\n"
+                + ",10000,10\n"             //이름 필수
+                + "itemC,100,10\n"          //가격 범위
+                + "itemD,10000,10000\n"     //수량 최대
+                + "itemE,1000,1\n"          //가격 * 수량 최소
+                + "itemF,abc,10\n"          //타입 오류
+                + "itemG,30000,30", StandardCharsets.UTF_8);
+        return file;
+    }
+}
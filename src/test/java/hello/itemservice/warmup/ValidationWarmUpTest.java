@@ -0,0 +1,95 @@
+package hello.itemservice.warmup;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.web.validation.ItemValidator;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import hello.itemservice.web.validation.form.ItemUpdateForm;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.context.MessageSource;
+import org.springframework.context.MessageSourceResolvable;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import javax.validation.metadata.BeanDescriptor;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(properties = {"warmup.enabled=true", "warmup.iterations=10"})
+@ExtendWith(OutputCaptureExtension.class)
+class ValidationWarmUpTest {
+
+    RecordingValidator validator = new RecordingValidator();
+    RecordingMessageSource messageSource = new RecordingMessageSource();
+    MockEnvironment environment = new MockEnvironment()
+            .withProperty("spring.messages.basename", "messages,errors");
+    ValidationWarmUp warmUp = new ValidationWarmUp(validator, new ItemValidator(), messageSource, environment);
+
+    @Test
+    void warmUpRunsBeforeStartupCompletes(CapturedOutput output) {
+        //컨텍스트는 이 클래스의 첫 테스트 직전에 뜨고, 예열이 끝나야 시작이 끝나므로 완료 로그가 이미 남아 있다
+        assertThat(output).contains(ValidationWarmUp.COMPLETED_LOG).contains("(10 iterations)");
+    }
+
+    @Test
+    void buildValidatorMetadata() {
+        //given
+        validator.afterPropertiesSet();
+
+        //when
+        warmUp.buildValidatorMetadata();
+
+        //then
+        assertThat(validator.described).containsExactly(Item.class, ItemSaveForm.class, ItemUpdateForm.class);
+    }
+
+    @Test
+    void loadMessages() {
+        //when
+        warmUp.loadMessages();
+
+        //then 두 번들의 키를 두 언어로 모두 조회
+        assertThat(messageSource.resolved).contains(
+                "hello/" + Locale.KOREAN, "hello/" + Locale.ENGLISH,
+                "required.item.itemName/" + Locale.KOREAN, "required.item.itemName/" + Locale.ENGLISH);
+    }
+
+    static class RecordingValidator extends LocalValidatorFactoryBean {
+
+        final List<Class<?>> described = new ArrayList<>();
+
+        @Override
+        public BeanDescriptor getConstraintsForClass(Class<?> clazz) {
+            described.add(clazz);
+            return super.getConstraintsForClass(clazz);
+        }
+    }
+
+    static class RecordingMessageSource implements MessageSource {
+
+        final List<String> resolved = new ArrayList<>();
+
+        @Override
+        public String getMessage(String code, Object[] args, String defaultMessage, Locale locale) {
+            resolved.add(code + "/" + locale);
+            return defaultMessage;
+        }
+
+        @Override
+        public String getMessage(String code, Object[] args, Locale locale) {
+            resolved.add(code + "/" + locale);
+            return code;
+        }
+
+        @Override
+        public String getMessage(MessageSourceResolvable resolvable, Locale locale) {
+            return resolvable.getDefaultMessage();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package hello.itemservice.web.admission;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+
+class AdmissionInterceptorTest {
+
+    AdmissionInterceptor interceptor = new AdmissionInterceptor(new TokenBucketAdmissionPolicy(1, 1, 1, 1, 100),
+            Set.of("10.0.0.10"));
+
+    @Test
+    void forwardedForIgnoredFromUntrustedAddress() {
+        //given 클라이언트가 직접 헤더를 넣음
+        MockHttpServletRequest request = request("203.0.113.7", "198.51.100.1");
+
+        //when
+        String clientKey = interceptor.clientKey(request);
+
+        //then
+        assertThat(clientKey).isEqualTo("203.0.113.7");
+    }
+
+    @Test
+    void forwardedForFromTrustedProxy() {
+        //given 클라이언트가 넣은 가짜 주소 뒤에 프록시가 실제 접속 주소를 붙임
+        MockHttpServletRequest request = request("10.0.0.10", "198.51.100.1, 203.0.113.7");
+
+        //when
+        String clientKey = interceptor.clientKey(request);
+
+        //then
+        assertThat(clientKey).isEqualTo("203.0.113.7");
+    }
+
+    @Test
+    void rotatingHeaderSharesOneBucket() {
+        //given 버킷 하나에 1개
+        MockHttpServletRequest first = request("203.0.113.7", "198.51.100.1");
+        first.setMethod("POST");
+        MockHttpServletRequest second = request("203.0.113.7", "198.51.100.2");
+        second.setMethod("POST");
+
+        //when
+        boolean firstAdmitted = interceptor.preHandle(first, new MockHttpServletResponse(), null);
+        boolean secondAdmitted = interceptor.preHandle(second, new MockHttpServletResponse(), null);
+
+        //then
+        assertThat(firstAdmitted).isTrue();
+        assertThat(secondAdmitted).isFalse();
+    }
+
+    private static MockHttpServletRequest request(String remoteAddr, String forwardedFor) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/validation/v4/items/add");
+        request.setRemoteAddr(remoteAddr);
+        request.addHeader("X-Forwarded-For", forwardedFor);
+        return request;
+    }
+}
@@ -0,0 +1,68 @@
+package hello.itemservice.web.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+class TokenBucketTest {
+
+    static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void burst() {
+        //초당 1개, 최대 3개
+        TokenBucket bucket = new TokenBucket(1, 3, 0);
+
+        assertThat(bucket.tryAcquire(0)).isTrue();
+        assertThat(bucket.tryAcquire(0)).isTrue();
+        assertThat(bucket.tryAcquire(0)).isTrue();
+        assertThat(bucket.tryAcquire(0)).isFalse();
+    }
+
+    @Test
+    void refill() {
+        TokenBucket bucket = new TokenBucket(1, 1, 0);
+
+        assertThat(bucket.tryAcquire(0)).isTrue();
+        assertThat(bucket.tryAcquire(SECOND / 2)).isFalse();
+        //1초 지나면 다시 1개
+        assertThat(bucket.tryAcquire(SECOND)).isTrue();
+    }
+
+    @Test
+    void consumeDoesNotGoBeyondEmpty() {
+        TokenBucket bucket = new TokenBucket(1, 2, 0);
+
+        //검증 실패는 무조건 차감되지만 빚은 버킷 하나까지만
+        for (int i = 0; i < 100; i++) {
+            bucket.consume(0);
+        }
+        assertThat(bucket.hasToken(0)).isFalse();
+        assertThat(bucket.hasToken(SECOND)).isTrue();
+    }
+
+    @Test
+    void full() {
+        TokenBucket bucket = new TokenBucket(1, 2, 0);
+        assertThat(bucket.isFull(0)).isTrue();
+
+        bucket.tryAcquire(0);
+        assertThat(bucket.isFull(0)).isFalse();
+        assertThat(bucket.isFull(SECOND)).isTrue();
+    }
+
+    @Test
+    void invalidBudgetBlocksClient() {
+        TokenBucketAdmissionPolicy policy = new TokenBucketAdmissionPolicy(100, 100, 0.001, 2, 10);
+
+        assertThat(policy.tryAdmit("bot")).isTrue();
+        policy.onInvalidSubmission("bot");
+        policy.onInvalidSubmission("bot");
+
+        //잘못된 요청 예산을 다 쓰면 submit 예산이 남아도 거절
+        assertThat(policy.tryAdmit("bot")).isFalse();
+        assertThat(policy.tryAdmit("user")).isTrue();
+    }
+}
@@ -0,0 +1,40 @@
+package hello.itemservice.web.asset;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.*;
+
+class AssetCacheInterceptorTest {
+
+    AssetCacheInterceptor interceptor = new AssetCacheInterceptor();
+
+    @Test
+    void fingerprintedAssetIsImmutable() {
+        //given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET",
+                "/css/bootstrap.min-0123456789abcdef0123456789abcdef.css");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        //when
+        interceptor.preHandle(request, response, null);
+
+        //then
+        assertThat(response.getHeader("Cache-Control")).isEqualTo(AssetCacheInterceptor.IMMUTABLE);
+        assertThat(response.getHeader("Vary")).isEqualTo("Accept-Encoding");
+    }
+
+    @Test
+    void plainAssetIsRevalidated() {
+        //given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/css/bootstrap.min.css");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        //when
+        interceptor.preHandle(request, response, null);
+
+        //then
+        assertThat(response.getHeader("Cache-Control")).isEqualTo(AssetCacheInterceptor.REVALIDATE);
+    }
+}
@@ -0,0 +1,74 @@
+package hello.itemservice.web.async;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+class AsyncItemExecutorTest {
+
+    AsyncItemExecutor executor = new AsyncItemExecutor(1, 1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void afterEach() throws InterruptedException {
+        release.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    void rejectWhenSaturated() throws InterruptedException {
+        //given 스레드 하나는 실행중, 대기열 하나는 대기중
+        CountDownLatch started = new CountDownLatch(1);
+        assertThat(executor.trySubmit(() -> {
+            started.countDown();
+            await(release);
+        })).isTrue();
+        started.await(1, TimeUnit.SECONDS);
+        assertThat(executor.trySubmit(() -> {
+        })).isTrue();
+
+        //when
+        boolean submitted = executor.trySubmit(() -> {
+        });
+
+        //then 기다리지 않고 바로 거절
+        assertThat(submitted).isFalse();
+        AsyncExecutorStats stats = executor.stats();
+        assertThat(stats.getActive()).isEqualTo(1);
+        assertThat(stats.getQueued()).isEqualTo(1);
+        assertThat(stats.getRejected()).isEqualTo(1);
+    }
+
+    @Test
+    void acceptAgainAfterDrain() throws InterruptedException {
+        //given
+        CountDownLatch done = new CountDownLatch(2);
+        executor.trySubmit(() -> {
+            await(release);
+            done.countDown();
+        });
+        executor.trySubmit(done::countDown);
+        assertThat(executor.trySubmit(() -> {
+        })).isFalse();
+
+        //when
+        release.countDown();
+        done.await(1, TimeUnit.SECONDS);
+
+        //then
+        assertThat(executor.trySubmit(() -> {
+        })).isTrue();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
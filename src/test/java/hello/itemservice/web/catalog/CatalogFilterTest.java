@@ -0,0 +1,96 @@
+package hello.itemservice.web.catalog;
+
+import hello.itemservice.domain.catalog.Catalog;
+import hello.itemservice.domain.catalog.CatalogRegistry;
+import hello.itemservice.domain.item.MemoryItemRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.http.HttpServletRequest;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CatalogFilterTest {
+
+    CatalogRegistry catalogRegistry = new CatalogRegistry(new MemoryItemRepository(), 10);
+    CatalogFilter filter = new CatalogFilter(catalogRegistry);
+
+    @Test
+    void catalogFromPath() throws Exception {
+        //given
+        Catalog shopA = catalogRegistry.create("shop-a");
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/catalogs/shop-a/validation/v4/items/1");
+        MockFilterChain chain = new MockFilterChain();
+
+        //when
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        //then
+        HttpServletRequest forwarded = (HttpServletRequest) chain.getRequest();
+        assertThat(forwarded.getContextPath()).isEqualTo("/catalogs/shop-a");
+        assertThat(forwarded.getServletPath()).isEqualTo("/validation/v4/items/1");
+        assertThat(forwarded.getAttribute(CatalogFilter.CATALOG_ATTRIBUTE)).isSameAs(shopA);
+    }
+
+    @Test
+    void catalogFromHeader() throws Exception {
+        //given
+        Catalog shopA = catalogRegistry.create("shop-a");
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/validation/api/items/add");
+        request.addHeader(CatalogFilter.HEADER_NAME, "shop-a");
+        MockFilterChain chain = new MockFilterChain();
+
+        //when
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        //then
+        assertThat(chain.getRequest()).isSameAs(request);
+        assertThat(request.getAttribute(CatalogFilter.CATALOG_ATTRIBUTE)).isSameAs(shopA);
+    }
+
+    @Test
+    void unknownCatalog() throws Exception {
+        //given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/catalogs/nope/validation/v4/items");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        //when
+        filter.doFilter(request, response, chain);
+
+        //then
+        assertThat(response.getStatus()).isEqualTo(404);
+        assertThat(chain.getRequest()).isNull();
+    }
+
+    @Test
+    void defaultOnlyPathRejectedForOtherCatalog() throws Exception {
+        //given 검색 색인은 default 만 따라감
+        catalogRegistry.create("shop-a");
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/validation/api/items/search");
+        request.addHeader(CatalogFilter.HEADER_NAME, "shop-a");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        //when
+        filter.doFilter(request, response, chain);
+
+        //then
+        assertThat(response.getStatus()).isEqualTo(404);
+        assertThat(chain.getRequest()).isNull();
+    }
+
+    @Test
+    void catalogPaths() {
+        assertThat(CatalogFilter.isCatalogPath("/validation/v2/items")).isTrue();
+        assertThat(CatalogFilter.isCatalogPath("/validation/api/items/3")).isTrue();
+        assertThat(CatalogFilter.isCatalogPath("/validation/api/items/3/stock/reserve")).isTrue();
+        assertThat(CatalogFilter.isCatalogPath("/export/items.csv")).isTrue();
+        assertThat(CatalogFilter.isCatalogPath("/validation/api/items/3/history")).isFalse();
+        assertThat(CatalogFilter.isCatalogPath("/validation/api/items/top/cheapest")).isFalse();
+        assertThat(CatalogFilter.isCatalogPath("/feed/items")).isFalse();
+        assertThat(CatalogFilter.isCatalogPath("/metrics/latency")).isFalse();
+    }
+}
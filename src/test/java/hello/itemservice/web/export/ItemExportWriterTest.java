@@ -0,0 +1,77 @@
+package hello.itemservice.web.export;
+
+import hello.itemservice.domain.item.Item;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ItemExportWriterTest {
+
+    @Test
+    void csv() throws IOException {
+        //given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ItemExportWriter writer = new ItemExportWriter(out, ItemExportWriter.Format.CSV, 64);
+
+        //when
+        writer.writeHeader();
+        writer.write(item(1L, "itemA", 10000, 10));
+        writer.write(item(2L, "상품, \"특가\"", -5, null));
+        writer.flush();
+
+        //then
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "id,itemName,price,quantity\n" +
+                "1,itemA,10000,10\n" +
+                "2,\"상품, \"\"특가\"\"\",-5,\n");
+        assertThat(writer.getRows()).isEqualTo(2);
+    }
+
+    @Test
+    void jsonLines() throws IOException {
+        //given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ItemExportWriter writer = new ItemExportWriter(out, ItemExportWriter.Format.JSON_LINES, 64);
+
+        //when
+        writer.writeHeader();
+        writer.write(item(1L, "a\"b\\c\n\u0001", 10000, 10));
+        writer.write(item(2L, null, null, 3));
+        writer.flush();
+
+        //then
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "{\"id\":1,\"itemName\":\"a\\\"b\\\\c\\n\\u0001\",\"price\":10000,\"quantity\":10}\n" +
+                "{\"id\":2,\"itemName\":null,\"price\":null,\"quantity\":3}\n");
+    }
+
+    @Test
+    void multiByteNamesAcrossBufferBoundaries() throws IOException {
+        //given, 버퍼(64)보다 훨씬 긴 출력
+        String name = "가나다😀abc";
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ItemExportWriter writer = new ItemExportWriter(out, ItemExportWriter.Format.CSV, 64);
+        StringBuilder expected = new StringBuilder();
+
+        //when
+        for (long id = 1; id <= 100; id++) {
+            writer.write(item(id, name, Integer.MAX_VALUE, Integer.MIN_VALUE));
+            expected.append(id).append(',').append(name).append(',')
+                    .append(Integer.MAX_VALUE).append(',').append(Integer.MIN_VALUE).append('\n');
+        }
+        writer.flush();
+
+        //then
+        assertThat(out.toByteArray()).isEqualTo(expected.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Item item(Long id, String itemName, Integer price, Integer quantity) {
+        Item item = new Item(itemName, price, quantity);
+        item.setId(id);
+        return item;
+    }
+}
@@ -0,0 +1,97 @@
+package hello.itemservice.web.idempotency;
+
+import hello.itemservice.domain.catalog.Catalog;
+import hello.itemservice.domain.catalog.CatalogRegistry;
+import hello.itemservice.domain.item.MemoryItemRepository;
+import hello.itemservice.web.catalog.CatalogFilter;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class IdempotencyInterceptorTest {
+
+    IdempotencyKeyStore keyStore = new IdempotencyKeyStore(600, 100);
+    IdempotencyInterceptor interceptor = new IdempotencyInterceptor(keyStore, List.of());
+    CatalogRegistry catalogRegistry = new CatalogRegistry(new MemoryItemRepository(), 10);
+
+    @Test
+    void sameKeyReplaysOnSameEndpoint() throws Exception {
+        //given 폼 등록이 리다이렉트로 끝남
+        complete(request("/validation/v4/items/add", null), new IdempotentRedirect("/validation/v4/items/1?status=true"));
+
+        //when
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        boolean proceed = interceptor.preHandle(request("/validation/v4/items/add", null), response, null);
+
+        //then
+        assertThat(proceed).isFalse();
+        assertThat(response.getRedirectedUrl()).isEqualTo("/validation/v4/items/1?status=true");
+    }
+
+    @Test
+    void sameKeyOnOtherEndpointIsNew() throws Exception {
+        //given
+        complete(request("/validation/v4/items/add", null), new IdempotentRedirect("/validation/v4/items/1?status=true"));
+
+        //when API 등록에 같은 키, 폼의 리다이렉트를 받으면 안 됨
+        MockHttpServletRequest api = request("/validation/api/items/add", null);
+        boolean proceed = interceptor.preHandle(api, new MockHttpServletResponse(), null);
+
+        //then
+        assertThat(proceed).isTrue();
+        assertThat(api.getAttribute(IdempotencyInterceptor.KEY_ATTRIBUTE)).isNotNull();
+    }
+
+    @Test
+    void sameKeyInOtherCatalogIsNew() throws Exception {
+        //given
+        Catalog shopA = catalogRegistry.create("shop-a");
+        Catalog shopB = catalogRegistry.create("shop-b");
+        complete(request("/validation/api/items/add", shopA), "shop-a item");
+
+        //when
+        boolean proceed = interceptor.preHandle(request("/validation/api/items/add", shopB),
+                new MockHttpServletResponse(), null);
+
+        //then
+        assertThat(proceed).isTrue();
+    }
+
+    @Test
+    void fullStoreRejects() throws Exception {
+        //given 처리중인 키로 가득 참
+        IdempotencyInterceptor small = new IdempotencyInterceptor(new IdempotencyKeyStore(600, 1), List.of());
+        small.preHandle(request("/validation/api/items/add", null), new MockHttpServletResponse(), null);
+
+        //when
+        MockHttpServletRequest other = request("/validation/api/items/add", null);
+        other.removeHeader(IdempotencyInterceptor.HEADER_NAME);
+        other.addHeader(IdempotencyInterceptor.HEADER_NAME, "key-2");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        boolean proceed = small.preHandle(other, response, null);
+
+        //then
+        assertThat(proceed).isFalse();
+        assertThat(response.getStatus()).isEqualTo(503);
+    }
+
+    private void complete(MockHttpServletRequest request, Object result) throws Exception {
+        assertThat(interceptor.preHandle(request, new MockHttpServletResponse(), null)).isTrue();
+        keyStore.complete((String) request.getAttribute(IdempotencyInterceptor.KEY_ATTRIBUTE), result);
+    }
+
+    private static MockHttpServletRequest request(String pattern, Catalog catalog) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", pattern);
+        request.addHeader(IdempotencyInterceptor.HEADER_NAME, "key-1");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+        if (catalog != null) {
+            request.setAttribute(CatalogFilter.CATALOG_ATTRIBUTE, catalog);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,92 @@
+package hello.itemservice.web.idempotency;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+class IdempotencyKeyStoreTest {
+
+    IdempotencyKeyStore keyStore = new IdempotencyKeyStore(600, 3);
+
+    @Test
+    void firstRequest() {
+        //처음 보는 키는 null, 로직 진행
+        assertThat(keyStore.begin("key1")).isNull();
+    }
+
+    @Test
+    void pendingDuplicate() {
+        keyStore.begin("key1");
+
+        //처리중인 키로 다시 들어오면 완료되지 않은 Entry
+        IdempotencyKeyStore.Entry entry = keyStore.begin("key1");
+        assertThat(entry).isNotNull();
+        assertThat(entry.isCompleted()).isFalse();
+    }
+
+    @Test
+    void completedDuplicate() {
+        keyStore.begin("key1");
+        keyStore.complete("key1", new IdempotentRedirect("/validation/v4/items/1?status=true"));
+
+        IdempotencyKeyStore.Entry entry = keyStore.begin("key1");
+        assertThat(entry.isCompleted()).isTrue();
+        assertThat(((IdempotentRedirect) entry.getResult()).getLocation()).isEqualTo("/validation/v4/items/1?status=true");
+    }
+
+    @Test
+    void releaseAfterValidationError() {
+        keyStore.begin("key1");
+        keyStore.releaseIfPending("key1");
+
+        //검증 실패로 풀린 키는 다시 처리 가능
+        assertThat(keyStore.begin("key1")).isNull();
+    }
+
+    @Test
+    void releaseDoesNotRemoveCompleted() {
+        keyStore.begin("key1");
+        keyStore.complete("key1", "result");
+        keyStore.releaseIfPending("key1");
+
+        assertThat(keyStore.begin("key1").getResult()).isEqualTo("result");
+    }
+
+    @Test
+    void expired() {
+        IdempotencyKeyStore expiredStore = new IdempotencyKeyStore(0, 3);
+        expiredStore.begin("key1");
+        expiredStore.complete("key1", "result");
+
+        //TTL 0 이면 바로 만료, 새 요청으로 취급
+        assertThat(expiredStore.begin("key1")).isNull();
+    }
+
+    @Test
+    void bounded() {
+        for (int i = 0; i < 10; i++) {
+            keyStore.begin("key" + i);
+            keyStore.complete("key" + i, "result" + i);
+        }
+
+        assertThat(keyStore.size()).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    void pendingKeysAreCapped() {
+        //given 처리중인 키로 가득 참
+        for (int i = 0; i < 3; i++) {
+            assertThat(keyStore.begin("key" + i)).isNull();
+        }
+
+        //when then 처리중인 키는 지우지 않으므로 새 키는 받지 않음
+        assertThat(keyStore.begin("key3")).isSameAs(IdempotencyKeyStore.FULL);
+        assertThat(keyStore.size()).isEqualTo(3);
+        //이미 있는 키는 그대로 중복 처리
+        assertThat(keyStore.begin("key0").isCompleted()).isFalse();
+
+        //하나가 끝나면 정리해서 다시 받음
+        keyStore.releaseIfPending("key0");
+        assertThat(keyStore.begin("key3")).isNull();
+    }
+}
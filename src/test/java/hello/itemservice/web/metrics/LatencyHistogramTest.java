@@ -0,0 +1,52 @@
+package hello.itemservice.web.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    void bucketIndex() {
+        //16 미만은 정확한 값, 이후는 2의 거듭제곱 구간마다 16칸
+        assertThat(LatencyHistogram.indexOf(15)).isEqualTo(15);
+        assertThat(LatencyHistogram.indexOf(16)).isEqualTo(16);
+        assertThat(LatencyHistogram.indexOf(31)).isEqualTo(31);
+        assertThat(LatencyHistogram.indexOf(32)).isEqualTo(32);
+        assertThat(LatencyHistogram.indexOf(Long.MAX_VALUE)).isLessThan((64 - 4) * 16);
+    }
+
+    @Test
+    void relativeError() {
+        long[] values = {1_000, 12_345, 1_000_000, 987_654_321};
+        for (long value : values) {
+            long approx = LatencyHistogram.valueOf(LatencyHistogram.indexOf(value));
+            assertThat((double) Math.abs(approx - value) / value).isLessThan(0.07);
+        }
+    }
+
+    @Test
+    void percentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertThat(snapshot.getCount()).isEqualTo(1000);
+        assertThat(snapshot.getMax()).isEqualTo(1_000_000);
+        assertThat(snapshot.percentile(50)).isBetween(470_000L, 530_000L);
+        assertThat(snapshot.percentile(99)).isBetween(930_000L, 1_000_000L);
+        assertThat(snapshot.percentile(99.9)).isBetween(940_000L, 1_000_000L);
+    }
+
+    @Test
+    void reset() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(100);
+        histogram.reset();
+
+        assertThat(histogram.snapshot().getCount()).isZero();
+        assertThat(histogram.snapshot().percentile(99)).isZero();
+    }
+}
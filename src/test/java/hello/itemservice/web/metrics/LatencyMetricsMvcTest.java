@@ -0,0 +1,73 @@
+package hello.itemservice.web.metrics;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+//@RequestBody 의 BIND 는 TimedRequestBodyAdvice 가 컨버터 읽기만 재서 남긴다
+@SpringBootTest(properties = "metrics.latency.enabled=true")
+@AutoConfigureMockMvc
+class LatencyMetricsMvcTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    LatencyMetrics latencyMetrics;
+
+    @BeforeEach
+    void reset() {
+        latencyMetrics.reset();
+    }
+
+    @Test
+    void validatedBodyRecordsBindAndValidate() throws Exception {
+        //when
+        mockMvc.perform(post("/validation/api/items/add")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"itemName\":\"latency\",\"price\":10000,\"quantity\":10}"))
+                .andExpect(status().isOk());
+
+        //then
+        Map<Phase, Map<String, Long>> phases = latencyMetrics.report().get("ValidationItemApiController.addItem");
+        assertThat(phases.get(Phase.BIND).get("count")).isEqualTo(1);
+        assertThat(phases.get(Phase.VALIDATE).get("count")).isEqualTo(1);
+    }
+
+    @Test
+    void unvalidatedBodyRecordsBind() throws Exception {
+        //when 부분 수정은 ObjectNode 로 받아 바인더 검증을 거치지 않음
+        mockMvc.perform(patch("/validation/api/items/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"price\":12000}"))
+                .andExpect(status().isOk());
+
+        //then
+        Map<Phase, Map<String, Long>> phases = latencyMetrics.report().get("ValidationItemApiController.patchItem");
+        assertThat(phases.get(Phase.BIND).get("count")).isEqualTo(1);
+        assertThat(phases.get(Phase.TOTAL).get("count")).isEqualTo(1);
+    }
+
+    @Test
+    void bindDoesNotCoverWholeHandler() throws Exception {
+        //when
+        mockMvc.perform(post("/validation/api/items/add")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"itemName\":\"latency\",\"price\":10000,\"quantity\":10}"))
+                .andExpect(status().isOk());
+
+        //then 바디 읽기는 핸들러 구간의 일부
+        Map<Phase, Map<String, Long>> phases = latencyMetrics.report().get("ValidationItemApiController.addItem");
+        assertThat(phases.get(Phase.BIND).get("max")).isLessThanOrEqualTo(phases.get(Phase.HANDLER).get("max"));
+    }
+}
@@ -0,0 +1,59 @@
+package hello.itemservice.web.metrics;
+
+import hello.itemservice.domain.item.Item;
+import org.junit.jupiter.api.Test;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ValidationFailureStatsTest {
+
+    ValidationFailureStats stats = new ValidationFailureStats(30, 10);
+
+    @Test
+    void recordBindingResult() {
+        BindingResult bindingResult = new BeanPropertyBindingResult(new Item(), "item");
+        bindingResult.rejectValue("itemName", "required");
+        bindingResult.rejectValue("price", "range", new Object[]{1000, 1000000}, null);
+        bindingResult.reject("totalPriceMin", new Object[]{10000, 100}, null);
+
+        stats.record(bindingResult);
+        stats.record(bindingResult);
+
+        Map<String, Long> top = stats.topCodes(10, false);
+        assertThat(top).containsEntry("required.item.itemName", 2L)
+                .containsEntry("range.item.price", 2L)
+                .containsEntry("totalPriceMin.item", 2L);
+        assertThat(stats.topFields(10, false)).containsEntry(ValidationFailureStats.GLOBAL, 2L);
+    }
+
+    @Test
+    void topOrder() {
+        stats.record("max.item.quantity", "quantity");
+        stats.record("range.item.price", "price");
+        stats.record("range.item.price", "price");
+
+        Map<String, Long> top = stats.topCodes(1, true);
+        assertThat(top).containsOnlyKeys("range.item.price");
+    }
+
+    @Test
+    void rollingWindow() {
+        RollingCounter counter = new RollingCounter(3, 1000);
+        counter.increment(0);
+        counter.increment(1000);
+        counter.increment(2000);
+
+        assertThat(counter.windowSum(2000)).isEqualTo(3);
+        //3초가 지나면 첫번째 슬롯은 구간 밖
+        assertThat(counter.windowSum(3000)).isEqualTo(2);
+
+        //같은 슬롯을 재사용하면 이전 값은 비워짐
+        counter.increment(3000);
+        assertThat(counter.windowSum(3000)).isEqualTo(3);
+        assertThat(counter.total()).isEqualTo(4);
+    }
+}
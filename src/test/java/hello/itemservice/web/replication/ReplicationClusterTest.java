@@ -0,0 +1,164 @@
+package hello.itemservice.web.replication;
+
+import hello.itemservice.ItemServiceApplication;
+import hello.itemservice.domain.feed.ItemChangeFeed;
+import hello.itemservice.domain.replication.ReplicationClient;
+import hello.itemservice.domain.replication.ReplicationServer;
+import hello.itemservice.web.catalog.CatalogFilter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+//localhost 에 리더 하나, 팔로워 둘을 각각 애플리케이션으로 띄워서 확인
+class ReplicationClusterTest {
+
+    List<ConfigurableApplicationContext> nodes = new ArrayList<>();
+
+    //리다이렉트를 따라가지 않아야 팔로워의 307 을 볼 수 있다
+    RestTemplate rest = new RestTemplate(new SimpleClientHttpRequestFactory() {
+        @Override
+        protected void prepareConnection(HttpURLConnection connection, String httpMethod) throws IOException {
+            super.prepareConnection(connection, httpMethod);
+            connection.setInstanceFollowRedirects(false);
+        }
+    });
+
+    @AfterEach
+    void afterEach() {
+        for (int i = nodes.size() - 1; i >= 0; i--) {
+            nodes.get(i).close();
+        }
+    }
+
+    @Test
+    void followersServeReadsAndSendWritesToLeader() throws InterruptedException {
+        //given
+        ConfigurableApplicationContext leader = start("--replication.port=0");
+        String leaderUrl = "http://localhost:" + httpPort(leader);
+        int replicationPort = leader.getBean(ReplicationServer.class).getPort();
+        List<ConfigurableApplicationContext> followers = List.of(
+                start("--item.repository=replica", "--replication.leader=localhost:" + replicationPort,
+                        "--replication.leader-url=" + leaderUrl),
+                start("--item.repository=replica", "--replication.leader=localhost:" + replicationPort,
+                        "--replication.leader-url=" + leaderUrl));
+        String followerUrl = "http://localhost:" + httpPort(followers.get(0));
+
+        //when 팔로워로 보낸 등록은 리더로 돌려보냄
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        HttpEntity<Map<String, Object>> body = new HttpEntity<>(
+                Map.of("itemName", "replicated", "price", 10000, "quantity", 10), headers);
+        ResponseEntity<String> redirected = rest.postForEntity(followerUrl + "/validation/api/items/add", body, String.class);
+        ResponseEntity<Map> saved = rest.postForEntity(redirected.getHeaders().getLocation(), body, Map.class);
+        for (ConfigurableApplicationContext follower : followers) {
+            awaitCaughtUp(leader, follower);
+        }
+
+        //then
+        assertThat(redirected.getStatusCode()).isEqualTo(HttpStatus.TEMPORARY_REDIRECT);
+        assertThat(redirected.getHeaders().getLocation()).hasToString(leaderUrl + "/validation/api/items/add");
+        Object itemId = saved.getBody().get("id");
+        for (ConfigurableApplicationContext follower : followers) {
+            String url = "http://localhost:" + httpPort(follower);
+            ResponseEntity<String> detail = rest.getForEntity(url + "/validation/v4/items/" + itemId, String.class);
+            assertThat(detail.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(detail.getBody()).contains("replicated");
+            //리더의 TestDataInit 상품도 스냅샷으로
+            assertThat(rest.getForObject(url + "/validation/v4/items", String.class)).contains("itemA", "itemB");
+
+            Map<?, ?> metrics = rest.getForObject(url + "/metrics/replication", Map.class);
+            assertThat(metrics.get("role")).isEqualTo("follower");
+            assertThat(((Number) metrics.get("lagOps")).longValue()).isZero();
+        }
+        Map<?, ?> leaderMetrics = rest.getForObject(leaderUrl + "/metrics/replication", Map.class);
+        assertThat((List<?>) leaderMetrics.get("followers")).hasSize(2);
+    }
+
+    @Test
+    void followerSendsOtherCatalogsToLeader() {
+        //given 카탈로그는 리더에만 있음
+        ConfigurableApplicationContext leader = start("--replication.port=0");
+        String leaderUrl = "http://localhost:" + httpPort(leader);
+        int replicationPort = leader.getBean(ReplicationServer.class).getPort();
+        ConfigurableApplicationContext follower = start("--item.repository=replica",
+                "--replication.leader=localhost:" + replicationPort, "--replication.leader-url=" + leaderUrl);
+        String followerUrl = "http://localhost:" + httpPort(follower);
+        rest.put(leaderUrl + "/admin/catalogs/shop-a", null);
+
+        //when 경로로 고른 카탈로그의 읽기, 쓰기
+        ResponseEntity<String> list = rest.getForEntity(followerUrl + "/catalogs/shop-a/validation/v4/items", String.class);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        HttpEntity<Map<String, Object>> body = new HttpEntity<>(
+                Map.of("itemName", "shop-a item", "price", 10000, "quantity", 10), headers);
+        ResponseEntity<String> add = rest.postForEntity(followerUrl + "/catalogs/shop-a/validation/api/items/add",
+                body, String.class);
+        ResponseEntity<Map> saved = rest.postForEntity(add.getHeaders().getLocation(), body, Map.class);
+
+        //헤더로 고른 카탈로그의 읽기
+        HttpHeaders catalogHeader = new HttpHeaders();
+        catalogHeader.set(CatalogFilter.HEADER_NAME, "shop-a");
+        String detailPath = "/validation/v4/items/" + saved.getBody().get("id");
+        ResponseEntity<String> detail = rest.exchange(followerUrl + detailPath, HttpMethod.GET,
+                new HttpEntity<>(catalogHeader), String.class);
+
+        //then
+        assertThat(list.getStatusCode()).isEqualTo(HttpStatus.TEMPORARY_REDIRECT);
+        assertThat(list.getHeaders().getLocation()).hasToString(leaderUrl + "/catalogs/shop-a/validation/v4/items");
+        assertThat(add.getStatusCode()).isEqualTo(HttpStatus.TEMPORARY_REDIRECT);
+        assertThat(add.getHeaders().getLocation())
+                .hasToString(leaderUrl + "/catalogs/shop-a/validation/api/items/add");
+        assertThat(saved.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(detail.getStatusCode()).isEqualTo(HttpStatus.TEMPORARY_REDIRECT);
+        assertThat(detail.getHeaders().getLocation()).hasToString(leaderUrl + detailPath);
+        ResponseEntity<String> fromLeader = rest.exchange(detail.getHeaders().getLocation(), HttpMethod.GET,
+                new HttpEntity<>(catalogHeader), String.class);
+        assertThat(fromLeader.getBody()).contains("shop-a item");
+        assertThat(rest.getForObject(list.getHeaders().getLocation(), String.class)).contains("shop-a item");
+    }
+
+    private ConfigurableApplicationContext start(String... args) {
+        List<String> all = new ArrayList<>(List.of(args));
+        all.add("--server.port=0");
+        all.add("--replication.heartbeat-millis=50");
+        all.add("--replication.secret=cluster-test");
+        all.add("--logging.level.hello.itemservice=warn");
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(ItemServiceApplication.class)
+                .run(all.toArray(new String[0]));
+        nodes.add(context);
+        return context;
+    }
+
+    private static int httpPort(ConfigurableApplicationContext context) {
+        return ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+    }
+
+    private static void awaitCaughtUp(ConfigurableApplicationContext leader, ConfigurableApplicationContext follower)
+            throws InterruptedException {
+        ItemChangeFeed feed = leader.getBean(ItemChangeFeed.class);
+        ReplicationClient client = follower.getBean(ReplicationClient.class);
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while ((client.isStale() || client.appliedSequence() < feed.next() - 1) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(client.appliedSequence()).isEqualTo(feed.next() - 1);
+    }
+}
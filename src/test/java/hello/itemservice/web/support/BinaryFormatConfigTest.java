@@ -0,0 +1,67 @@
+package hello.itemservice.web.support;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class BinaryFormatConfigTest {
+
+    BinaryFormatConfig config = new BinaryFormatConfig();
+    ObjectMapper json = Jackson2ObjectMapperBuilder.json().build();
+    ObjectMapper cbor = config.cborHttpMessageConverter(Jackson2ObjectMapperBuilder.json()).getObjectMapper();
+    ObjectMapper smile = config.smileHttpMessageConverter(Jackson2ObjectMapperBuilder.json()).getObjectMapper();
+
+    @Test
+    void convertersHandleBinaryMediaTypes() {
+        assertThat(config.cborHttpMessageConverter(Jackson2ObjectMapperBuilder.json())
+                .canRead(ItemSaveForm.class, MediaType.APPLICATION_CBOR)).isTrue();
+        assertThat(config.smileHttpMessageConverter(Jackson2ObjectMapperBuilder.json())
+                .canWrite(ItemSaveForm.class, BinaryFormatConfig.APPLICATION_SMILE)).isTrue();
+    }
+
+    @Test
+    void formRoundTrip() throws Exception {
+        //given
+        ItemSaveForm form = new ItemSaveForm();
+        form.setItemName("itemA");
+        form.setPrice(10000);
+        form.setQuantity(10);
+
+        //when
+        ItemSaveForm fromCbor = cbor.readValue(cbor.writeValueAsBytes(form), ItemSaveForm.class);
+        ItemSaveForm fromSmile = smile.readValue(smile.writeValueAsBytes(form), ItemSaveForm.class);
+
+        //then
+        assertThat(fromCbor).isEqualTo(form);
+        assertThat(fromSmile).isEqualTo(form);
+    }
+
+    @Test
+    void validationErrorsHaveSameShapeAsJson() throws Exception {
+        //given
+        ItemSaveForm form = new ItemSaveForm();
+        BindingResult bindingResult = new BeanPropertyBindingResult(form, "itemSaveForm");
+        bindingResult.rejectValue("itemName", "NotBlank", "공백일 수 없습니다");
+        bindingResult.rejectValue("price", "Range", new Object[]{1000, 1000000}, null);
+        List<?> errors = bindingResult.getAllErrors();
+
+        //when
+        byte[] jsonBytes = json.writeValueAsBytes(errors);
+        byte[] cborBytes = cbor.writeValueAsBytes(errors);
+        byte[] smileBytes = smile.writeValueAsBytes(errors);
+
+        //then
+        assertThat(cbor.readTree(cborBytes)).isEqualTo(json.readTree(jsonBytes));
+        assertThat(smile.readTree(smileBytes)).isEqualTo(json.readTree(jsonBytes));
+        assertThat(cborBytes.length).isLessThan(jsonBytes.length);
+        assertThat(smileBytes.length).isLessThan(jsonBytes.length);
+    }
+}
@@ -0,0 +1,89 @@
+package hello.itemservice.web.support;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import hello.itemservice.web.idempotency.IdempotencyInterceptor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+//binary-format.enabled=false 면 스프링 MVC 기본 컨버터의 CBOR, Smile 까지 빠져야 함
+@SpringBootTest(properties = "binary-format.enabled=false")
+@AutoConfigureMockMvc
+class BinaryFormatDisabledMvcTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    HttpMessageConverters httpMessageConverters;
+
+    ObjectMapper json = new ObjectMapper();
+    ObjectMapper cbor = new ObjectMapper(new CBORFactory());
+
+    Map<String, Object> form = Map.of("itemName", "json-only", "price", 10000, "quantity", 10);
+
+    @Test
+    void noBinaryConverters() {
+        assertThat(httpMessageConverters.getConverters())
+                .noneMatch(converter -> converter.canRead(Map.class, MediaType.APPLICATION_CBOR))
+                .noneMatch(converter -> converter.canWrite(Map.class, BinaryFormatConfig.APPLICATION_SMILE));
+    }
+
+    @Test
+    void binaryBodyRejected() throws Exception {
+        mockMvc.perform(post("/validation/api/items/add")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .content(cbor.writeValueAsBytes(form)))
+                .andExpect(status().isUnsupportedMediaType());
+        mockMvc.perform(patch("/validation/api/items/1")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .content(cbor.writeValueAsBytes(Map.of("price", 12000))))
+                .andExpect(status().isUnsupportedMediaType());
+    }
+
+    @Test
+    void binaryAcceptRejected() throws Exception {
+        mockMvc.perform(post("/validation/api/items/add")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(json.writeValueAsBytes(form)))
+                .andExpect(status().isNotAcceptable());
+    }
+
+    @Test
+    void idempotentReplayRejectsBinaryAccept() throws Exception {
+        //given
+        String key = "json-only-replay";
+        mockMvc.perform(post("/validation/api/items/add")
+                        .header(IdempotencyInterceptor.HEADER_NAME, key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json.writeValueAsBytes(form)))
+                .andExpect(status().isOk());
+
+        //when then 재응답도 같은 컨버터 목록
+        mockMvc.perform(post("/validation/api/items/add")
+                        .header(IdempotencyInterceptor.HEADER_NAME, key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(BinaryFormatConfig.APPLICATION_SMILE)
+                        .content(json.writeValueAsBytes(form)))
+                .andExpect(status().isNotAcceptable());
+        mockMvc.perform(post("/validation/api/items/add")
+                        .header(IdempotencyInterceptor.HEADER_NAME, key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .content(json.writeValueAsBytes(form)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itemName").value("json-only"));
+    }
+}
@@ -0,0 +1,135 @@
+package hello.itemservice.web.support;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import hello.itemservice.web.idempotency.IdempotencyInterceptor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+//Content-Type 으로 바디 형식, Accept 로 응답 형식이 정해지는지 실제 MVC 로 확인
+@SpringBootTest
+@AutoConfigureMockMvc
+class BinaryFormatMvcTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    ObjectMapper json = new ObjectMapper();
+    ObjectMapper cbor = new ObjectMapper(new CBORFactory());
+    ObjectMapper smile = new ObjectMapper(new SmileFactory());
+
+    Map<String, Object> form = Map.of("itemName", "binary", "price", 10000, "quantity", 10);
+
+    @Test
+    void cborRequestAndResponse() throws Exception {
+        //when
+        MvcResult result = mockMvc.perform(post("/validation/api/items/add")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(cbor.writeValueAsBytes(form)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn();
+
+        //then
+        JsonNode item = cbor.readTree(result.getResponse().getContentAsByteArray());
+        assertThat(item.get("id").isNumber()).isTrue();
+        assertThat(item.get("itemName").asText()).isEqualTo("binary");
+    }
+
+    @Test
+    void acceptDecidesResponseFormat() throws Exception {
+        //when JSON 으로 보내고 Smile 로 받음
+        MvcResult result = mockMvc.perform(post("/validation/api/items/add")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(BinaryFormatConfig.APPLICATION_SMILE)
+                        .content(json.writeValueAsBytes(form)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(BinaryFormatConfig.APPLICATION_SMILE))
+                .andReturn();
+
+        //then
+        assertThat(smile.readTree(result.getResponse().getContentAsByteArray()).get("itemName").asText())
+                .isEqualTo("binary");
+    }
+
+    @Test
+    void validationErrorsInCbor() throws Exception {
+        //given
+        Map<String, Object> invalid = Map.of("itemName", "", "price", 10, "quantity", 10);
+
+        //when
+        MvcResult result = mockMvc.perform(post("/validation/api/items/add")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(cbor.writeValueAsBytes(invalid)))
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn();
+
+        //then
+        assertThat(cbor.readTree(result.getResponse().getContentAsByteArray())).hasSize(2);
+    }
+
+    @Test
+    void idempotentReplayFollowsAccept() throws Exception {
+        //given 처음은 JSON 으로 응답
+        String key = "binary-replay";
+        MvcResult first = mockMvc.perform(post("/validation/api/items/add")
+                        .header(IdempotencyInterceptor.HEADER_NAME, key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .content(json.writeValueAsBytes(form)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andReturn();
+        long id = json.readTree(first.getResponse().getContentAsByteArray()).get("id").asLong();
+
+        //when 같은 키, 다른 Accept
+        MvcResult replayed = mockMvc.perform(post("/validation/api/items/add")
+                        .header(IdempotencyInterceptor.HEADER_NAME, key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(BinaryFormatConfig.APPLICATION_SMILE)
+                        .content(json.writeValueAsBytes(form)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(BinaryFormatConfig.APPLICATION_SMILE))
+                .andReturn();
+
+        //then 저장하지 않고 처음 결과를 Smile 로
+        assertThat(smile.readTree(replayed.getResponse().getContentAsByteArray()).get("id").asLong()).isEqualTo(id);
+    }
+
+    @Test
+    void patchAcceptsCbor() throws Exception {
+        //when
+        MvcResult result = mockMvc.perform(patch("/validation/api/items/1")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(cbor.writeValueAsBytes(Map.of("price", 12000))))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        //then
+        assertThat(cbor.readTree(result.getResponse().getContentAsByteArray()).get("price").asInt()).isEqualTo(12000);
+    }
+
+    @Test
+    void unsupportedBody() throws Exception {
+        mockMvc.perform(patch("/validation/api/items/1")
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content("price=12000"))
+                .andExpect(status().isUnsupportedMediaType());
+    }
+}
@@ -0,0 +1,72 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.MutablePropertyValues;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+import org.springframework.web.bind.WebDataBinder;
+
+import javax.validation.Validation;
+import javax.validation.Validator;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.*;
+
+class FieldValidatorTest {
+
+    Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+    ResourceBundleMessageSource messageSource = messageSource();
+    FieldValidator fieldValidator = new FieldValidator(validator, messageSource);
+
+    @Test
+    void valid() {
+        assertThat(fieldValidator.validate("save", "price", "10000", Locale.KOREAN)).isSameAs(FieldCheck.VALID);
+    }
+
+    @Test
+    void sameMessageAsFullFormValidation() {
+        //given: 폼 전체를 @Validated 로 검증했을 때 th:errors 가 보여줄 메시지
+        WebDataBinder binder = new WebDataBinder(new ItemSaveForm(), "item");
+        binder.setValidator(new SpringValidatorAdapter(validator));
+        binder.bind(new MutablePropertyValues().add("itemName", "itemA").add("price", "100").add("quantity", "10"));
+        binder.validate();
+        String expected = messageSource.getMessage(binder.getBindingResult().getFieldError("price"), Locale.KOREAN);
+
+        //when
+        FieldCheck check = fieldValidator.validate("save", "price", "100", Locale.KOREAN);
+
+        //then
+        assertThat(check.isValid()).isFalse();
+        assertThat(check.getCode()).isEqualTo("Range");
+        assertThat(check.getMessage()).isEqualTo(expected).isEqualTo("price, 1000 ~ 1000000 허용");
+    }
+
+    @Test
+    void quantityMaxOnlyOnSaveForm() {
+        assertThat(fieldValidator.validate("save", "quantity", "10000", Locale.KOREAN).getMessage())
+                .isEqualTo("quantity, 최대 9999");
+        assertThat(fieldValidator.validate("update", "quantity", "10000", Locale.KOREAN).isValid()).isTrue();
+    }
+
+    @Test
+    void typeMismatch() {
+        FieldCheck check = fieldValidator.validate("update", "quantity", "abc", Locale.KOREAN);
+
+        assertThat(check.getCode()).isEqualTo("typeMismatch");
+        assertThat(check.getMessage()).isEqualTo("숫자를 입력해주세요.");
+    }
+
+    @Test
+    void unknownField() {
+        assertThat(fieldValidator.validate("save", "id", "1", Locale.KOREAN)).isNull();
+        assertThat(fieldValidator.validate("delete", "price", "1", Locale.KOREAN)).isNull();
+    }
+
+    private static ResourceBundleMessageSource messageSource() {
+        ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasenames("messages", "errors");
+        messageSource.setDefaultEncoding("UTF-8");
+        return messageSource;
+    }
+}
@@ -0,0 +1,95 @@
+package hello.itemservice.web.validation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.MemoryItemRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.ObjectError;
+
+import javax.validation.Validation;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ItemPatcherTest {
+
+    ItemRepository itemRepository = new MemoryItemRepository();
+    ItemPatcher itemPatcher = new ItemPatcher(itemRepository,
+            new PartialValidator(Validation.buildDefaultValidatorFactory().getValidator()));
+    ObjectMapper objectMapper = new ObjectMapper();
+
+    Item item;
+
+    @BeforeEach
+    void setUp() {
+        itemRepository.clearStore();
+        item = itemRepository.save(new Item("itemA", 10000, 10));
+    }
+
+    @AfterEach
+    void clear() {
+        itemRepository.clearStore();
+    }
+
+    @Test
+    void patchOnlyChangedField() throws Exception {
+        //when
+        ItemPatcher.PatchResult result = itemPatcher.patch(item.getId(), json("{\"price\":20000}"));
+
+        //then
+        assertThat(result.getBindingResult().hasErrors()).isFalse();
+        Item findItem = itemRepository.findById(item.getId());
+        assertThat(findItem.getPrice()).isEqualTo(20000);
+        assertThat(findItem.getItemName()).isEqualTo("itemA");
+        assertThat(findItem.getQuantity()).isEqualTo(10);
+    }
+
+    @Test
+    void validatesOnlyChangedProperties() throws Exception {
+        //when
+        ItemPatcher.PatchResult result = itemPatcher.patch(item.getId(), json("{\"price\":100}"));
+
+        //then: @Validated 와 같은 코드, itemName 은 보내지 않았으므로 오류 없음
+        FieldError error = result.getBindingResult().getFieldError();
+        assertThat(result.getBindingResult().getErrorCount()).isEqualTo(1);
+        assertThat(error.getField()).isEqualTo("price");
+        assertThat(error.getCodes()).contains("Range.item.price");
+        assertThat(itemRepository.findById(item.getId()).getPrice()).isEqualTo(10000);
+    }
+
+    @Test
+    void totalPriceMinUsesCurrentValues() throws Exception {
+        //수량만 보내도 현재 가격과 합쳐서 확인, 10000 * 0 = 0
+        ItemPatcher.PatchResult result = itemPatcher.patch(item.getId(), json("{\"quantity\":0}"));
+
+        ObjectError error = result.getBindingResult().getGlobalError();
+        assertThat(error.getCode()).isEqualTo("totalPriceMin");
+        assertThat(error.getArguments()).containsExactly(10000, 0L);
+        assertThat(itemRepository.findById(item.getId()).getQuantity()).isEqualTo(10);
+    }
+
+    @Test
+    void nameOnlyChangeSkipsTotalPriceMin() throws Exception {
+        ItemPatcher.PatchResult result = itemPatcher.patch(item.getId(), json("{\"itemName\":\"itemB\"}"));
+
+        assertThat(result.getBindingResult().hasErrors()).isFalse();
+        assertThat(result.getItem().getItemName()).isEqualTo("itemB");
+    }
+
+    @Test
+    void typeMismatchAndUnknownField() throws Exception {
+        ItemPatcher.PatchResult result = itemPatcher.patch(item.getId(), json("{\"price\":\"abc\",\"id\":2}"));
+
+        assertThat(result.getBindingResult().getFieldError("price").getCodes()).contains("typeMismatch.item.price");
+        assertThat(result.getBindingResult().getGlobalError().getCode()).isEqualTo("notPatchable");
+        assertThat(result.getItem()).isNull();
+    }
+
+    private ObjectNode json(String json) throws Exception {
+        return (ObjectNode) objectMapper.readTree(json);
+    }
+}